@@ -0,0 +1,101 @@
+package com.chessapp.server.domain.chess;
+
+import com.github.bhlangonijr.chesslib.Board;
+import com.github.bhlangonijr.chesslib.move.Move;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Move validation throughput. Run with {@code mvn -Pbenchmark test-compile exec:exec}.
+ * <p>
+ * {@code perft} reports nodes per call for a fixed tree, so divide the score by the node count
+ * for nodes per second. {@code makeMovePath} replays a game the way {@code GameServiceImpl}
+ * plays each move (validate, make, write FEN); {@code chesslibPerMoveBoard} is the previous
+ * implementation of that path, kept as the baseline.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PerftBenchmark {
+
+    // Ruy Lopez with both sides castling and a capture-heavy middle game, ending in mate
+    private static final List<String> GAME = List.of(
+            "e2e4", "e7e5", "g1f3", "b8c6", "f1b5", "a7a6", "b5a4", "g8f6", "e1g1", "f8e7",
+            "f1e1", "b7b5", "a4b3", "d7d6", "c2c3", "e8g8", "h2h3", "c6a5", "b3c2", "c7c5",
+            "d2d4", "d8c7", "b1d2", "c5d4", "c3d4", "e5d4", "d2b3", "a5b3", "a2b3", "d6d5",
+            "e4d5", "f6d5", "f3d4", "c7b6", "c2e4", "c8b7", "e4d5", "b7d5", "d4f5", "e7f6",
+            "d1g4", "g8h8", "f5h6", "g7h6", "c1h6", "f8g8", "g4f4", "b6d6", "f4d6", "f6b2",
+            "a1a6", "a8a6", "d6a6", "b2e5", "a6b5", "d5b3", "b5b3", "g8g2", "g1g2", "e5b8",
+            "e1e8");
+
+    /** Only the perft benchmark is parameterised; the game replays are position independent. */
+    @State(Scope.Thread)
+    public static class Tree {
+        @Param({"startpos", "kiwipete", "position3"})
+        public String position;
+
+        Position root;
+        int depth;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            switch (position) {
+                case "kiwipete" -> { root = Position.fromFen(Perft.KIWIPETE); depth = 3; }
+                case "position3" -> { root = Position.fromFen(Perft.POSITION_3); depth = 5; }
+                default -> { root = Position.startPosition(); depth = 4; }
+            }
+        }
+    }
+
+    private final int[] packedGame = GAME.stream().mapToInt(MoveCodec::encode).toArray();
+
+    @Benchmark
+    public long perft(Tree tree) {
+        return Perft.count(tree.root, tree.depth);
+    }
+
+    @Benchmark
+    public int makeMovePath() {
+        Position game = Position.startPosition();
+        int chars = 0;
+        for (int packed : packedGame) {
+            int move = game.findLegalMove(packed);
+            if (move < 0) throw new IllegalStateException(MoveCodec.decode(packed));
+            game.makeMove(move);
+            chars += game.toFen().length();
+            if (game.isCheckmate() || game.isDraw()) break;
+        }
+        return chars;
+    }
+
+    @Benchmark
+    public int chesslibPerMoveBoard() {
+        String fen = Position.START_FEN;
+        for (String uci : GAME) {
+            Board board = new Board();
+            board.loadFromFen(fen);
+            Move move = new Move(uci, board.getSideToMove());
+            if (!board.isMoveLegal(move, true)) throw new IllegalStateException(uci);
+            board.doMove(move);
+            fen = board.getFen();
+            if (board.isMated() || board.isDraw()) break;
+        }
+        return fen.length();
+    }
+}
@@ -0,0 +1,14 @@
+package com.chessapp.server.application.dto;
+
+import java.util.List;
+
+/**
+ * Engine analysis of a finished game, one entry per move in the order played. Accuracies are
+ * null for a side that made no move.
+ */
+public record GameAnalysisDto(
+        Long gameId,
+        Double whiteAccuracy,
+        Double blackAccuracy,
+        List<MoveEvaluationDto> moves
+) {}
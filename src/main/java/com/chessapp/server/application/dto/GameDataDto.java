@@ -1,6 +1,7 @@
 package com.chessapp.server.application.dto;
 
 import java.util.List;
+import java.util.Map;
 
 public record GameDataDto(
         Long gameId,
@@ -32,5 +33,8 @@ public record GameDataDto(
         int whiteTimeLeft,
         int blackTimeLeft,
         String state,
-        String result
+        String result,
+
+        // Origin square -> destination squares for the side to move; empty once the game is over
+        Map<String, List<String>> legalMoves
 ) {}
@@ -0,0 +1,11 @@
+package com.chessapp.server.application.dto;
+
+import java.util.List;
+
+/**
+ * One page of game history, newest first. {@code nextCursor} is opaque and null on the last page.
+ */
+public record GameHistoryPageDto(
+        List<GameHistoryDto> games,
+        String nextCursor
+) {}
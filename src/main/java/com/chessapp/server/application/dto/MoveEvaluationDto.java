@@ -0,0 +1,15 @@
+package com.chessapp.server.application.dto;
+
+/**
+ * Engine verdict on one move. {@code eval} is the position after the move in centipawns for
+ * White; when a mate is forced it is null and {@code mate} holds the moves to mate instead,
+ * positive when White mates (0 once the side to move is checkmated). {@code bestMove} is what
+ * the engine would have played instead, in UCI.
+ */
+public record MoveEvaluationDto(
+        int ply,
+        Integer eval,
+        Integer mate,
+        String bestMove,
+        double accuracy
+) {}
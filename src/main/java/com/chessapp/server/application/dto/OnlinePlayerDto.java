@@ -0,0 +1,13 @@
+package com.chessapp.server.application.dto;
+
+import java.time.Instant;
+
+public record OnlinePlayerDto(
+        Long id,
+        String login,
+        String displayName,
+        int blitzRating,
+        int rapidRating,
+        int bulletRating,
+        Instant onlineSince
+) {}
@@ -0,0 +1,11 @@
+package com.chessapp.server.application.dto;
+
+import java.util.List;
+
+/**
+ * One page of the online-players view. {@code nextCursor} is opaque and null on the last page.
+ */
+public record OnlinePlayersPageDto(
+        List<OnlinePlayerDto> players,
+        String nextCursor
+) {}
@@ -0,0 +1,15 @@
+package com.chessapp.server.application.dto;
+
+import java.util.List;
+
+/**
+ * Moves played from one position in finished games, most played first. Totals are the sums over
+ * {@code moves}; positions deeper than the indexed opening phase come back empty.
+ */
+public record OpeningExplorerDto(
+        String fen,
+        long whiteWins,
+        long draws,
+        long blackWins,
+        List<OpeningMoveDto> moves
+) {}
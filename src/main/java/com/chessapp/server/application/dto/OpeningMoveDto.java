@@ -0,0 +1,12 @@
+package com.chessapp.server.application.dto;
+
+public record OpeningMoveDto(
+        String move,
+        long whiteWins,
+        long draws,
+        long blackWins
+) {
+    public long total() {
+        return whiteWins + draws + blackWins;
+    }
+}
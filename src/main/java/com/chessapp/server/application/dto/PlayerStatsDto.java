@@ -0,0 +1,9 @@
+package com.chessapp.server.application.dto;
+
+public record PlayerStatsDto(
+        int wins,
+        int losses,
+        int draws
+) {
+    public static final PlayerStatsDto EMPTY = new PlayerStatsDto(0, 0, 0);
+}
@@ -0,0 +1,9 @@
+package com.chessapp.server.application.dto;
+
+public record TypeaheadEntryDto(
+        String login,
+        String displayName,
+        int rating,
+        boolean isOnline,
+        boolean isFriend
+) {}
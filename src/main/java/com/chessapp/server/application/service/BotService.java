@@ -0,0 +1,27 @@
+package com.chessapp.server.application.service;
+
+import com.chessapp.server.domain.enums.TimeControl;
+import com.chessapp.server.domain.model.Game;
+import com.chessapp.server.domain.model.User;
+
+/**
+ * Built-in computer opponents. Each strength level is played by its own bot user, so bot games
+ * are ordinary games: same clocks, ratings and history.
+ */
+public interface BotService {
+
+    int MAX_LEVEL = 8;
+
+    /**
+     * Starts a game between {@code player} and the bot of {@code level} (1 to {@link #MAX_LEVEL}).
+     *
+     * @param playAsWhite the player's colour, or null for a random one
+     */
+    Game startGame(User player, int level, TimeControl timeControl, Boolean playAsWhite);
+
+    /**
+     * Starts the bot's search if a bot is to move in {@code game}. Inside a transaction the
+     * search starts once it commits, so the bot always sees the move it is answering.
+     */
+    void onTurn(Game game);
+}
@@ -0,0 +1,216 @@
+package com.chessapp.server.application.service;
+
+import com.chessapp.server.domain.chess.MoveCodec;
+import com.chessapp.server.domain.chess.Position;
+import com.chessapp.server.domain.chess.engine.Engine;
+import com.chessapp.server.domain.chess.engine.SearchLimits;
+import com.chessapp.server.domain.chess.engine.SearchResult;
+import com.chessapp.server.domain.chess.engine.TranspositionTable;
+import com.chessapp.server.domain.enums.GameState;
+import com.chessapp.server.domain.enums.MoveResult;
+import com.chessapp.server.domain.enums.TimeControl;
+import com.chessapp.server.domain.model.Game;
+import com.chessapp.server.domain.model.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Plays the bot side of bot games with the embedded {@link Engine}.
+ * <p>
+ * Every search runs on the bounded {@code botSearchExecutor}, never on a request, timer or
+ * WebSocket thread. Lazy SMP helpers are taken from the same pool, and only as many as it has
+ * idle threads, so with many bot games at once each search simply runs single-threaded. All
+ * searches share one off-heap transposition table.
+ * <p>
+ * Levels are capped by nodes, depth and think time; the top levels are limited by time only.
+ * Think time is also kept to a small slice of the bot's remaining clock.
+ */
+@Service
+public class BotServiceImpl implements BotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BotServiceImpl.class);
+
+    // Per level (index = level - 1); 0 means no cap
+    private static final long[] LEVEL_NODES = {200, 1_000, 4_000, 15_000, 60_000, 250_000, 0, 0};
+    private static final int[] LEVEL_DEPTH = {1, 2, 3, 4, 6, 8, 0, 0};
+    private static final long[] LEVEL_MILLIS = {100, 150, 250, 400, 700, 1_200, 2_500, 5_000};
+    // Levels from here on may search with helper threads
+    private static final int SMP_FROM_LEVEL = 6;
+
+    private static final long MIN_THINK_MILLIS = 20;
+    // Think time is at most this fraction of the time left (a game has ~30-40 more moves)
+    private static final int CLOCK_DIVISOR = 30;
+
+    private final GameService gameService;
+    private final UserService userService;
+    private final GameNotificationService notificationService;
+    private final ThreadPoolTaskExecutor executor;
+    private final Engine engine;
+    private final int smpThreads;
+
+    // Games with a search queued or running, so a game is never searched twice at once
+    private final Set<Long> thinking = ConcurrentHashMap.newKeySet();
+    private final Object botCreationLock = new Object();
+
+    public BotServiceImpl(GameService gameService,
+                          UserService userService,
+                          @Lazy GameNotificationService notificationService,
+                          @Qualifier("botSearchExecutor") ThreadPoolTaskExecutor executor,
+                          @Value("${chess.bot.hash-mb:64}") int hashMegabytes,
+                          @Value("${chess.bot.smp-threads:4}") int smpThreads) {
+        this.gameService = gameService;
+        this.userService = userService;
+        this.notificationService = notificationService;
+        this.executor = executor;
+        this.engine = new Engine(new TranspositionTable(hashMegabytes), executor);
+        this.smpThreads = Math.max(1, smpThreads);
+        logger.info("[Bot] Engine ready: {} MB transposition table, up to {} threads per search",
+                hashMegabytes, this.smpThreads);
+    }
+
+    @Override
+    public Game startGame(User player, int level, TimeControl timeControl, Boolean playAsWhite) {
+        if (level < 1 || level > MAX_LEVEL) {
+            throw new IllegalArgumentException("Bot level must be between 1 and " + MAX_LEVEL);
+        }
+        if (gameService.findActiveGameByPlayer(player).isPresent()) {
+            throw new IllegalArgumentException("You already have a game in progress");
+        }
+
+        User bot = botUser(level);
+        boolean white = playAsWhite != null ? playAsWhite : ThreadLocalRandom.current().nextBoolean();
+        Game game = white
+                ? gameService.createGame(player, bot, timeControl)
+                : gameService.createGame(bot, player, timeControl);
+        logger.info("[Bot] {} started game {} against level {}", player.getLogin(), game.getId(), level);
+
+        notificationService.notifyGameFound(player, bot, game);
+        onTurn(game);
+        return game;
+    }
+
+    @Override
+    public void onTurn(Game game) {
+        if (game.getState() != GameState.IN_PROGRESS || !game.getCurrentPlayer().isBot()) return;
+        Long gameId = game.getId();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(gameId);
+                }
+            });
+        } else {
+            submit(gameId);
+        }
+    }
+
+    private void submit(Long gameId) {
+        if (!thinking.add(gameId)) return;
+        try {
+            executor.execute(() -> {
+                try {
+                    think(gameId);
+                } catch (RuntimeException e) {
+                    logger.error("[Bot] Search failed in game {}: {}", gameId, e.getMessage(), e);
+                } finally {
+                    thinking.remove(gameId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            thinking.remove(gameId);
+            logger.error("[Bot] Search queue full, game {} left without a reply", gameId);
+        }
+    }
+
+    private void think(Long gameId) {
+        Game game = gameService.findById(gameId).orElse(null);
+        if (game == null || game.getState() != GameState.IN_PROGRESS) return;
+        User bot = game.getCurrentPlayer();
+        if (!bot.isBot()) return;
+
+        SearchResult result = engine.search(replay(game), limitsFor(bot.getBotLevel(), game));
+        logger.debug("[Bot] Game {}: {} (score {}, depth {}, {} nodes, {} ms)", gameId, result.uci(),
+                result.score(), result.depth(), result.nodes(), result.millis());
+
+        // The move can put the bot on move again (the opponent's premove); that turn needs a new search
+        thinking.remove(gameId);
+        MoveResult moveResult = gameService.makeMove(gameId, bot, result.uci());
+        if (moveResult == MoveResult.SUCCESS || moveResult == MoveResult.GAME_ENDED) {
+            notificationService.notifyMovePlayed(gameId, moveResult);
+        } else {
+            // The opponent resigned, flagged or agreed a draw while the bot was thinking
+            logger.debug("[Bot] Move {} in game {} not played: {}", result.uci(), gameId, moveResult);
+        }
+    }
+
+    private SearchLimits limitsFor(int level, Game game) {
+        int i = Math.max(1, Math.min(MAX_LEVEL, level)) - 1;
+        long millis = Math.max(MIN_THINK_MILLIS, Math.min(LEVEL_MILLIS[i], timeLeft(game) / CLOCK_DIVISOR));
+        int threads = 1;
+        if (level >= SMP_FROM_LEVEL) {
+            // This search already holds one pool thread; helpers only get the idle ones
+            int idle = executor.getMaxPoolSize() - executor.getActiveCount();
+            threads = Math.max(1, Math.min(smpThreads, 1 + idle));
+        }
+        return new SearchLimits(LEVEL_DEPTH[i], LEVEL_NODES[i], millis, threads);
+    }
+
+    private static long timeLeft(Game game) {
+        long left = game.getIsWhiteTurn() ? game.getWhiteTimeLeft() : game.getBlackTimeLeft();
+        if (game.getLastMoveAt() != null) {
+            left -= Duration.between(game.getLastMoveAt(), LocalDateTime.now()).toMillis();
+        }
+        return Math.max(0, left);
+    }
+
+    /** The search gets its own board with the full history, so it sees repetitions. */
+    private static Position replay(Game game) {
+        Position position = Position.startPosition();
+        byte[] moveData = game.getMoveData();
+        for (int i = 0; i < MoveCodec.count(moveData); i++) {
+            int packed = MoveCodec.packedAt(moveData, i);
+            int move = position.findLegalMove(packed);
+            if (move < 0) {
+                throw new IllegalStateException("Stored move " + MoveCodec.decode(packed)
+                        + " is illegal in game " + game.getId());
+            }
+            position.makeMove(move);
+        }
+        return position;
+    }
+
+    /**
+     * The bot user for a level, created on first use. Bots have no usable password (it is not a
+     * BCrypt hash), so nobody can log in as one.
+     */
+    private User botUser(int level) {
+        String login = User.BOT_LOGIN_PREFIX + level;
+        synchronized (botCreationLock) {
+            return userService.findByLogin(login).map(user -> {
+                if (!user.isBot()) throw new IllegalStateException("Bot login " + login + " belongs to a player");
+                return user;
+            }).orElseGet(() -> {
+                User bot = new User(login, "!" + UUID.randomUUID(), "Computer (level " + level + ")");
+                bot.setBotLevel(level);
+                logger.info("[Bot] Created bot user {}", login);
+                return userService.save(bot);
+            });
+        }
+    }
+}
@@ -19,7 +19,12 @@ public interface ChallengeService {
 
     Game acceptChallenge(Long challengeId, User acceptingUser);
 
-    void declineChallenge(Long challengeId, User decliningUser);
+    Challenge declineChallenge(Long challengeId, User decliningUser);
+
+    /**
+     * Marks the challenge EXPIRED if it is still pending and tells both users.
+     */
+    void expireChallenge(Challenge challenge);
 
     void cleanupExpiredChallenges();
 }
\ No newline at end of file
@@ -2,9 +2,12 @@ package com.chessapp.server.application.service;
 
 import com.chessapp.server.domain.model.*;
 import com.chessapp.server.domain.enums.*;
-import com.chessapp.server.infrastructure.persistence.ChallengeRepository;
-import jakarta.transaction.Transactional;
+import com.chessapp.server.infrastructure.challenge.ChallengeAuditWriter;
+import com.chessapp.server.infrastructure.challenge.ChallengeRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
@@ -15,12 +18,24 @@ import java.util.Optional;
 @Service
 public class ChallengeServiceImpl implements ChallengeService {
 
+    private static final Logger logger = LoggerFactory.getLogger(ChallengeServiceImpl.class);
+
+    @Autowired
+    private ChallengeRegistry challengeRegistry;
+
     @Autowired
-    private ChallengeRepository challengeRepository;
+    private ChallengeAuditWriter challengeAuditWriter;
 
     @Autowired
     private GameService gameService;
 
+    @Autowired
+    private ChallengeTimerService challengeTimerService;
+
+    @Autowired
+    @Lazy
+    private GameNotificationService notificationService;
+
     public Challenge createChallenge(User challenger, User challenged, TimeControl timeControl) {
         if (challenger.equals(challenged)) {
             throw new IllegalArgumentException("You cannot challenge yourself");
@@ -31,79 +46,87 @@ public class ChallengeServiceImpl implements ChallengeService {
         if (existingGame.isPresent()) {
             throw new IllegalStateException("Challenger already has an active game");
         }
-        return challengeRepository.save(challenge);
+        Challenge added = challengeRegistry.add(challenge);
+        challengeTimerService.scheduleExpiry(added);
+        return added;
     }
 
     public Optional<Challenge> findById(Long challengeId) {
-        return challengeRepository.findById(challengeId);
+        return challengeRegistry.get(challengeId);
     }
 
     public List<Challenge> findPendingChallengesForUser(User user) {
-        return challengeRepository.findPendingChallengesForUser(user);
+        return challengeRegistry.findByChallenged(user.getId());
     }
 
     public List<Challenge> findPendingChallengesByUser(User user) {
-        return challengeRepository.findPendingChallengesByUser(user);
+        return challengeRegistry.findByChallenger(user.getId());
     }
 
-    @Transactional
     public Game acceptChallenge(Long challengeId, User acceptingUser) {
-        Optional<Challenge> challengeOpt = challengeRepository.findByIdAndStatus(challengeId, ChallengeStatus.PENDING);
-
-        if (!challengeOpt.isPresent()) {
-            throw new IllegalArgumentException("Challenge not found or already processed");
-        }
-
-        Challenge challenge = challengeOpt.get();
+        Challenge challenge = challengeRegistry.get(challengeId)
+                .orElseThrow(() -> new IllegalArgumentException("Challenge not found or already processed"));
 
         if (!challenge.getChallenged().equals(acceptingUser)) {
             throw new IllegalArgumentException("You are not the challenged player");
         }
 
         if (challenge.isExpired()) {
-            updateChallengeStatus(challenge, ChallengeStatus.EXPIRED);
+            expireChallenge(challenge);
             throw new IllegalArgumentException("Challenge has expired");
         }
 
+        settle(challenge, ChallengeStatus.ACCEPTED);
+
         // Create game
-        Game game = gameService.createGame(challenge.getChallenger(), challenge.getChallenged(),
+        return gameService.createGame(challenge.getChallenger(), challenge.getChallenged(),
                 challenge.getTimeControl());
-
-        // Update challenge status
-        challenge.setStatus(ChallengeStatus.ACCEPTED);
-        challengeRepository.save(challenge);
-
-        return game;
     }
 
-    public void declineChallenge(Long challengeId, User decliningUser) {
-        Optional<Challenge> challengeOpt = challengeRepository.findByIdAndStatus(challengeId, ChallengeStatus.PENDING);
-
-        if (!challengeOpt.isPresent()) {
-            throw new IllegalArgumentException("Challenge not found or already processed");
-        }
-
-        Challenge challenge = challengeOpt.get();
+    public Challenge declineChallenge(Long challengeId, User decliningUser) {
+        Challenge challenge = challengeRegistry.get(challengeId)
+                .orElseThrow(() -> new IllegalArgumentException("Challenge not found or already processed"));
 
         if (!challenge.getChallenged().equals(decliningUser)) {
             throw new IllegalArgumentException("You are not the challenged player");
         }
 
-        challenge.setStatus(ChallengeStatus.DECLINED);
-        challengeRepository.save(challenge);
+        settle(challenge, ChallengeStatus.DECLINED);
+        return challenge;
     }
 
-    private void updateChallengeStatus(Challenge challenge, ChallengeStatus status) {
-        challenge.setStatus(status);
-        challengeRepository.save(challenge);
+    public void expireChallenge(Challenge challenge) {
+        // Losing the race against an accept or decline means there is nothing to expire
+        try {
+            settle(challenge, ChallengeStatus.EXPIRED);
+        } catch (IllegalArgumentException alreadySettled) {
+            return;
+        }
+        logger.info("[Challenge] Challenge {} expired", challenge.getId());
+        notificationService.notifyChallengeExpired(challenge);
     }
 
+    /**
+     * Safety net for expiry timers that failed to fire; only walks the in-memory registry.
+     */
     @Scheduled(fixedRate = 60000) // Run every minute
     public void cleanupExpiredChallenges() {
-        List<Challenge> expiredChallenges = challengeRepository.findExpiredChallenges(LocalDateTime.now());
-        for (Challenge challenge : expiredChallenges) {
-            challenge.setStatus(ChallengeStatus.EXPIRED);
-            challengeRepository.save(challenge);
+        for (Challenge challenge : challengeRegistry.findExpiredBefore(LocalDateTime.now())) {
+            expireChallenge(challenge);
+        }
+    }
+
+    /**
+     * Moves a pending challenge to its final status; exactly one caller wins.
+     */
+    private void settle(Challenge challenge, ChallengeStatus status) {
+        if (!challengeRegistry.remove(challenge)) {
+            throw new IllegalArgumentException("Challenge not found or already processed");
+        }
+        challengeTimerService.cancelExpiry(challenge.getId());
+        challenge.setStatus(status);
+        if (challengeAuditWriter.isEnabled()) {
+            challengeAuditWriter.record(challenge.copyForAudit());
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,11 @@
+package com.chessapp.server.application.service;
+
+import com.chessapp.server.domain.model.Challenge;
+
+public interface ChallengeTimerService {
+    void scheduleExpiry(Challenge challenge);
+
+    void cancelExpiry(Long challengeId);
+
+    void stopAll();
+}
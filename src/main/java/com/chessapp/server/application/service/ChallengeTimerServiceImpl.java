@@ -0,0 +1,68 @@
+package com.chessapp.server.application.service;
+
+import com.chessapp.server.domain.model.Challenge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.*;
+
+/**
+ * Fires each pending challenge's expiry at its {@code expiresAt}, the same way
+ * {@link GameTimerServiceImpl} fires move timeouts.
+ */
+@Component
+public class ChallengeTimerServiceImpl implements ChallengeTimerService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChallengeTimerServiceImpl.class);
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "challenge-expiry");
+        t.setDaemon(true);
+        return t;
+    });
+    private final Map<Long, ScheduledFuture<?>> expiryTasks = new ConcurrentHashMap<>();
+
+    private final ChallengeService challengeService;
+
+    public ChallengeTimerServiceImpl(@Lazy ChallengeService challengeService) {
+        this.challengeService = challengeService;
+    }
+
+    public void scheduleExpiry(Challenge challenge) {
+        Long challengeId = challenge.getId();
+        long delayMs = Math.max(0, Duration.between(LocalDateTime.now(), challenge.getExpiresAt()).toMillis());
+
+        ScheduledFuture<?> task = scheduler.schedule(() -> {
+            expiryTasks.remove(challengeId);
+            try {
+                challengeService.expireChallenge(challenge);
+            } catch (Exception e) {
+                logger.warn("[Challenge] Failed to expire challenge {}: {}", challengeId, e.getMessage());
+            }
+        }, delayMs, TimeUnit.MILLISECONDS);
+
+        ScheduledFuture<?> previous = expiryTasks.put(challengeId, task);
+        if (previous != null) {
+            previous.cancel(false);
+        }
+    }
+
+    public void cancelExpiry(Long challengeId) {
+        ScheduledFuture<?> task = expiryTasks.remove(challengeId);
+        if (task != null && !task.isDone()) {
+            task.cancel(false);
+        }
+    }
+
+    public void stopAll() {
+        for (ScheduledFuture<?> task : expiryTasks.values()) {
+            task.cancel(false);
+        }
+        expiryTasks.clear();
+    }
+}
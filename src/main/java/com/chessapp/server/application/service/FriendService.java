@@ -5,6 +5,7 @@ import com.chessapp.server.domain.model.Friendship;
 import com.chessapp.server.domain.model.User;
 
 import java.util.List;
+import java.util.Set;
 
 public interface FriendService {
     Friendship sendRequest(User requester, String targetLogin);
@@ -16,4 +17,7 @@ public interface FriendService {
     List<FriendResponseDto> getPendingRequests(User user);
     boolean areFriends(User user1, User user2);
     List<String> getOnlineFriendLogins(User user);
+
+    /** Lower-cased logins of accepted friends; cached until one of the user's friendships changes. */
+    Set<String> getFriendLogins(User user);
 }
@@ -7,11 +7,18 @@ import com.chessapp.server.domain.model.User;
 import com.chessapp.server.infrastructure.persistence.FriendshipRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import jakarta.transaction.Transactional;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -22,9 +29,31 @@ public class FriendServiceImpl implements FriendService {
     private final FriendshipRepository friendshipRepository;
     private final UserService userService;
 
-    public FriendServiceImpl(FriendshipRepository friendshipRepository, UserService userService) {
+    /**
+     * Lower-cased friend logins per user id, dropped whenever one of their friendships changes.
+     * Bounded like {@code UserCache}: least recently used entries go once full, and entries expire
+     * after a TTL. Guarded by its own monitor; loads run outside it.
+     */
+    private final LinkedHashMap<Long, FriendLogins> friendLoginsCache;
+    private final long friendLoginsTtlNanos;
+    // Bumped on every eviction, so a load that raced with one is not cached
+    private long friendLoginsEvictions;
+
+    private record FriendLogins(Set<String> logins, long expiresAt) {}
+
+    public FriendServiceImpl(FriendshipRepository friendshipRepository, UserService userService,
+                             @Value("${chess.cache.friends.max-size:10000}") int maxSize,
+                             @Value("${chess.cache.friends.ttl-seconds:300}") long ttlSeconds) {
         this.friendshipRepository = friendshipRepository;
         this.userService = userService;
+        int capacity = Math.max(1, maxSize);
+        this.friendLoginsCache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, FriendLogins> eldest) {
+                return size() > capacity;
+            }
+        };
+        this.friendLoginsTtlNanos = ttlSeconds * 1_000_000_000L;
     }
 
     @Override
@@ -81,7 +110,9 @@ public class FriendServiceImpl implements FriendService {
 
         friendship.setStatus(FriendshipStatus.ACCEPTED);
         logger.info("Friend request accepted: {} <-> {}", friendship.getRequester().getLogin(), user.getLogin());
-        return friendshipRepository.save(friendship);
+        Friendship saved = friendshipRepository.save(friendship);
+        evictFriendLogins(friendship);
+        return saved;
     }
 
     @Override
@@ -110,6 +141,7 @@ public class FriendServiceImpl implements FriendService {
         }
 
         friendshipRepository.delete(friendship);
+        evictFriendLogins(friendship);
         logger.info("Friendship removed: {}", friendshipId);
     }
 
@@ -129,7 +161,9 @@ public class FriendServiceImpl implements FriendService {
             f.setRequester(blocker);
             f.setAddressee(blocked);
             f.setStatus(FriendshipStatus.BLOCKED);
-            return friendshipRepository.save(f);
+            Friendship saved = friendshipRepository.save(f);
+            evictFriendLogins(f);
+            return saved;
         }
 
         Friendship friendship = new Friendship(blocker, blocked);
@@ -166,6 +200,51 @@ public class FriendServiceImpl implements FriendService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public Set<String> getFriendLogins(User user) {
+        long evictions;
+        synchronized (friendLoginsCache) {
+            FriendLogins cached = friendLoginsCache.get(user.getId());
+            if (cached != null && cached.expiresAt() - System.nanoTime() > 0) {
+                return cached.logins();
+            }
+            evictions = friendLoginsEvictions;
+        }
+
+        Set<String> logins = friendshipRepository.findAcceptedFriendships(user).stream()
+                .map(f -> f.getOtherUser(user).getLogin().toLowerCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+        synchronized (friendLoginsCache) {
+            if (evictions == friendLoginsEvictions) {
+                friendLoginsCache.put(user.getId(), new FriendLogins(logins, System.nanoTime() + friendLoginsTtlNanos));
+            }
+        }
+        return logins;
+    }
+
+    private void evictFriendLogins(Friendship friendship) {
+        Long requesterId = friendship.getRequester().getId();
+        Long addresseeId = friendship.getAddressee().getId();
+        Runnable evict = () -> {
+            synchronized (friendLoginsCache) {
+                friendLoginsCache.remove(requesterId);
+                friendLoginsCache.remove(addresseeId);
+                friendLoginsEvictions++;
+            }
+        };
+        // Evicting before commit would let a concurrent load cache the old list for the full TTL
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict.run();
+                }
+            });
+        } else {
+            evict.run();
+        }
+    }
+
     private FriendResponseDto toDto(Friendship friendship, User perspective) {
         User other = friendship.getOtherUser(perspective);
         return new FriendResponseDto(
@@ -0,0 +1,17 @@
+package com.chessapp.server.application.service;
+
+import com.chessapp.server.application.dto.GameAnalysisDto;
+import com.chessapp.server.domain.model.Game;
+
+import java.util.Optional;
+
+public interface GameAnalysisService {
+
+    /**
+     * Queues a finished game for engine analysis once the current transaction commits. Does
+     * nothing when analysis is disabled; the game is skipped if the queue is full.
+     */
+    void enqueue(Game game);
+
+    Optional<GameAnalysisDto> findAnalysis(Long gameId);
+}
@@ -0,0 +1,325 @@
+package com.chessapp.server.application.service;
+
+import com.chessapp.server.application.dto.GameAnalysisDto;
+import com.chessapp.server.application.dto.MoveEvaluationDto;
+import com.chessapp.server.domain.chess.MoveCodec;
+import com.chessapp.server.domain.chess.Position;
+import com.chessapp.server.domain.chess.engine.Accuracy;
+import com.chessapp.server.domain.chess.engine.Engine;
+import com.chessapp.server.domain.chess.engine.SearchLimits;
+import com.chessapp.server.domain.chess.engine.SearchResult;
+import com.chessapp.server.domain.chess.engine.TranspositionTable;
+import com.chessapp.server.domain.model.Game;
+import com.chessapp.server.domain.model.GameAnalysis;
+import com.chessapp.server.infrastructure.persistence.GameAnalysisRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Post-game engine analysis: every position of a finished game is searched, and the scores give
+ * each move's evaluation and accuracy and each player's accuracy for the game.
+ * <p>
+ * Ended games wait in a bounded in-memory queue; jobs still queued at shutdown are lost, the
+ * analysis is a convenience. Workers on the {@code analysisExecutor} take up to
+ * {@code chess.analysis.batch-size} games at once, replay them, and search each distinct position
+ * of the batch once. Positions are identified by Zobrist key and searched without their game's
+ * history, so a result holds for every game that reaches the position and goes into a cache shared
+ * across batches; openings in particular are searched once, not once per game.
+ * <p>
+ * Analysis only uses spare CPU. Its threads run at minimum priority, and before each search a
+ * worker waits while a bot is searching or the machine is loaded (load average per core, not
+ * counting the analysis itself, at or above {@code chess.analysis.max-load}).
+ */
+@Service
+public class GameAnalysisServiceImpl implements GameAnalysisService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GameAnalysisServiceImpl.class);
+
+    private static final long BACKOFF_MILLIS = 500;
+
+    private final GameAnalysisRepository analysisRepository;
+    private final GameNotificationService notificationService;
+    private final ThreadPoolTaskExecutor executor;
+    private final ThreadPoolTaskExecutor botExecutor;
+    private final boolean enabled;
+    private final int batchSize;
+    private final SearchLimits limits;
+    private final double maxLoad;
+    private final Engine engine;
+    private final BlockingQueue<AnalysisJob> queue;
+    private final Map<Long, Integer> cache;
+    private final OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+    private final int cores = Runtime.getRuntime().availableProcessors();
+    // Workers searching right now; their own load is not a reason to back off
+    private final AtomicInteger searching = new AtomicInteger();
+
+    public GameAnalysisServiceImpl(GameAnalysisRepository analysisRepository,
+                                   @Lazy GameNotificationService notificationService,
+                                   @Qualifier("analysisExecutor") ThreadPoolTaskExecutor executor,
+                                   @Qualifier("botSearchExecutor") ThreadPoolTaskExecutor botExecutor,
+                                   @Value("${chess.analysis.enabled:false}") boolean enabled,
+                                   @Value("${chess.analysis.queue-capacity:1000}") int queueCapacity,
+                                   @Value("${chess.analysis.batch-size:16}") int batchSize,
+                                   @Value("${chess.analysis.nodes:50000}") long nodesPerPosition,
+                                   @Value("${chess.analysis.hash-mb:16}") int hashMegabytes,
+                                   @Value("${chess.analysis.cache-size:100000}") int cacheSize,
+                                   @Value("${chess.analysis.max-load:0.75}") double maxLoad) {
+        this.analysisRepository = analysisRepository;
+        this.notificationService = notificationService;
+        this.executor = executor;
+        this.botExecutor = botExecutor;
+        this.enabled = enabled;
+        this.batchSize = Math.max(1, batchSize);
+        this.limits = new SearchLimits(0, nodesPerPosition, 0, 1);
+        this.maxLoad = maxLoad;
+        // The hash table is off-heap memory; allocate it only if analysis will run
+        this.engine = enabled ? new Engine(new TranspositionTable(hashMegabytes), executor) : null;
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Integer> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    @Override
+    public void enqueue(Game game) {
+        if (!enabled || game.getId() == null || game.getMoveCount() == 0) return;
+        AnalysisJob job = new AnalysisJob(game.getId(), game.getMoveData(),
+                game.getWhitePlayer().getLogin(), game.getBlackPlayer().getLogin());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    offer(job);
+                }
+            });
+        } else {
+            offer(job);
+        }
+    }
+
+    @Override
+    public Optional<GameAnalysisDto> findAnalysis(Long gameId) {
+        return analysisRepository.findById(gameId).map(GameAnalysisServiceImpl::toDto);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startWorkers() {
+        if (!enabled) return;
+        int workers = executor.getCorePoolSize();
+        for (int i = 0; i < workers; i++) {
+            executor.execute(this::work);
+        }
+        logger.info("[Analysis] {} workers started, {} nodes per position", workers, limits.nodes());
+    }
+
+    private void offer(AnalysisJob job) {
+        if (!queue.offer(job)) {
+            logger.warn("[Analysis] Queue full, game {} will not be analyzed", job.gameId());
+        }
+    }
+
+    /** Worker loop; ends when the executor shuts down and interrupts it. */
+    private void work() {
+        List<AnalysisJob> batch = new ArrayList<>(batchSize);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch, batchSize - 1);
+            try {
+                analyze(batch);
+            } catch (RuntimeException e) {
+                logger.error("[Analysis] Batch of {} games failed: {}", batch.size(), e.getMessage(), e);
+            }
+            batch.clear();
+        }
+    }
+
+    /**
+     * Analyzes a batch of games, saves the results and tells the players. Returns the number of
+     * positions searched; the rest came from the cache, were shared within the batch or were over.
+     */
+    int analyze(List<AnalysisJob> batch) {
+        // Per Zobrist key: score for White << 16 | best move
+        Map<Long, Integer> results = new HashMap<>();
+        Map<Long, Position> toSearch = new LinkedHashMap<>();
+        List<long[]> keysPerGame = new ArrayList<>(batch.size());
+
+        for (AnalysisJob job : batch) {
+            keysPerGame.add(collectPositions(job, results, toSearch));
+        }
+
+        for (Map.Entry<Long, Position> entry : toSearch.entrySet()) {
+            if (!waitForSpareCpu()) return 0;
+            Position position = entry.getValue();
+            searching.incrementAndGet();
+            SearchResult result;
+            try {
+                result = engine.search(position, limits);
+            } finally {
+                searching.decrementAndGet();
+            }
+            int score = position.isWhiteToMove() ? result.score() : -result.score();
+            int packed = pack(score, result.move());
+            results.put(entry.getKey(), packed);
+            synchronized (cache) {
+                cache.put(entry.getKey(), packed);
+            }
+        }
+
+        for (int g = 0; g < batch.size(); g++) {
+            AnalysisJob job = batch.get(g);
+            long[] keys = keysPerGame.get(g);
+            int[] scores = new int[keys.length];
+            int[] bestMoves = new int[keys.length];
+            for (int i = 0; i < keys.length; i++) {
+                int packed = results.get(keys[i]);
+                scores[i] = packed >> 16;
+                bestMoves[i] = packed & 0xFFFF;
+            }
+            GameAnalysis analysis = new GameAnalysis(job.gameId(), scores, bestMoves);
+            analysis.setWhiteAccuracy(sideAccuracy(scores, true));
+            analysis.setBlackAccuracy(sideAccuracy(scores, false));
+            analysisRepository.save(analysis);
+            notificationService.notifyAnalysisReady(job.whiteLogin(), job.blackLogin(), toDto(analysis));
+        }
+        logger.debug("[Analysis] {} games, {} positions searched", batch.size(), toSearch.size());
+        return toSearch.size();
+    }
+
+    /**
+     * Replays a game and returns the keys of its positions, start to end. Positions with a known
+     * result go into {@code results}, the others into {@code toSearch} once per key.
+     */
+    private long[] collectPositions(AnalysisJob job, Map<Long, Integer> results, Map<Long, Position> toSearch) {
+        Position position = Position.startPosition();
+        int plies = MoveCodec.count(job.moveData());
+        long[] keys = new long[plies + 1];
+        for (int i = 0; ; i++) {
+            long key = position.key();
+            keys[i] = key;
+            if (!results.containsKey(key) && !toSearch.containsKey(key)) {
+                Integer cached;
+                synchronized (cache) {
+                    cached = cache.get(key);
+                }
+                if (cached != null) {
+                    results.put(key, cached);
+                } else if (!position.hasLegalMove()) {
+                    int score = position.isCheckmate() ? (position.isWhiteToMove() ? -Engine.MATE : Engine.MATE) : 0;
+                    results.put(key, pack(score, 0));
+                } else {
+                    // Without the game's history the result depends on the position alone
+                    toSearch.put(key, Position.fromFen(position.toFen()));
+                }
+            }
+            if (i == plies) return keys;
+            int move = position.findLegalMove(MoveCodec.packedAt(job.moveData(), i));
+            if (move < 0) {
+                logger.warn("[Analysis] Game {} has an illegal move at ply {}; analyzing up to it", job.gameId(), i);
+                return Arrays.copyOf(keys, i + 1);
+            }
+            position.makeMove(move);
+        }
+    }
+
+    /** Waits while live games need the CPU. Returns false if interrupted (shutdown). */
+    private boolean waitForSpareCpu() {
+        while (liveLoadHigh()) {
+            try {
+                Thread.sleep(BACKOFF_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean liveLoadHigh() {
+        if (botExecutor.getActiveCount() > 0) return true;
+        if (maxLoad <= 0) return false;
+        double load = os.getSystemLoadAverage();
+        // Negative when the platform has no load average
+        return load >= 0 && (load - searching.get()) / cores >= maxLoad;
+    }
+
+    private static int pack(int score, int move) {
+        return score << 16 | (move & 0xFFFF);
+    }
+
+    /** Mean accuracy of one side's moves, or null if it made none. */
+    private static Double sideAccuracy(int[] scores, boolean white) {
+        double sum = 0;
+        int moves = 0;
+        for (int ply = white ? 0 : 1; ply + 1 < scores.length; ply += 2) {
+            sum += moveAccuracy(scores, ply);
+            moves++;
+        }
+        return moves > 0 ? sum / moves : null;
+    }
+
+    /** Accuracy of the move played from position {@code ply}; even plies are White's. */
+    private static double moveAccuracy(int[] scores, int ply) {
+        int sign = ply % 2 == 0 ? 1 : -1;
+        return Accuracy.ofMove(sign * scores[ply], sign * scores[ply + 1]);
+    }
+
+    private static GameAnalysisDto toDto(GameAnalysis analysis) {
+        int positions = analysis.positionCount();
+        int[] scores = new int[positions];
+        for (int i = 0; i < positions; i++) {
+            scores[i] = analysis.scoreAt(i);
+        }
+        List<MoveEvaluationDto> moves = new ArrayList<>(Math.max(0, positions - 1));
+        for (int ply = 0; ply + 1 < positions; ply++) {
+            int score = scores[ply + 1];
+            Integer eval = Engine.isMateScore(score) ? null : score;
+            Integer mate = null;
+            if (eval == null) {
+                int movesToMate = (Engine.MATE - Math.abs(score) + 1) / 2;
+                mate = score > 0 ? movesToMate : -movesToMate;
+            }
+            int bestMove = analysis.bestMoveAt(ply);
+            moves.add(new MoveEvaluationDto(ply + 1, eval, mate,
+                    bestMove != 0 ? MoveCodec.decode(bestMove) : null,
+                    Math.round(moveAccuracy(scores, ply) * 10) / 10.0));
+        }
+        return new GameAnalysisDto(analysis.getGameId(), round(analysis.getWhiteAccuracy()),
+                round(analysis.getBlackAccuracy()), moves);
+    }
+
+    private static Double round(Double accuracy) {
+        return accuracy != null ? Math.round(accuracy * 10) / 10.0 : null;
+    }
+
+    /** An ended game waiting for analysis: its moves and who to tell. */
+    record AnalysisJob(Long gameId, byte[] moveData, String whiteLogin, String blackLogin) {}
+}
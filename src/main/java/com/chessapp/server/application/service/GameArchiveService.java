@@ -0,0 +1,16 @@
+package com.chessapp.server.application.service;
+
+import com.chessapp.server.domain.model.Game;
+import com.chessapp.server.infrastructure.archive.ArchivedGame;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+public interface GameArchiveService {
+    int archiveEndedGames();
+
+    Optional<Game> findArchivedGame(Long gameId);
+
+    Map<Long, ArchivedGame> findArchived(Collection<Long> gameIds);
+}
@@ -0,0 +1,95 @@
+package com.chessapp.server.application.service;
+
+import com.chessapp.server.domain.model.Game;
+import com.chessapp.server.infrastructure.archive.ArchivedGame;
+import com.chessapp.server.infrastructure.archive.GameArchive;
+import com.chessapp.server.infrastructure.persistence.GameRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Moves ended games older than {@code chess.archive.after-days} out of the {@code games} table into
+ * the on-disk {@link GameArchive}, keeping the hot table small. {@code player_games} rows stay, so
+ * history pagination is unchanged and simply reads archived rows from disk.
+ */
+@Service
+public class GameArchiveServiceImpl implements GameArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GameArchiveServiceImpl.class);
+
+    private static final int LOAD_BATCH_SIZE = 500;
+
+    private final GameRepository gameRepository;
+    private final GameArchive gameArchive;
+    private final boolean enabled;
+    private final int afterDays;
+    private final int segmentSize;
+
+    public GameArchiveServiceImpl(GameRepository gameRepository,
+                                  GameArchive gameArchive,
+                                  @Value("${chess.archive.enabled:true}") boolean enabled,
+                                  @Value("${chess.archive.after-days:30}") int afterDays,
+                                  @Value("${chess.archive.segment-size:5000}") int segmentSize) {
+        this.gameRepository = gameRepository;
+        this.gameArchive = gameArchive;
+        this.enabled = enabled;
+        this.afterDays = afterDays;
+        this.segmentSize = Math.max(1, segmentSize);
+    }
+
+    /**
+     * Writes each batch of up to {@code segment-size} games to a sealed segment before deleting
+     * the rows. A crash in between only leaves a duplicate on disk, which reads tolerate.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${chess.archive.interval-ms:3600000}",
+            initialDelayString = "${chess.archive.initial-delay-ms:300000}")
+    public int archiveEndedGames() {
+        if (!enabled) return 0;
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(afterDays);
+        long lastId = 0L;
+        int archived = 0;
+        while (true) {
+            List<ArchivedGame> segment = new ArrayList<>();
+            while (segment.size() < segmentSize) {
+                List<Game> batch = gameRepository.findArchivable(cutoff, lastId,
+                        PageRequest.of(0, Math.min(LOAD_BATCH_SIZE, segmentSize - segment.size())));
+                if (batch.isEmpty()) break;
+                for (Game game : batch) {
+                    segment.add(ArchivedGame.of(game));
+                }
+                lastId = batch.get(batch.size() - 1).getId();
+            }
+            if (segment.isEmpty()) break;
+
+            gameArchive.append(segment);
+            gameRepository.deleteAllByIdInBatch(segment.stream().map(ArchivedGame::id).toList());
+            archived += segment.size();
+        }
+        if (archived > 0) {
+            logger.info("[Archive] Archived {} games ended before {}", archived, cutoff);
+        }
+        return archived;
+    }
+
+    @Override
+    public Optional<Game> findArchivedGame(Long gameId) {
+        return gameArchive.find(gameId).map(ArchivedGame::toGame);
+    }
+
+    @Override
+    public Map<Long, ArchivedGame> findArchived(Collection<Long> gameIds) {
+        return gameArchive.findAll(gameIds);
+    }
+}
@@ -0,0 +1,19 @@
+package com.chessapp.server.application.service;
+
+import com.chessapp.server.application.dto.GameHistoryPageDto;
+import com.chessapp.server.domain.model.Game;
+import com.chessapp.server.domain.model.User;
+
+public interface GameHistoryService {
+    /**
+     * Completed games of {@code user}, newest first, starting after {@code cursor} (null for
+     * the first page).
+     */
+    GameHistoryPageDto getHistory(User user, String cursor, int size);
+
+    /** Adds a just-ended game to both players' history. */
+    void recordFinishedGame(Game game);
+
+    /** Indexes ended games that predate the history table. */
+    void backfill();
+}
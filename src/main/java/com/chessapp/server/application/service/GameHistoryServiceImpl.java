@@ -0,0 +1,207 @@
+package com.chessapp.server.application.service;
+
+import com.chessapp.server.application.dto.GameHistoryDto;
+import com.chessapp.server.application.dto.GameHistoryPageDto;
+import com.chessapp.server.domain.enums.GameResult;
+import com.chessapp.server.domain.model.Game;
+import com.chessapp.server.domain.model.PlayerGame;
+import com.chessapp.server.domain.model.User;
+import com.chessapp.server.infrastructure.archive.ArchivedGame;
+import com.chessapp.server.infrastructure.config.ReadWriteRoutingDataSource;
+import com.chessapp.server.infrastructure.persistence.GameHistoryRow;
+import com.chessapp.server.infrastructure.persistence.GameRepository;
+import com.chessapp.server.infrastructure.persistence.PlayerGameRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class GameHistoryServiceImpl implements GameHistoryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GameHistoryServiceImpl.class);
+
+    private static final int BACKFILL_BATCH_SIZE = 500;
+
+    private final PlayerGameRepository playerGameRepository;
+    private final GameRepository gameRepository;
+    private final GameArchiveService gameArchiveService;
+    // The backfill calls into this bean, so it cannot rely on @Transactional for its batches
+    private final TransactionTemplate transactionTemplate;
+
+    public GameHistoryServiceImpl(PlayerGameRepository playerGameRepository, GameRepository gameRepository,
+                                  GameArchiveService gameArchiveService,
+                                  PlatformTransactionManager transactionManager) {
+        this.playerGameRepository = playerGameRepository;
+        this.gameRepository = gameRepository;
+        this.gameArchiveService = gameArchiveService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public GameHistoryPageDto getHistory(User user, String cursor, int size) {
+        return ReadWriteRoutingDataSource.readFromReplica(() -> history(user, cursor, size));
+    }
+
+    private GameHistoryPageDto history(User user, String cursor, int size) {
+        // One extra row tells us whether another page exists without counting
+        PageRequest limit = PageRequest.of(0, size + 1);
+        Cursor after = Cursor.decode(cursor);
+        List<GameHistoryRow> rows = after == null
+                ? playerGameRepository.findHistory(user.getId(), limit)
+                : playerGameRepository.findHistoryBefore(user.getId(), after.endedAt(), after.gameId(), limit);
+
+        boolean hasMore = rows.size() > size;
+        if (hasMore) {
+            rows = rows.subList(0, size);
+        }
+
+        Map<Long, ArchivedGame> archived = fetchArchived(rows);
+        List<GameHistoryDto> history = new ArrayList<>(rows.size());
+        for (GameHistoryRow row : rows) {
+            if (row.isArchived()) {
+                ArchivedGame game = archived.get(row.gameId());
+                if (game == null) continue; // removed outright; nothing left to show
+                row = game.toHistoryRow();
+            }
+            history.add(toHistoryDto(row, user));
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            GameHistoryRow last = rows.get(rows.size() - 1);
+            nextCursor = new Cursor(last.endedAt(), last.gameId()).encode();
+        }
+        return new GameHistoryPageDto(history, nextCursor);
+    }
+
+    private Map<Long, ArchivedGame> fetchArchived(List<GameHistoryRow> rows) {
+        List<Long> ids = new ArrayList<>();
+        for (GameHistoryRow row : rows) {
+            if (row.isArchived()) ids.add(row.gameId());
+        }
+        return ids.isEmpty() ? Map.of() : gameArchiveService.findArchived(ids);
+    }
+
+    @Override
+    @Transactional
+    public void recordFinishedGame(Game game) {
+        insertHistoryRows(game);
+    }
+
+    private void insertHistoryRows(Game game) {
+        if (game.getId() == null || game.getEndedAt() == null) return;
+        if (game.getWhitePlayer() != null) {
+            playerGameRepository.save(new PlayerGame(game.getWhitePlayer().getId(), game.getId(), game.getEndedAt()));
+        }
+        if (game.getBlackPlayer() != null) {
+            playerGameRepository.save(new PlayerGame(game.getBlackPlayer().getId(), game.getId(), game.getEndedAt()));
+        }
+    }
+
+    /**
+     * Indexes ended games written before {@code player_games} existed. Games already indexed
+     * are skipped by the query itself, so this is a no-op after the first run.
+     * <p>
+     * Live games have been resumed by then, so a game can end and be indexed between the query
+     * and the insert. Each batch is one transaction; if it hits such a duplicate, the batch is
+     * redone one game per transaction and the games already indexed are skipped.
+     */
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        long lastId = 0L;
+        int indexed = 0;
+        while (true) {
+            List<Game> batch = gameRepository.findEndedGamesMissingFromHistory(
+                    lastId, PageRequest.of(0, BACKFILL_BATCH_SIZE));
+            if (batch.isEmpty()) break;
+            try {
+                transactionTemplate.executeWithoutResult(status -> batch.forEach(this::insertHistoryRows));
+                indexed += batch.size();
+            } catch (DataIntegrityViolationException e) {
+                for (Game game : batch) {
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> insertHistoryRows(game));
+                        indexed++;
+                    } catch (DataIntegrityViolationException duplicate) {
+                        logger.debug("[History] Game {} was indexed while backfilling, skipped", game.getId());
+                    }
+                }
+            }
+            lastId = batch.get(batch.size() - 1).getId();
+        }
+        if (indexed > 0) {
+            logger.info("[History] Backfilled {} ended games into player_games", indexed);
+        }
+    }
+
+    private GameHistoryDto toHistoryDto(GameHistoryRow row, User perspective) {
+        boolean isWhite = row.whiteId().equals(perspective.getId());
+
+        String resultStr = "UNKNOWN";
+        if (row.result() != null) {
+            resultStr = mapResult(row.result(), isWhite);
+        }
+        Integer ratingChange = isWhite ? row.whiteRatingChange() : row.blackRatingChange();
+        Integer opponentRating = isWhite ? row.blackRating() : row.whiteRating();
+
+        return new GameHistoryDto(
+                row.gameId(),
+                isWhite ? row.blackLogin() : row.whiteLogin(),
+                isWhite ? row.blackDisplayName() : row.whiteDisplayName(),
+                opponentRating != null ? opponentRating : 0,
+                isWhite ? "WHITE" : "BLACK",
+                resultStr,
+                ratingChange != null ? ratingChange : 0,
+                row.timeControl().name(),
+                row.moveCount() != null ? row.moveCount() : 0,
+                row.endedAt()
+        );
+    }
+
+    private String mapResult(GameResult result, boolean isWhite) {
+        return switch (result) {
+            case WHITE_WIN, WHITE_WIN_TIMEOUT, WHITE_WIN_RESIGNATION -> isWhite ? "WIN" : "LOSS";
+            case BLACK_WIN, BLACK_WIN_TIMEOUT, BLACK_WIN_RESIGNATION -> isWhite ? "LOSS" : "WIN";
+            case DRAW, DRAW_BY_AGREEMENT -> "DRAW";
+        };
+    }
+
+    /**
+     * Position of the last row returned, encoded as base64url("endedAt|gameId").
+     */
+    private record Cursor(LocalDateTime endedAt, Long gameId) {
+
+        String encode() {
+            String raw = endedAt + "|" + gameId;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String cursor) {
+            if (cursor == null || cursor.isBlank()) return null;
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int sep = raw.indexOf('|');
+                return new Cursor(LocalDateTime.parse(raw.substring(0, sep)), Long.parseLong(raw.substring(sep + 1)));
+            } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.chessapp.server.application.service;
 
+import com.chessapp.server.application.dto.GameAnalysisDto;
+import com.chessapp.server.domain.enums.MoveResult;
+import com.chessapp.server.domain.model.Challenge;
 import com.chessapp.server.domain.model.Game;
 import com.chessapp.server.domain.model.User;
 
@@ -7,4 +10,16 @@ public interface GameNotificationService {
     void notifyGameFound(User user1, User user2, Game game);
 
     void notifyGameEnded(Game game);
+
+    /**
+     * Sends the position after a move to both players, and the result if the move ended the game.
+     */
+    void notifyMovePlayed(Long gameId, MoveResult result);
+
+    void notifyChallengeExpired(Challenge challenge);
+
+    /**
+     * Sends a finished game's engine analysis to both players, if they are online.
+     */
+    void notifyAnalysisReady(String whiteLogin, String blackLogin, GameAnalysisDto analysis);
 }
@@ -0,0 +1,5 @@
+package com.chessapp.server.application.service;
+
+public interface GameRecoveryService {
+    void recoverLiveGames();
+}
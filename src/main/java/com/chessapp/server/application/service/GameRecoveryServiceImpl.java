@@ -0,0 +1,104 @@
+package com.chessapp.server.application.service;
+
+import com.chessapp.server.infrastructure.persistence.GameRepository;
+import com.chessapp.server.infrastructure.recovery.HeartbeatFile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Brings live games back after a restart instead of ending them.
+ * <p>
+ * Games that cannot continue (never started, or idle longer than {@code chess.recovery.max-idle-minutes}
+ * not counting the downtime) are ended with one bulk update. The rest are resumed in parallel
+ * batches with the downtime credited back to the player on move. Runs before the history backfill,
+ * which then indexes the games ended here.
+ */
+@Service
+public class GameRecoveryServiceImpl implements GameRecoveryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GameRecoveryServiceImpl.class);
+
+    private final GameRepository gameRepository;
+    private final GameService gameService;
+    private final HeartbeatFile heartbeatFile;
+    private final Duration maxIdle;
+    private final int batchSize;
+    private final int threads;
+
+    public GameRecoveryServiceImpl(GameRepository gameRepository,
+                                   GameService gameService,
+                                   HeartbeatFile heartbeatFile,
+                                   @Value("${chess.recovery.max-idle-minutes:30}") long maxIdleMinutes,
+                                   @Value("${chess.recovery.batch-size:200}") int batchSize,
+                                   @Value("${chess.recovery.threads:4}") int threads) {
+        this.gameRepository = gameRepository;
+        this.gameService = gameService;
+        this.heartbeatFile = heartbeatFile;
+        this.maxIdle = Duration.ofMinutes(maxIdleMinutes);
+        this.batchSize = Math.max(1, batchSize);
+        this.threads = Math.max(1, threads);
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void recoverLiveGames() {
+        LocalDateTime now = LocalDateTime.now();
+        // Without a heartbeat the downtime is unknown; resumeGames then restarts running clocks from now
+        Duration downtime = heartbeatFile.previousBeat()
+                .map(beat -> Duration.between(beat, Instant.now()))
+                .map(d -> d.isNegative() ? Duration.ZERO : d)
+                .orElse(null);
+
+        LocalDateTime staleBefore = now.minus(maxIdle).minus(downtime != null ? downtime : Duration.ZERO);
+        int ended = gameRepository.endUnrecoverableGames(now, staleBefore);
+
+        List<Long> ids = gameRepository.findInProgressGameIds();
+        int failed = resumeInBatches(ids, downtime);
+
+        logger.info("[Recovery] Resumed {} live games, ended {} unrecoverable (downtime: {})",
+                ids.size() - failed, ended, downtime != null ? downtime.toMillis() + " ms" : "unknown");
+    }
+
+    private int resumeInBatches(List<Long> ids, Duration downtime) {
+        if (ids.isEmpty()) return 0;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<List<Long>> batches = new ArrayList<>();
+            for (int i = 0; i < ids.size(); i += batchSize) {
+                batches.add(ids.subList(i, Math.min(ids.size(), i + batchSize)));
+            }
+            List<Future<?>> futures = new ArrayList<>(batches.size());
+            for (List<Long> batch : batches) {
+                futures.add(executor.submit(() -> gameService.resumeGames(batch, downtime)));
+            }
+            int failed = 0;
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    futures.get(i).get();
+                } catch (Exception e) {
+                    failed += batches.get(i).size();
+                    logger.error("[Recovery] Failed to resume games {}: {}", batches.get(i), e.getMessage(), e);
+                }
+            }
+            return failed;
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -7,16 +7,15 @@ import com.chessapp.server.domain.enums.GameResult;
 import com.chessapp.server.domain.enums.MoveResult;
 import com.chessapp.server.domain.enums.TimeControl;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 
 public interface GameService {
-    void endAllUnfinishedGames();
+    void resumeGames(List<Long> gameIds, Duration downtime);
 
     Game createGame(User whitePlayer, User blackPlayer, TimeControl timeControl);
 
-    Optional<Game> findByIdWithMoves(Long id);
-
     Optional<Game> findById(Long gameId);
 
     Optional<Game> findActiveGameByPlayer(User user);
@@ -42,4 +41,12 @@ public interface GameService {
     boolean acceptDraw(Long gameId, User player);
 
     boolean declineDraw(Long gameId, User player);
+
+    /**
+     * Queues a move for the player who is waiting for the opponent. It is played as soon as the
+     * opponent has moved, if it is legal then; otherwise it is dropped.
+     */
+    boolean setPremove(Long gameId, User player, String moveStr);
+
+    boolean cancelPremove(Long gameId, User player);
 }
\ No newline at end of file
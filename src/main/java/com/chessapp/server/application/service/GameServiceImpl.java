@@ -1,6 +1,8 @@
 package com.chessapp.server.application.service;
 
 import com.chessapp.server.application.dto.GameDataDto;
+import com.chessapp.server.domain.chess.MoveCodec;
+import com.chessapp.server.domain.chess.Position;
 import com.chessapp.server.domain.model.Game;
 import com.chessapp.server.domain.model.User;
 import com.chessapp.server.domain.enums.GameResult;
@@ -8,10 +10,7 @@ import com.chessapp.server.domain.enums.GameState;
 import com.chessapp.server.domain.enums.MoveResult;
 import com.chessapp.server.domain.enums.TimeControl;
 import com.chessapp.server.infrastructure.persistence.GameRepository;
-import com.github.bhlangonijr.chesslib.*;
-import com.github.bhlangonijr.chesslib.move.Move;
 import jakarta.transaction.Transactional;
-import org.hibernate.Hibernate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Lazy;
@@ -33,28 +32,77 @@ public class GameServiceImpl implements GameService {
     private final UserService userService;
     private final RatingService ratingService;
     private final GameTimerService gameTimerService;
+    private final GameHistoryService gameHistoryService;
+    private final PlayerStatsService playerStatsService;
+    private final LagCompensationService lagCompensationService;
+    private final OpeningExplorerService openingExplorerService;
+    private final GameAnalysisService gameAnalysisService;
+    private final BotService botService;
+
+    // Boards of live games, kept between moves; rebuilt from the move list on first use (e.g. after a restart)
+    private final Map<Long, LiveBoard> liveBoards = new java.util.concurrent.ConcurrentHashMap<>();
+
+    /**
+     * A live game's board and the monitor guarding it. The holder stays the same for the whole
+     * game, so every thread locks the same object even when the board inside is rebuilt.
+     */
+    private static final class LiveBoard {
+        private Position position;
+    }
 
     public GameServiceImpl(
             @Lazy GameNotificationService notificationService,
             GameRepository gameRepository,
             UserService userService,
             RatingService ratingService,
-            GameTimerService gameTimerService) {
+            GameTimerService gameTimerService,
+            GameHistoryService gameHistoryService,
+            PlayerStatsService playerStatsService,
+            LagCompensationService lagCompensationService,
+            OpeningExplorerService openingExplorerService,
+            GameAnalysisService gameAnalysisService,
+            @Lazy BotService botService) {
         this.notificationService = notificationService;
         this.gameRepository = gameRepository;
         this.userService = userService;
         this.ratingService = ratingService;
         this.gameTimerService = gameTimerService;
+        this.gameHistoryService = gameHistoryService;
+        this.playerStatsService = playerStatsService;
+        this.lagCompensationService = lagCompensationService;
+        this.openingExplorerService = openingExplorerService;
+        this.gameAnalysisService = gameAnalysisService;
+        this.botService = botService;
     }
 
+    /**
+     * Puts live games back on the clock after a restart. {@code lastMoveAt} is moved forward by
+     * the downtime so the player to move is not charged for it; with no known downtime the
+     * running clock simply restarts from now. Timeouts are rescheduled from what is left.
+     */
     @Transactional
-    public void endAllUnfinishedGames() {
-        List<Game> unfinishedGames = gameRepository.findByStateIn(List.of(GameState.IN_PROGRESS, GameState.WAITING));
-        for (Game game : unfinishedGames) {
-            game.setState(GameState.ENDED);
-            game.setEndedAt(LocalDateTime.now());
+    public void resumeGames(List<Long> gameIds, Duration downtime) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Game> games = gameRepository.findAllById(gameIds);
+        List<Game> resumed = new ArrayList<>(games.size());
+        for (Game game : games) {
+            if (game.getState() != GameState.IN_PROGRESS) continue;
+            LocalDateTime lastMoveAt = game.getLastMoveAt();
+            if (lastMoveAt != null) {
+                LocalDateTime credited = downtime == null ? now : lastMoveAt.plus(downtime);
+                game.setLastMoveAt(credited.isAfter(now) ? now : credited);
+            }
+            resumed.add(game);
+        }
+        gameRepository.saveAll(resumed);
+
+        for (Game game : resumed) {
+            // Clocks only start running after the first move, same as on the move path
+            if (game.getLastMoveAt() != null) {
+                gameTimerService.scheduleTimeout(game, remainingTime(game));
+            }
+            botService.onTurn(game);
         }
-        gameRepository.saveAll(unfinishedGames);
     }
 
     @Transactional
@@ -68,10 +116,6 @@ public class GameServiceImpl implements GameService {
         return gameRepository.save(game);
     }
 
-    public Optional<Game> findByIdWithMoves(Long id) {
-        return gameRepository.findByIdWithMoves(id);
-    }
-
     public Optional<Game> findById(Long gameId) {
         return gameRepository.findById(gameId);
     }
@@ -86,28 +130,24 @@ public class GameServiceImpl implements GameService {
 
     @Transactional
     public GameDataDto createGameData(Long gameId) {
-        Optional<Game> gameOpt = findByIdWithMoves(gameId);
+        Optional<Game> gameOpt = findById(gameId);
         if (gameOpt.isEmpty()) {
             return null;
         }
 
         Game game = gameOpt.get();
-        Hibernate.initialize(game.getMoves());
-
         return buildGameData(game);
     }
 
     @Transactional
     public GameDataDto createGameData(Game game) {
         if (game.getId() != null) {
-            Optional<Game> managedGame = findByIdWithMoves(game.getId());
+            Optional<Game> managedGame = findById(game.getId());
             if (managedGame.isPresent()) {
                 game = managedGame.get();
             }
         }
 
-        Hibernate.initialize(game.getMoves());
-
         return buildGameData(game);
     }
 
@@ -149,7 +189,8 @@ public class GameServiceImpl implements GameService {
                 game.getWhiteTimeLeft(),
                 game.getBlackTimeLeft(),
                 game.getState().name(),
-                game.getResult() != null ? game.getResult().name() : null
+                game.getResult() != null ? game.getResult().name() : null,
+                legalMoves(game)
         );
     }
 
@@ -160,45 +201,97 @@ public class GameServiceImpl implements GameService {
             return MoveResult.GAME_NOT_FOUND;
 
         Game game = gameOpt.get();
-        Hibernate.initialize(game.getMoves());
-
         MoveResult valResult = validateMoveConstraints(game, player, moveStr);
         if (valResult != MoveResult.SUCCESS)
             return valResult;
 
+        int move;
         try {
-            Board board = new Board();
-            board.loadFromFen(game.getBoardState());
+            move = MoveCodec.encode(moveStr);
+        } catch (IllegalArgumentException e) {
+            return MoveResult.INVALID_MOVE;
+        }
 
-            Move move = parseMoveString(moveStr, board);
-            if (move == null || !board.isMoveLegal(move, true)) {
-                return MoveResult.INVALID_MOVE;
+        try {
+            LiveBoard board = liveBoard(gameId);
+            int pliesBefore = game.getMoveCount();
+            GameResult endResult;
+            // Update frames read the same board (legalMoves), so they must not see a half-made move
+            synchronized (board) {
+                Position position = currentPosition(board, game);
+                if (!position.legalMoveSet().contains(move)) {
+                    return MoveResult.INVALID_MOVE;
+                }
+                // A premove of the mover's own was queued for a turn that has now been played
+                Premove own = premoves.get(gameId);
+                if (own != null && own.playerId().equals(player.getId())) {
+                    premoves.remove(gameId, own);
+                }
+
+                endResult = playMove(game, position, move, moveStr);
+                if (endResult == null) {
+                    endResult = playPremove(game, position);
+                }
             }
+            // Only the new plies (the move and any premove it set off) are written to the move column
+            gameRepository.appendMoves(gameId, game.getMoveDataSince(pliesBefore));
 
-            updatePlayerClocks(game);
-
-            board.doMove(move);
-            game.setBoardState(board.getFen());
-            game.addMove(moveStr);
-            game.setLastMoveAt(LocalDateTime.now());
-
-            MoveResult endStatus = checkGameEnd(board, game);
-            if (endStatus != null)
-                return endStatus;
+            if (endResult != null) {
+                // Outside the board lock: ending a game saves it and records it everywhere
+                endGame(game, endResult);
+                return MoveResult.GAME_ENDED;
+            }
 
             gameRepository.save(game);
 
             if (game.getState() == GameState.IN_PROGRESS) {
                 gameTimerService.scheduleTimeout(game);
+                botService.onTurn(game);
             }
             return MoveResult.SUCCESS;
 
         } catch (Exception e) {
+            // The board may now be ahead of what was saved; rebuild it from the stored moves next time
+            liveBoards.remove(gameId);
+            premoves.remove(gameId);
             logger.error("Error processing move for game {}: {}", gameId, e.getMessage(), e);
             return MoveResult.ERROR;
         }
     }
 
+    /**
+     * Plays a validated move and charges the mover's clock. Returns the result the game ended
+     * with, or null if it goes on; the caller ends it once the board is released.
+     */
+    private GameResult playMove(Game game, Position position, int move, String moveStr) {
+        updatePlayerClocks(game);
+
+        position.makeMove(move);
+        game.setBoardState(position.toFen());
+        game.addMove(moveStr);
+        game.setLastMoveAt(LocalDateTime.now());
+
+        // Generates the new position's legal moves once; the update frame and the next move reuse them
+        return gameEndResult(position, game);
+    }
+
+    /**
+     * Plays the new side to move's premove, if any, in the same transaction as the move that
+     * triggered it. lastMoveAt was stamped a moment ago, so it costs next to nothing on the clock.
+     * A premove that turned out illegal is dropped; the client sees it is to move again.
+     */
+    private GameResult playPremove(Game game, Position position) {
+        Premove premove = premoves.remove(game.getId());
+        if (premove == null || !premove.playerId().equals(game.getCurrentPlayer().getId())) {
+            return null;
+        }
+        if (!position.legalMoveSet().contains(premove.move())) {
+            logger.debug("Dropping illegal premove {} in game {}", premove.uci(), game.getId());
+            return null;
+        }
+        return playMove(game, position, premove.move(), premove.uci());
+    }
+
     private MoveResult validateMoveConstraints(Game game, User player, String moveStr) {
         if (game.getState() != GameState.IN_PROGRESS)
             return MoveResult.GAME_NOT_STARTED;
@@ -209,56 +302,102 @@ public class GameServiceImpl implements GameService {
         return MoveResult.SUCCESS;
     }
 
-    private Move parseMoveString(String moveStr, Board board) {
-        try {
-            if (moveStr.length() == 5) {
-                String normalized = moveStr.toUpperCase();
-                char promoChar = normalized.charAt(4);
-                PieceType promoType = switch (promoChar) {
-                    case 'Q' -> PieceType.QUEEN;
-                    case 'R' -> PieceType.ROOK;
-                    case 'B' -> PieceType.BISHOP;
-                    case 'N' -> PieceType.KNIGHT;
-                    default -> null;
-                };
-                if (promoType == null)
-                    return null;
-
-                Piece promotionPiece = Piece.make(board.getSideToMove(), promoType);
-                return new Move(Square.fromValue(normalized.substring(0, 2)),
-                        Square.fromValue(normalized.substring(2, 4)), promotionPiece);
-            }
-            return new Move(moveStr, board.getSideToMove());
-        } catch (Exception e) {
-            return null;
-        }
-    }
-
     private void updatePlayerClocks(Game game) {
-        int elapsed = (int) calculateElapsedTime(game);
+        if (!isClockRunning(game)) return;
+        long wallTime = calculateElapsedTime(game);
+        // Time the move spent on the network is not thinking time
+        long lag = lagCompensationService.compensate(game.getId(), game.getCurrentPlayer().getId(), wallTime);
+        int elapsed = (int) (wallTime - lag);
         // Subtract elapsed time from the CURRENT player's clock (the one making the move)
         if (game.getIsWhiteTurn()) {
-            if (game.getMoves().size() >= 2) {
-                game.setWhiteTimeLeft(Math.max(0, game.getWhiteTimeLeft() - elapsed));
-            }
+            game.setWhiteTimeLeft(Math.max(0, game.getWhiteTimeLeft() - elapsed));
         } else {
-            if (game.getMoves().size() >= 1) {
-                game.setBlackTimeLeft(Math.max(0, game.getBlackTimeLeft() - elapsed));
-            }
+            game.setBlackTimeLeft(Math.max(0, game.getBlackTimeLeft() - elapsed));
         }
     }
 
-    private MoveResult checkGameEnd(Board board, Game game) {
-        if (board.isMated()) {
-            endGame(game, game.getIsWhiteTurn() ? GameResult.BLACK_WIN : GameResult.WHITE_WIN);
-            return MoveResult.GAME_ENDED;
-        } else if (board.isStaleMate() || board.isDraw()) {
-            endGame(game, GameResult.DRAW);
-            return MoveResult.GAME_ENDED;
+    private boolean isClockRunning(Game game) {
+        return game.getMoveCount() >= (game.getIsWhiteTurn() ? 2 : 1);
+    }
+
+    /**
+     * Milliseconds left on the clock of the player to move, counting time already spent on this move.
+     */
+    private long remainingTime(Game game) {
+        int timeLeft = game.getIsWhiteTurn() ? game.getWhiteTimeLeft() : game.getBlackTimeLeft();
+        return isClockRunning(game) ? timeLeft - calculateElapsedTime(game) : timeLeft;
+    }
+
+    private GameResult gameEndResult(Position position, Game game) {
+        if (position.isCheckmate()) {
+            return game.getIsWhiteTurn() ? GameResult.BLACK_WIN : GameResult.WHITE_WIN;
+        } else if (position.isStalemate() || position.isDraw()) {
+            return GameResult.DRAW;
         }
         return null;
     }
 
+    /**
+     * Legal moves for the side to move, sent with every update so clients need no move generator.
+     * This is the same set the next {@link #makeMove} is checked against.
+     */
+    private Map<String, List<String>> legalMoves(Game game) {
+        if (game.getState() != GameState.IN_PROGRESS || game.getId() == null) {
+            return Map.of();
+        }
+        LiveBoard board = liveBoard(game.getId());
+        synchronized (board) {
+            if (board.position == null) {
+                board.position = replayPositions(game);
+            }
+            if (isCurrent(board.position, game)) {
+                return board.position.legalMoveSet().toUciMap();
+            }
+        }
+        // This snapshot is not the resident board's (e.g. a move is being committed right now).
+        // Only the move path replaces the board, so this frame replays its own
+        return replayPositions(game).legalMoveSet().toUciMap();
+    }
+
+    private LiveBoard liveBoard(Long gameId) {
+        return liveBoards.computeIfAbsent(gameId, id -> new LiveBoard());
+    }
+
+    /**
+     * The resident board for a live game; the caller holds {@code board}'s monitor. A board that
+     * is out of step with the stored moves (e.g. the game was also played through another node)
+     * is thrown away and rebuilt.
+     */
+    private Position currentPosition(LiveBoard board, Game game) {
+        if (board.position == null || !isCurrent(board.position, game)) {
+            board.position = replayPositions(game);
+        }
+        return board.position;
+    }
+
+    private static boolean isCurrent(Position position, Game game) {
+        return position.history().size() - 1 == game.getMoveCount();
+    }
+
+    /**
+     * One-off O(n) rebuild for a game that is not resident yet; afterwards each move is made in place.
+     * Loading the stored FEN is not enough: it carries no history of earlier positions.
+     */
+    private Position replayPositions(Game game) {
+        Position position = Position.startPosition();
+        byte[] moveData = game.getMoveData();
+        for (int i = 0; i < MoveCodec.count(moveData); i++) {
+            int packed = MoveCodec.packedAt(moveData, i);
+            int move = position.findLegalMove(packed);
+            if (move < 0) {
+                throw new IllegalStateException("Stored move " + MoveCodec.decode(packed)
+                        + " is illegal in game " + game.getId());
+            }
+            position.makeMove(move);
+        }
+        return position;
+    }
+
     private long calculateElapsedTime(Game game) {
         if (game.getLastMoveAt() == null) {
             return 0L; // First move — don't subtract any time
@@ -270,6 +409,9 @@ public class GameServiceImpl implements GameService {
     @Transactional
     public void endGame(Game game, GameResult result) {
         gameTimerService.cancelTimeout(game.getId());
+        liveBoards.remove(game.getId());
+        premoves.remove(game.getId());
+        lagCompensationService.forgetGame(game.getId());
         logger.info("Ending game: {}, reason = {}", game.getId(), result);
         game.setState(GameState.ENDED);
         game.setResult(result);
@@ -286,37 +428,37 @@ public class GameServiceImpl implements GameService {
         }
 
         game.setWinner(winner);
-        gameRepository.save(game);
 
-        // Update ratings and statistics
+        // Update ratings and statistics first so the game row records the rating change
         updatePlayerStats(game, result);
+
+        gameRepository.save(game);
+        gameHistoryService.recordFinishedGame(game);
+        openingExplorerService.recordGame(game);
+        gameAnalysisService.enqueue(game);
     }
 
     private void updatePlayerStats(Game game, GameResult result) {
         User whitePlayer = game.getWhitePlayer();
         User blackPlayer = game.getBlackPlayer();
         TimeControl timeControl = game.getTimeControl();
-
-        // Update win/loss/draw counts
-        if (result == GameResult.WHITE_WIN || result == GameResult.WHITE_WIN_TIMEOUT
-                || result == GameResult.WHITE_WIN_RESIGNATION) {
-            whitePlayer.incrementWins(timeControl);
-            blackPlayer.incrementLosses(timeControl);
-        } else if (result == GameResult.BLACK_WIN || result == GameResult.BLACK_WIN_TIMEOUT
-                || result == GameResult.BLACK_WIN_RESIGNATION) {
-            blackPlayer.incrementWins(timeControl);
-            whitePlayer.incrementLosses(timeControl);
-        } else if (result == GameResult.DRAW || result == GameResult.DRAW_BY_AGREEMENT) {
-            whitePlayer.incrementDraws(timeControl);
-            blackPlayer.incrementDraws(timeControl);
-        }
-
-        // Update ratings
-        ratingService.updateRatings(whitePlayer, blackPlayer, result, timeControl);
-
-        userService.save(whitePlayer);
-        userService.save(blackPlayer);
-
+        int whiteBefore = whitePlayer.getRatingForTimeControl(timeControl);
+        int blackBefore = blackPlayer.getRatingForTimeControl(timeControl);
+        if (game.getWhiteRating() == null) game.setWhiteRating(whiteBefore);
+        if (game.getBlackRating() == null) game.setBlackRating(blackBefore);
+
+        // Games against the computer are unrated and stay out of both players' records
+        if (whitePlayer.isBot() || blackPlayer.isBot()) return;
+
+        // Update win/loss/draw counts (atomic increments in player_stats)
+        playerStatsService.recordResult(whitePlayer.getId(), blackPlayer.getId(), timeControl, result);
+
+        // Update ratings (single-column increments; the users rows are never rewritten)
+        int[] changes = ratingService.calculateRatingChanges(whiteBefore, blackBefore, result);
+        userService.applyRatingChange(whitePlayer, timeControl, changes[0]);
+        userService.applyRatingChange(blackPlayer, timeControl, changes[1]);
+        game.setWhiteRatingChange(changes[0]);
+        game.setBlackRatingChange(changes[1]);
     }
 
     @Transactional
@@ -327,8 +469,6 @@ public class GameServiceImpl implements GameService {
         }
 
         Game game = gameOpt.get();
-        Hibernate.initialize(game.getMoves());
-
         if (game.getState() != GameState.IN_PROGRESS || !game.isPlayerInGame(player)) {
             return;
         }
@@ -348,8 +488,6 @@ public class GameServiceImpl implements GameService {
         }
 
         Game game = gameOpt.get();
-        Hibernate.initialize(game.getMoves());
-
         if (game.getState() != GameState.IN_PROGRESS) {
             logger.warn("[Timeout] Game not in progress: {}", gameId);
             return;
@@ -424,7 +562,6 @@ public class GameServiceImpl implements GameService {
         }
 
         pendingDrawOffers.remove(gameId);
-        Hibernate.initialize(game.getMoves());
         endGame(game, GameResult.DRAW_BY_AGREEMENT);
         logger.info("Draw accepted in game {} by {}", gameId, player.getLogin());
         return true;
@@ -442,4 +579,52 @@ public class GameServiceImpl implements GameService {
         return true;
     }
 
-}
\ No newline at end of file
+    // --- Premoves ---
+    // Maps gameId -> the move queued by the player who is waiting for the opponent
+    private final Map<Long, Premove> premoves = new java.util.concurrent.ConcurrentHashMap<>();
+
+    private record Premove(Long playerId, int move, String uci) {}
+
+    @Override
+    public boolean setPremove(Long gameId, User player, String moveStr) {
+        Optional<Game> gameOpt = gameRepository.findById(gameId);
+        if (gameOpt.isEmpty()) return false;
+
+        Game game = gameOpt.get();
+        if (game.getState() != GameState.IN_PROGRESS || !game.isPlayerInGame(player)) {
+            return false;
+        }
+
+        int move;
+        try {
+            move = MoveCodec.encode(moveStr);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+
+        boolean white = player.getId().equals(game.getWhitePlayer().getId());
+        LiveBoard board = liveBoard(gameId);
+        synchronized (board) {
+            // The turn is read from the board under its lock, so the opponent's move cannot land in
+            // between. The snapshot may predate that move, so it only seeds a missing board
+            if (board.position == null) {
+                board.position = replayPositions(game);
+            }
+            // Only while waiting: on your own turn the move should simply be played
+            if (board.position.isWhiteToMove() == white) {
+                return false;
+            }
+            // Legality can only be judged once the opponent has moved; a newer premove replaces the old one
+            premoves.put(gameId, new Premove(player.getId(), move, moveStr.toLowerCase(Locale.ROOT)));
+        }
+        logger.debug("Premove {} queued in game {} by {}", moveStr, gameId, player.getLogin());
+        return true;
+    }
+
+    @Override
+    public boolean cancelPremove(Long gameId, User player) {
+        Premove premove = premoves.get(gameId);
+        return premove != null && premove.playerId().equals(player.getId()) && premoves.remove(gameId, premove);
+    }
+
+}
\ No newline at end of file
@@ -5,6 +5,8 @@ import com.chessapp.server.domain.model.Game;
 public interface GameTimerService {
     void scheduleTimeout(Game game);
 
+    void scheduleTimeout(Game game, long timeLeftMillis);
+
     void cancelTimeout(Long gameId);
 
     void stopAll();
@@ -24,9 +24,11 @@ public class GameTimerServiceImpl implements GameTimerService {
     }
 
     public void scheduleTimeout(Game game) {
-        cancelTimeout(game.getId());
+        scheduleTimeout(game, game.getIsWhiteTurn() ? game.getWhiteTimeLeft() : game.getBlackTimeLeft());
+    }
 
-        int timeLeft = game.getIsWhiteTurn() ? game.getWhiteTimeLeft() : game.getBlackTimeLeft();
+    public void scheduleTimeout(Game game, long timeLeft) {
+        cancelTimeout(game.getId());
 
         if (timeLeft <= 0) {
             Long timedOutPlayerId = game.getCurrentPlayer().getId();
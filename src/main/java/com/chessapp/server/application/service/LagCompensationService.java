@@ -0,0 +1,16 @@
+package com.chessapp.server.application.service;
+
+public interface LagCompensationService {
+    void recordRoundTrip(Long playerId, long rttMillis);
+
+    long estimatedRoundTrip(Long playerId);
+
+    /**
+     * Milliseconds of {@code elapsedMillis} not to charge to the player's clock for this move.
+     */
+    long compensate(Long gameId, Long playerId, long elapsedMillis);
+
+    void forgetPlayer(Long playerId);
+
+    void forgetGame(Long gameId);
+}
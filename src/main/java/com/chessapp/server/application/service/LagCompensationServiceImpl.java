@@ -0,0 +1,82 @@
+package com.chessapp.server.application.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gives back the time a move spent in transit. Between the server stamping the previous move and
+ * receiving this one, the update went out to the player and the move came back, so the network
+ * share of the elapsed time is about one round trip.
+ * <p>
+ * Round trips are smoothed as in TCP ({@code srtt += (sample - srtt) / 8}), measured from the
+ * server-initiated ping/pong. A client can only inflate its samples by answering late, so each
+ * move is capped and each player has a fixed quota per game.
+ * <p>
+ * Everything is a single CAS on an {@link AtomicLong}; nothing here blocks.
+ */
+@Service
+public class LagCompensationServiceImpl implements LagCompensationService {
+
+    // Larger samples are stalls (GC, backgrounded app), not link latency
+    private static final long MAX_SAMPLE_MICROS = 5_000_000L;
+
+    private final Map<Long, AtomicLong> smoothedRttMicros = new ConcurrentHashMap<>();
+    // gameId -> playerId -> compensation granted so far
+    private final Map<Long, Map<Long, AtomicLong>> quotaUsed = new ConcurrentHashMap<>();
+
+    private final boolean enabled;
+    private final long maxPerMoveMillis;
+    private final long quotaMillis;
+
+    public LagCompensationServiceImpl(@Value("${chess.clock.lag.enabled:true}") boolean enabled,
+                                      @Value("${chess.clock.lag.max-per-move-ms:500}") long maxPerMoveMillis,
+                                      @Value("${chess.clock.lag.quota-ms:5000}") long quotaMillis) {
+        this.enabled = enabled;
+        this.maxPerMoveMillis = maxPerMoveMillis;
+        this.quotaMillis = quotaMillis;
+    }
+
+    @Override
+    public void recordRoundTrip(Long playerId, long rttMillis) {
+        if (playerId == null || rttMillis < 0) return;
+        long sample = Math.min(rttMillis * 1000, MAX_SAMPLE_MICROS);
+        smoothedRttMicros.computeIfAbsent(playerId, id -> new AtomicLong(-1))
+                .accumulateAndGet(sample, (srtt, s) -> srtt < 0 ? s : srtt + (s - srtt) / 8);
+    }
+
+    @Override
+    public long estimatedRoundTrip(Long playerId) {
+        AtomicLong srtt = playerId == null ? null : smoothedRttMicros.get(playerId);
+        return srtt == null ? 0 : Math.max(0, srtt.get()) / 1000;
+    }
+
+    @Override
+    public long compensate(Long gameId, Long playerId, long elapsedMillis) {
+        if (!enabled || elapsedMillis <= 0) return 0;
+        long wanted = Math.min(Math.min(estimatedRoundTrip(playerId), maxPerMoveMillis), elapsedMillis);
+        if (wanted <= 0) return 0;
+
+        AtomicLong used = quotaUsed.computeIfAbsent(gameId, id -> new ConcurrentHashMap<>())
+                .computeIfAbsent(playerId, id -> new AtomicLong());
+        while (true) {
+            long current = used.get();
+            long granted = Math.min(wanted, quotaMillis - current);
+            if (granted <= 0) return 0;
+            if (used.compareAndSet(current, current + granted)) return granted;
+        }
+    }
+
+    @Override
+    public void forgetPlayer(Long playerId) {
+        if (playerId != null) smoothedRttMicros.remove(playerId);
+    }
+
+    @Override
+    public void forgetGame(Long gameId) {
+        if (gameId != null) quotaUsed.remove(gameId);
+    }
+}
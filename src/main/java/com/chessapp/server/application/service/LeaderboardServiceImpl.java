@@ -1,25 +1,43 @@
 package com.chessapp.server.application.service;
 
 import com.chessapp.server.application.dto.LeaderboardEntryDto;
+import com.chessapp.server.application.dto.PlayerStatsDto;
 import com.chessapp.server.domain.enums.TimeControl;
 import com.chessapp.server.domain.model.User;
+import com.chessapp.server.infrastructure.config.ReadWriteRoutingDataSource;
 import com.chessapp.server.infrastructure.persistence.UserRepository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
 
 @Service
 public class LeaderboardServiceImpl implements LeaderboardService {
 
     private final UserRepository userRepository;
+    private final PlayerStatsService playerStatsService;
 
-    public LeaderboardServiceImpl(UserRepository userRepository) {
+    public LeaderboardServiceImpl(UserRepository userRepository, PlayerStatsService playerStatsService) {
         this.userRepository = userRepository;
+        this.playerStatsService = playerStatsService;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<LeaderboardEntryDto> getTopPlayers(TimeControl timeControl, int page, int size) {
+        return ReadWriteRoutingDataSource.readFromReplica(() -> topPlayers(timeControl, page, size));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public int getPlayerRank(User user, TimeControl timeControl) {
+        return ReadWriteRoutingDataSource.readFromReplica(() -> rank(user, timeControl));
+    }
+
+    private Page<LeaderboardEntryDto> topPlayers(TimeControl timeControl, int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
 
         Page<User> users = switch (timeControl) {
@@ -28,38 +46,33 @@ public class LeaderboardServiceImpl implements LeaderboardService {
             case BULLET -> userRepository.findTopByBulletRating(pageable);
         };
 
+        // One query for the whole page's counters
+        Map<Long, PlayerStatsDto> stats = playerStatsService.getStats(
+                users.getContent().stream().map(User::getId).toList(), timeControl);
+
         int startRank = page * size + 1;
         return users.map(user -> {
             int index = (int) (startRank + users.getContent().indexOf(user));
-            return toDto(user, index, timeControl);
+            return toDto(user, index, timeControl, stats.getOrDefault(user.getId(), PlayerStatsDto.EMPTY));
         });
     }
 
-    @Override
-    public int getPlayerRank(User user, TimeControl timeControl) {
-        // Count how many users have a higher rating
+    private int rank(User user, TimeControl timeControl) {
+        // Count how many players (not bots) have a higher rating
         int userRating = user.getRatingForTimeControl(timeControl);
         long higherCount = userRepository.findAll().stream()
-                .filter(u -> u.getRatingForTimeControl(timeControl) > userRating)
+                .filter(u -> !u.isBot() && u.getRatingForTimeControl(timeControl) > userRating)
                 .count();
         return (int) higherCount + 1;
     }
 
-    private LeaderboardEntryDto toDto(User user, int rank, TimeControl timeControl) {
-        int wins, losses, draws;
-        switch (timeControl) {
-            case BLITZ -> { wins = user.getBlitzWins(); losses = user.getBlitzLosses(); draws = user.getBlitzDraws(); }
-            case RAPID -> { wins = user.getRapidWins(); losses = user.getRapidLosses(); draws = user.getRapidDraws(); }
-            case BULLET -> { wins = user.getBulletWins(); losses = user.getBulletLosses(); draws = user.getBulletDraws(); }
-            default -> { wins = 0; losses = 0; draws = 0; }
-        }
-
+    private LeaderboardEntryDto toDto(User user, int rank, TimeControl timeControl, PlayerStatsDto stats) {
         return new LeaderboardEntryDto(
                 rank,
                 user.getLogin(),
                 user.getDisplayName(),
                 user.getRatingForTimeControl(timeControl),
-                wins, losses, draws,
+                stats.wins(), stats.losses(), stats.draws(),
                 Boolean.TRUE.equals(user.getIsOnline())
         );
     }
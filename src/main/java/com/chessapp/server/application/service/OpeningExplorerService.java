@@ -0,0 +1,18 @@
+package com.chessapp.server.application.service;
+
+import com.chessapp.server.application.dto.OpeningExplorerDto;
+import com.chessapp.server.domain.model.Game;
+
+public interface OpeningExplorerService {
+    OpeningExplorerDto explore(String fen);
+
+    /**
+     * Adds one finished game to the index.
+     */
+    void recordGame(Game game);
+
+    /**
+     * Rebuilds the index from every finished game, hot and archived. Returns the number of games indexed.
+     */
+    int rebuild();
+}
@@ -0,0 +1,349 @@
+package com.chessapp.server.application.service;
+
+import com.chessapp.server.application.dto.OpeningExplorerDto;
+import com.chessapp.server.application.dto.OpeningMoveDto;
+import com.chessapp.server.domain.chess.MoveCodec;
+import com.chessapp.server.domain.chess.Position;
+import com.chessapp.server.domain.enums.GameResult;
+import com.chessapp.server.domain.model.Game;
+import com.chessapp.server.infrastructure.archive.GameArchive;
+import com.chessapp.server.infrastructure.explorer.OpeningIndex;
+import com.chessapp.server.infrastructure.explorer.OpeningTable;
+import com.chessapp.server.infrastructure.persistence.EndedGameMoves;
+import com.chessapp.server.infrastructure.persistence.GameRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Opening explorer: per position, how often each move was played and how those games ended.
+ * <p>
+ * The index covers the first {@code chess.explorer.max-plies} plies of every finished game,
+ * keyed by Zobrist key so transpositions share an entry. A full build replays games in batches on
+ * a fork-join pool, each leaf task with one {@link Position} it makes and unmakes moves on and one
+ * local {@link OpeningTable}, merged on the way up. After that each game that ends is added once its
+ * transaction commits, on the single-threaded {@code explorerExecutor} so a growing index is never
+ * written out on a move thread. Lookups generate the position's legal moves and probe the table once per move, behind an
+ * LRU cache of whole answers.
+ */
+@Service
+public class OpeningExplorerServiceImpl implements OpeningExplorerService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OpeningExplorerServiceImpl.class);
+
+    // Games per leaf task: enough work to amortize the fork, small enough to balance
+    private static final int LEAF_GAMES = 256;
+
+    private final GameRepository gameRepository;
+    private final GameArchive gameArchive;
+    private final OpeningIndex openingIndex;
+    private final Executor executor;
+    private final int maxPlies;
+    private final int batchSize;
+    private final boolean buildOnStartup;
+    private final ForkJoinPool pool;
+    private final Map<Long, List<OpeningMoveDto>> cache;
+
+    // Games that ended while a rebuild was running; null when no rebuild is
+    private final Object pendingLock = new Object();
+    private List<EndedGameMoves> pendingDuringRebuild;
+
+    public OpeningExplorerServiceImpl(GameRepository gameRepository,
+                                      GameArchive gameArchive,
+                                      OpeningIndex openingIndex,
+                                      @Qualifier("explorerExecutor") Executor executor,
+                                      @Value("${chess.explorer.max-plies:24}") int maxPlies,
+                                      @Value("${chess.explorer.batch-size:20000}") int batchSize,
+                                      @Value("${chess.explorer.threads:0}") int threads,
+                                      @Value("${chess.explorer.cache-size:10000}") int cacheSize,
+                                      @Value("${chess.explorer.build-on-startup:true}") boolean buildOnStartup) {
+        this.gameRepository = gameRepository;
+        this.gameArchive = gameArchive;
+        this.openingIndex = openingIndex;
+        this.executor = executor;
+        this.maxPlies = maxPlies;
+        this.batchSize = Math.max(LEAF_GAMES, batchSize);
+        this.buildOnStartup = buildOnStartup;
+        this.pool = new ForkJoinPool(threads > 0 ? threads : Runtime.getRuntime().availableProcessors());
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, List<OpeningMoveDto>> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    @Override
+    public OpeningExplorerDto explore(String fen) {
+        Position position = Position.fromFen(fen);
+        long key = position.key();
+
+        List<OpeningMoveDto> moves;
+        synchronized (cache) {
+            moves = cache.get(key);
+        }
+        if (moves == null) {
+            moves = lookup(position);
+            synchronized (cache) {
+                cache.put(key, moves);
+            }
+        }
+
+        long white = 0, draws = 0, black = 0;
+        for (OpeningMoveDto move : moves) {
+            white += move.whiteWins();
+            draws += move.draws();
+            black += move.blackWins();
+        }
+        return new OpeningExplorerDto(position.toFen(), white, draws, black, moves);
+    }
+
+    @Override
+    public void recordGame(Game game) {
+        if (game.getId() == null || game.getResult() == null || game.getMoveCount() == 0) return;
+        EndedGameMoves line = new EndedGameMoves(game.getId(), game.getMoveData(), game.getResult());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(line);
+                }
+            });
+        } else {
+            submit(line);
+        }
+    }
+
+    private void submit(EndedGameMoves line) {
+        try {
+            executor.execute(() -> index(line));
+        } catch (RejectedExecutionException e) {
+            // The next rebuild picks the game up from the database
+            logger.warn("[Explorer] Queue full, game {} not indexed", line.gameId());
+        }
+    }
+
+    private void index(EndedGameMoves line) {
+        synchronized (pendingLock) {
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(line);
+                return;
+            }
+        }
+        // A table holding only recent games would stop buildIfMissing from ever running the full build
+        if (openingIndex.isEmpty()) return;
+        try {
+            addToIndex(line);
+        } catch (RuntimeException e) {
+            // The explorer is best effort
+            logger.error("[Explorer] Failed to index game {}: {}", line.gameId(), e.getMessage());
+        }
+    }
+
+    @Override
+    public int rebuild() {
+        synchronized (pendingLock) {
+            if (pendingDuringRebuild != null) throw new IllegalStateException("Rebuild already running");
+            pendingDuringRebuild = new ArrayList<>();
+        }
+        long started = System.currentTimeMillis();
+        OpeningTable total = new OpeningTable(1 << 16);
+        BitSet seen = new BitSet();
+        List<EndedGameMoves> batch = new ArrayList<>(batchSize);
+        int[] games = {0};
+        boolean complete = false;
+        List<EndedGameMoves> missed;
+        try {
+            // Archived games first; a game archived twice after a crash is counted once
+            gameArchive.forEach(game -> {
+                if (game.result() != null && markSeen(seen, game.id())) {
+                    batch.add(new EndedGameMoves(game.id(), game.moveData(), game.result()));
+                    if (batch.size() >= batchSize) games[0] += replayBatch(batch, total);
+                }
+            });
+
+            Long afterId = 0L;
+            List<EndedGameMoves> page;
+            do {
+                page = gameRepository.findEndedGameMoves(afterId, PageRequest.of(0, batchSize));
+                for (EndedGameMoves game : page) {
+                    if (markSeen(seen, game.gameId())) batch.add(game);
+                }
+                if (batch.size() >= batchSize) games[0] += replayBatch(batch, total);
+                if (!page.isEmpty()) afterId = page.get(page.size() - 1).gameId();
+            } while (!page.isEmpty());
+            games[0] += replayBatch(batch, total);
+            complete = true;
+        } finally {
+            synchronized (pendingLock) {
+                missed = pendingDuringRebuild;
+                pendingDuringRebuild = null;
+                // A failed build keeps serving the old index
+                if (complete) openingIndex.replaceWith(total);
+            }
+            // With no previous index, leave it missing so the next full build still runs
+            if (!complete && !openingIndex.isEmpty()) missed.forEach(this::addToIndex);
+            synchronized (cache) {
+                cache.clear();
+            }
+        }
+
+        // Games that ended while the scan was running and that it did not see
+        for (EndedGameMoves line : missed) {
+            if (markSeen(seen, line.gameId())) addToIndex(line);
+        }
+        logger.info("[Explorer] Indexed {} games ({} position/move entries) in {} ms",
+                games[0], openingIndex.size(), System.currentTimeMillis() - started);
+        return games[0];
+    }
+
+    /**
+     * Builds the index in the background on first start, when there is none yet.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIfMissing() {
+        if (buildOnStartup && openingIndex.isEmpty()) {
+            rebuild();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private int replayBatch(List<EndedGameMoves> batch, OpeningTable total) {
+        int size = batch.size();
+        if (size > 0) {
+            total.addAll(pool.invoke(new ReplayTask(batch, 0, size)));
+            batch.clear();
+        }
+        return size;
+    }
+
+    private List<OpeningMoveDto> lookup(Position position) {
+        int[] legal = new int[Position.MAX_MOVES];
+        int n = position.legalMoves(legal);
+        int[] counts = new int[3];
+        long key = position.key();
+        List<OpeningMoveDto> moves = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            if (openingIndex.get(key, legal[i], counts)) {
+                moves.add(new OpeningMoveDto(MoveCodec.decode(legal[i]),
+                        counts[OpeningTable.WHITE_WIN], counts[OpeningTable.DRAW], counts[OpeningTable.BLACK_WIN]));
+            }
+        }
+        moves.sort(Comparator.comparingLong(OpeningMoveDto::total).reversed());
+        return List.copyOf(moves);
+    }
+
+    private void addToIndex(EndedGameMoves line) {
+        Position position = Position.startPosition();
+        int outcome = outcome(line.result());
+        int plies = Math.min(maxPlies, MoveCodec.count(line.moveData()));
+        List<Long> touched = new ArrayList<>(plies);
+        for (int i = 0; i < plies; i++) {
+            int move = position.findLegalMove(MoveCodec.packedAt(line.moveData(), i));
+            if (move < 0) break;
+            openingIndex.add(position.key(), move, outcome);
+            touched.add(position.key());
+            position.makeMove(move);
+        }
+        synchronized (cache) {
+            touched.forEach(cache::remove);
+        }
+    }
+
+    private static boolean markSeen(BitSet seen, Long gameId) {
+        if (gameId == null) return false;
+        if (gameId > Integer.MAX_VALUE) return true; // beyond what the bitset can track
+        int bit = gameId.intValue();
+        if (seen.get(bit)) return false;
+        seen.set(bit);
+        return true;
+    }
+
+    static int outcome(GameResult result) {
+        return switch (result) {
+            case WHITE_WIN, WHITE_WIN_TIMEOUT, WHITE_WIN_RESIGNATION -> OpeningTable.WHITE_WIN;
+            case BLACK_WIN, BLACK_WIN_TIMEOUT, BLACK_WIN_RESIGNATION -> OpeningTable.BLACK_WIN;
+            case DRAW, DRAW_BY_AGREEMENT -> OpeningTable.DRAW;
+        };
+    }
+
+    /**
+     * Replays games [from, to) into a fresh table, splitting in half until a slice is small enough.
+     * A leaf reuses one Position: moves are made up to the ply limit and unmade again per game.
+     */
+    private final class ReplayTask extends RecursiveTask<OpeningTable> {
+        private final List<EndedGameMoves> games;
+        private final int from;
+        private final int to;
+
+        ReplayTask(List<EndedGameMoves> games, int from, int to) {
+            this.games = games;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected OpeningTable compute() {
+            if (to - from <= LEAF_GAMES) {
+                return replay();
+            }
+            int mid = (from + to) >>> 1;
+            ReplayTask left = new ReplayTask(games, from, mid);
+            left.fork();
+            OpeningTable right = new ReplayTask(games, mid, to).compute();
+            OpeningTable merged = left.join();
+            if (merged.size() < right.size()) {
+                right.addAll(merged);
+                return right;
+            }
+            merged.addAll(right);
+            return merged;
+        }
+
+        private OpeningTable replay() {
+            OpeningTable table = new OpeningTable((to - from) * maxPlies / 2);
+            Position position = Position.startPosition();
+            for (int g = from; g < to; g++) {
+                EndedGameMoves game = games.get(g);
+                int outcome = outcome(game.result());
+                int plies = Math.min(maxPlies, MoveCodec.count(game.moveData()));
+                int made = 0;
+                for (; made < plies; made++) {
+                    int move = position.findLegalMove(MoveCodec.packedAt(game.moveData(), made));
+                    if (move < 0) break;
+                    table.add(position.key(), move, outcome);
+                    position.makeMove(move);
+                }
+                for (int i = 0; i < made; i++) {
+                    position.unmakeMove();
+                }
+            }
+            return table;
+        }
+    }
+}
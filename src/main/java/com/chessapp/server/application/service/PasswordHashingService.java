@@ -0,0 +1,23 @@
+package com.chessapp.server.application.service;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface PasswordHashingService {
+    String encode(String rawPassword);
+
+    boolean matches(String rawPassword, String encodedPassword);
+
+    /**
+     * Hashes on the hashing pool without holding the caller. Fails with a
+     * {@link java.util.concurrent.RejectedExecutionException} when the pool is saturated or the
+     * hash does not finish within the configured timeout.
+     */
+    CompletableFuture<String> encodeAsync(String rawPassword);
+
+    /** Non-blocking {@link #matches}; fails the same way as {@link #encodeAsync}. */
+    CompletableFuture<Boolean> matchesAsync(String rawPassword, String encodedPassword);
+
+    boolean needsUpgrade(String encodedPassword);
+
+    void upgradeAsync(Long userId, String rawPassword);
+}
@@ -0,0 +1,166 @@
+package com.chessapp.server.application.service;
+
+import com.chessapp.server.infrastructure.cache.UserCache;
+import com.chessapp.server.infrastructure.persistence.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Runs BCrypt on the bounded {@code passwordHashingExecutor} instead of the calling
+ * (servlet / WebSocket) thread. When the pool and its queue are full, callers get a
+ * {@link RejectedExecutionException} right away, which the REST layer maps to 503.
+ * <p>
+ * {@link #encodeAsync} and {@link #matchesAsync} hand back a future, so the REST layer can
+ * release its servlet thread while BCrypt runs; {@link #encode} and {@link #matches} wait on the
+ * same future and are kept for callers that cannot go asynchronous.
+ * <p>
+ * {@code chess.security.hashing.timeout-ms} fails the future, but it cannot stop a hash that has
+ * already started: BCrypt never checks for interrupts, so a timed-out hash keeps its pool thread
+ * until it finishes. Only work that times out while still queued is skipped. Under overload the
+ * pool therefore stays busy with hashes nobody is waiting for, which is why the queue is kept
+ * short enough to drain within the timeout (see {@code AsyncConfig#passwordHashingExecutor}).
+ */
+@Service
+public class PasswordHashingServiceImpl implements PasswordHashingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashingServiceImpl.class);
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolTaskExecutor executor;
+    private final UserRepository userRepository;
+    private final UserCache userCache;
+    private final long timeoutMs;
+    private final Counter rejectedCounter;
+
+    public PasswordHashingServiceImpl(
+            PasswordEncoder passwordEncoder,
+            @Qualifier("passwordHashingExecutor") ThreadPoolTaskExecutor executor,
+            UserRepository userRepository,
+            UserCache userCache,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${chess.security.hashing.timeout-ms:5000}") long timeoutMs) {
+        this.passwordEncoder = passwordEncoder;
+        this.executor = executor;
+        this.userRepository = userRepository;
+        this.userCache = userCache;
+        this.timeoutMs = timeoutMs;
+
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            // executor.queued / executor.active / executor.completed tagged name=password.hashing
+            new ExecutorServiceMetrics(executor.getThreadPoolExecutor(), "password.hashing", Collections.emptyList())
+                    .bindTo(registry);
+            this.rejectedCounter = Counter.builder("password.hashing.rejected")
+                    .description("Hashing requests refused because the pool was saturated")
+                    .register(registry);
+        } else {
+            this.rejectedCounter = null;
+        }
+    }
+
+    @Override
+    public String encode(String rawPassword) {
+        return await(encodeAsync(rawPassword));
+    }
+
+    @Override
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return await(matchesAsync(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public CompletableFuture<String> encodeAsync(String rawPassword) {
+        return submit(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> matchesAsync(String rawPassword, String encodedPassword) {
+        if (rawPassword == null || encodedPassword == null) {
+            return CompletableFuture.completedFuture(false);
+        }
+        return submit(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean needsUpgrade(String encodedPassword) {
+        // Only parses the hash prefix, cheap enough for the calling thread
+        return encodedPassword != null && passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void upgradeAsync(Long userId, String rawPassword) {
+        try {
+            executor.execute(() -> {
+                String upgraded = passwordEncoder.encode(rawPassword);
+                userRepository.updatePassword(userId, upgraded);
+                userCache.invalidateById(userId);
+                logger.debug("Upgraded password hash cost for user {}", userId);
+            });
+        } catch (RejectedExecutionException e) {
+            // Best effort: the upgrade is retried on the next successful login
+            countRejection();
+        }
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                // Timed out while queued: nobody is waiting, don't spend the CPU
+                if (result.isDone()) {
+                    return;
+                }
+                try {
+                    result.complete(task.get());
+                } catch (Throwable t) {
+                    result.completeExceptionally(t);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            countRejection();
+            return CompletableFuture.failedFuture(e);
+        }
+
+        return result.orTimeout(timeoutMs, TimeUnit.MILLISECONDS).exceptionally(e -> {
+            if (e instanceof TimeoutException) {
+                countRejection();
+                throw new RejectedExecutionException("Password hashing timed out", e);
+            }
+            throw e instanceof CompletionException completion ? completion : new CompletionException(e);
+        });
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private void countRejection() {
+        if (rejectedCounter != null) {
+            rejectedCounter.increment();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.chessapp.server.application.service;
+
+import com.chessapp.server.domain.model.Game;
+import com.chessapp.server.domain.model.User;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface PgnExportService {
+
+    /** Writes one game as UTF-8 PGN. */
+    void writeGame(Game game, OutputStream out) throws IOException;
+
+    /**
+     * Writes every finished game of {@code player}, newest first, as UTF-8 PGN. Games are read
+     * and written a page at a time, so memory use does not grow with the history. Returns the
+     * number of games written.
+     */
+    int writeHistory(User player, OutputStream out) throws IOException;
+
+    /**
+     * Reserves a slot for one history export by {@code requester}. Returns false when the
+     * requester or the server already runs as many exports as allowed; otherwise the caller must
+     * hand the slot back with {@link #releaseExport} once the export is over.
+     */
+    boolean tryAcquireExport(User requester);
+
+    void releaseExport(User requester);
+}
@@ -0,0 +1,176 @@
+package com.chessapp.server.application.service;
+
+import com.chessapp.server.domain.chess.PgnWriter;
+import com.chessapp.server.domain.enums.GameResult;
+import com.chessapp.server.domain.model.Game;
+import com.chessapp.server.domain.model.User;
+import com.chessapp.server.infrastructure.archive.ArchivedGame;
+import com.chessapp.server.infrastructure.persistence.PgnGameRow;
+import com.chessapp.server.infrastructure.persistence.PlayerGameRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * PGN export of single games and whole histories.
+ * <p>
+ * A history is read with the same seek as the history pages, {@code chess.pgn.page-size} games
+ * per query as flat rows (archived games filled in from the archive), and each page is written
+ * and flushed before the next is read. Memory stays at one page however many games a player has,
+ * and the response goes out chunk by chunk while the export runs. There is deliberately no
+ * transaction around the export: each page is its own short read, so a slow client never holds a
+ * database connection. It does hold a request thread for as long as the download runs, so
+ * concurrent history exports are capped per requester ({@code chess.pgn.max-exports-per-user})
+ * and in total ({@code chess.pgn.max-exports}).
+ */
+@Service
+public class PgnExportServiceImpl implements PgnExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PgnExportServiceImpl.class);
+
+    private static final DateTimeFormatter PGN_DATE = DateTimeFormatter.ofPattern("yyyy.MM.dd");
+    private static final int WRITE_BUFFER = 64 * 1024;
+
+    private final PlayerGameRepository playerGameRepository;
+    private final GameArchiveService gameArchiveService;
+    private final int pageSize;
+    private final Semaphore exportSlots;
+    private final int maxExportsPerUser;
+    private final Map<Long, Integer> exportsByUser = new ConcurrentHashMap<>();
+
+    public PgnExportServiceImpl(PlayerGameRepository playerGameRepository,
+                                GameArchiveService gameArchiveService,
+                                @Value("${chess.pgn.page-size:500}") int pageSize,
+                                @Value("${chess.pgn.max-exports:8}") int maxExports,
+                                @Value("${chess.pgn.max-exports-per-user:1}") int maxExportsPerUser) {
+        this.playerGameRepository = playerGameRepository;
+        this.gameArchiveService = gameArchiveService;
+        this.pageSize = Math.max(1, pageSize);
+        this.exportSlots = new Semaphore(Math.max(1, maxExports));
+        this.maxExportsPerUser = Math.max(1, maxExportsPerUser);
+    }
+
+    @Override
+    public void writeGame(Game game, OutputStream out) throws IOException {
+        PgnWriter pgn = writer(out);
+        write(pgn, PgnGameRow.of(game));
+        pgn.flush();
+    }
+
+    @Override
+    public int writeHistory(User player, OutputStream out) throws IOException {
+        long started = System.currentTimeMillis();
+        PgnWriter pgn = writer(out);
+        PageRequest page = PageRequest.of(0, pageSize);
+        int written = 0;
+        List<PgnGameRow> rows = playerGameRepository.findPgnRows(player.getId(), page);
+        while (!rows.isEmpty()) {
+            Map<Long, ArchivedGame> archived = fetchArchived(rows);
+            for (PgnGameRow row : rows) {
+                if (row.isArchived()) {
+                    ArchivedGame game = archived.get(row.gameId());
+                    if (game == null) continue; // removed outright; nothing left to export
+                    row = game.toPgnRow();
+                }
+                write(pgn, row);
+                written++;
+            }
+            // Hand the page to the client before reading the next
+            pgn.flush();
+            if (rows.size() < pageSize) break;
+            PgnGameRow last = rows.get(rows.size() - 1);
+            rows = playerGameRepository.findPgnRowsBefore(player.getId(), last.endedAt(), last.gameId(), page);
+        }
+        logger.info("[PGN] Exported {} games of {} in {} ms", written, player.getLogin(),
+                System.currentTimeMillis() - started);
+        return written;
+    }
+
+    @Override
+    public boolean tryAcquireExport(User requester) {
+        if (!exportSlots.tryAcquire()) return false;
+        boolean[] acquired = {false};
+        exportsByUser.compute(requester.getId(), (id, running) -> {
+            int count = running == null ? 0 : running;
+            if (count >= maxExportsPerUser) return running;
+            acquired[0] = true;
+            return count + 1;
+        });
+        if (!acquired[0]) exportSlots.release();
+        return acquired[0];
+    }
+
+    @Override
+    public void releaseExport(User requester) {
+        exportsByUser.computeIfPresent(requester.getId(), (id, running) -> running > 1 ? running - 1 : null);
+        exportSlots.release();
+    }
+
+    private Map<Long, ArchivedGame> fetchArchived(List<PgnGameRow> rows) {
+        List<Long> ids = new ArrayList<>();
+        for (PgnGameRow row : rows) {
+            if (row.isArchived()) ids.add(row.gameId());
+        }
+        return ids.isEmpty() ? Map.of() : gameArchiveService.findArchived(ids);
+    }
+
+    private static PgnWriter writer(OutputStream out) {
+        return new PgnWriter(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER));
+    }
+
+    private static void write(PgnWriter pgn, PgnGameRow game) throws IOException {
+        // Seven Tag Roster first, in its standard order
+        Map<String, String> tags = new LinkedHashMap<>();
+        tags.put("Event", "Online Game");
+        tags.put("Site", "?");
+        tags.put("Date", date(game.startedAt() != null ? game.startedAt() : game.endedAt()));
+        tags.put("Round", "-");
+        tags.put("White", game.whiteName());
+        tags.put("Black", game.blackName());
+        tags.put("Result", result(game.result()));
+        if (game.whiteRating() != null) tags.put("WhiteElo", game.whiteRating().toString());
+        if (game.blackRating() != null) tags.put("BlackElo", game.blackRating().toString());
+        if (game.timeControl() != null) {
+            tags.put("TimeControl", String.valueOf(game.timeControl().getMilliseconds() / 1000));
+        }
+        if (game.result() != null) tags.put("Termination", termination(game.result()));
+        tags.put("GameId", String.valueOf(game.gameId()));
+        pgn.writeGame(tags, game.moveData());
+    }
+
+    private static String date(LocalDateTime time) {
+        return time != null ? time.format(PGN_DATE) : "????.??.??";
+    }
+
+    private static String result(GameResult result) {
+        if (result == null) return "*";
+        return switch (result) {
+            case WHITE_WIN, WHITE_WIN_TIMEOUT, WHITE_WIN_RESIGNATION -> "1-0";
+            case BLACK_WIN, BLACK_WIN_TIMEOUT, BLACK_WIN_RESIGNATION -> "0-1";
+            case DRAW, DRAW_BY_AGREEMENT -> "1/2-1/2";
+        };
+    }
+
+    private static String termination(GameResult result) {
+        return switch (result) {
+            case WHITE_WIN_TIMEOUT, BLACK_WIN_TIMEOUT -> "time forfeit";
+            default -> "normal";
+        };
+    }
+}
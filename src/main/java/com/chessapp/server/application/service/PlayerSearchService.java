@@ -0,0 +1,20 @@
+package com.chessapp.server.application.service;
+
+import com.chessapp.server.application.dto.PlayerSearchDto;
+import com.chessapp.server.application.dto.TypeaheadEntryDto;
+import com.chessapp.server.domain.model.User;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+public interface PlayerSearchService {
+    Page<PlayerSearchDto> searchPlayers(String query, int page, int size);
+
+    /**
+     * Logins starting with {@code prefix}: online friends of {@code requester} (may be null)
+     * first, then other online players, then the best-rated of everyone else.
+     */
+    List<TypeaheadEntryDto> typeahead(User requester, String prefix, int limit);
+
+    void rebuildIndex();
+}
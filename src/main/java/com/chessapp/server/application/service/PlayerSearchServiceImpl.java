@@ -0,0 +1,135 @@
+package com.chessapp.server.application.service;
+
+import com.chessapp.server.application.dto.PlayerSearchDto;
+import com.chessapp.server.application.dto.TypeaheadEntryDto;
+import com.chessapp.server.domain.model.User;
+import com.chessapp.server.infrastructure.config.ReadWriteRoutingDataSource;
+import com.chessapp.server.infrastructure.persistence.UserRepository;
+import com.chessapp.server.infrastructure.presence.PresenceRegistry;
+import com.chessapp.server.infrastructure.presence.PresenceRegistry.OnlinePlayer;
+import com.chessapp.server.infrastructure.search.PlayerSearchIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+@Service
+public class PlayerSearchServiceImpl implements PlayerSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PlayerSearchServiceImpl.class);
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private final PlayerSearchIndex playerSearchIndex;
+    private final UserRepository userRepository;
+    private final PresenceRegistry presenceRegistry;
+    private final FriendService friendService;
+
+    public PlayerSearchServiceImpl(PlayerSearchIndex playerSearchIndex,
+                                   UserRepository userRepository,
+                                   PresenceRegistry presenceRegistry,
+                                   FriendService friendService) {
+        this.playerSearchIndex = playerSearchIndex;
+        this.userRepository = userRepository;
+        this.presenceRegistry = presenceRegistry;
+        this.friendService = friendService;
+    }
+
+    @Override
+    public Page<PlayerSearchDto> searchPlayers(String query, int page, int size) {
+        PlayerSearchIndex.Result result = playerSearchIndex.search(query, page, size);
+        return new PageImpl<>(result.players(), PageRequest.of(page, size), result.total());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TypeaheadEntryDto> typeahead(User requester, String prefix, int limit) {
+        String p = prefix.trim().toLowerCase(Locale.ROOT);
+        List<TypeaheadEntryDto> result = new ArrayList<>(limit);
+        Set<String> seen = new HashSet<>();
+        Set<String> friends = requester != null ? friendService.getFriendLogins(requester) : Set.of();
+        if (requester != null) {
+            // Never suggest the requester to themselves
+            seen.add(requester.getLogin().toLowerCase(Locale.ROOT));
+        }
+
+        for (String friend : friends) {
+            if (result.size() >= limit) break;
+            if (!friend.startsWith(p)) continue;
+            OnlinePlayer player = presenceRegistry.get(friend);
+            if (player != null && seen.add(friend)) {
+                result.add(toDto(player, true));
+            }
+        }
+
+        for (OnlinePlayer player : presenceRegistry.withPrefix(p, limit + seen.size())) {
+            if (result.size() >= limit) break;
+            if (seen.add(player.login().toLowerCase(Locale.ROOT))) {
+                result.add(toDto(player, false));
+            }
+        }
+
+        if (result.size() < limit) {
+            for (PlayerSearchDto player : playerSearchIndex.topByLoginPrefix(p, PlayerSearchIndex.TOP_K)) {
+                if (result.size() >= limit) break;
+                String key = player.login().toLowerCase(Locale.ROOT);
+                if (seen.add(key)) {
+                    result.add(new TypeaheadEntryDto(player.login(), player.displayName(),
+                            bestRating(player.blitzRating(), player.rapidRating(), player.bulletRating()),
+                            player.isOnline(), friends.contains(key)));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Loads every user into the index once the application is up. Users registered or renamed
+     * meanwhile are upserted by {@link UserServiceImpl}, so re-indexing them here is harmless.
+     * <p>
+     * Deliberately not transactional: each page is its own read-only repository transaction, so
+     * its users are detached (and collectable) once indexed and no connection is held for the
+     * whole scan.
+     */
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIndex() {
+        long start = System.currentTimeMillis();
+        long lastId = 0L;
+        int loaded = 0;
+        while (true) {
+            long after = lastId;
+            List<User> batch = ReadWriteRoutingDataSource.readFromReplica(
+                    () -> userRepository.findBatchAfterId(after, PageRequest.of(0, LOAD_BATCH_SIZE)));
+            if (batch.isEmpty()) break;
+            for (User user : batch) {
+                playerSearchIndex.upsert(user);
+                presenceRegistry.update(user);
+            }
+            loaded += batch.size();
+            lastId = batch.get(batch.size() - 1).getId();
+        }
+        logger.info("[Search] Indexed {} players in {} ms", loaded, System.currentTimeMillis() - start);
+    }
+
+    private static TypeaheadEntryDto toDto(OnlinePlayer player, boolean friend) {
+        return new TypeaheadEntryDto(player.login(), player.displayName(),
+                bestRating(player.blitzRating(), player.rapidRating(), player.bulletRating()),
+                true, friend);
+    }
+
+    private static int bestRating(int blitz, int rapid, int bullet) {
+        return Math.max(blitz, Math.max(rapid, bullet));
+    }
+}
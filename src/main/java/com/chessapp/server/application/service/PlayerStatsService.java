@@ -0,0 +1,19 @@
+package com.chessapp.server.application.service;
+
+import com.chessapp.server.application.dto.PlayerStatsDto;
+import com.chessapp.server.domain.enums.GameResult;
+import com.chessapp.server.domain.enums.TimeControl;
+
+import java.util.Collection;
+import java.util.Map;
+
+public interface PlayerStatsService {
+    /** Creates the zeroed counters of a new user, one row per time control. */
+    void initialize(Long userId);
+
+    void recordResult(Long whiteId, Long blackId, TimeControl timeControl, GameResult result);
+
+    Map<TimeControl, PlayerStatsDto> getStats(Long userId);
+
+    Map<Long, PlayerStatsDto> getStats(Collection<Long> userIds, TimeControl timeControl);
+}
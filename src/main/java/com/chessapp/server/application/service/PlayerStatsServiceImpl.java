@@ -0,0 +1,174 @@
+package com.chessapp.server.application.service;
+
+import com.chessapp.server.application.dto.PlayerStatsDto;
+import com.chessapp.server.domain.enums.GameResult;
+import com.chessapp.server.domain.enums.TimeControl;
+import com.chessapp.server.domain.model.PlayerStats;
+import com.chessapp.server.domain.model.PlayerStatsId;
+import com.chessapp.server.infrastructure.persistence.PlayerStatsRepository;
+import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Win/loss/draw counters in {@code player_stats}, one row per user and time control.
+ * <p>
+ * Results are single-row increments. Users from before the table existed get their rows on
+ * startup (or at their first result, whichever comes first), seeded from the counters that used
+ * to live in {@code users} when the database still has them. Rows are created in a transaction
+ * of their own that tolerates a concurrent creation, so it can never roll back a game end.
+ */
+@Service
+public class PlayerStatsServiceImpl implements PlayerStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PlayerStatsServiceImpl.class);
+
+    private final PlayerStatsRepository playerStatsRepository;
+    private final TransactionTemplate newTransaction;
+
+    // Whether users still has the old counter columns; null until probed
+    private volatile Boolean legacyCounters;
+
+    public PlayerStatsServiceImpl(PlayerStatsRepository playerStatsRepository,
+                                  PlatformTransactionManager transactionManager) {
+        this.playerStatsRepository = playerStatsRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    @Transactional
+    public void initialize(Long userId) {
+        insertZeroed(userId);
+    }
+
+    @Override
+    @Transactional
+    public void recordResult(Long whiteId, Long blackId, TimeControl timeControl, GameResult result) {
+        // Lower id first, so two results for the same players never lock their rows in opposite order
+        if (whiteId < blackId) {
+            record(whiteId, timeControl, outcome(result, true));
+            record(blackId, timeControl, outcome(result, false));
+        } else {
+            record(blackId, timeControl, outcome(result, false));
+            record(whiteId, timeControl, outcome(result, true));
+        }
+    }
+
+    @Override
+    public Map<TimeControl, PlayerStatsDto> getStats(Long userId) {
+        Map<TimeControl, PlayerStatsDto> stats = new EnumMap<>(TimeControl.class);
+        for (PlayerStats s : playerStatsRepository.findByUserId(userId)) {
+            stats.put(s.getId().getTimeControl(), toDto(s));
+        }
+        return stats;
+    }
+
+    @Override
+    public Map<Long, PlayerStatsDto> getStats(Collection<Long> userIds, TimeControl timeControl) {
+        if (userIds.isEmpty()) return Map.of();
+        Map<Long, PlayerStatsDto> stats = new HashMap<>();
+        for (PlayerStats s : playerStatsRepository.findByTimeControlAndUserIds(timeControl, userIds)) {
+            stats.put(s.getId().getUserId(), toDto(s));
+        }
+        return stats;
+    }
+
+    /**
+     * Creates counter rows for users that do not have them yet, so game results can always be
+     * recorded with a plain UPDATE.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeMissing() {
+        List<Long> userIds = playerStatsRepository.findUserIdsWithoutStats();
+        for (Long userId : userIds) {
+            ensureRows(userId);
+        }
+        if (!userIds.isEmpty()) {
+            logger.info("[Stats] Created statistics rows for {} users ({})", userIds.size(),
+                    hasLegacyCounters() ? "seeded from users" : "zeroed");
+        }
+    }
+
+    private void record(Long userId, TimeControl timeControl, PlayerStatsDto outcome) {
+        if (increment(userId, timeControl, outcome) == 0) {
+            // No rows yet (a user from before the stats table): create them, then count the game
+            ensureRows(userId);
+            increment(userId, timeControl, outcome);
+        }
+    }
+
+    private int increment(Long userId, TimeControl timeControl, PlayerStatsDto outcome) {
+        return playerStatsRepository.recordOutcome(userId, timeControl,
+                outcome.wins(), outcome.losses(), outcome.draws());
+    }
+
+    private void ensureRows(Long userId) {
+        boolean legacy = hasLegacyCounters();
+        try {
+            newTransaction.executeWithoutResult(status -> {
+                if (legacy) {
+                    playerStatsRepository.insertFromLegacyCounters(userId);
+                } else {
+                    insertZeroed(userId);
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Created concurrently by another result or the startup pass; the rows exist either way
+            logger.debug("[Stats] Rows of user {} created concurrently", userId);
+        }
+    }
+
+    private boolean hasLegacyCounters() {
+        Boolean legacy = legacyCounters;
+        if (legacy == null) {
+            try {
+                newTransaction.executeWithoutResult(status -> playerStatsRepository.countLegacyCounters());
+                legacy = true;
+            } catch (DataAccessException e) {
+                legacy = false;
+            }
+            legacyCounters = legacy;
+        }
+        return legacy;
+    }
+
+    private void insertZeroed(Long userId) {
+        List<PlayerStats> missing = new ArrayList<>();
+        for (TimeControl timeControl : TimeControl.values()) {
+            if (!playerStatsRepository.existsById(new PlayerStatsId(userId, timeControl))) {
+                missing.add(new PlayerStats(userId, timeControl));
+            }
+        }
+        playerStatsRepository.saveAll(missing);
+    }
+
+    private static PlayerStatsDto outcome(GameResult result, boolean white) {
+        return switch (result) {
+            case WHITE_WIN, WHITE_WIN_TIMEOUT, WHITE_WIN_RESIGNATION ->
+                    white ? new PlayerStatsDto(1, 0, 0) : new PlayerStatsDto(0, 1, 0);
+            case BLACK_WIN, BLACK_WIN_TIMEOUT, BLACK_WIN_RESIGNATION ->
+                    white ? new PlayerStatsDto(0, 1, 0) : new PlayerStatsDto(1, 0, 0);
+            case DRAW, DRAW_BY_AGREEMENT -> new PlayerStatsDto(0, 0, 1);
+        };
+    }
+
+    private static PlayerStatsDto toDto(PlayerStats s) {
+        return new PlayerStatsDto(s.getWins(), s.getLosses(), s.getDraws());
+    }
+}
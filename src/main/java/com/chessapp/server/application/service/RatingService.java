@@ -1,11 +1,13 @@
 package com.chessapp.server.application.service;
 
-import com.chessapp.server.domain.model.User;
 import com.chessapp.server.domain.enums.GameResult;
-import com.chessapp.server.domain.enums.TimeControl;
 
 public interface RatingService {
-    void updateRatings(User whitePlayer, User blackPlayer, GameResult result, TimeControl timeControl);
+    /**
+     * Rating changes {white, black} for a game between players rated {@code whiteRating} and
+     * {@code blackRating} that ended with {@code result}.
+     */
+    int[] calculateRatingChanges(int whiteRating, int blackRating, GameResult result);
 
     int[] predictRatingChange(int playerRating, int opponentRating);
 }
\ No newline at end of file
@@ -1,8 +1,6 @@
 package com.chessapp.server.application.service;
 
-import com.chessapp.server.domain.model.*;
 import com.chessapp.server.domain.enums.GameResult;
-import com.chessapp.server.domain.enums.TimeControl;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -10,17 +8,13 @@ public class RatingServiceImpl implements RatingService {
 
     private static final int K_FACTOR = 32;
 
-    public void updateRatings(User whitePlayer, User blackPlayer, GameResult result, TimeControl timeControl) {
-        int whiteRating = whitePlayer.getRatingForTimeControl(timeControl);
-        int blackRating = blackPlayer.getRatingForTimeControl(timeControl);
-
+    public int[] calculateRatingChanges(int whiteRating, int blackRating, GameResult result) {
         double whiteScore = getScoreForResult(result, true);
         double blackScore = getScoreForResult(result, false);
 
         int[] newRatings = calculateNewRatings(whiteRating, blackRating, whiteScore, blackScore);
 
-        whitePlayer.updateRatingForTimeControl(timeControl, newRatings[0]);
-        blackPlayer.updateRatingForTimeControl(timeControl, newRatings[1]);
+        return new int[] { newRatings[0] - whiteRating, newRatings[1] - blackRating };
     }
 
     private double getScoreForResult(GameResult result, boolean isWhite) {
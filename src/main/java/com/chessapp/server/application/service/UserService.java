@@ -1,24 +1,52 @@
 package com.chessapp.server.application.service;
 
+import com.chessapp.server.application.dto.OnlinePlayersPageDto;
+import com.chessapp.server.domain.enums.TimeControl;
 import com.chessapp.server.domain.model.User;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 public interface UserService {
     User registerUser(String login, String password, String displayName);
 
     Optional<User> authenticateUser(String login, String password);
 
+    /**
+     * {@link #registerUser} without blocking the caller on BCrypt. Validation failures are thrown
+     * right away; hashing-pool saturation fails the returned future.
+     */
+    CompletableFuture<User> registerUserAsync(String login, String password, String displayName);
+
+    /** {@link #authenticateUser} without blocking the caller on BCrypt. */
+    CompletableFuture<Optional<User>> authenticateUserAsync(String login, String password);
+
     Optional<User> findByLogin(String login);
 
+    Optional<User> findById(Long id);
+
     User updateDisplayName(User user, String newDisplayName);
 
     void setUserOnline(User user, boolean online);
 
     List<User> getOnlineUsers();
 
-    List<User> getOnlineUsersExcept(Long userId);
+    /**
+     * Online players other than {@code requester}, in login order, served from presence state.
+     * When {@code timeControl} is given, only players whose rating for it lies within
+     * [{@code minRating}, {@code maxRating}] (either bound optional) are returned.
+     */
+    OnlinePlayersPageDto getOnlinePlayers(User requester, TimeControl timeControl,
+                                          Integer minRating, Integer maxRating,
+                                          String cursor, int limit);
 
     User save(User user);
-}
\ No newline at end of file
+
+    /**
+     * Adds {@code delta} to the player's rating for {@code timeControl} with a single-column
+     * UPDATE, so nothing else in the {@code users} row is rewritten and concurrent changes add up.
+     * {@code user} itself is left as it was.
+     */
+    void applyRatingChange(User user, TimeControl timeControl, int delta);
+}
@@ -1,14 +1,27 @@
 package com.chessapp.server.application.service;
 
+import com.chessapp.server.application.dto.OnlinePlayerDto;
+import com.chessapp.server.application.dto.OnlinePlayersPageDto;
+import com.chessapp.server.domain.enums.TimeControl;
 import com.chessapp.server.domain.model.User;
+import com.chessapp.server.infrastructure.cache.UserCache;
 import com.chessapp.server.infrastructure.persistence.UserRepository;
+import com.chessapp.server.infrastructure.presence.PresenceRegistry;
+import com.chessapp.server.infrastructure.presence.PresenceRegistry.OnlinePlayer;
+import com.chessapp.server.infrastructure.search.PlayerSearchIndex;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
 
 @Service
 public class UserServiceImpl implements UserService {
@@ -17,49 +30,127 @@ public class UserServiceImpl implements UserService {
     private UserRepository userRepository;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private PlayerSearchIndex playerSearchIndex;
+
+    @Autowired
+    private PresenceRegistry presenceRegistry;
+
+    @Autowired
+    private PlayerStatsService playerStatsService;
 
     @Override
     public User registerUser(String login, String password, String displayName) {
+        checkLoginAvailable(login);
+        return createUser(login, passwordHashingService.encode(password), displayName);
+    }
+
+    @Override
+    public CompletableFuture<User> registerUserAsync(String login, String password, String displayName) {
+        checkLoginAvailable(login);
+        // Continues on the hashing thread; the insert is short next to the hash itself
+        return passwordHashingService.encodeAsync(password)
+                .thenApply(hash -> createUser(login, hash, displayName));
+    }
+
+    @Override
+    public Optional<User> authenticateUser(String login, String password) {
+        Optional<User> userOpt = findByLogin(login);
+        if (userOpt.isEmpty()) {
+            return Optional.empty();
+        }
+        User user = userOpt.get();
+        return passwordHashingService.matches(password, user.getPassword())
+                ? authenticated(user, password)
+                : Optional.empty();
+    }
+
+    @Override
+    public CompletableFuture<Optional<User>> authenticateUserAsync(String login, String password) {
+        Optional<User> userOpt = findByLogin(login);
+        if (userOpt.isEmpty()) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+        User user = userOpt.get();
+        return passwordHashingService.matchesAsync(password, user.getPassword())
+                .thenApply(matched -> matched ? authenticated(user, password) : Optional.<User>empty());
+    }
+
+    private void checkLoginAvailable(String login) {
+        if (login != null && login.toLowerCase(Locale.ROOT).startsWith(User.BOT_LOGIN_PREFIX)) {
+            throw new IllegalArgumentException("Username is reserved");
+        }
         if (userRepository.existsByLogin(login)) {
             throw new IllegalArgumentException("Username already exists");
         }
+    }
 
+    private User createUser(String login, String passwordHash, String displayName) {
         User user = new User();
         user.setLogin(login);
-        user.setPassword(passwordEncoder.encode(password));
+        user.setPassword(passwordHash);
         user.setDisplayName(displayName);
 
-        return userRepository.save(user);
+        User saved = saveAndCache(user);
+        playerStatsService.initialize(saved.getId());
+        return saved;
     }
 
-    @Override
-    public Optional<User> authenticateUser(String login, String password) {
-        Optional<User> userOpt = userRepository.findByLogin(login);
-
-        if (userOpt.isPresent() && passwordEncoder.matches(password, userOpt.get().getPassword())) {
-            return userOpt;
+    private Optional<User> authenticated(User user, String password) {
+        // Re-hash with the current BCrypt cost in the background; the login itself is not delayed
+        if (passwordHashingService.needsUpgrade(user.getPassword())) {
+            passwordHashingService.upgradeAsync(user.getId(), password);
         }
-
-        return Optional.empty();
+        return Optional.of(user);
     }
 
     @Override
     public Optional<User> findByLogin(String login) {
-        return userRepository.findByLogin(login);
+        if (login == null) {
+            return Optional.empty();
+        }
+        Optional<User> cached = userCache.getByLogin(login);
+        if (cached.isPresent()) {
+            return cached;
+        }
+        Optional<User> loaded = userRepository.findByLogin(login);
+        loaded.ifPresent(userCache::putIfAbsent);
+        return loaded;
+    }
+
+    @Override
+    public Optional<User> findById(Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        Optional<User> cached = userCache.getById(id);
+        if (cached.isPresent()) {
+            return cached;
+        }
+        Optional<User> loaded = userRepository.findById(id);
+        loaded.ifPresent(userCache::putIfAbsent);
+        return loaded;
     }
 
     @Override
     public User updateDisplayName(User user, String newDisplayName) {
+        userRepository.updateDisplayName(user.getId(), newDisplayName);
         user.setDisplayName(newDisplayName);
-        return userRepository.save(user);
+        return reload(user);
     }
 
     @Override
     public void setUserOnline(User user, boolean online) {
+        LocalDateTime now = LocalDateTime.now();
+        userRepository.updatePresence(user.getId(), online, now);
         user.setIsOnline(online);
-        user.setLastSeen(LocalDateTime.now());
-        userRepository.save(user);
+        user.setLastSeen(now);
+        reload(user);
     }
 
     @Override
@@ -68,12 +159,113 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public List<User> getOnlineUsersExcept(Long userId) {
-        return userRepository.findOnlineUsersExcept(userId);
+    public OnlinePlayersPageDto getOnlinePlayers(User requester, TimeControl timeControl,
+                                                 Integer minRating, Integer maxRating,
+                                                 String cursor, int limit) {
+        String self = requester.getLogin().toLowerCase(Locale.ROOT);
+        int min = minRating != null ? minRating : Integer.MIN_VALUE;
+        int max = maxRating != null ? maxRating : Integer.MAX_VALUE;
+        Predicate<OnlinePlayer> filter = p -> !p.login().toLowerCase(Locale.ROOT).equals(self)
+                && (timeControl == null || inBand(ratingFor(p, timeControl), min, max));
+
+        // One extra row tells us whether another page exists without counting
+        List<OnlinePlayer> rows = presenceRegistry.page(decodeCursor(cursor), filter, limit + 1);
+        boolean hasMore = rows.size() > limit;
+        List<OnlinePlayer> players = hasMore ? rows.subList(0, limit) : rows;
+
+        String nextCursor = hasMore ? encodeCursor(players.get(players.size() - 1).login()) : null;
+        return new OnlinePlayersPageDto(players.stream().map(this::toOnlinePlayerDto).toList(), nextCursor);
     }
 
     @Override
     public User save(User user) {
-        return userRepository.save(user);
+        return saveAndCache(user);
+    }
+
+    @Override
+    public void applyRatingChange(User user, TimeControl timeControl, int delta) {
+        if (delta == 0) return;
+        switch (timeControl) {
+            case BULLET -> userRepository.addBulletRating(user.getId(), delta);
+            case BLITZ -> userRepository.addBlitzRating(user.getId(), delta);
+            case RAPID -> userRepository.addRapidRating(user.getId(), delta);
+        }
+
+        User updated = user.copy();
+        updated.updateRatingForTimeControl(timeControl, user.getRatingForTimeControl(timeControl) + delta);
+        Runnable refresh = () -> {
+            // The database has the authoritative sum; the next lookup reloads it
+            userCache.invalidateById(user.getId());
+            playerSearchIndex.upsert(updated);
+            presenceRegistry.update(updated);
+        };
+        // Refreshing before commit would let a concurrent reader cache the old rating again
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refresh.run();
+                }
+            });
+        } else {
+            refresh.run();
+        }
+    }
+
+    /**
+     * Whole-row writes (new users) go through here so the near cache and the search index never
+     * serve a state older than the last save. Existing users are changed one column at a time.
+     */
+    private User saveAndCache(User user) {
+        User saved = userRepository.save(user);
+        userCache.put(saved);
+        playerSearchIndex.upsert(saved);
+        presenceRegistry.update(saved);
+        return saved;
+    }
+
+    /**
+     * After a single-column update: drops the cached user and refreshes the search index and
+     * presence from the stored row. The caller's copy (often one held by a WebSocket session
+     * since connect) may predate rating changes and is never saved back.
+     */
+    private User reload(User user) {
+        userCache.invalidateById(user.getId());
+        User stored = userRepository.findById(user.getId()).orElse(user);
+        userCache.put(stored);
+        playerSearchIndex.upsert(stored);
+        presenceRegistry.update(stored);
+        return stored;
+    }
+
+    private OnlinePlayerDto toOnlinePlayerDto(OnlinePlayer p) {
+        return new OnlinePlayerDto(p.id(), p.login(), p.displayName(),
+                p.blitzRating(), p.rapidRating(), p.bulletRating(), p.since());
+    }
+
+    private static int ratingFor(OnlinePlayer p, TimeControl timeControl) {
+        return switch (timeControl) {
+            case BULLET -> p.bulletRating();
+            case BLITZ -> p.blitzRating();
+            case RAPID -> p.rapidRating();
+        };
+    }
+
+    private static boolean inBand(int rating, int min, int max) {
+        return rating >= min && rating <= max;
+    }
+
+    private static String encodeCursor(String login) {
+        byte[] key = login.toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key);
+    }
+
+    private static String decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) return null;
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
     }
 }
@@ -0,0 +1,176 @@
+package com.chessapp.server.domain.chess;
+
+/**
+ * Precomputed attack tables. Squares are numbered a1 = 0 .. h8 = 63 (as in {@link MoveCodec});
+ * bit n of a bitboard is square n.
+ * <p>
+ * Sliding attacks use fixed-shift magic bitboards: the relevant blockers of a square are
+ * multiplied by a magic number whose top bits index a table holding the attack set for exactly
+ * that blocker pattern. Magics are found once at class load by a seeded random search, so the
+ * tables are identical on every run.
+ */
+public final class Bitboards {
+
+    public static final long FILE_A = 0x0101010101010101L;
+    public static final long FILE_H = FILE_A << 7;
+    public static final long RANK_1 = 0xFFL;
+    public static final long RANK_2 = RANK_1 << 8;
+    public static final long RANK_7 = RANK_1 << 48;
+    public static final long RANK_8 = RANK_1 << 56;
+    public static final long DARK_SQUARES = 0xAA55AA55AA55AA55L;
+
+    static final long[] KNIGHT = new long[64];
+    static final long[] KING = new long[64];
+    /** Squares attacked by a pawn of the given colour (0 white, 1 black) standing on the square. */
+    static final long[][] PAWN_ATTACKS = new long[2][64];
+    /** Squares strictly between two aligned squares, empty otherwise. */
+    static final long[][] BETWEEN = new long[64][64];
+    /** Full line through two aligned squares (edge to edge), empty otherwise. */
+    static final long[][] LINE = new long[64][64];
+
+    private static final int[][] ROOK_DIRECTIONS = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}};
+    private static final int[][] BISHOP_DIRECTIONS = {{1, 1}, {1, -1}, {-1, 1}, {-1, -1}};
+
+    private static final long[] ROOK_MASK = new long[64];
+    private static final long[] ROOK_MAGIC = new long[64];
+    private static final int[] ROOK_SHIFT = new int[64];
+    private static final long[][] ROOK_TABLE = new long[64][];
+
+    private static final long[] BISHOP_MASK = new long[64];
+    private static final long[] BISHOP_MAGIC = new long[64];
+    private static final int[] BISHOP_SHIFT = new int[64];
+    private static final long[][] BISHOP_TABLE = new long[64][];
+
+    static {
+        for (int sq = 0; sq < 64; sq++) {
+            KNIGHT[sq] = leaper(sq, new int[][]{{1, 2}, {2, 1}, {2, -1}, {1, -2}, {-1, -2}, {-2, -1}, {-2, 1}, {-1, 2}});
+            KING[sq] = leaper(sq, new int[][]{{1, 0}, {1, 1}, {0, 1}, {-1, 1}, {-1, 0}, {-1, -1}, {0, -1}, {1, -1}});
+            PAWN_ATTACKS[0][sq] = leaper(sq, new int[][]{{-1, 1}, {1, 1}});
+            PAWN_ATTACKS[1][sq] = leaper(sq, new int[][]{{-1, -1}, {1, -1}});
+        }
+        long[] rng = {0x5DEECE66DL};
+        for (int sq = 0; sq < 64; sq++) {
+            initSlider(sq, ROOK_DIRECTIONS, ROOK_MASK, ROOK_MAGIC, ROOK_SHIFT, ROOK_TABLE, rng);
+            initSlider(sq, BISHOP_DIRECTIONS, BISHOP_MASK, BISHOP_MAGIC, BISHOP_SHIFT, BISHOP_TABLE, rng);
+        }
+        for (int a = 0; a < 64; a++) {
+            for (int b = 0; b < 64; b++) {
+                if (a == b) continue;
+                long bBit = 1L << b;
+                if ((rookAttacks(a, 0) & bBit) != 0) {
+                    BETWEEN[a][b] = rookAttacks(a, bBit) & rookAttacks(b, 1L << a);
+                    LINE[a][b] = (rookAttacks(a, 0) & rookAttacks(b, 0)) | (1L << a) | bBit;
+                } else if ((bishopAttacks(a, 0) & bBit) != 0) {
+                    BETWEEN[a][b] = bishopAttacks(a, bBit) & bishopAttacks(b, 1L << a);
+                    LINE[a][b] = (bishopAttacks(a, 0) & bishopAttacks(b, 0)) | (1L << a) | bBit;
+                }
+            }
+        }
+    }
+
+    private Bitboards() {}
+
+    public static long rookAttacks(int square, long occupied) {
+        long blockers = occupied & ROOK_MASK[square];
+        return ROOK_TABLE[square][(int) ((blockers * ROOK_MAGIC[square]) >>> ROOK_SHIFT[square])];
+    }
+
+    public static long bishopAttacks(int square, long occupied) {
+        long blockers = occupied & BISHOP_MASK[square];
+        return BISHOP_TABLE[square][(int) ((blockers * BISHOP_MAGIC[square]) >>> BISHOP_SHIFT[square])];
+    }
+
+    public static long queenAttacks(int square, long occupied) {
+        return rookAttacks(square, occupied) | bishopAttacks(square, occupied);
+    }
+
+    private static long leaper(int sq, int[][] offsets) {
+        int file = sq & 7, rank = sq >>> 3;
+        long attacks = 0;
+        for (int[] d : offsets) {
+            int f = file + d[0], r = rank + d[1];
+            if (f >= 0 && f < 8 && r >= 0 && r < 8) attacks |= 1L << (r * 8 + f);
+        }
+        return attacks;
+    }
+
+    /** Attacks by ray walking; only used to build the tables. */
+    private static long slowAttacks(int sq, long occupied, int[][] directions) {
+        long attacks = 0;
+        for (int[] d : directions) {
+            int f = (sq & 7) + d[0], r = (sq >>> 3) + d[1];
+            while (f >= 0 && f < 8 && r >= 0 && r < 8) {
+                long bit = 1L << (r * 8 + f);
+                attacks |= bit;
+                if ((occupied & bit) != 0) break;
+                f += d[0];
+                r += d[1];
+            }
+        }
+        return attacks;
+    }
+
+    /** Blocker squares that matter: the rays without their last square. */
+    private static long relevantMask(int sq, int[][] directions) {
+        long mask = 0;
+        for (int[] d : directions) {
+            int f = (sq & 7) + d[0], r = (sq >>> 3) + d[1];
+            while (f + d[0] >= 0 && f + d[0] < 8 && r + d[1] >= 0 && r + d[1] < 8) {
+                mask |= 1L << (r * 8 + f);
+                f += d[0];
+                r += d[1];
+            }
+        }
+        return mask;
+    }
+
+    private static void initSlider(int sq, int[][] directions, long[] masks, long[] magics, int[] shifts,
+                                   long[][] tables, long[] rng) {
+        long mask = relevantMask(sq, directions);
+        int bits = Long.bitCount(mask);
+        int size = 1 << bits;
+        long[] occupancies = new long[size];
+        long[] attacks = new long[size];
+        // Carry-rippler enumeration of every subset of the mask
+        long subset = 0;
+        for (int i = 0; i < size; i++) {
+            occupancies[i] = subset;
+            attacks[i] = slowAttacks(sq, subset, directions);
+            subset = (subset - mask) & mask;
+        }
+
+        long[] table = new long[size];
+        int[] epoch = new int[size];
+        int attempt = 0;
+        while (true) {
+            long magic = nextRandom(rng) & nextRandom(rng) & nextRandom(rng); // sparse candidates converge faster
+            if (Long.bitCount((mask * magic) & 0xFF00000000000000L) < 6) continue;
+            attempt++;
+            boolean ok = true;
+            for (int i = 0; i < size && ok; i++) {
+                int index = (int) ((occupancies[i] * magic) >>> (64 - bits));
+                if (epoch[index] != attempt) {
+                    epoch[index] = attempt;
+                    table[index] = attacks[i];
+                } else if (table[index] != attacks[i]) {
+                    ok = false;
+                }
+            }
+            if (ok) {
+                masks[sq] = mask;
+                magics[sq] = magic;
+                shifts[sq] = 64 - bits;
+                tables[sq] = table;
+                return;
+            }
+        }
+    }
+
+    /** SplitMix64; {@code state[0]} is advanced in place. */
+    static long nextRandom(long[] state) {
+        long z = (state[0] += 0x9E3779B97F4A7C15L);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
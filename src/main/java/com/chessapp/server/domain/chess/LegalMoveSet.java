@@ -0,0 +1,78 @@
+package com.chessapp.server.domain.chess;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The legal moves of one position as a destination bitboard per origin square, so membership is
+ * two bit tests. A pawn move to the last rank is legal with any of the four promotions and
+ * illegal without one, which a single bitboard of promoting origins captures.
+ * <p>
+ * Owned and refilled by {@link Position}; copy out with {@link #toUciMap()} before the next move.
+ */
+public final class LegalMoveSet {
+
+    private final long[] targets = new long[64];
+    private long origins;
+    private long promotingOrigins;
+    private int size;
+
+    LegalMoveSet() {}
+
+    void load(int[] moves, int count) {
+        for (long bb = origins; bb != 0; bb &= bb - 1) {
+            targets[Long.numberOfTrailingZeros(bb)] = 0;
+        }
+        origins = 0;
+        promotingOrigins = 0;
+        size = count;
+        for (int i = 0; i < count; i++) {
+            int move = moves[i];
+            int from = move & 0x3F;
+            targets[from] |= 1L << ((move >>> 6) & 0x3F);
+            origins |= 1L << from;
+            if ((move >>> 12) != 0) promotingOrigins |= 1L << from;
+        }
+    }
+
+    public boolean contains(int move) {
+        int from = move & 0x3F;
+        int to = (move >>> 6) & 0x3F;
+        int promotion = (move >>> 12) & 0x7;
+        if ((targets[from] & (1L << to)) == 0) return false;
+        boolean promoting = (promotingOrigins & (1L << from)) != 0;
+        return promoting ? promotion >= 1 && promotion <= 4 : promotion == 0;
+    }
+
+    /** Number of legal moves, counting each promotion choice separately. */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Destination squares by origin square ({@code {"e2": ["e3", "e4"], ...}}), the shape board
+     * widgets take for move highlighting. Promotions appear once; the client picks the piece.
+     */
+    public Map<String, List<String>> toUciMap() {
+        Map<String, List<String>> map = new LinkedHashMap<>();
+        for (long bb = origins; bb != 0; bb &= bb - 1) {
+            int from = Long.numberOfTrailingZeros(bb);
+            List<String> destinations = new ArrayList<>(Long.bitCount(targets[from]));
+            for (long to = targets[from]; to != 0; to &= to - 1) {
+                destinations.add(squareName(Long.numberOfTrailingZeros(to)));
+            }
+            map.put(squareName(from), destinations);
+        }
+        return map;
+    }
+
+    private static String squareName(int square) {
+        return String.valueOf(new char[]{(char) ('a' + (square & 7)), (char) ('1' + (square >>> 3))});
+    }
+}
@@ -0,0 +1,118 @@
+package com.chessapp.server.domain.chess;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Packs UCI moves ({@code e2e4}, {@code e7e8q}) into 16 bits:
+ * {@code from | to << 6 | promotion << 12}, squares numbered a1 = 0 .. h8 = 63 and
+ * promotion 0 = none, 1 = knight, 2 = bishop, 3 = rook, 4 = queen.
+ * <p>
+ * A move list is stored as big-endian shorts back to back, so appending a move is appending
+ * two bytes and a game of n plies takes exactly 2n bytes.
+ */
+public final class MoveCodec {
+
+    public static final int BYTES_PER_MOVE = 2;
+
+    private static final String PROMOTIONS = " nbrq";
+
+    private MoveCodec() {}
+
+    public static int encode(String uci) {
+        if (uci == null || (uci.length() != 4 && uci.length() != 5)) {
+            throw new IllegalArgumentException("Not a UCI move: " + uci);
+        }
+        String move = uci.toLowerCase(Locale.ROOT);
+        int from = square(move, 0);
+        int to = square(move, 2);
+        int promotion = 0;
+        if (move.length() == 5) {
+            promotion = PROMOTIONS.indexOf(move.charAt(4));
+            if (promotion <= 0) {
+                throw new IllegalArgumentException("Not a UCI move: " + uci);
+            }
+        }
+        return from | (to << 6) | (promotion << 12);
+    }
+
+    public static String decode(int packed) {
+        int from = packed & 0x3F;
+        int to = (packed >>> 6) & 0x3F;
+        int promotion = (packed >>> 12) & 0x7;
+        StringBuilder sb = new StringBuilder(5);
+        appendSquare(sb, from);
+        appendSquare(sb, to);
+        if (promotion != 0) {
+            sb.append(PROMOTIONS.charAt(promotion));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Returns {@code data} with one more move appended. The array is always exact-length so
+     * it can be persisted as is.
+     */
+    public static byte[] append(byte[] data, String uci) {
+        int packed = encode(uci);
+        byte[] grown = Arrays.copyOf(data, data.length + BYTES_PER_MOVE);
+        grown[data.length] = (byte) (packed >>> 8);
+        grown[data.length + 1] = (byte) packed;
+        return grown;
+    }
+
+    public static byte[] encodeAll(List<String> moves) {
+        byte[] data = new byte[moves.size() * BYTES_PER_MOVE];
+        for (int i = 0; i < moves.size(); i++) {
+            int packed = encode(moves.get(i));
+            data[i * BYTES_PER_MOVE] = (byte) (packed >>> 8);
+            data[i * BYTES_PER_MOVE + 1] = (byte) packed;
+        }
+        return data;
+    }
+
+    public static int count(byte[] data) {
+        return data == null ? 0 : data.length / BYTES_PER_MOVE;
+    }
+
+    public static int packedAt(byte[] data, int index) {
+        int offset = index * BYTES_PER_MOVE;
+        return ((data[offset] & 0xFF) << 8) | (data[offset + 1] & 0xFF);
+    }
+
+    /**
+     * Read-only list view that decodes each move only when it is accessed.
+     */
+    public static List<String> view(byte[] data) {
+        byte[] snapshot = data == null ? new byte[0] : data;
+        return new AbstractList<>() {
+            @Override
+            public String get(int index) {
+                if (index < 0 || index >= size()) {
+                    throw new IndexOutOfBoundsException(index);
+                }
+                return decode(packedAt(snapshot, index));
+            }
+
+            @Override
+            public int size() {
+                return count(snapshot);
+            }
+        };
+    }
+
+    private static int square(String move, int offset) {
+        int file = move.charAt(offset) - 'a';
+        int rank = move.charAt(offset + 1) - '1';
+        if (file < 0 || file > 7 || rank < 0 || rank > 7) {
+            throw new IllegalArgumentException("Not a UCI move: " + move);
+        }
+        return rank * 8 + file;
+    }
+
+    private static void appendSquare(StringBuilder sb, int square) {
+        sb.append((char) ('a' + (square & 7))).append((char) ('1' + (square >>> 3)));
+    }
+}
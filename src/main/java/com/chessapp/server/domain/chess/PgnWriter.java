@@ -0,0 +1,164 @@
+package com.chessapp.server.domain.chess;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+
+/**
+ * Writes games in PGN export format: tag pairs, a blank line, then the movetext in SAN wrapped at
+ * 79 characters and ending with the result, then a blank line.
+ * <p>
+ * Moves are replayed from the start position on one {@link Position}, so each SAN is worked out
+ * from the real board: piece letter, file/rank disambiguation only when another piece of the same
+ * kind can reach the square, captures, en passant, promotion and castling, and {@code +} or
+ * {@code #} from the position after the move. Output goes straight to the {@link Writer}; nothing
+ * is kept per game beyond the current line, so a writer can stream any number of games.
+ * <p>
+ * Not thread-safe; one instance per output.
+ */
+public final class PgnWriter implements Flushable {
+
+    private static final int MAX_LINE = 79;
+    private static final String PIECE_LETTERS = "PNBRQK";
+    private static final String PROMOTION_LETTERS = " NBRQ";
+
+    private final Writer out;
+    private final StringBuilder line = new StringBuilder(MAX_LINE + 32);
+    private final StringBuilder san = new StringBuilder(8);
+    private final int[] legal = new int[Position.MAX_MOVES];
+
+    public PgnWriter(Writer out) {
+        this.out = out;
+    }
+
+    /**
+     * Writes one game. {@code tags} are written in iteration order; the {@code Result} tag (or
+     * {@code *} without one) also ends the movetext. An illegal move in {@code moveData} ends the
+     * movetext early with a comment.
+     */
+    public void writeGame(Map<String, String> tags, byte[] moveData) throws IOException {
+        for (Map.Entry<String, String> tag : tags.entrySet()) {
+            out.write('[');
+            out.write(tag.getKey());
+            out.write(" \"");
+            out.write(escape(tag.getValue()));
+            out.write("\"]\n");
+        }
+        out.write('\n');
+
+        Position position = Position.startPosition();
+        int plies = MoveCodec.count(moveData);
+        for (int i = 0; i < plies; i++) {
+            int packed = MoveCodec.packedAt(moveData, i);
+            int move = position.findLegalMove(packed);
+            if (move < 0) {
+                token("{Illegal move " + MoveCodec.decode(packed) + "}");
+                break;
+            }
+            if (position.isWhiteToMove()) {
+                token(position.fullmoveNumber() + ".");
+            }
+            token(san(position, move));
+        }
+        String result = tags.get("Result");
+        token(result != null ? result : "*");
+        out.append(line).append("\n\n");
+        line.setLength(0);
+    }
+
+    /**
+     * SAN of a legal {@code move}, played on {@code position} in the process: the check suffix
+     * depends on the position after it.
+     */
+    String san(Position position, int move) {
+        san.setLength(0);
+        int from = move & 0x3F;
+        int to = (move >>> 6) & 0x3F;
+        int promotion = (move >>> 12) & 0x7;
+        int piece = position.pieceAt(from);
+        int type = piece % 6;
+
+        if (type == Position.KING_TYPE && Math.abs(to - from) == 2) {
+            san.append(to > from ? "O-O" : "O-O-O");
+        } else if (type == Position.PAWN) {
+            if (position.isCapture(move)) {
+                san.append(file(from)).append('x');
+            }
+            appendSquare(to);
+            if (promotion != 0) {
+                san.append('=').append(PROMOTION_LETTERS.charAt(promotion));
+            }
+        } else {
+            san.append(PIECE_LETTERS.charAt(type));
+            appendDisambiguation(position, move, piece);
+            if (position.isCapture(move)) {
+                san.append('x');
+            }
+            appendSquare(to);
+        }
+
+        position.makeMove(move);
+        if (position.isCheck()) {
+            san.append(position.hasLegalMove() ? '+' : '#');
+        }
+        return san.toString();
+    }
+
+    /** File, rank or both of the origin, if another piece of the same kind can also reach the square. */
+    private void appendDisambiguation(Position position, int move, int piece) {
+        if (Long.bitCount(position.pieces(piece)) < 2) return;
+        int from = move & 0x3F;
+        int to = (move >>> 6) & 0x3F;
+        boolean ambiguous = false, sameFile = false, sameRank = false;
+        int n = position.legalMoves(legal);
+        for (int i = 0; i < n; i++) {
+            int other = legal[i] & 0x3F;
+            if (other == from || ((legal[i] >>> 6) & 0x3F) != to || position.pieceAt(other) != piece) continue;
+            ambiguous = true;
+            sameFile |= other % 8 == from % 8;
+            sameRank |= other / 8 == from / 8;
+        }
+        if (!ambiguous) return;
+        if (!sameFile) {
+            san.append(file(from));
+        } else if (!sameRank) {
+            san.append(rank(from));
+        } else {
+            san.append(file(from)).append(rank(from));
+        }
+    }
+
+    private void appendSquare(int square) {
+        san.append(file(square)).append(rank(square));
+    }
+
+    private void token(String token) throws IOException {
+        if (line.length() > 0 && line.length() + 1 + token.length() > MAX_LINE) {
+            out.append(line).append('\n');
+            line.setLength(0);
+        }
+        if (line.length() > 0) line.append(' ');
+        line.append(token);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    private static char file(int square) {
+        return (char) ('a' + square % 8);
+    }
+
+    private static char rank(int square) {
+        return (char) ('1' + square / 8);
+    }
+
+    private static String escape(String value) {
+        if (value == null) return "?";
+        // A tag value is one line; quotes and backslashes are escaped
+        return value.replace('\n', ' ').replace('\r', ' ')
+                .replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
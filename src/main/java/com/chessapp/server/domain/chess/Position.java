@@ -0,0 +1,607 @@
+package com.chessapp.server.domain.chess;
+
+import static com.chessapp.server.domain.chess.Bitboards.BETWEEN;
+import static com.chessapp.server.domain.chess.Bitboards.KING;
+import static com.chessapp.server.domain.chess.Bitboards.KNIGHT;
+import static com.chessapp.server.domain.chess.Bitboards.LINE;
+import static com.chessapp.server.domain.chess.Bitboards.PAWN_ATTACKS;
+import static com.chessapp.server.domain.chess.Bitboards.bishopAttacks;
+import static com.chessapp.server.domain.chess.Bitboards.queenAttacks;
+import static com.chessapp.server.domain.chess.Bitboards.rookAttacks;
+
+/**
+ * Mutable bitboard chess position with legal move generation and make/unmake.
+ * <p>
+ * Moves are plain ints in the {@link MoveCodec} packing ({@code from | to << 6 | promotion << 12});
+ * castling is the king's two-square move and en passant the pawn's diagonal move, exactly as in
+ * UCI, so a stored move can be matched against the generator directly. Special cases are worked
+ * out from the board in {@link #makeMove(int)}.
+ * <p>
+ * Generation is fully legal: pins are computed once per call and pinned pieces may only move
+ * along the pin line, check evasions are restricted to blocking or capturing the checker, and
+ * only king moves and en passant need an attack test. The Zobrist key is updated incrementally
+ * and every position reached is pushed to {@link #history()}. Nothing on the move path allocates
+ * except the undo stack growing past its initial size and {@link #toFen()}.
+ * <p>
+ * Not thread-safe; one instance belongs to one game.
+ */
+public final class Position {
+
+    public static final String START_FEN = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
+    public static final int WHITE = 0;
+    public static final int BLACK = 1;
+
+    public static final int PAWN = 0;
+    public static final int KNIGHT_TYPE = 1;
+    public static final int BISHOP = 2;
+    public static final int ROOK = 3;
+    public static final int QUEEN = 4;
+    public static final int KING_TYPE = 5;
+
+    /** Board value of an empty square; otherwise {@code colour * 6 + type}. */
+    public static final int EMPTY = -1;
+
+    /** Enough for any legal position (the known maximum is 218). */
+    public static final int MAX_MOVES = 256;
+
+    private static final int WHITE_KINGSIDE = 1;
+    private static final int WHITE_QUEENSIDE = 2;
+    private static final int BLACK_KINGSIDE = 4;
+    private static final int BLACK_QUEENSIDE = 8;
+
+    private static final String PIECE_CHARS = "PNBRQKpnbrqk";
+
+    /** Castling rights that survive a move from or to the square. */
+    private static final int[] CASTLING_MASK = new int[64];
+
+    static {
+        java.util.Arrays.fill(CASTLING_MASK, 15);
+        CASTLING_MASK[0] = 15 & ~WHITE_QUEENSIDE;
+        CASTLING_MASK[4] = 15 & ~(WHITE_KINGSIDE | WHITE_QUEENSIDE);
+        CASTLING_MASK[7] = 15 & ~WHITE_KINGSIDE;
+        CASTLING_MASK[56] = 15 & ~BLACK_QUEENSIDE;
+        CASTLING_MASK[60] = 15 & ~(BLACK_KINGSIDE | BLACK_QUEENSIDE);
+        CASTLING_MASK[63] = 15 & ~BLACK_KINGSIDE;
+    }
+
+    private final long[] pieces = new long[12];
+    private final long[] colours = new long[2];
+    private final int[] board = new int[64];
+
+    private int sideToMove;
+    private int castling;
+    private int epSquare = -1;
+    private int halfmoveClock;
+    private int fullmoveNumber = 1;
+    private long key;
+
+    private final PositionHistory history = new PositionHistory();
+
+    // Undo stack, one entry per made move
+    private int ply;
+    private int[] undoMove = new int[128];
+    private int[] undoCaptured = new int[128];
+    private int[] undoCastling = new int[128];
+    private int[] undoEpSquare = new int[128];
+    private int[] undoHalfmove = new int[128];
+    private long[] undoKey = new long[128];
+
+    private final int[] scratch = new int[MAX_MOVES];
+
+    // Legal moves of the current position, generated at most once per ply
+    private final LegalMoveSet legalMoveSet = new LegalMoveSet();
+    private boolean legalMoveSetValid;
+
+    private Position() {
+        java.util.Arrays.fill(board, EMPTY);
+    }
+
+    public static Position startPosition() {
+        return fromFen(START_FEN);
+    }
+
+    public static Position fromFen(String fen) {
+        String[] parts = fen.trim().split("\\s+");
+        if (parts.length < 4) throw new IllegalArgumentException("Invalid FEN: " + fen);
+        Position p = new Position();
+
+        int rank = 7, file = 0;
+        for (char c : parts[0].toCharArray()) {
+            if (c == '/') {
+                rank--;
+                file = 0;
+            } else if (c >= '1' && c <= '8') {
+                file += c - '0';
+            } else {
+                int piece = PIECE_CHARS.indexOf(c);
+                if (piece < 0 || rank < 0 || file > 7) throw new IllegalArgumentException("Invalid FEN: " + fen);
+                p.put(rank * 8 + file, piece);
+                file++;
+            }
+        }
+        if (Long.bitCount(p.pieces[KING_TYPE]) != 1 || Long.bitCount(p.pieces[6 + KING_TYPE]) != 1) {
+            throw new IllegalArgumentException("Invalid FEN (kings): " + fen);
+        }
+
+        p.sideToMove = parts[1].equals("b") ? BLACK : WHITE;
+        for (char c : parts[2].toCharArray()) {
+            switch (c) {
+                case 'K' -> p.castling |= WHITE_KINGSIDE;
+                case 'Q' -> p.castling |= WHITE_QUEENSIDE;
+                case 'k' -> p.castling |= BLACK_KINGSIDE;
+                case 'q' -> p.castling |= BLACK_QUEENSIDE;
+                default -> { }
+            }
+        }
+        p.epSquare = parts[3].equals("-") ? -1 : (parts[3].charAt(1) - '1') * 8 + (parts[3].charAt(0) - 'a');
+        p.halfmoveClock = parts.length > 4 ? Integer.parseInt(parts[4]) : 0;
+        p.fullmoveNumber = parts.length > 5 ? Integer.parseInt(parts[5]) : 1;
+
+        p.key = p.computeKey();
+        p.history.push(p.key, p.halfmoveClock);
+        return p;
+    }
+
+    // --- Queries ---
+
+    public int sideToMove() { return sideToMove; }
+
+    public boolean isWhiteToMove() { return sideToMove == WHITE; }
+
+    public int pieceAt(int square) { return board[square]; }
+
+    public int halfmoveClock() { return halfmoveClock; }
+
+    public int fullmoveNumber() { return fullmoveNumber; }
+
+    public long key() { return key; }
+
+    public PositionHistory history() { return history; }
+
+    /** Bitboard of one piece ({@code colour * 6 + type}). */
+    public long pieces(int piece) { return pieces[piece]; }
+
+    public long occupied() { return colours[WHITE] | colours[BLACK]; }
+
+    /** Whether a legal {@code move} takes a piece, en passant included. */
+    public boolean isCapture(int move) {
+        int from = move & 0x3F;
+        int to = (move >>> 6) & 0x3F;
+        return board[to] != EMPTY || (to == epSquare && board[from] % 6 == PAWN);
+    }
+
+    /**
+     * An independent position with the same board and history, e.g. for a search thread that
+     * must not touch the live game's board. Earlier moves cannot be unmade on the copy.
+     */
+    public Position copy() {
+        Position p = new Position();
+        System.arraycopy(pieces, 0, p.pieces, 0, pieces.length);
+        System.arraycopy(colours, 0, p.colours, 0, colours.length);
+        System.arraycopy(board, 0, p.board, 0, board.length);
+        p.sideToMove = sideToMove;
+        p.castling = castling;
+        p.epSquare = epSquare;
+        p.halfmoveClock = halfmoveClock;
+        p.fullmoveNumber = fullmoveNumber;
+        p.key = key;
+        p.history.copyFrom(history);
+        return p;
+    }
+
+    public boolean isCheck() {
+        int king = Long.numberOfTrailingZeros(pieces[sideToMove * 6 + KING_TYPE]);
+        return isAttacked(king, sideToMove ^ 1, colours[WHITE] | colours[BLACK]);
+    }
+
+    public boolean hasLegalMove() {
+        return !legalMoveSet().isEmpty();
+    }
+
+    /**
+     * Legal moves of the current position. Generated on first use after each move and reused
+     * until the next one, so validating a move and detecting mate cost one generation per ply.
+     * The returned set is refilled in place by later calls.
+     */
+    public LegalMoveSet legalMoveSet() {
+        if (!legalMoveSetValid) {
+            legalMoveSet.load(scratch, generate(scratch, -1L));
+            legalMoveSetValid = true;
+        }
+        return legalMoveSet;
+    }
+
+    public boolean isCheckmate() {
+        return isCheck() && !hasLegalMove();
+    }
+
+    public boolean isStalemate() {
+        return !isCheck() && !hasLegalMove();
+    }
+
+    /**
+     * Automatic draws other than stalemate: insufficient material, the fifty-move rule and
+     * threefold repetition.
+     */
+    public boolean isDraw() {
+        return isInsufficientMaterial() || history.isFiftyMoveRule() || history.isThreefoldRepetition();
+    }
+
+    public boolean isInsufficientMaterial() {
+        long heavy = pieces[PAWN] | pieces[ROOK] | pieces[QUEEN]
+                | pieces[6 + PAWN] | pieces[6 + ROOK] | pieces[6 + QUEEN];
+        if (heavy != 0) return false;
+        long knights = pieces[KNIGHT_TYPE] | pieces[6 + KNIGHT_TYPE];
+        long bishops = pieces[BISHOP] | pieces[6 + BISHOP];
+        if (Long.bitCount(knights | bishops) <= 1) return true;
+        // Any number of bishops all on one square colour cannot mate
+        return knights == 0 && ((bishops & Bitboards.DARK_SQUARES) == 0 || (bishops & ~Bitboards.DARK_SQUARES) == 0);
+    }
+
+    /**
+     * Returns {@code move} if it is legal here, otherwise -1. Only the moving piece's moves are
+     * generated, so this is much cheaper than a full generation.
+     */
+    public int findLegalMove(int move) {
+        int from = move & 0x3F;
+        if (board[from] == EMPTY || board[from] / 6 != sideToMove) return -1;
+        int n = generate(scratch, 1L << from);
+        for (int i = 0; i < n; i++) {
+            if (scratch[i] == move) return move;
+        }
+        return -1;
+    }
+
+    /**
+     * Writes all legal moves into {@code moves} (at least {@link #MAX_MOVES} long) and returns the count.
+     */
+    public int legalMoves(int[] moves) {
+        return generate(moves, -1L);
+    }
+
+    // --- Make / unmake ---
+
+    /**
+     * Plays a move that is known to be legal (from {@link #legalMoves} or {@link #findLegalMove}).
+     */
+    public void makeMove(int move) {
+        int from = move & 0x3F;
+        int to = (move >>> 6) & 0x3F;
+        int promotion = (move >>> 12) & 0x7;
+        int piece = board[from];
+        if (piece == EMPTY) throw new IllegalArgumentException("No piece on " + from);
+        int us = sideToMove;
+        int type = piece % 6;
+        int captured = board[to];
+
+        if (ply == undoMove.length) growUndo();
+        undoMove[ply] = move;
+        undoCaptured[ply] = captured;
+        undoCastling[ply] = castling;
+        undoEpSquare[ply] = epSquare;
+        undoHalfmove[ply] = halfmoveClock;
+        undoKey[ply] = key;
+        ply++;
+
+        long k = key;
+        if (epSquare >= 0 && isEnPassantAvailable()) k ^= Zobrist.EN_PASSANT[epSquare & 7];
+        k ^= Zobrist.CASTLING[castling];
+
+        if (captured != EMPTY) {
+            remove(to);
+            k ^= Zobrist.PIECE[captured][to];
+        } else if (type == PAWN && to == epSquare) {
+            int capturedSquare = to + (us == WHITE ? -8 : 8);
+            int capturedPawn = board[capturedSquare];
+            remove(capturedSquare);
+            k ^= Zobrist.PIECE[capturedPawn][capturedSquare];
+        }
+
+        remove(from);
+        k ^= Zobrist.PIECE[piece][from];
+        int placed = promotion != 0 ? us * 6 + promotion : piece; // promotion codes 1..4 match N, B, R, Q
+        put(to, placed);
+        k ^= Zobrist.PIECE[placed][to];
+
+        if (type == KING_TYPE && Math.abs(to - from) == 2) {
+            int rookFrom = to > from ? to + 1 : to - 2;
+            int rookTo = to > from ? to - 1 : to + 1;
+            int rook = board[rookFrom];
+            remove(rookFrom);
+            put(rookTo, rook);
+            k ^= Zobrist.PIECE[rook][rookFrom] ^ Zobrist.PIECE[rook][rookTo];
+        }
+
+        castling &= CASTLING_MASK[from] & CASTLING_MASK[to];
+        k ^= Zobrist.CASTLING[castling];
+        epSquare = type == PAWN && Math.abs(to - from) == 16 ? (from + to) >>> 1 : -1;
+        halfmoveClock = type == PAWN || captured != EMPTY ? 0 : halfmoveClock + 1;
+        if (us == BLACK) fullmoveNumber++;
+        sideToMove = us ^ 1;
+        k ^= Zobrist.BLACK_TO_MOVE;
+        if (epSquare >= 0 && isEnPassantAvailable()) k ^= Zobrist.EN_PASSANT[epSquare & 7];
+        key = k;
+
+        history.push(key, halfmoveClock);
+        legalMoveSetValid = false;
+    }
+
+    public void unmakeMove() {
+        if (ply == 0) throw new IllegalStateException("No move to unmake");
+        ply--;
+        int move = undoMove[ply];
+        int from = move & 0x3F;
+        int to = (move >>> 6) & 0x3F;
+        int promotion = (move >>> 12) & 0x7;
+        sideToMove ^= 1;
+        int us = sideToMove;
+        int piece = board[to];
+
+        if (piece % 6 == KING_TYPE && Math.abs(to - from) == 2) {
+            int rookFrom = to > from ? to + 1 : to - 2;
+            int rookTo = to > from ? to - 1 : to + 1;
+            int rook = board[rookTo];
+            remove(rookTo);
+            put(rookFrom, rook);
+        }
+
+        remove(to);
+        put(from, promotion != 0 ? us * 6 + PAWN : piece);
+
+        int captured = undoCaptured[ply];
+        if (captured != EMPTY) {
+            put(to, captured);
+        } else if (promotion == 0 && piece % 6 == PAWN && to == undoEpSquare[ply]) {
+            put(to + (us == WHITE ? -8 : 8), (us ^ 1) * 6 + PAWN);
+        }
+
+        castling = undoCastling[ply];
+        epSquare = undoEpSquare[ply];
+        halfmoveClock = undoHalfmove[ply];
+        key = undoKey[ply];
+        if (us == BLACK) fullmoveNumber--;
+        history.pop();
+        legalMoveSetValid = false;
+    }
+
+    // --- FEN ---
+
+    public String toFen() {
+        StringBuilder sb = new StringBuilder(90);
+        for (int rank = 7; rank >= 0; rank--) {
+            int empty = 0;
+            for (int file = 0; file < 8; file++) {
+                int piece = board[rank * 8 + file];
+                if (piece == EMPTY) {
+                    empty++;
+                } else {
+                    if (empty > 0) sb.append(empty);
+                    empty = 0;
+                    sb.append(PIECE_CHARS.charAt(piece));
+                }
+            }
+            if (empty > 0) sb.append(empty);
+            if (rank > 0) sb.append('/');
+        }
+        sb.append(sideToMove == WHITE ? " w " : " b ");
+        if (castling == 0) {
+            sb.append('-');
+        } else {
+            if ((castling & WHITE_KINGSIDE) != 0) sb.append('K');
+            if ((castling & WHITE_QUEENSIDE) != 0) sb.append('Q');
+            if ((castling & BLACK_KINGSIDE) != 0) sb.append('k');
+            if ((castling & BLACK_QUEENSIDE) != 0) sb.append('q');
+        }
+        sb.append(' ');
+        if (epSquare >= 0) {
+            sb.append((char) ('a' + (epSquare & 7))).append((char) ('1' + (epSquare >>> 3)));
+        } else {
+            sb.append('-');
+        }
+        return sb.append(' ').append(halfmoveClock).append(' ').append(fullmoveNumber).toString();
+    }
+
+    // --- Generation ---
+
+    private int generate(int[] moves, long fromMask) {
+        int us = sideToMove;
+        int them = us ^ 1;
+        long own = colours[us];
+        long enemy = colours[them];
+        long occupied = own | enemy;
+        int king = Long.numberOfTrailingZeros(pieces[us * 6 + KING_TYPE]);
+        long checkers = attackersTo(king, occupied) & enemy;
+        int n = 0;
+
+        if ((fromMask & (1L << king)) != 0) {
+            // The king itself must not shield the square it steps back onto
+            long withoutKing = occupied ^ (1L << king);
+            for (long targets = KING[king] & ~own; targets != 0; targets &= targets - 1) {
+                int to = Long.numberOfTrailingZeros(targets);
+                if (!isAttacked(to, them, withoutKing)) moves[n++] = king | (to << 6);
+            }
+            if (checkers == 0) n = generateCastling(moves, n, king, us, occupied);
+        }
+        if (Long.bitCount(checkers) > 1) return n;
+
+        long target = checkers != 0
+                ? BETWEEN[king][Long.numberOfTrailingZeros(checkers)] | checkers
+                : ~own;
+        long pinned = pinnedPieces(king, us, occupied);
+
+        for (long bb = pieces[us * 6 + KNIGHT_TYPE] & ~pinned & fromMask; bb != 0; bb &= bb - 1) {
+            int from = Long.numberOfTrailingZeros(bb);
+            n = addMoves(moves, n, from, KNIGHT[from] & target);
+        }
+        for (long bb = pieces[us * 6 + BISHOP] & fromMask; bb != 0; bb &= bb - 1) {
+            int from = Long.numberOfTrailingZeros(bb);
+            n = addMoves(moves, n, from, bishopAttacks(from, occupied) & target & pinLine(pinned, king, from));
+        }
+        for (long bb = pieces[us * 6 + ROOK] & fromMask; bb != 0; bb &= bb - 1) {
+            int from = Long.numberOfTrailingZeros(bb);
+            n = addMoves(moves, n, from, rookAttacks(from, occupied) & target & pinLine(pinned, king, from));
+        }
+        for (long bb = pieces[us * 6 + QUEEN] & fromMask; bb != 0; bb &= bb - 1) {
+            int from = Long.numberOfTrailingZeros(bb);
+            n = addMoves(moves, n, from, queenAttacks(from, occupied) & target & pinLine(pinned, king, from));
+        }
+
+        int forward = us == WHITE ? 8 : -8;
+        long startRank = us == WHITE ? Bitboards.RANK_2 : Bitboards.RANK_7;
+        for (long bb = pieces[us * 6 + PAWN] & fromMask; bb != 0; bb &= bb - 1) {
+            int from = Long.numberOfTrailingZeros(bb);
+            long allowed = target & pinLine(pinned, king, from);
+            int to = from + forward;
+            if (board[to] == EMPTY) {
+                if (((1L << to) & allowed) != 0) n = addPawnMove(moves, n, from, to);
+                if (((1L << from) & startRank) != 0) {
+                    int twoSteps = to + forward;
+                    if (board[twoSteps] == EMPTY && ((1L << twoSteps) & allowed) != 0) {
+                        moves[n++] = from | (twoSteps << 6);
+                    }
+                }
+            }
+            for (long caps = PAWN_ATTACKS[us][from] & enemy & allowed; caps != 0; caps &= caps - 1) {
+                n = addPawnMove(moves, n, from, Long.numberOfTrailingZeros(caps));
+            }
+            if (epSquare >= 0 && (PAWN_ATTACKS[us][from] & (1L << epSquare)) != 0
+                    && isLegalEnPassant(from, king, us, occupied)) {
+                moves[n++] = from | (epSquare << 6);
+            }
+        }
+        return n;
+    }
+
+    private int generateCastling(int[] moves, int n, int king, int us, long occupied) {
+        int them = us ^ 1;
+        int base = us == WHITE ? 0 : 56;
+        int kingside = us == WHITE ? WHITE_KINGSIDE : BLACK_KINGSIDE;
+        int queenside = us == WHITE ? WHITE_QUEENSIDE : BLACK_QUEENSIDE;
+        int rook = us * 6 + ROOK;
+        if (king != base + 4) return n;
+        if ((castling & kingside) != 0 && board[base + 7] == rook
+                && (occupied & (0x60L << base)) == 0
+                && !isAttacked(base + 5, them, occupied) && !isAttacked(base + 6, them, occupied)) {
+            moves[n++] = king | ((base + 6) << 6);
+        }
+        if ((castling & queenside) != 0 && board[base] == rook
+                && (occupied & (0x0EL << base)) == 0
+                && !isAttacked(base + 3, them, occupied) && !isAttacked(base + 2, them, occupied)) {
+            moves[n++] = king | ((base + 2) << 6);
+        }
+        return n;
+    }
+
+    /**
+     * En passant removes two pawns from one rank at once, which the pin mask cannot describe
+     * (the classic case is a rook behind both pawns), so it gets a direct attack test.
+     */
+    private boolean isLegalEnPassant(int from, int king, int us, long occupied) {
+        int capturedSquare = epSquare + (us == WHITE ? -8 : 8);
+        long capturedBit = 1L << capturedSquare;
+        long after = (occupied ^ (1L << from) ^ capturedBit) | (1L << epSquare);
+        return (attackersTo(king, after) & colours[us ^ 1] & ~capturedBit) == 0;
+    }
+
+    private static long pinLine(long pinned, int king, int from) {
+        return (pinned & (1L << from)) != 0 ? LINE[king][from] : -1L;
+    }
+
+    private static int addMoves(int[] moves, int n, int from, long targets) {
+        for (; targets != 0; targets &= targets - 1) {
+            moves[n++] = from | (Long.numberOfTrailingZeros(targets) << 6);
+        }
+        return n;
+    }
+
+    private static int addPawnMove(int[] moves, int n, int from, int to) {
+        int move = from | (to << 6);
+        if (to >= 56 || to < 8) {
+            moves[n++] = move | (QUEEN << 12);
+            moves[n++] = move | (ROOK << 12);
+            moves[n++] = move | (BISHOP << 12);
+            moves[n++] = move | (KNIGHT_TYPE << 12);
+        } else {
+            moves[n++] = move;
+        }
+        return n;
+    }
+
+    private long pinnedPieces(int king, int us, long occupied) {
+        int them = us ^ 1;
+        long snipers = (rookAttacks(king, 0) & (pieces[them * 6 + ROOK] | pieces[them * 6 + QUEEN]))
+                | (bishopAttacks(king, 0) & (pieces[them * 6 + BISHOP] | pieces[them * 6 + QUEEN]));
+        long pinned = 0;
+        for (; snipers != 0; snipers &= snipers - 1) {
+            long between = BETWEEN[king][Long.numberOfTrailingZeros(snipers)] & occupied;
+            if (between != 0 && (between & (between - 1)) == 0) {
+                pinned |= between & colours[us];
+            }
+        }
+        return pinned;
+    }
+
+    private long attackersTo(int square, long occupied) {
+        return (PAWN_ATTACKS[WHITE][square] & pieces[6 + PAWN])
+                | (PAWN_ATTACKS[BLACK][square] & pieces[PAWN])
+                | (KNIGHT[square] & (pieces[KNIGHT_TYPE] | pieces[6 + KNIGHT_TYPE]))
+                | (KING[square] & (pieces[KING_TYPE] | pieces[6 + KING_TYPE]))
+                | (bishopAttacks(square, occupied)
+                        & (pieces[BISHOP] | pieces[6 + BISHOP] | pieces[QUEEN] | pieces[6 + QUEEN]))
+                | (rookAttacks(square, occupied)
+                        & (pieces[ROOK] | pieces[6 + ROOK] | pieces[QUEEN] | pieces[6 + QUEEN]));
+    }
+
+    private boolean isAttacked(int square, int by, long occupied) {
+        int base = by * 6;
+        return (PAWN_ATTACKS[by ^ 1][square] & pieces[base + PAWN]) != 0
+                || (KNIGHT[square] & pieces[base + KNIGHT_TYPE]) != 0
+                || (KING[square] & pieces[base + KING_TYPE]) != 0
+                || (bishopAttacks(square, occupied) & (pieces[base + BISHOP] | pieces[base + QUEEN])) != 0
+                || (rookAttacks(square, occupied) & (pieces[base + ROOK] | pieces[base + QUEEN])) != 0;
+    }
+
+    /** Whether the side to move has a pawn that could capture on the en-passant square. */
+    private boolean isEnPassantAvailable() {
+        return (PAWN_ATTACKS[sideToMove ^ 1][epSquare] & pieces[sideToMove * 6 + PAWN]) != 0;
+    }
+
+    // --- Board updates (the key is maintained by the callers) ---
+
+    private void put(int square, int piece) {
+        long bit = 1L << square;
+        pieces[piece] |= bit;
+        colours[piece / 6] |= bit;
+        board[square] = piece;
+    }
+
+    private void remove(int square) {
+        int piece = board[square];
+        long bit = ~(1L << square);
+        pieces[piece] &= bit;
+        colours[piece / 6] &= bit;
+        board[square] = EMPTY;
+    }
+
+    private long computeKey() {
+        long k = 0;
+        for (int sq = 0; sq < 64; sq++) {
+            if (board[sq] != EMPTY) k ^= Zobrist.PIECE[board[sq]][sq];
+        }
+        k ^= Zobrist.CASTLING[castling];
+        if (sideToMove == BLACK) k ^= Zobrist.BLACK_TO_MOVE;
+        if (epSquare >= 0 && isEnPassantAvailable()) k ^= Zobrist.EN_PASSANT[epSquare & 7];
+        return k;
+    }
+
+    private void growUndo() {
+        int size = undoMove.length * 2;
+        undoMove = java.util.Arrays.copyOf(undoMove, size);
+        undoCaptured = java.util.Arrays.copyOf(undoCaptured, size);
+        undoCastling = java.util.Arrays.copyOf(undoCastling, size);
+        undoEpSquare = java.util.Arrays.copyOf(undoEpSquare, size);
+        undoHalfmove = java.util.Arrays.copyOf(undoHalfmove, size);
+        undoKey = java.util.Arrays.copyOf(undoKey, size);
+    }
+}
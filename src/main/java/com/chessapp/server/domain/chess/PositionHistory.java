@@ -0,0 +1,100 @@
+package com.chessapp.server.domain.chess;
+
+import java.util.Arrays;
+
+/**
+ * Zobrist keys of every position reached in one game, plus the halfmove clock at each ply, held
+ * in two primitive arrays (12 bytes per ply).
+ * <p>
+ * A position can only repeat since the last capture or pawn move, so a repetition check scans at
+ * most the current halfmove clock, every other ply; the fifty-move rule caps that window at 100
+ * plies, so both queries are constant-time. Not thread-safe: one instance belongs to one live game,
+ * whose moves are already serialized.
+ */
+public final class PositionHistory {
+
+    private static final int FIFTY_MOVE_PLIES = 100;
+
+    private long[] keys;
+    private int[] halfmoveClocks;
+    private int size;
+
+    public PositionHistory() {
+        this(64);
+    }
+
+    public PositionHistory(int expectedPlies) {
+        int capacity = Math.max(8, expectedPlies);
+        this.keys = new long[capacity];
+        this.halfmoveClocks = new int[capacity];
+    }
+
+    /**
+     * Records the position reached after a move (or the starting position).
+     *
+     * @param halfmoveClock plies since the last capture or pawn move, 0 if this move was one
+     */
+    public void push(long key, int halfmoveClock) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            halfmoveClocks = Arrays.copyOf(halfmoveClocks, size * 2);
+        }
+        keys[size] = key;
+        halfmoveClocks[size] = halfmoveClock;
+        size++;
+    }
+
+    /**
+     * Forgets the last pushed position, e.g. when the move that produced it was not persisted.
+     */
+    public void pop() {
+        if (size == 0) throw new IllegalStateException("Position history is empty");
+        size--;
+    }
+
+    /**
+     * Replaces this history with a copy of {@code other}.
+     */
+    public void copyFrom(PositionHistory other) {
+        if (keys.length < other.size) {
+            keys = new long[other.keys.length];
+            halfmoveClocks = new int[other.keys.length];
+        }
+        System.arraycopy(other.keys, 0, keys, 0, other.size);
+        System.arraycopy(other.halfmoveClocks, 0, halfmoveClocks, 0, other.size);
+        size = other.size;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long currentKey() {
+        if (size == 0) throw new IllegalStateException("Position history is empty");
+        return keys[size - 1];
+    }
+
+    /**
+     * How many times the current position has occurred, including now.
+     */
+    public int repetitionCount() {
+        if (size == 0) return 0;
+        int last = size - 1;
+        long key = keys[last];
+        // Same side to move means every second ply; nothing before the last irreversible move can match
+        int oldest = Math.max(0, last - halfmoveClocks[last]);
+        int count = 1;
+        for (int i = last - 2; i >= oldest; i -= 2) {
+            if (keys[i] == key) count++;
+        }
+        return count;
+    }
+
+    public boolean isThreefoldRepetition() {
+        return repetitionCount() >= 3;
+    }
+
+    public boolean isFiftyMoveRule() {
+        return size > 0 && halfmoveClocks[size - 1] >= FIFTY_MOVE_PLIES;
+    }
+}
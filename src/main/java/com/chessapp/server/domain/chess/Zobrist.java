@@ -0,0 +1,28 @@
+package com.chessapp.server.domain.chess;
+
+/**
+ * Random keys for incremental position hashing. Generated from a fixed seed, so keys (and
+ * anything derived from them) are stable across restarts.
+ */
+final class Zobrist {
+
+    /** Indexed by piece ({@code colour * 6 + type}) then square. */
+    static final long[][] PIECE = new long[12][64];
+    /** Indexed by the 4-bit castling rights mask. */
+    static final long[] CASTLING = new long[16];
+    /** Indexed by file; only hashed when an en-passant capture is actually available. */
+    static final long[] EN_PASSANT = new long[8];
+    static final long BLACK_TO_MOVE;
+
+    static {
+        long[] rng = {0x2545F4914F6CDD1DL};
+        for (long[] squares : PIECE) {
+            for (int sq = 0; sq < 64; sq++) squares[sq] = Bitboards.nextRandom(rng);
+        }
+        for (int i = 0; i < CASTLING.length; i++) CASTLING[i] = Bitboards.nextRandom(rng);
+        for (int i = 0; i < EN_PASSANT.length; i++) EN_PASSANT[i] = Bitboards.nextRandom(rng);
+        BLACK_TO_MOVE = Bitboards.nextRandom(rng);
+    }
+
+    private Zobrist() {}
+}
@@ -0,0 +1,33 @@
+package com.chessapp.server.domain.chess.engine;
+
+/**
+ * Move accuracy from engine scores, on the scale players know from the big chess sites.
+ * <p>
+ * Scores are turned into a winning chance for the side they are for, and a move's accuracy falls
+ * off exponentially with the winning chance it gave away: 100 for the best move, around 50 for
+ * dropping 15 points, 0 for throwing away a won game. Only the loss counts, so a move that
+ * improves on the previous evaluation (the opponent blundered, or the search saw further) is 100.
+ */
+public final class Accuracy {
+
+    // Beyond this a position is simply won; keeps large material leads from dominating
+    private static final int MAX_CENTIPAWNS = 1000;
+
+    private Accuracy() {}
+
+    /** Winning chance (0-100) for the side {@code score} is from. */
+    public static double winPercent(int score) {
+        if (Engine.isMateScore(score)) return score > 0 ? 100 : 0;
+        int cp = Math.max(-MAX_CENTIPAWNS, Math.min(MAX_CENTIPAWNS, score));
+        return 50 + 50 * (2 / (1 + Math.exp(-0.00368208 * cp)) - 1);
+    }
+
+    /**
+     * Accuracy (0-100) of one move, from the mover's scores of the positions before and after it.
+     */
+    public static double ofMove(int scoreBefore, int scoreAfter) {
+        double loss = Math.max(0, winPercent(scoreBefore) - winPercent(scoreAfter));
+        double accuracy = 103.1668 * Math.exp(-0.04354 * loss) - 3.1669;
+        return Math.max(0, Math.min(100, accuracy));
+    }
+}
@@ -0,0 +1,374 @@
+package com.chessapp.server.domain.chess.engine;
+
+import com.chessapp.server.domain.chess.Position;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.chessapp.server.domain.chess.Position.EMPTY;
+import static com.chessapp.server.domain.chess.Position.PAWN;
+import static com.chessapp.server.domain.chess.Position.QUEEN;
+import static com.chessapp.server.domain.chess.engine.TranspositionTable.EXACT;
+import static com.chessapp.server.domain.chess.engine.TranspositionTable.LOWER_BOUND;
+import static com.chessapp.server.domain.chess.engine.TranspositionTable.UPPER_BOUND;
+
+/**
+ * Alpha-beta searcher: iterative deepening, principal variation search with late move
+ * reductions, check extensions, a capture-only quiescence search, and move ordering by
+ * transposition table move, MVV-LVA, killer moves and history.
+ * <p>
+ * Parallel search is Lazy SMP. The calling thread runs the main search; helper threads run the
+ * same iterative deepening on their own copy of the position, half of them one ply ahead, and
+ * share nothing with it but the {@link TranspositionTable}. Their results reach the main thread
+ * only as table entries that cut its tree short. Helpers are never waited for: when the main
+ * search ends it raises the stop flag and returns, so a helper still queued on a busy executor
+ * simply exits when it starts. The search therefore never blocks on the executor and degrades to
+ * fewer threads under load.
+ */
+public final class Engine {
+
+    public static final int MATE = 30000;
+
+    static final int MAX_PLY = 64;
+
+    private static final int INFINITY = 32000;
+    private static final int MATE_BOUND = MATE - MAX_PLY;
+    private static final int MAX_CHECK_INTERVAL = 1024;
+
+    private static final int TABLE_MOVE_SCORE = 1 << 30;
+    private static final int CAPTURE_SCORE = 1 << 29;
+    private static final int PROMOTION_SCORE = 1 << 28;
+    private static final int KILLER_SCORE = 1 << 27;
+    private static final int HISTORY_LIMIT = 1 << 20;
+
+    private final TranspositionTable table;
+    private final Executor helperExecutor;
+
+    public Engine(TranspositionTable table, Executor helperExecutor) {
+        this.table = table;
+        this.helperExecutor = helperExecutor;
+    }
+
+    /**
+     * Searches {@code position} (which is not modified) within {@code limits} on the calling
+     * thread, plus {@code limits.threads() - 1} helpers on the executor.
+     *
+     * @throws IllegalArgumentException if the side to move has no legal move
+     */
+    public SearchResult search(Position position, SearchLimits limits) {
+        long started = System.nanoTime();
+        Position root = position.copy();
+        int[] legal = new int[Position.MAX_MOVES];
+        if (root.legalMoves(legal) == 0) {
+            throw new IllegalArgumentException("No legal move in " + position.toFen());
+        }
+
+        Shared shared = new Shared(limits, started, table.newSearch());
+        for (int i = 1; i < limits.threads(); i++) {
+            Searcher helper = new Searcher(root.copy(), shared, i);
+            try {
+                helperExecutor.execute(helper);
+            } catch (RejectedExecutionException e) {
+                break; // executor saturated; search with the threads we have
+            }
+        }
+
+        Searcher main = new Searcher(root, shared, 0);
+        try {
+            main.run();
+        } finally {
+            shared.stop = true;
+        }
+        // Stopped before the first move of depth 1 was searched: any legal move beats none
+        int move = main.bestMove != 0 ? main.bestMove : legal[0];
+        return new SearchResult(move, main.bestScore, main.completedDepth, shared.nodes.get(),
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /** Whether {@code score} is a forced mate; {@code MATE - |score|} is then the plies to mate. */
+    public static boolean isMateScore(int score) {
+        return Math.abs(score) >= MATE_BOUND;
+    }
+
+    private static int toTable(int score, int ply) {
+        // Mate scores are stored relative to the node, not the root
+        if (score >= MATE_BOUND) return score + ply;
+        if (score <= -MATE_BOUND) return score - ply;
+        return score;
+    }
+
+    private static int fromTable(int score, int ply) {
+        if (score >= MATE_BOUND) return score - ply;
+        if (score <= -MATE_BOUND) return score + ply;
+        return score;
+    }
+
+    /** State of one search shared by its threads. */
+    private static final class Shared {
+        final int maxDepth;
+        final long nodeLimit;
+        final long deadline;
+        final int checkInterval;
+        final int generation;
+        final AtomicLong nodes = new AtomicLong();
+        volatile boolean stop;
+
+        Shared(SearchLimits limits, long started, int generation) {
+            this.maxDepth = limits.depth() > 0 ? Math.min(limits.depth(), MAX_PLY - 1) : MAX_PLY - 1;
+            this.nodeLimit = limits.nodes();
+            this.deadline = limits.millis() > 0 ? started + limits.millis() * 1_000_000 : Long.MAX_VALUE;
+            // Small node budgets (weak levels) are checked often enough not to overshoot them
+            this.checkInterval = nodeLimit > 0
+                    ? (int) Math.max(1, Math.min(MAX_CHECK_INTERVAL, nodeLimit / 16))
+                    : MAX_CHECK_INTERVAL;
+            this.generation = generation;
+        }
+    }
+
+    /** One search thread: its own board, move lists and ordering tables. */
+    private final class Searcher implements Runnable {
+        private final Position position;
+        private final Shared shared;
+        private final int id;
+
+        private final int[][] moves = new int[MAX_PLY + 1][Position.MAX_MOVES];
+        private final int[][] scores = new int[MAX_PLY + 1][Position.MAX_MOVES];
+        private final int[][] killers = new int[MAX_PLY + 1][2];
+        private final int[][] history = new int[64][64];
+        private int unflushed;
+
+        private int rootBestMove;
+        private int rootBestScore;
+        int bestMove;
+        int bestScore;
+        int completedDepth;
+
+        Searcher(Position position, Shared shared, int id) {
+            this.position = position;
+            this.shared = shared;
+            this.id = id;
+        }
+
+        @Override
+        public void run() {
+            try {
+                // Odd helpers start a ply deeper so the threads do not all walk the same iteration
+                for (int depth = 1 + (id & 1); depth <= shared.maxDepth && !shared.stop; depth++) {
+                    rootBestMove = 0;
+                    int score = negamax(depth, 0, -INFINITY, INFINITY);
+                    // An interrupted iteration still counts if its first (previous best) move was finished
+                    if (rootBestMove != 0) {
+                        bestMove = rootBestMove;
+                        bestScore = rootBestScore;
+                    }
+                    if (shared.stop) break;
+                    bestScore = score;
+                    completedDepth = depth;
+                }
+            } finally {
+                shared.nodes.addAndGet(unflushed);
+                unflushed = 0;
+            }
+        }
+
+        private int negamax(int depth, int ply, int alpha, int beta) {
+            boolean root = ply == 0;
+            if (!root) {
+                if (shared.stop) return 0;
+                // Any repetition inside the search is scored as the draw it can be forced into
+                if (position.halfmoveClock() >= 100 || position.history().repetitionCount() >= 2
+                        || position.isInsufficientMaterial()) {
+                    return 0;
+                }
+                // No line can do better than mating now or worse than being mated now
+                alpha = Math.max(alpha, -MATE + ply);
+                beta = Math.min(beta, MATE - ply - 1);
+                if (alpha >= beta) return alpha;
+            }
+
+            boolean inCheck = position.isCheck();
+            if (inCheck) depth++;
+            if (depth <= 0) return quiesce(ply, alpha, beta);
+            if (ply >= MAX_PLY) return Evaluation.evaluate(position);
+            countNode();
+
+            long key = position.key();
+            long entry = table.probe(key);
+            int tableMove = 0;
+            if (entry != 0) {
+                tableMove = TranspositionTable.move(entry);
+                if (!root && TranspositionTable.depth(entry) >= depth) {
+                    int score = fromTable(TranspositionTable.score(entry), ply);
+                    int bound = TranspositionTable.bound(entry);
+                    if (bound == EXACT
+                            || (bound == LOWER_BOUND && score >= beta)
+                            || (bound == UPPER_BOUND && score <= alpha)) {
+                        return score;
+                    }
+                }
+            }
+
+            int n = position.legalMoves(moves[ply]);
+            if (n == 0) return inCheck ? -MATE + ply : 0;
+            scoreMoves(ply, n, tableMove);
+
+            int originalAlpha = alpha;
+            int best = -INFINITY;
+            int bestMoveHere = 0;
+            for (int i = 0; i < n; i++) {
+                int move = pickNext(ply, i, n);
+                boolean quiet = (move >>> 12) == 0 && !position.isCapture(move);
+                position.makeMove(move);
+                int score;
+                if (i == 0) {
+                    score = -negamax(depth - 1, ply + 1, -beta, -alpha);
+                } else {
+                    // Late quiet moves get a shallower null-window look; one that beats alpha is searched again in full
+                    int reduction = depth >= 3 && i >= 3 && quiet && !inCheck && !position.isCheck()
+                            ? (depth >= 6 && i >= 8 ? 2 : 1)
+                            : 0;
+                    score = -negamax(depth - 1 - reduction, ply + 1, -alpha - 1, -alpha);
+                    if (score > alpha && (reduction > 0 || score < beta)) {
+                        score = -negamax(depth - 1, ply + 1, -beta, -alpha);
+                    }
+                }
+                position.unmakeMove();
+                if (shared.stop) return 0;
+
+                if (score > best) {
+                    best = score;
+                    bestMoveHere = move;
+                    if (root) {
+                        rootBestMove = move;
+                        rootBestScore = score;
+                    }
+                    if (score > alpha) {
+                        alpha = score;
+                        if (alpha >= beta) {
+                            if (quiet) rememberQuiet(ply, move, depth);
+                            break;
+                        }
+                    }
+                }
+            }
+
+            int bound = best >= beta ? LOWER_BOUND : best > originalAlpha ? EXACT : UPPER_BOUND;
+            table.store(key, bestMoveHere, toTable(best, ply), depth, bound, shared.generation);
+            return best;
+        }
+
+        /**
+         * Resolves captures (and queen promotions) until the position is quiet, so the static
+         * evaluation is never taken in the middle of an exchange. In check every evasion is tried.
+         */
+        private int quiesce(int ply, int alpha, int beta) {
+            if (shared.stop) return 0;
+            countNode();
+            if (ply >= MAX_PLY) return Evaluation.evaluate(position);
+
+            boolean inCheck = position.isCheck();
+            int best = -INFINITY;
+            if (!inCheck) {
+                best = Evaluation.evaluate(position);
+                if (best >= beta) return best;
+                if (best > alpha) alpha = best;
+            }
+
+            int[] list = moves[ply];
+            int n = position.legalMoves(list);
+            if (n == 0) return inCheck ? -MATE + ply : 0;
+            int count = 0;
+            for (int i = 0; i < n; i++) {
+                int move = list[i];
+                if (inCheck || (move >>> 12) == QUEEN || position.isCapture(move)) list[count++] = move;
+            }
+            scoreMoves(ply, count, 0);
+
+            for (int i = 0; i < count; i++) {
+                int move = pickNext(ply, i, count);
+                position.makeMove(move);
+                int score = -quiesce(ply + 1, -beta, -alpha);
+                position.unmakeMove();
+                if (shared.stop) return 0;
+                if (score > best) {
+                    best = score;
+                    if (score > alpha) {
+                        alpha = score;
+                        if (alpha >= beta) break;
+                    }
+                }
+            }
+            return best;
+        }
+
+        private void scoreMoves(int ply, int n, int tableMove) {
+            int[] list = moves[ply];
+            int[] score = scores[ply];
+            int[] killer = killers[ply];
+            for (int i = 0; i < n; i++) {
+                int move = list[i];
+                int from = move & 0x3F;
+                int to = (move >>> 6) & 0x3F;
+                if (move == tableMove) {
+                    score[i] = TABLE_MOVE_SCORE;
+                } else if (position.isCapture(move)) {
+                    // Most valuable victim first, then least valuable attacker
+                    int victim = position.pieceAt(to);
+                    int victimType = victim == EMPTY ? PAWN : victim % 6;
+                    score[i] = CAPTURE_SCORE + Evaluation.VALUE[victimType] * 8 - position.pieceAt(from) % 6;
+                } else if ((move >>> 12) == QUEEN) {
+                    score[i] = PROMOTION_SCORE;
+                } else if (move == killer[0]) {
+                    score[i] = KILLER_SCORE + 1;
+                } else if (move == killer[1]) {
+                    score[i] = KILLER_SCORE;
+                } else {
+                    score[i] = history[from][to];
+                }
+            }
+        }
+
+        /** Selection sort step: swaps the best-scored of moves[i..n) into place i and returns it. */
+        private int pickNext(int ply, int i, int n) {
+            int[] list = moves[ply];
+            int[] score = scores[ply];
+            int best = i;
+            for (int j = i + 1; j < n; j++) {
+                if (score[j] > score[best]) best = j;
+            }
+            int move = list[best];
+            list[best] = list[i];
+            list[i] = move;
+            int s = score[best];
+            score[best] = score[i];
+            score[i] = s;
+            return move;
+        }
+
+        private void rememberQuiet(int ply, int move, int depth) {
+            int[] killer = killers[ply];
+            if (killer[0] != move) {
+                killer[1] = killer[0];
+                killer[0] = move;
+            }
+            int from = move & 0x3F;
+            int to = (move >>> 6) & 0x3F;
+            history[from][to] += depth * depth;
+            if (history[from][to] >= HISTORY_LIMIT) {
+                for (int[] row : history) {
+                    for (int j = 0; j < row.length; j++) row[j] >>= 1;
+                }
+            }
+        }
+
+        private void countNode() {
+            if (++unflushed < shared.checkInterval) return;
+            long total = shared.nodes.addAndGet(unflushed);
+            unflushed = 0;
+            if ((shared.nodeLimit > 0 && total >= shared.nodeLimit) || System.nanoTime() >= shared.deadline) {
+                shared.stop = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.chessapp.server.domain.chess.engine;
+
+import com.chessapp.server.domain.chess.Position;
+
+import static com.chessapp.server.domain.chess.Position.BISHOP;
+import static com.chessapp.server.domain.chess.Position.KING_TYPE;
+import static com.chessapp.server.domain.chess.Position.PAWN;
+import static com.chessapp.server.domain.chess.Position.QUEEN;
+import static com.chessapp.server.domain.chess.Position.WHITE;
+
+/**
+ * Static evaluation in centipawns from the side to move's point of view: material, piece-square
+ * tables (Michniewski's simplified evaluation) and a bishop pair bonus. The king table is blended
+ * from a middlegame to an endgame table by the non-pawn material left on the board.
+ * <p>
+ * Tables are written as seen from White with rank 8 on top, so a white piece on square {@code s}
+ * reads entry {@code s ^ 56} and a black piece reads entry {@code s}.
+ */
+public final class Evaluation {
+
+    /** Piece values by type (pawn .. king). */
+    public static final int[] VALUE = {100, 320, 330, 500, 900, 0};
+
+    private static final int BISHOP_PAIR = 30;
+
+    // Game phase weight per type; 24 with all minor and major pieces on the board
+    private static final int[] PHASE = {0, 1, 1, 2, 4, 0};
+    private static final int FULL_PHASE = 24;
+
+    private static final int[][] PIECE_SQUARE = {
+            {
+                    0, 0, 0, 0, 0, 0, 0, 0,
+                    50, 50, 50, 50, 50, 50, 50, 50,
+                    10, 10, 20, 30, 30, 20, 10, 10,
+                    5, 5, 10, 25, 25, 10, 5, 5,
+                    0, 0, 0, 20, 20, 0, 0, 0,
+                    5, -5, -10, 0, 0, -10, -5, 5,
+                    5, 10, 10, -20, -20, 10, 10, 5,
+                    0, 0, 0, 0, 0, 0, 0, 0
+            },
+            {
+                    -50, -40, -30, -30, -30, -30, -40, -50,
+                    -40, -20, 0, 0, 0, 0, -20, -40,
+                    -30, 0, 10, 15, 15, 10, 0, -30,
+                    -30, 5, 15, 20, 20, 15, 5, -30,
+                    -30, 0, 15, 20, 20, 15, 0, -30,
+                    -30, 5, 10, 15, 15, 10, 5, -30,
+                    -40, -20, 0, 5, 5, 0, -20, -40,
+                    -50, -40, -30, -30, -30, -30, -40, -50
+            },
+            {
+                    -20, -10, -10, -10, -10, -10, -10, -20,
+                    -10, 0, 0, 0, 0, 0, 0, -10,
+                    -10, 0, 5, 10, 10, 5, 0, -10,
+                    -10, 5, 5, 10, 10, 5, 5, -10,
+                    -10, 0, 10, 10, 10, 10, 0, -10,
+                    -10, 10, 10, 10, 10, 10, 10, -10,
+                    -10, 5, 0, 0, 0, 0, 5, -10,
+                    -20, -10, -10, -10, -10, -10, -10, -20
+            },
+            {
+                    0, 0, 0, 0, 0, 0, 0, 0,
+                    5, 10, 10, 10, 10, 10, 10, 5,
+                    -5, 0, 0, 0, 0, 0, 0, -5,
+                    -5, 0, 0, 0, 0, 0, 0, -5,
+                    -5, 0, 0, 0, 0, 0, 0, -5,
+                    -5, 0, 0, 0, 0, 0, 0, -5,
+                    -5, 0, 0, 0, 0, 0, 0, -5,
+                    0, 0, 0, 5, 5, 0, 0, 0
+            },
+            {
+                    -20, -10, -10, -5, -5, -10, -10, -20,
+                    -10, 0, 0, 0, 0, 0, 0, -10,
+                    -10, 0, 5, 5, 5, 5, 0, -10,
+                    -5, 0, 5, 5, 5, 5, 0, -5,
+                    0, 0, 5, 5, 5, 5, 0, -5,
+                    -10, 5, 5, 5, 5, 5, 0, -10,
+                    -10, 0, 5, 0, 0, 0, 0, -10,
+                    -20, -10, -10, -5, -5, -10, -10, -20
+            }
+    };
+
+    private static final int[] KING_MIDDLEGAME = {
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -20, -30, -30, -40, -40, -30, -30, -20,
+            -10, -20, -20, -20, -20, -20, -20, -10,
+            20, 20, 0, 0, 0, 0, 20, 20,
+            20, 30, 10, 0, 0, 10, 30, 20
+    };
+
+    private static final int[] KING_ENDGAME = {
+            -50, -40, -30, -20, -20, -30, -40, -50,
+            -30, -20, -10, 0, 0, -10, -20, -30,
+            -30, -10, 20, 30, 30, 20, -10, -30,
+            -30, -10, 30, 40, 40, 30, -10, -30,
+            -30, -10, 30, 40, 40, 30, -10, -30,
+            -30, -10, 20, 30, 30, 20, -10, -30,
+            -30, -30, 0, 0, 0, 0, -30, -30,
+            -50, -30, -30, -30, -30, -30, -30, -50
+    };
+
+    private Evaluation() {}
+
+    public static int evaluate(Position position) {
+        int score = 0;
+        int phase = 0;
+        int kingMiddlegame = 0;
+        int kingEndgame = 0;
+        for (int colour = 0; colour < 2; colour++) {
+            int sign = colour == WHITE ? 1 : -1;
+            int flip = colour == WHITE ? 56 : 0;
+            for (int type = PAWN; type <= QUEEN; type++) {
+                long bb = position.pieces(colour * 6 + type);
+                int[] table = PIECE_SQUARE[type];
+                int count = Long.bitCount(bb);
+                score += sign * VALUE[type] * count;
+                phase += PHASE[type] * count;
+                for (; bb != 0; bb &= bb - 1) {
+                    score += sign * table[Long.numberOfTrailingZeros(bb) ^ flip];
+                }
+            }
+            if (Long.bitCount(position.pieces(colour * 6 + BISHOP)) >= 2) score += sign * BISHOP_PAIR;
+            int king = Long.numberOfTrailingZeros(position.pieces(colour * 6 + KING_TYPE)) ^ flip;
+            kingMiddlegame += sign * KING_MIDDLEGAME[king];
+            kingEndgame += sign * KING_ENDGAME[king];
+        }
+        phase = Math.min(phase, FULL_PHASE);
+        score += (kingMiddlegame * phase + kingEndgame * (FULL_PHASE - phase)) / FULL_PHASE;
+        return position.isWhiteToMove() ? score : -score;
+    }
+}
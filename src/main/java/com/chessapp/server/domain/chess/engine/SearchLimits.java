@@ -0,0 +1,19 @@
+package com.chessapp.server.domain.chess.engine;
+
+/**
+ * When a search stops: whichever of depth, nodes (over all threads) and time runs out first.
+ * A limit of 0 means none; at least one of them should be set.
+ *
+ * @param threads search threads including the calling one (Lazy SMP helpers are {@code threads - 1})
+ */
+public record SearchLimits(int depth, long nodes, long millis, int threads) {
+
+    public SearchLimits {
+        if (depth < 0 || nodes < 0 || millis < 0) throw new IllegalArgumentException("Search limits must not be negative");
+        if (threads < 1) throw new IllegalArgumentException("A search needs at least one thread");
+    }
+
+    public static SearchLimits depth(int depth) {
+        return new SearchLimits(depth, 0, 0, 1);
+    }
+}
@@ -0,0 +1,14 @@
+package com.chessapp.server.domain.chess.engine;
+
+import com.chessapp.server.domain.chess.MoveCodec;
+
+/**
+ * Best move of a search, with its score in centipawns for the side to move, the deepest
+ * iteration completed and the nodes searched by all threads.
+ */
+public record SearchResult(int move, int score, int depth, long nodes, long millis) {
+
+    public String uci() {
+        return MoveCodec.decode(move);
+    }
+}
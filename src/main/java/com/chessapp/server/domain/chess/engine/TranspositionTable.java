@@ -0,0 +1,128 @@
+package com.chessapp.server.domain.chess.engine;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Shared transposition table in one direct (off-heap) buffer, so a table of hundreds of
+ * megabytes costs the garbage collector nothing and is shared by every search thread of every
+ * game.
+ * <p>
+ * Buckets are 64 bytes, one cache line, holding four 16-byte entries: {@code key ^ data} and
+ * {@code data}. There are no locks. Two threads writing the same entry at once can leave one
+ * half of each; the XOR check then fails and the entry reads as a miss, so a torn entry is never
+ * used (Hyatt's lockless hashing). {@code data} packs
+ * {@code move:16 score:16 depth:8 bound:8 generation:8}; a stored entry is never all zero because
+ * its depth is at least 1.
+ * <p>
+ * On a store the bucket's entry for the same key is overwritten, otherwise the entry with the
+ * lowest depth after an age penalty. The generation advances with every search, so entries of
+ * finished searches make way first.
+ */
+public final class TranspositionTable {
+
+    public static final int EXACT = 0;
+    public static final int LOWER_BOUND = 1;
+    public static final int UPPER_BOUND = 2;
+
+    private static final int ENTRY_BYTES = 16;
+    private static final int BUCKET_ENTRIES = 4;
+    private static final int BUCKET_BYTES = ENTRY_BYTES * BUCKET_ENTRIES;
+    private static final int MAX_MEGABYTES = 1024;
+
+    private final ByteBuffer buffer;
+    private final long bucketMask;
+    private final int megabytes;
+    private final AtomicInteger generation = new AtomicInteger();
+
+    /**
+     * @param megabytes table size, rounded down to a power of two (1 to 1024)
+     */
+    public TranspositionTable(int megabytes) {
+        if (megabytes < 1 || megabytes > MAX_MEGABYTES) {
+            throw new IllegalArgumentException("Transposition table size must be 1-" + MAX_MEGABYTES + " MB");
+        }
+        this.megabytes = Integer.highestOneBit(megabytes);
+        int bytes = this.megabytes << 20;
+        // Aligned so that no bucket straddles two cache lines
+        this.buffer = ByteBuffer.allocateDirect(bytes + BUCKET_BYTES)
+                .alignedSlice(BUCKET_BYTES)
+                .order(ByteOrder.nativeOrder());
+        this.bucketMask = bytes / BUCKET_BYTES - 1;
+    }
+
+    /** Starts a search and returns the generation its entries are stored with. */
+    public int newSearch() {
+        return generation.incrementAndGet() & 0xFF;
+    }
+
+    /** The entry's data for {@code key}, or 0 if there is none. */
+    public long probe(long key) {
+        int base = bucket(key);
+        for (int i = 0; i < BUCKET_ENTRIES; i++) {
+            int offset = base + i * ENTRY_BYTES;
+            long data = buffer.getLong(offset + 8);
+            if (data != 0 && (buffer.getLong(offset) ^ data) == key) return data;
+        }
+        return 0;
+    }
+
+    public void store(long key, int move, int score, int depth, int bound, int generation) {
+        int base = bucket(key);
+        int target = base;
+        int worst = Integer.MAX_VALUE;
+        for (int i = 0; i < BUCKET_ENTRIES; i++) {
+            int offset = base + i * ENTRY_BYTES;
+            long data = buffer.getLong(offset + 8);
+            if (data == 0 || (buffer.getLong(offset) ^ data) == key) {
+                // Same position: keep a deeper exact result, and the old best move if this search has none
+                if (data != 0 && bound != EXACT && bound(data) == EXACT && depth(data) > depth) return;
+                if (move == 0 && data != 0) move = move(data);
+                target = offset;
+                break;
+            }
+            int value = depth(data) - 8 * ((generation - generation(data)) & 0xFF);
+            if (value < worst) {
+                worst = value;
+                target = offset;
+            }
+        }
+        long data = (move & 0xFFFFL)
+                | (score & 0xFFFFL) << 16
+                | (long) (depth & 0xFF) << 32
+                | (long) (bound & 0xFF) << 40
+                | (long) (generation & 0xFF) << 48;
+        buffer.putLong(target + 8, data);
+        buffer.putLong(target, key ^ data);
+    }
+
+    public int megabytes() {
+        return megabytes;
+    }
+
+    public static int move(long data) {
+        return (int) (data & 0xFFFF);
+    }
+
+    public static int score(long data) {
+        return (short) (data >>> 16);
+    }
+
+    public static int depth(long data) {
+        return (int) (data >>> 32) & 0xFF;
+    }
+
+    public static int bound(long data) {
+        return (int) (data >>> 40) & 0xFF;
+    }
+
+    private static int generation(long data) {
+        return (int) (data >>> 48) & 0xFF;
+    }
+
+    private int bucket(long key) {
+        // The low bits pick the bucket; the whole key is still checked
+        return (int) (key & bucketMask) * BUCKET_BYTES;
+    }
+}
@@ -8,7 +8,8 @@ import java.time.LocalDateTime;
 @Table(name = "challenges")
 public class Challenge {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "challenges_seq")
+    @SequenceGenerator(name = "challenges_seq", sequenceName = "challenges_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -63,4 +64,18 @@ public class Challenge {
     public boolean isExpired() {
         return LocalDateTime.now().isAfter(expiresAt);
     }
+
+    /**
+     * Returns a copy without an id, for persisting an audit row of an in-memory challenge.
+     */
+    public Challenge copyForAudit() {
+        Challenge copy = new Challenge();
+        copy.challenger = challenger;
+        copy.challenged = challenged;
+        copy.timeControl = timeControl;
+        copy.status = status;
+        copy.createdAt = createdAt;
+        copy.expiresAt = expiresAt;
+        return copy;
+    }
 }
\ No newline at end of file
@@ -1,16 +1,18 @@
 package com.chessapp.server.domain.model;
 
+import com.chessapp.server.domain.chess.MoveCodec;
 import com.chessapp.server.domain.enums.*;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 @Entity
 @Table(name = "games")
 public class Game {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "games_seq")
+    @SequenceGenerator(name = "games_seq", sequenceName = "games_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -37,9 +39,25 @@ public class Game {
     @Lob
     private String boardState = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1"; // FEN notation
 
-    @ElementCollection
-    @CollectionTable(name = "game_moves", joinColumns = @JoinColumn(name = "game_id"))
-    private List<String> moves = new ArrayList<>();
+    /**
+     * Longest game the move column holds. Fifty-move draws are automatic, so no legal game gets
+     * near this (the longest possible one is under 11,800 plies).
+     */
+    public static final int MAX_PLIES = 12_000;
+
+    // Moves packed 16 bits each (see MoveCodec). Written on insert, then only appended to by
+    // GameRepository.appendMoves, so a move costs its two bytes instead of a rewrite of the column
+    @Column(name = "move_data", length = MAX_PLIES * MoveCodec.BYTES_PER_MOVE, updatable = false)
+    private byte[] moveData = new byte[0];
+
+    // Denormalized so history rows never decode moves just to count them
+    private Integer moveCount = 0;
+
+    // Ratings for this game's time control when it started, and the change it caused
+    private Integer whiteRating;
+    private Integer blackRating;
+    private Integer whiteRatingChange;
+    private Integer blackRatingChange;
 
     private Integer whiteTimeLeft; // in milliseconds
     private Integer blackTimeLeft; // in milliseconds
@@ -67,6 +85,8 @@ public class Game {
         this.whitePlayer = whitePlayer;
         this.blackPlayer = blackPlayer;
         this.timeControl = timeControl;
+        this.whiteRating = whitePlayer != null ? whitePlayer.getRatingForTimeControl(timeControl) : null;
+        this.blackRating = blackPlayer != null ? blackPlayer.getRatingForTimeControl(timeControl) : null;
         this.whiteTimeLeft = timeControl.getMilliseconds();
         this.blackTimeLeft = timeControl.getMilliseconds();
     }
@@ -96,8 +116,43 @@ public class Game {
     public String getBoardState() { return boardState; }
     public void setBoardState(String boardState) { this.boardState = boardState; }
 
-    public List<String> getMoves() { return moves; }
-    public void setMoves(List<String> moves) { this.moves = moves; }
+    /**
+     * Read-only view of the moves in UCI notation, decoded on access.
+     */
+    public List<String> getMoves() { return MoveCodec.view(moveData); }
+    public void setMoves(List<String> moves) {
+        this.moveData = MoveCodec.encodeAll(moves);
+        this.moveCount = moves.size();
+    }
+
+    /**
+     * The packed moves (see {@link MoveCodec}), copied; for callers that store or replay the whole
+     * game and have no use for UCI strings.
+     */
+    public byte[] getMoveData() { return moveData != null ? moveData.clone() : new byte[0]; }
+    public void setMoveData(byte[] moveData) {
+        this.moveData = moveData.clone();
+        this.moveCount = MoveCodec.count(moveData);
+    }
+
+    /** The packed moves from ply {@code from} on: what was added since the game had that many. */
+    public byte[] getMoveDataSince(int from) {
+        return Arrays.copyOfRange(moveData, from * MoveCodec.BYTES_PER_MOVE, moveData.length);
+    }
+
+    public int getMoveCount() { return moveCount != null ? moveCount : MoveCodec.count(moveData); }
+
+    public Integer getWhiteRating() { return whiteRating; }
+    public void setWhiteRating(Integer whiteRating) { this.whiteRating = whiteRating; }
+
+    public Integer getBlackRating() { return blackRating; }
+    public void setBlackRating(Integer blackRating) { this.blackRating = blackRating; }
+
+    public Integer getWhiteRatingChange() { return whiteRatingChange; }
+    public void setWhiteRatingChange(Integer whiteRatingChange) { this.whiteRatingChange = whiteRatingChange; }
+
+    public Integer getBlackRatingChange() { return blackRatingChange; }
+    public void setBlackRatingChange(Integer blackRatingChange) { this.blackRatingChange = blackRatingChange; }
 
     public Integer getWhiteTimeLeft() { return whiteTimeLeft; }
     public void setWhiteTimeLeft(Integer whiteTimeLeft) { this.whiteTimeLeft = whiteTimeLeft; }
@@ -118,7 +173,11 @@ public class Game {
     public void setIsWhiteTurn(Boolean isWhiteTurn) { this.isWhiteTurn = isWhiteTurn; }
 
     public void addMove(String move) {
-        this.moves.add(move);
+        if (getMoveCount() >= MAX_PLIES) {
+            throw new IllegalStateException("Game " + id + " has reached " + MAX_PLIES + " plies");
+        }
+        this.moveData = MoveCodec.append(moveData, move);
+        this.moveCount = MoveCodec.count(moveData);
         this.isWhiteTurn = !this.isWhiteTurn;
     }
 
@@ -0,0 +1,78 @@
+package com.chessapp.server.domain.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Engine analysis of one finished game.
+ * <p>
+ * Every position of the game is evaluated, from the start to the position after the last move.
+ * Per position {@code evalData} holds two big-endian shorts: the score in centipawns from White's
+ * point of view (see {@code Engine.MATE} for mate scores) and the engine's best move in the
+ * {@code MoveCodec} packing, 0 when the game was over there.
+ */
+@Entity
+@Table(name = "game_analyses")
+public class GameAnalysis {
+
+    public static final int BYTES_PER_POSITION = 4;
+
+    @Id
+    private Long gameId;
+
+    // 2049 positions for the 2048 plies a game can hold
+    @Column(name = "eval_data", length = 8196, nullable = false)
+    private byte[] evalData = new byte[0];
+
+    private Double whiteAccuracy;
+    private Double blackAccuracy;
+
+    private LocalDateTime analyzedAt = LocalDateTime.now();
+
+    public GameAnalysis() {}
+
+    public GameAnalysis(Long gameId, int[] scores, int[] bestMoves) {
+        if (scores.length != bestMoves.length) {
+            throw new IllegalArgumentException("One best move per score expected");
+        }
+        this.gameId = gameId;
+        this.evalData = new byte[scores.length * BYTES_PER_POSITION];
+        for (int i = 0; i < scores.length; i++) {
+            int offset = i * BYTES_PER_POSITION;
+            evalData[offset] = (byte) (scores[i] >> 8);
+            evalData[offset + 1] = (byte) scores[i];
+            evalData[offset + 2] = (byte) (bestMoves[i] >> 8);
+            evalData[offset + 3] = (byte) bestMoves[i];
+        }
+    }
+
+    public int positionCount() { return evalData.length / BYTES_PER_POSITION; }
+
+    /** Score of position {@code index} (0 = start) in centipawns for White. */
+    public int scoreAt(int index) {
+        int offset = index * BYTES_PER_POSITION;
+        return (short) (((evalData[offset] & 0xFF) << 8) | (evalData[offset + 1] & 0xFF));
+    }
+
+    /** The engine's move in position {@code index}, or 0 if there was none. */
+    public int bestMoveAt(int index) {
+        int offset = index * BYTES_PER_POSITION;
+        return ((evalData[offset + 2] & 0xFF) << 8) | (evalData[offset + 3] & 0xFF);
+    }
+
+    public Long getGameId() { return gameId; }
+    public void setGameId(Long gameId) { this.gameId = gameId; }
+
+    public byte[] getEvalData() { return evalData; }
+    public void setEvalData(byte[] evalData) { this.evalData = evalData; }
+
+    public Double getWhiteAccuracy() { return whiteAccuracy; }
+    public void setWhiteAccuracy(Double whiteAccuracy) { this.whiteAccuracy = whiteAccuracy; }
+
+    public Double getBlackAccuracy() { return blackAccuracy; }
+    public void setBlackAccuracy(Double blackAccuracy) { this.blackAccuracy = blackAccuracy; }
+
+    public LocalDateTime getAnalyzedAt() { return analyzedAt; }
+    public void setAnalyzedAt(LocalDateTime analyzedAt) { this.analyzedAt = analyzedAt; }
+}
@@ -0,0 +1,50 @@
+package com.chessapp.server.domain.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * One row per (player, finished game): a denormalized history index so a player's games can
+ * be paged by seeking on {@code (player_id, ended_at, game_id)} instead of scanning
+ * {@code games} with {@code white_player_id = ? OR black_player_id = ?}.
+ */
+@Entity
+@Table(name = "player_games",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"player_id", "game_id"}),
+        indexes = @Index(name = "idx_player_games_seek", columnList = "player_id, ended_at DESC, game_id DESC"))
+public class PlayerGame {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "player_games_seq")
+    @SequenceGenerator(name = "player_games_seq", sequenceName = "player_games_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "player_id", nullable = false)
+    private Long playerId;
+
+    @Column(name = "game_id", nullable = false)
+    private Long gameId;
+
+    @Column(name = "ended_at", nullable = false)
+    private LocalDateTime endedAt;
+
+    public PlayerGame() {}
+
+    public PlayerGame(Long playerId, Long gameId, LocalDateTime endedAt) {
+        this.playerId = playerId;
+        this.gameId = gameId;
+        this.endedAt = endedAt;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getPlayerId() { return playerId; }
+    public void setPlayerId(Long playerId) { this.playerId = playerId; }
+
+    public Long getGameId() { return gameId; }
+    public void setGameId(Long gameId) { this.gameId = gameId; }
+
+    public LocalDateTime getEndedAt() { return endedAt; }
+    public void setEndedAt(LocalDateTime endedAt) { this.endedAt = endedAt; }
+}
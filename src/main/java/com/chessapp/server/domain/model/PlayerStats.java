@@ -0,0 +1,43 @@
+package com.chessapp.server.domain.model;
+
+import com.chessapp.server.domain.enums.TimeControl;
+import jakarta.persistence.*;
+
+/**
+ * Win/loss/draw counters of one user in one time control. Kept out of {@code users} so game
+ * results are recorded with in-place increments that never touch (or lock) the user row.
+ */
+@Entity
+@Table(name = "player_stats")
+public class PlayerStats {
+
+    @EmbeddedId
+    private PlayerStatsId id;
+
+    @Column(nullable = false)
+    private int wins;
+
+    @Column(nullable = false)
+    private int losses;
+
+    @Column(nullable = false)
+    private int draws;
+
+    public PlayerStats() {}
+
+    public PlayerStats(Long userId, TimeControl timeControl) {
+        this.id = new PlayerStatsId(userId, timeControl);
+    }
+
+    public PlayerStatsId getId() { return id; }
+    public void setId(PlayerStatsId id) { this.id = id; }
+
+    public int getWins() { return wins; }
+    public void setWins(int wins) { this.wins = wins; }
+
+    public int getLosses() { return losses; }
+    public void setLosses(int losses) { this.losses = losses; }
+
+    public int getDraws() { return draws; }
+    public void setDraws(int draws) { this.draws = draws; }
+}
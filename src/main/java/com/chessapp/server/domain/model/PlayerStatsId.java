@@ -0,0 +1,39 @@
+package com.chessapp.server.domain.model;
+
+import com.chessapp.server.domain.enums.TimeControl;
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.util.Objects;
+
+@Embeddable
+public class PlayerStatsId implements Serializable {
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "time_control", nullable = false)
+    private TimeControl timeControl;
+
+    public PlayerStatsId() {}
+
+    public PlayerStatsId(Long userId, TimeControl timeControl) {
+        this.userId = userId;
+        this.timeControl = timeControl;
+    }
+
+    public Long getUserId() { return userId; }
+    public TimeControl getTimeControl() { return timeControl; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof PlayerStatsId other)) return false;
+        return Objects.equals(userId, other.userId) && timeControl == other.timeControl;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId, timeControl);
+    }
+}
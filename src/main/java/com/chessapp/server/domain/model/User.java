@@ -10,8 +10,12 @@ import java.util.Objects;
 @Entity
 @Table(name = "users")
 public class User {
+    // Logins of built-in computer opponents; reserved, nobody can register one
+    public static final String BOT_LOGIN_PREFIX = "bot_level_";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -31,17 +35,8 @@ public class User {
     private Integer rapidRating = 1200;
     private Integer bulletRating = 1200;
 
-    private Integer blitzWins = 0;
-    private Integer blitzLosses = 0;
-    private Integer blitzDraws = 0;
-
-    private Integer rapidWins = 0;
-    private Integer rapidLosses = 0;
-    private Integer rapidDraws = 0;
-
-    private Integer bulletWins = 0;
-    private Integer bulletLosses = 0;
-    private Integer bulletDraws = 0;
+    // Strength level for built-in computer opponents; null for people
+    private Integer botLevel;
 
     private Boolean isOnline = false;
     private LocalDateTime lastSeen = LocalDateTime.now();
@@ -78,32 +73,10 @@ public class User {
     public Integer getBulletRating() { return bulletRating; }
     public void setBulletRating(Integer bulletRating) { this.bulletRating = bulletRating; }
 
-    public Integer getBlitzWins() { return blitzWins; }
-    public void setBlitzWins(Integer blitzWins) { this.blitzWins = blitzWins; }
-
-    public Integer getBlitzLosses() { return blitzLosses; }
-    public void setBlitzLosses(Integer blitzLosses) { this.blitzLosses = blitzLosses; }
-
-    public Integer getBlitzDraws() { return blitzDraws; }
-    public void setBlitzDraws(Integer blitzDraws) { this.blitzDraws = blitzDraws; }
-
-    public Integer getRapidWins() { return rapidWins; }
-    public void setRapidWins(Integer rapidWins) { this.rapidWins = rapidWins; }
-
-    public Integer getRapidLosses() { return rapidLosses; }
-    public void setRapidLosses(Integer rapidLosses) { this.rapidLosses = rapidLosses; }
-
-    public Integer getRapidDraws() { return rapidDraws; }
-    public void setRapidDraws(Integer rapidDraws) { this.rapidDraws = rapidDraws; }
-
-    public Integer getBulletWins() { return bulletWins; }
-    public void setBulletWins(Integer bulletWins) { this.bulletWins = bulletWins; }
-
-    public Integer getBulletLosses() { return bulletLosses; }
-    public void setBulletLosses(Integer bulletLosses) { this.bulletLosses = bulletLosses; }
+    public Integer getBotLevel() { return botLevel; }
+    public void setBotLevel(Integer botLevel) { this.botLevel = botLevel; }
 
-    public Integer getBulletDraws() { return bulletDraws; }
-    public void setBulletDraws(Integer bulletDraws) { this.bulletDraws = bulletDraws; }
+    public boolean isBot() { return botLevel != null; }
 
     public Boolean getIsOnline() { return isOnline; }
     public void setIsOnline(Boolean isOnline) { this.isOnline = isOnline; }
@@ -131,29 +104,22 @@ public class User {
         }
     }
 
-    public void incrementWins(TimeControl timeControl) {
-        switch (timeControl) {
-            case BLITZ: this.blitzWins++; break;
-            case RAPID: this.rapidWins++; break;
-            case BULLET: this.bulletWins++; break;
-        }
+    /**
+     * Returns a detached field-by-field copy of this user, safe to hand out from shared caches.
+     */
+    public User copy() {
+        User copy = new User(login, password, displayName);
+        copy.id = id;
+        copy.blitzRating = blitzRating;
+        copy.rapidRating = rapidRating;
+        copy.bulletRating = bulletRating;
+        copy.botLevel = botLevel;
+        copy.isOnline = isOnline;
+        copy.lastSeen = lastSeen;
+        copy.createdAt = createdAt;
+        return copy;
     }
 
-    public void incrementLosses(TimeControl timeControl) {
-        switch (timeControl) {
-            case BLITZ: this.blitzLosses++; break;
-            case RAPID: this.rapidLosses++; break;
-            case BULLET: this.bulletLosses++; break;
-        }
-    }
-
-    public void incrementDraws(TimeControl timeControl) {
-        switch (timeControl) {
-            case BLITZ: this.blitzDraws++; break;
-            case RAPID: this.rapidDraws++; break;
-            case BULLET: this.bulletDraws++; break;
-        }
-    }
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,176 @@
+package com.chessapp.server.infrastructure.archive;
+
+import com.chessapp.server.domain.chess.MoveCodec;
+import com.chessapp.server.domain.enums.GameResult;
+import com.chessapp.server.domain.enums.GameState;
+import com.chessapp.server.domain.enums.TimeControl;
+import com.chessapp.server.domain.model.Game;
+import com.chessapp.server.domain.model.User;
+import com.chessapp.server.infrastructure.persistence.GameHistoryRow;
+import com.chessapp.server.infrastructure.persistence.PgnGameRow;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Self-contained snapshot of an ended game as stored in an archive segment. Player logins and
+ * display names are frozen at archive time so reading it back never touches the database.
+ */
+public record ArchivedGame(
+        Long id,
+        Long whiteId,
+        String whiteLogin,
+        String whiteDisplayName,
+        Integer whiteRating,
+        Integer whiteRatingChange,
+        Long blackId,
+        String blackLogin,
+        String blackDisplayName,
+        Integer blackRating,
+        Integer blackRatingChange,
+        GameResult result,
+        TimeControl timeControl,
+        LocalDateTime startedAt,
+        LocalDateTime endedAt,
+        String boardState,
+        byte[] moveData,
+        Integer whiteTimeLeft,
+        Integer blackTimeLeft
+) {
+
+    public static ArchivedGame of(Game game) {
+        User white = game.getWhitePlayer();
+        User black = game.getBlackPlayer();
+        return new ArchivedGame(
+                game.getId(),
+                white.getId(), white.getLogin(), white.getDisplayName(),
+                game.getWhiteRating(), game.getWhiteRatingChange(),
+                black.getId(), black.getLogin(), black.getDisplayName(),
+                game.getBlackRating(), game.getBlackRatingChange(),
+                game.getResult(), game.getTimeControl(),
+                game.getStartedAt(), game.getEndedAt(),
+                game.getBoardState(), game.getMoveData(),
+                game.getWhiteTimeLeft(), game.getBlackTimeLeft());
+    }
+
+    public int moveCount() {
+        return MoveCodec.count(moveData);
+    }
+
+    public GameHistoryRow toHistoryRow() {
+        return new GameHistoryRow(id, endedAt, whiteId, whiteLogin, whiteDisplayName, whiteRating,
+                whiteRatingChange, blackLogin, blackDisplayName, blackRating, blackRatingChange,
+                result, timeControl, moveCount());
+    }
+
+    public PgnGameRow toPgnRow() {
+        return new PgnGameRow(id, startedAt, endedAt, whiteDisplayName, whiteRating,
+                blackDisplayName, blackRating, result, timeControl, moveData);
+    }
+
+    /**
+     * Detached, read-only {@link Game} for the detail and PGN endpoints. Must never be saved.
+     */
+    public Game toGame() {
+        Game game = new Game(player(whiteId, whiteLogin, whiteDisplayName, whiteRating),
+                player(blackId, blackLogin, blackDisplayName, blackRating), timeControl);
+        game.setId(id);
+        game.setState(GameState.ENDED);
+        game.setResult(result);
+        game.setStartedAt(startedAt);
+        game.setEndedAt(endedAt);
+        game.setBoardState(boardState);
+        game.setMoveData(moveData);
+        game.setIsWhiteTurn(moveCount() % 2 == 0);
+        game.setWhiteTimeLeft(whiteTimeLeft);
+        game.setBlackTimeLeft(blackTimeLeft);
+        game.setWhiteRatingChange(whiteRatingChange);
+        game.setBlackRatingChange(blackRatingChange);
+        if (result != null && result != GameResult.DRAW && result != GameResult.DRAW_BY_AGREEMENT) {
+            game.setWinner(result.name().startsWith("WHITE") ? game.getWhitePlayer() : game.getBlackPlayer());
+        }
+        return game;
+    }
+
+    private User player(Long userId, String login, String displayName, Integer rating) {
+        User user = new User();
+        user.setId(userId);
+        user.setLogin(login);
+        user.setDisplayName(displayName);
+        if (rating != null) {
+            user.updateRatingForTimeControl(timeControl, rating);
+        }
+        return user;
+    }
+
+    void writeTo(DataOutput out) throws IOException {
+        out.writeLong(id);
+        out.writeLong(whiteId);
+        writeString(out, whiteLogin);
+        writeString(out, whiteDisplayName);
+        writeInt(out, whiteRating);
+        writeInt(out, whiteRatingChange);
+        out.writeLong(blackId);
+        writeString(out, blackLogin);
+        writeString(out, blackDisplayName);
+        writeInt(out, blackRating);
+        writeInt(out, blackRatingChange);
+        writeString(out, result != null ? result.name() : null);
+        writeString(out, timeControl.name());
+        writeString(out, startedAt != null ? startedAt.toString() : null);
+        writeString(out, endedAt.toString());
+        writeString(out, boardState);
+        out.writeShort(moveData.length / MoveCodec.BYTES_PER_MOVE);
+        out.write(moveData);
+        writeInt(out, whiteTimeLeft);
+        writeInt(out, blackTimeLeft);
+    }
+
+    static ArchivedGame readFrom(DataInput in) throws IOException {
+        Long id = in.readLong();
+        Long whiteId = in.readLong();
+        String whiteLogin = readString(in);
+        String whiteDisplayName = readString(in);
+        Integer whiteRating = readInt(in);
+        Integer whiteRatingChange = readInt(in);
+        Long blackId = in.readLong();
+        String blackLogin = readString(in);
+        String blackDisplayName = readString(in);
+        Integer blackRating = readInt(in);
+        Integer blackRatingChange = readInt(in);
+        String result = readString(in);
+        TimeControl timeControl = TimeControl.valueOf(readString(in));
+        String startedAt = readString(in);
+        LocalDateTime endedAt = LocalDateTime.parse(readString(in));
+        String boardState = readString(in);
+        byte[] moveData = new byte[in.readUnsignedShort() * MoveCodec.BYTES_PER_MOVE];
+        in.readFully(moveData);
+        Integer whiteTimeLeft = readInt(in);
+        Integer blackTimeLeft = readInt(in);
+        return new ArchivedGame(id, whiteId, whiteLogin, whiteDisplayName, whiteRating, whiteRatingChange,
+                blackId, blackLogin, blackDisplayName, blackRating, blackRatingChange,
+                result != null ? GameResult.valueOf(result) : null, timeControl,
+                startedAt != null ? LocalDateTime.parse(startedAt) : null, endedAt,
+                boardState, moveData, whiteTimeLeft, blackTimeLeft);
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) out.writeUTF(value);
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeInt(DataOutput out, Integer value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) out.writeInt(value);
+    }
+
+    private static Integer readInt(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readInt() : null;
+    }
+}
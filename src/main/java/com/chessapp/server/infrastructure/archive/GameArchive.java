@@ -0,0 +1,140 @@
+package com.chessapp.server.infrastructure.archive;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Cold tier for ended games: a directory of immutable, compressed {@link Segment} files.
+ * <p>
+ * Each archiver run seals one or more new segments; existing files are never rewritten. Segments
+ * are mapped once at startup and looked up by id range, so a read touches only the segments whose
+ * [minId, maxId] covers the id and a single block inside each.
+ */
+@Component
+public class GameArchive {
+
+    private static final Logger logger = LoggerFactory.getLogger(GameArchive.class);
+
+    private static final String SUFFIX = ".seg";
+
+    private final Path directory;
+    private final List<Segment> segments = new CopyOnWriteArrayList<>();
+    private long nextSequence = 1;
+
+    public GameArchive(@Value("${chess.archive.dir:./data/archive}") String directory) {
+        this.directory = Paths.get(directory);
+        load();
+    }
+
+    /**
+     * Seals {@code games} into a new segment. Returns once the file is durable on disk, so callers
+     * may delete the hot copies afterwards.
+     */
+    public synchronized void append(List<ArchivedGame> games) {
+        if (games.isEmpty()) return;
+        List<ArchivedGame> sorted = new ArrayList<>(games);
+        sorted.sort(Comparator.comparing(ArchivedGame::id));
+        Path path = directory.resolve(String.format("%010d%s", nextSequence, SUFFIX));
+        try {
+            Files.createDirectories(directory);
+            segments.add(Segment.write(path, sorted));
+            nextSequence++;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write archive segment " + path, e);
+        }
+    }
+
+    public Optional<ArchivedGame> find(Long gameId) {
+        if (gameId == null) return Optional.empty();
+        // Newest segment first: a game re-archived after a crash resolves to its latest copy
+        for (int i = segments.size() - 1; i >= 0; i--) {
+            Segment segment = segments.get(i);
+            if (!segment.mayContain(gameId)) continue;
+            try {
+                Optional<ArchivedGame> game = segment.find(gameId);
+                if (game.isPresent()) return game;
+            } catch (IOException e) {
+                logger.error("[Archive] Failed to read {}: {}", segment.path(), e.getMessage());
+            }
+        }
+        return Optional.empty();
+    }
+
+    public Map<Long, ArchivedGame> findAll(Collection<Long> gameIds) {
+        Map<Long, ArchivedGame> found = new HashMap<>();
+        for (Long id : gameIds) {
+            find(id).ifPresent(game -> found.put(id, game));
+        }
+        return found;
+    }
+
+    /**
+     * Visits every archived game, oldest segment first, decoding one block at a time. A game
+     * archived twice after a crash is visited twice.
+     */
+    public void forEach(Consumer<ArchivedGame> action) {
+        for (Segment segment : segments) {
+            for (int block = 0; block < segment.blockCount(); block++) {
+                try {
+                    segment.readBlock(block).forEach(action);
+                } catch (IOException e) {
+                    logger.error("[Archive] Failed to read block {} of {}: {}", block, segment.path(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    public int segmentCount() {
+        return segments.size();
+    }
+
+    private void load() {
+        if (!Files.isDirectory(directory)) return;
+        List<Path> paths = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(SUFFIX + ".tmp")) {
+                    // Left over from a crash before the segment was sealed; its games are still hot
+                    Files.deleteIfExists(file);
+                } else if (name.endsWith(SUFFIX)) {
+                    paths.add(file);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list archive directory " + directory, e);
+        }
+        paths.sort(Comparator.comparing(p -> p.getFileName().toString()));
+        for (Path path : paths) {
+            try {
+                String name = path.getFileName().toString();
+                long sequence = Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+                segments.add(Segment.open(path));
+                nextSequence = Math.max(nextSequence, sequence + 1);
+            } catch (IOException | NumberFormatException e) {
+                logger.error("[Archive] Skipping unreadable segment {}: {}", path, e.getMessage());
+            }
+        }
+        if (!segments.isEmpty()) {
+            logger.info("[Archive] Opened {} archive segments from {}", segments.size(), directory);
+        }
+    }
+}
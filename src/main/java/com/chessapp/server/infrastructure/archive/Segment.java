@@ -0,0 +1,245 @@
+package com.chessapp.server.infrastructure.archive;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * One immutable archive file: games sorted by id, grouped into deflate-compressed blocks, followed
+ * by a sparse index holding the first id and file offset of every block.
+ * <pre>
+ * header : magic "CSEG", version
+ * blocks : rawLength, compressedLength, deflate(record*)  where record = ArchivedGame
+ * index  : (firstId, offset) per block
+ * footer : indexOffset, blockCount, minId, maxId, magic "CIDX"
+ * </pre>
+ * A lookup binary-searches the index, then inflates and scans a single block. Reads go through a
+ * read-only memory mapping, so hot blocks are served from the page cache without extra copies.
+ */
+final class Segment {
+
+    static final int BLOCK_RECORDS = 64;
+
+    private static final int MAGIC = 0x43534547;       // "CSEG"
+    private static final int INDEX_MAGIC = 0x43494458; // "CIDX"
+    private static final int VERSION = 1;
+    private static final int FOOTER_BYTES = 8 + 4 + 8 + 8 + 4;
+
+    private final Path path;
+    private final MappedByteBuffer data;
+    private final long[] firstIds;
+    private final long[] offsets;
+    private final long minId;
+    private final long maxId;
+
+    private Segment(Path path, MappedByteBuffer data, long[] firstIds, long[] offsets,
+                    long minId, long maxId) {
+        this.path = path;
+        this.data = data;
+        this.firstIds = firstIds;
+        this.offsets = offsets;
+        this.minId = minId;
+        this.maxId = maxId;
+    }
+
+    /**
+     * Writes {@code games} (sorted by id) to a temporary file, forces it to disk and only then moves
+     * it into place, so a crash never leaves a partial segment under the final name.
+     */
+    static Segment write(Path path, List<ArchivedGame> games) throws IOException {
+        if (games.isEmpty()) throw new IllegalArgumentException("Empty segment");
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        int blockCount = (games.size() + BLOCK_RECORDS - 1) / BLOCK_RECORDS;
+        long[] firstIds = new long[blockCount];
+        long[] offsets = new long[blockCount];
+
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            CountingOutputStream counter = new CountingOutputStream(Channels.newOutputStream(channel));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(counter, 1 << 16));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+
+            Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+            try {
+                for (int b = 0; b < blockCount; b++) {
+                    List<ArchivedGame> block = games.subList(b * BLOCK_RECORDS,
+                            Math.min(games.size(), (b + 1) * BLOCK_RECORDS));
+                    out.flush();
+                    firstIds[b] = block.get(0).id();
+                    offsets[b] = counter.count;
+                    byte[] raw = encodeBlock(block);
+                    byte[] compressed = deflate(deflater, raw);
+                    out.writeInt(raw.length);
+                    out.writeInt(compressed.length);
+                    out.write(compressed);
+                }
+            } finally {
+                deflater.end();
+            }
+
+            out.flush();
+            long indexOffset = counter.count;
+            for (int b = 0; b < blockCount; b++) {
+                out.writeLong(firstIds[b]);
+                out.writeLong(offsets[b]);
+            }
+            out.writeLong(indexOffset);
+            out.writeInt(blockCount);
+            out.writeLong(games.get(0).id());
+            out.writeLong(games.get(games.size() - 1).id());
+            out.writeInt(INDEX_MAGIC);
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(tmp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return open(path);
+    }
+
+    static Segment open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < 8 + FOOTER_BYTES) throw new IOException("Truncated segment " + path);
+            MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (data.getInt(0) != MAGIC || data.getInt(4) != VERSION) {
+                throw new IOException("Not a game archive segment: " + path);
+            }
+            int footer = (int) (size - FOOTER_BYTES);
+            long indexOffset = data.getLong(footer);
+            int blockCount = data.getInt(footer + 8);
+            long minId = data.getLong(footer + 12);
+            long maxId = data.getLong(footer + 20);
+            if (data.getInt(footer + 28) != INDEX_MAGIC) throw new IOException("Corrupt segment footer " + path);
+
+            long[] firstIds = new long[blockCount];
+            long[] offsets = new long[blockCount];
+            for (int b = 0; b < blockCount; b++) {
+                int at = (int) (indexOffset + b * 16L);
+                firstIds[b] = data.getLong(at);
+                offsets[b] = data.getLong(at + 8);
+            }
+            return new Segment(path, data, firstIds, offsets, minId, maxId);
+        }
+    }
+
+    Path path() { return path; }
+
+    long minId() { return minId; }
+
+    long maxId() { return maxId; }
+
+    boolean mayContain(long id) {
+        return id >= minId && id <= maxId;
+    }
+
+    Optional<ArchivedGame> find(long id) throws IOException {
+        if (!mayContain(id)) return Optional.empty();
+        int pos = Arrays.binarySearch(firstIds, id);
+        int block = pos >= 0 ? pos : -pos - 2;
+        if (block < 0) return Optional.empty();
+        for (ArchivedGame game : readBlock(block)) {
+            if (game.id() == id) return Optional.of(game);
+            if (game.id() > id) break;
+        }
+        return Optional.empty();
+    }
+
+    List<ArchivedGame> readBlock(int block) throws IOException {
+        int offset = (int) offsets[block];
+        int rawLength = data.getInt(offset);
+        int compressedLength = data.getInt(offset + 4);
+        // Absolute slice: safe to share the mapping between reader threads
+        ByteBuffer compressed = data.slice(offset + 8, compressedLength);
+        byte[] raw = new byte[rawLength];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            int n = 0;
+            while (n < rawLength && !inflater.finished()) {
+                n += inflater.inflate(raw, n, rawLength - n);
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt block " + block + " in " + path, e);
+        } finally {
+            inflater.end();
+        }
+        return decodeBlock(raw);
+    }
+
+    int blockCount() {
+        return firstIds.length;
+    }
+
+    private static byte[] encodeBlock(List<ArchivedGame> block) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(block.size() * 256);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(block.size());
+        for (ArchivedGame game : block) {
+            game.writeTo(out);
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static List<ArchivedGame> decodeBlock(byte[] raw) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(raw));
+        int count = in.readInt();
+        ArchivedGame[] games = new ArchivedGame[count];
+        for (int i = 0; i < count; i++) {
+            games[i] = ArchivedGame.readFrom(in);
+        }
+        return Arrays.asList(games);
+    }
+
+    private static byte[] deflate(Deflater deflater, byte[] raw) {
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 2 + 64);
+        byte[] buf = new byte[8192];
+        while (!deflater.finished()) {
+            int n = deflater.deflate(buf);
+            out.write(buf, 0, n);
+        }
+        return out.toByteArray();
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+        long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
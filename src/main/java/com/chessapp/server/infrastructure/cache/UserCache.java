@@ -0,0 +1,160 @@
+package com.chessapp.server.infrastructure.cache;
+
+import com.chessapp.server.domain.model.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded near cache of {@link User} snapshots, keyed by lower-cased login (matching
+ * {@link User#equals}) and by id.
+ * <p>
+ * Entries expire after a fixed TTL and each segment evicts its least recently used entry
+ * once full. Callers always receive a fresh copy, so mutations never leak into the cache;
+ * writes go through {@link #put(User)} so the cache reflects the last saved state.
+ */
+@Component
+public class UserCache {
+
+    private static final int SEGMENTS = 16;
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+    private final Map<Long, String> loginById = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+
+    public UserCache(@Value("${chess.cache.users.max-size:10000}") int maxSize,
+                     @Value("${chess.cache.users.ttl-seconds:300}") long ttlSeconds) {
+        int perSegment = Math.max(1, maxSize / SEGMENTS);
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(perSegment);
+        }
+        this.ttlNanos = ttlSeconds * 1_000_000_000L;
+    }
+
+    public Optional<User> getByLogin(String login) {
+        if (login == null) return Optional.empty();
+        String key = key(login);
+        return segmentFor(key).get(key);
+    }
+
+    public Optional<User> getById(Long id) {
+        if (id == null) return Optional.empty();
+        String key = loginById.get(id);
+        return key == null ? Optional.empty() : segmentFor(key).get(key);
+    }
+
+    /**
+     * Write-through: replaces whatever is cached for this user with the given (saved) state.
+     */
+    public void put(User user) {
+        store(user, true);
+    }
+
+    /**
+     * Caches a value just read from the database without overwriting a concurrent write-through,
+     * so a slow reader can never resurrect a state older than the last save.
+     */
+    public void putIfAbsent(User user) {
+        store(user, false);
+    }
+
+    public void invalidate(User user) {
+        if (user == null || user.getLogin() == null) return;
+        String key = key(user.getLogin());
+        segmentFor(key).remove(key);
+    }
+
+    public void invalidateById(Long id) {
+        if (id == null) return;
+        String key = loginById.get(id);
+        if (key != null) {
+            segmentFor(key).remove(key);
+        }
+    }
+
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+        loginById.clear();
+    }
+
+    private void store(User user, boolean overwrite) {
+        if (user == null || user.getId() == null || user.getLogin() == null) return;
+        String key = key(user.getLogin());
+        Entry entry = new Entry(user.copy(), System.nanoTime() + ttlNanos);
+        if (segmentFor(key).store(key, entry, overwrite)) {
+            loginById.put(user.getId(), key);
+        }
+    }
+
+    private Segment segmentFor(String key) {
+        int h = key.hashCode();
+        return segments[(h ^ (h >>> 16)) & (SEGMENTS - 1)];
+    }
+
+    private static String key(String login) {
+        return login.toLowerCase(Locale.ROOT);
+    }
+
+    private record Entry(User user, long expiresAt) {
+        boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+
+    private final class Segment {
+        private final LinkedHashMap<String, Entry> map;
+
+        Segment(int capacity) {
+            this.map = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                    if (size() > capacity) {
+                        loginById.remove(eldest.getValue().user().getId(), eldest.getKey());
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        synchronized Optional<User> get(String key) {
+            Entry entry = map.get(key);
+            if (entry == null) return Optional.empty();
+            if (entry.isExpired(System.nanoTime())) {
+                map.remove(key);
+                loginById.remove(entry.user().getId(), key);
+                return Optional.empty();
+            }
+            return Optional.of(entry.user().copy());
+        }
+
+        synchronized boolean store(String key, Entry entry, boolean overwrite) {
+            if (!overwrite) {
+                Entry existing = map.get(key);
+                if (existing != null && !existing.isExpired(System.nanoTime())) {
+                    return false;
+                }
+            }
+            map.put(key, entry);
+            return true;
+        }
+
+        synchronized void remove(String key) {
+            Entry removed = map.remove(key);
+            if (removed != null) {
+                loginById.remove(removed.user().getId(), key);
+            }
+        }
+
+        synchronized void clear() {
+            map.clear();
+        }
+    }
+}
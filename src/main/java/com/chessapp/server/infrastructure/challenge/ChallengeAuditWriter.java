@@ -0,0 +1,41 @@
+package com.chessapp.server.infrastructure.challenge;
+
+import com.chessapp.server.domain.model.Challenge;
+import com.chessapp.server.infrastructure.persistence.ChallengeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+/**
+ * Optionally persists settled challenges (accepted, declined, expired) off the request thread.
+ * Disabled by default; challenges themselves never need the database.
+ */
+@Component
+public class ChallengeAuditWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChallengeAuditWriter.class);
+
+    private final ChallengeRepository challengeRepository;
+    private final boolean enabled;
+
+    public ChallengeAuditWriter(ChallengeRepository challengeRepository,
+                                @Value("${chess.challenges.audit.enabled:false}") boolean enabled) {
+        this.challengeRepository = challengeRepository;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Async
+    public void record(Challenge challenge) {
+        try {
+            challengeRepository.save(challenge);
+        } catch (Exception e) {
+            logger.warn("[Challenge] Failed to write audit record: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.chessapp.server.infrastructure.challenge;
+
+import com.chessapp.server.domain.model.Challenge;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pending direct challenges, held in memory for their two-minute lifetime and indexed by id,
+ * challenger and challenged user.
+ * <p>
+ * {@link #remove(Challenge)} is the single point where a challenge leaves the pending state:
+ * exactly one of a concurrent accept, decline or expiry gets {@code true}.
+ */
+@Component
+public class ChallengeRegistry {
+
+    private final AtomicLong ids = new AtomicLong();
+    private final Map<Long, Challenge> byId = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> byChallenger = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> byChallenged = new ConcurrentHashMap<>();
+
+    /**
+     * Assigns the challenge an id and makes it visible as pending.
+     */
+    public Challenge add(Challenge challenge) {
+        challenge.setId(ids.incrementAndGet());
+        byId.put(challenge.getId(), challenge);
+        index(byChallenger, challenge.getChallenger().getId(), challenge.getId());
+        index(byChallenged, challenge.getChallenged().getId(), challenge.getId());
+        return challenge;
+    }
+
+    public Optional<Challenge> get(Long id) {
+        return id == null ? Optional.empty() : Optional.ofNullable(byId.get(id));
+    }
+
+    public boolean remove(Challenge challenge) {
+        if (!byId.remove(challenge.getId(), challenge)) {
+            return false;
+        }
+        unindex(byChallenger, challenge.getChallenger().getId(), challenge.getId());
+        unindex(byChallenged, challenge.getChallenged().getId(), challenge.getId());
+        return true;
+    }
+
+    public List<Challenge> findByChallenger(Long userId) {
+        return resolve(byChallenger.get(userId));
+    }
+
+    public List<Challenge> findByChallenged(Long userId) {
+        return resolve(byChallenged.get(userId));
+    }
+
+    public List<Challenge> findExpiredBefore(LocalDateTime now) {
+        List<Challenge> expired = new ArrayList<>();
+        for (Challenge challenge : byId.values()) {
+            if (challenge.getExpiresAt().isBefore(now)) {
+                expired.add(challenge);
+            }
+        }
+        return expired;
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    private List<Challenge> resolve(Set<Long> challengeIds) {
+        if (challengeIds == null) return List.of();
+        List<Challenge> result = new ArrayList<>(challengeIds.size());
+        for (Long id : challengeIds) {
+            Challenge challenge = byId.get(id);
+            if (challenge != null) {
+                result.add(challenge);
+            }
+        }
+        return result;
+    }
+
+    private static void index(Map<Long, Set<Long>> index, Long userId, Long challengeId) {
+        index.computeIfAbsent(userId, k -> ConcurrentHashMap.newKeySet()).add(challengeId);
+    }
+
+    private static void unindex(Map<Long, Set<Long>> index, Long userId, Long challengeId) {
+        index.computeIfPresent(userId, (k, set) -> {
+            set.remove(challengeId);
+            return set.isEmpty() ? null : set;
+        });
+    }
+}
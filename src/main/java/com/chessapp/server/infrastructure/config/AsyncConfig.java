@@ -1,11 +1,13 @@
 package com.chessapp.server.infrastructure.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 
 @Configuration
 @EnableAsync
@@ -27,4 +29,95 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
+
+    /**
+     * Dedicated pool for BCrypt hashing (login, registration, cost upgrades).
+     * Sized below the core count so a login storm cannot starve game traffic; when the
+     * queue is full new hashing work is rejected immediately instead of waiting.
+     * <p>
+     * A hash that outlives {@code chess.security.hashing.timeout-ms} still runs to completion
+     * (BCrypt ignores interrupts), so timeouts free the caller but not the thread. Keep
+     * queue-capacity / threads times the per-hash cost below the timeout, or a saturated pool
+     * spends its time on hashes whose callers have already been told to retry.
+     */
+    @Bean(name = "passwordHashingExecutor")
+    public ThreadPoolTaskExecutor passwordHashingExecutor(
+            @Value("${chess.security.hashing.threads:0}") int threads,
+            @Value("${chess.security.hashing.queue-capacity:64}") int queueCapacity) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setThreadNamePrefix("pwd-hash-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Dedicated pool for computer-opponent searches and their Lazy SMP helpers. A search keeps
+     * its thread for the whole think time, so the pool defaults to half the cores and game
+     * traffic keeps the rest. Searches are not waited for on shutdown; an unfinished one is
+     * simply not played.
+     */
+    @Bean(name = "botSearchExecutor")
+    public ThreadPoolTaskExecutor botSearchExecutor(
+            @Value("${chess.bot.threads:0}") int threads,
+            @Value("${chess.bot.queue-capacity:1024}") int queueCapacity) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setThreadNamePrefix("bot-search-");
+        executor.setDaemon(true);
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Workers for post-game analysis. Each worker holds its thread for good, waiting on the
+     * analysis queue, so the pool is exactly the worker count and has no queue of its own.
+     * Threads run at minimum priority to leave the CPU to live games.
+     */
+    @Bean(name = "analysisExecutor")
+    public ThreadPoolTaskExecutor analysisExecutor(@Value("${chess.analysis.threads:1}") int threads) {
+        int poolSize = Math.max(1, threads);
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("analysis-");
+        executor.setThreadPriority(Thread.MIN_PRIORITY);
+        executor.setDaemon(true);
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Single writer for incremental opening explorer updates. One thread keeps index writes in
+     * order, and a full queue drops the game rather than blocking the commit that ended it;
+     * the next rebuild counts it.
+     */
+    @Bean(name = "explorerExecutor")
+    public ThreadPoolTaskExecutor explorerExecutor(
+            @Value("${chess.explorer.queue-capacity:10000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setThreadNamePrefix("explorer-");
+        executor.setThreadPriority(Thread.MIN_PRIORITY);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        executor.initialize();
+        return executor;
+    }
 }
@@ -0,0 +1,46 @@
+package com.chessapp.server.infrastructure.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Supplier;
+
+/**
+ * Sends connections opened inside a read-only transaction to the replica pool, but only for reads
+ * that opted in with {@link #readFromReplica}; everything else goes to the primary.
+ * <p>
+ * Read-only alone is not enough: Spring Data runs every repository read outside a transaction as
+ * {@code readOnly = true}, including lookups right after a commit (a game the opponent just moved
+ * in, a login just registered) that must not see a lagging replica.
+ * <p>
+ * Must sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the
+ * transaction manager opens its connection before the read-only flag is bound to the thread, so
+ * the physical connection has to be fetched on the first statement instead.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route { PRIMARY, REPLICA }
+
+    private static final ThreadLocal<Boolean> REPLICA_READ = new ThreadLocal<>();
+
+    /**
+     * Runs {@code read} allowing its read-only transaction to use the replica. For reads that
+     * tolerate replication lag (leaderboards, history pages, index rebuilds).
+     */
+    public static <T> T readFromReplica(Supplier<T> read) {
+        Boolean previous = REPLICA_READ.get();
+        REPLICA_READ.set(Boolean.TRUE);
+        try {
+            return read.get();
+        } finally {
+            if (previous == null) REPLICA_READ.remove();
+            else REPLICA_READ.set(previous);
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return Boolean.TRUE.equals(REPLICA_READ.get()) && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                ? Route.REPLICA : Route.PRIMARY;
+    }
+}
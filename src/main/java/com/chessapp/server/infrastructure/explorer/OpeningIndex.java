@@ -0,0 +1,133 @@
+package com.chessapp.server.infrastructure.explorer;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The opening explorer's {@link OpeningTable}, kept in one memory-mapped file:
+ * a 16-byte header ({@code magic, version, capacity, size}) followed by the slots.
+ * <p>
+ * Incremental updates write through the mapping. When the table fills up, or a rebuild
+ * replaces it, a new file is written beside it and renamed over the old one, so a crash leaves
+ * either the old or the new index and never a torn one.
+ * <p>
+ * Writers take {@code writeLock} for the whole update and the monitor only to touch the live
+ * table, so lookups keep being answered from the old file while a new one is written and synced.
+ */
+@Component
+public class OpeningIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(OpeningIndex.class);
+
+    private static final int MAGIC = 0x4F504E58; // "OPNX"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+
+    private final Path path;
+    private final Object writeLock = new Object();
+    private MappedByteBuffer mapped;
+    private OpeningTable table;
+
+    public OpeningIndex(@Value("${chess.explorer.file:./data/explorer/openings.idx}") String file) {
+        this.path = Paths.get(file);
+        open();
+    }
+
+    /** True until a first build has been written. */
+    public synchronized boolean isEmpty() {
+        return table == null;
+    }
+
+    public synchronized int size() {
+        return table == null ? 0 : table.size();
+    }
+
+    public synchronized boolean get(long key, int move, int[] counts) {
+        return table != null && table.get(key, move, counts);
+    }
+
+    public void add(long key, int move, int outcome) {
+        synchronized (writeLock) {
+            // Only writers change the table, so it can be read here without the monitor
+            if (table == null) {
+                replaceWith(new OpeningTable(0));
+            } else if (table.isFull()) {
+                OpeningTable bigger = new OpeningTable(table.capacity());
+                bigger.addAll(table);
+                replaceWith(bigger);
+            }
+            synchronized (this) {
+                table.add(key, move, outcome);
+                mapped.putInt(12, table.size());
+            }
+        }
+    }
+
+    /**
+     * Writes {@code built} as the new index file and serves it from now on.
+     */
+    public void replaceWith(OpeningTable built) {
+        synchronized (writeLock) {
+            Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+            try {
+                if (path.getParent() != null) Files.createDirectories(path.getParent());
+                try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                    ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                            .putInt(MAGIC).putInt(VERSION).putInt(built.capacity()).putInt(built.size()).flip();
+                    while (header.hasRemaining()) channel.write(header);
+                    ByteBuffer slots = built.slots();
+                    while (slots.hasRemaining()) channel.write(slots);
+                    channel.force(true);
+                }
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write opening index " + path, e);
+            }
+            // The old mapping stays valid after the rename, so readers only wait for the swap
+            synchronized (this) {
+                open();
+            }
+        }
+    }
+
+    @PreDestroy
+    public synchronized void flush() {
+        if (mapped != null) mapped.force();
+    }
+
+    private void open() {
+        if (!Files.exists(path)) return;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+            if (data.capacity() < HEADER_BYTES || data.getInt(0) != MAGIC || data.getInt(4) != VERSION) {
+                logger.warn("[Explorer] Ignoring unreadable opening index {}", path);
+                return;
+            }
+            int capacity = data.getInt(8);
+            if ((long) capacity * OpeningTable.SLOT_BYTES + HEADER_BYTES != data.capacity()) {
+                logger.warn("[Explorer] Ignoring truncated opening index {}", path);
+                return;
+            }
+            ByteBuffer slots = data.slice(HEADER_BYTES, capacity * OpeningTable.SLOT_BYTES);
+            this.table = new OpeningTable(slots, capacity, data.getInt(12), false);
+            this.mapped = data;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open opening index " + path, e);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.chessapp.server.infrastructure.explorer;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Hash table from (position key, move) to white wins, draws and black wins.
+ * <p>
+ * Entries are fixed 24-byte slots in a {@link ByteBuffer} ({@code key:8 move:4 white:4 draws:4
+ * black:4}), so the same code runs on a heap buffer while an index is being built and on the
+ * memory-mapped file while it is served. Open addressing with linear probing; a slot whose move is
+ * 0 is empty, which is safe because a1a1 is never a move.
+ * <p>
+ * Heap tables grow by themselves. A table over a mapped file has a fixed capacity; its owner checks
+ * {@link #isFull()} and rewrites the file larger. Not thread-safe.
+ */
+public final class OpeningTable {
+
+    public static final int WHITE_WIN = 0;
+    public static final int DRAW = 1;
+    public static final int BLACK_WIN = 2;
+
+    static final int SLOT_BYTES = 24;
+
+    private static final int MIN_CAPACITY = 1024;
+    private static final double MAX_LOAD = 0.7;
+
+    private ByteBuffer slots;
+    private int capacity;
+    private int size;
+    private final boolean growable;
+
+    public OpeningTable(int expectedEntries) {
+        this(ByteBuffer.allocate(capacityFor(expectedEntries) * SLOT_BYTES), capacityFor(expectedEntries), 0, true);
+    }
+
+    OpeningTable(ByteBuffer slots, int capacity, int size, boolean growable) {
+        if (Integer.bitCount(capacity) != 1) throw new IllegalArgumentException("Capacity must be a power of two");
+        this.slots = slots;
+        this.capacity = capacity;
+        this.size = size;
+        this.growable = growable;
+    }
+
+    /** Counts one game that played {@code move} from the position with Zobrist {@code key}. */
+    public void add(long key, int move, int outcome) {
+        add(key, move, outcome == WHITE_WIN ? 1 : 0, outcome == DRAW ? 1 : 0, outcome == BLACK_WIN ? 1 : 0);
+    }
+
+    public void add(long key, int move, int white, int draws, int black) {
+        if (move == 0) throw new IllegalArgumentException("Move 0 marks an empty slot");
+        if (isFull()) {
+            if (!growable) throw new IllegalStateException("Opening table is full");
+            grow();
+        }
+        int slot = probe(key, move);
+        int offset = slot * SLOT_BYTES;
+        if (slots.getInt(offset + 8) == 0) {
+            slots.putLong(offset, key);
+            slots.putInt(offset + 8, move);
+            size++;
+        }
+        slots.putInt(offset + 12, slots.getInt(offset + 12) + white);
+        slots.putInt(offset + 16, slots.getInt(offset + 16) + draws);
+        slots.putInt(offset + 20, slots.getInt(offset + 20) + black);
+    }
+
+    /**
+     * Writes white wins, draws and black wins into {@code counts} and returns true, or returns
+     * false if the move was never played from this position.
+     */
+    public boolean get(long key, int move, int[] counts) {
+        int offset = probe(key, move) * SLOT_BYTES;
+        if (slots.getInt(offset + 8) == 0) return false;
+        counts[WHITE_WIN] = slots.getInt(offset + 12);
+        counts[DRAW] = slots.getInt(offset + 16);
+        counts[BLACK_WIN] = slots.getInt(offset + 20);
+        return true;
+    }
+
+    public void addAll(OpeningTable other) {
+        ByteBuffer from = other.slots;
+        for (int slot = 0; slot < other.capacity; slot++) {
+            int offset = slot * SLOT_BYTES;
+            int move = from.getInt(offset + 8);
+            if (move != 0) {
+                add(from.getLong(offset), move, from.getInt(offset + 12), from.getInt(offset + 16), from.getInt(offset + 20));
+            }
+        }
+    }
+
+    /** True when one more new entry would push the load factor past its limit. */
+    public boolean isFull() {
+        return size + 1 > capacity * MAX_LOAD;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /** The slot array, positioned at 0, for writing the table out. */
+    ByteBuffer slots() {
+        return slots.duplicate().clear();
+    }
+
+    static int capacityFor(int entries) {
+        int capacity = MIN_CAPACITY;
+        while (capacity * MAX_LOAD < entries) capacity <<= 1;
+        return capacity;
+    }
+
+    private int probe(long key, int move) {
+        int mask = capacity - 1;
+        int slot = (int) mix(key ^ ((long) move * 0x9E3779B97F4A7C15L)) & mask;
+        while (true) {
+            int offset = slot * SLOT_BYTES;
+            int stored = slots.getInt(offset + 8);
+            if (stored == 0 || (stored == move && slots.getLong(offset) == key)) return slot;
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private void grow() {
+        OpeningTable bigger = new OpeningTable(ByteBuffer.allocate(capacity * 2 * SLOT_BYTES), capacity * 2, 0, true);
+        bigger.addAll(this);
+        this.slots = bigger.slots;
+        this.capacity = bigger.capacity;
+        this.size = bigger.size;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
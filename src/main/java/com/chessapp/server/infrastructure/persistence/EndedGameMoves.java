@@ -0,0 +1,9 @@
+package com.chessapp.server.infrastructure.persistence;
+
+import com.chessapp.server.domain.enums.GameResult;
+
+/**
+ * Just what replaying a finished game needs, read without materializing the entity.
+ */
+public record EndedGameMoves(Long gameId, byte[] moveData, GameResult result) {
+}
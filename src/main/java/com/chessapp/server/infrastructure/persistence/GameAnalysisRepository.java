@@ -0,0 +1,9 @@
+package com.chessapp.server.infrastructure.persistence;
+
+import com.chessapp.server.domain.model.GameAnalysis;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface GameAnalysisRepository extends JpaRepository<GameAnalysis, Long> {
+}
@@ -0,0 +1,35 @@
+package com.chessapp.server.infrastructure.persistence;
+
+import com.chessapp.server.domain.enums.GameResult;
+import com.chessapp.server.domain.enums.TimeControl;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat read model for one history row, filled by a JPQL constructor expression so a page
+ * is a single query with no entity (and no lazy association) materialized.
+ */
+public record GameHistoryRow(
+        Long gameId,
+        LocalDateTime endedAt,
+        Long whiteId,
+        String whiteLogin,
+        String whiteDisplayName,
+        Integer whiteRating,
+        Integer whiteRatingChange,
+        String blackLogin,
+        String blackDisplayName,
+        Integer blackRating,
+        Integer blackRatingChange,
+        GameResult result,
+        TimeControl timeControl,
+        Integer moveCount
+) {
+
+    /**
+     * True when the game has been moved to the archive and only the ids and end time are known.
+     */
+    public boolean isArchived() {
+        return whiteId == null;
+    }
+}
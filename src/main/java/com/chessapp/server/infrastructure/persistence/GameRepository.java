@@ -3,13 +3,15 @@ package com.chessapp.server.infrastructure.persistence;
 import com.chessapp.server.domain.model.Game;
 import com.chessapp.server.domain.enums.GameState;
 import com.chessapp.server.domain.model.User;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,13 +27,50 @@ public interface GameRepository extends JpaRepository<Game, Long> {
     @Query("SELECT g FROM Game g WHERE (g.whitePlayer = :user OR g.blackPlayer = :user) AND g.state = 'IN_PROGRESS'")
     Optional<Game> findActiveGameByPlayer(@Param("user") User user);
 
-    @Query("SELECT g FROM Game g LEFT JOIN FETCH g.moves WHERE g.id = :id")
-    Optional<Game> findByIdWithMoves(@Param("id") Long id);
+    @Query("SELECT g.id FROM Game g WHERE g.state = 'IN_PROGRESS' ORDER BY g.id")
+    List<Long> findInProgressGameIds();
 
-    @Query("SELECT g FROM Game g WHERE g.state IN :states")
-    List<Game> findByStateIn(@Param("states") List<GameState> states);
+    /**
+     * Ends, in one statement, the games a restart cannot bring back: games that never started and
+     * games with no activity since {@code staleBefore}. No result is recorded for them.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Game g SET g.state = 'ENDED', g.endedAt = :now WHERE g.state = 'WAITING' " +
+            "OR (g.state = 'IN_PROGRESS' AND COALESCE(g.lastMoveAt, g.startedAt) < :staleBefore)")
+    int endUnrecoverableGames(@Param("now") LocalDateTime now, @Param("staleBefore") LocalDateTime staleBefore);
 
-    @Query("SELECT g FROM Game g WHERE (g.whitePlayer = :user OR g.blackPlayer = :user) " +
-            "AND g.state = 'ENDED' ORDER BY g.endedAt DESC")
-    Page<Game> findCompletedGamesByPlayer(@Param("user") User user, Pageable pageable);
+    /**
+     * Ended games not yet present in {@code player_games}, in id order, for the history backfill.
+     */
+    @Query("SELECT g FROM Game g WHERE g.state = 'ENDED' AND g.endedAt IS NOT NULL AND g.id > :afterId " +
+            "AND NOT EXISTS (SELECT 1 FROM PlayerGame pg WHERE pg.gameId = g.id) ORDER BY g.id")
+    List<Game> findEndedGamesMissingFromHistory(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Moves and result of ended games with a result, in id order, for the opening explorer build.
+     */
+    @Query("SELECT new com.chessapp.server.infrastructure.persistence.EndedGameMoves(g.id, g.moveData, g.result) " +
+            "FROM Game g WHERE g.state = 'ENDED' AND g.result IS NOT NULL AND g.id > :afterId ORDER BY g.id")
+    List<EndedGameMoves> findEndedGameMoves(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Ended games older than {@code endedBefore} that are already indexed in {@code player_games},
+     * in id order, with both players fetched for the archiver.
+     */
+    @Query("SELECT g FROM Game g JOIN FETCH g.whitePlayer JOIN FETCH g.blackPlayer " +
+            "WHERE g.state = 'ENDED' AND g.endedAt < :endedBefore AND g.id > :afterId " +
+            "AND EXISTS (SELECT 1 FROM PlayerGame pg WHERE pg.gameId = g.id) ORDER BY g.id")
+    List<Game> findArchivable(@Param("endedBefore") LocalDateTime endedBefore,
+                              @Param("afterId") Long afterId,
+                              Pageable pageable);
+
+    /**
+     * Appends packed moves to a game's move column in place. The column is not updatable through
+     * the entity, so this is the only way moves reach the database after the insert.
+     */
+    @Modifying
+    @Query(nativeQuery = true, value =
+            "UPDATE games SET move_data = COALESCE(move_data || :moves, :moves) WHERE id = :id")
+    int appendMoves(@Param("id") Long id, @Param("moves") byte[] moves);
 }
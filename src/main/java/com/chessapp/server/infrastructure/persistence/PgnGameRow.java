@@ -0,0 +1,39 @@
+package com.chessapp.server.infrastructure.persistence;
+
+import com.chessapp.server.domain.enums.GameResult;
+import com.chessapp.server.domain.enums.TimeControl;
+import com.chessapp.server.domain.model.Game;
+
+import java.time.LocalDateTime;
+
+/**
+ * What a PGN export needs of one game, filled by a JPQL constructor expression so exporting a
+ * history page materializes no entities.
+ */
+public record PgnGameRow(
+        Long gameId,
+        LocalDateTime startedAt,
+        LocalDateTime endedAt,
+        String whiteName,
+        Integer whiteRating,
+        String blackName,
+        Integer blackRating,
+        GameResult result,
+        TimeControl timeControl,
+        byte[] moveData
+) {
+
+    public static PgnGameRow of(Game game) {
+        return new PgnGameRow(game.getId(), game.getStartedAt(), game.getEndedAt(),
+                game.getWhitePlayer().getDisplayName(), game.getWhiteRating(),
+                game.getBlackPlayer().getDisplayName(), game.getBlackRating(),
+                game.getResult(), game.getTimeControl(), game.getMoveData());
+    }
+
+    /**
+     * True when the game has been moved to the archive and only the id and end time are known.
+     */
+    public boolean isArchived() {
+        return whiteName == null;
+    }
+}
@@ -0,0 +1,63 @@
+package com.chessapp.server.infrastructure.persistence;
+
+import com.chessapp.server.domain.model.PlayerGame;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface PlayerGameRepository extends JpaRepository<PlayerGame, Long> {
+
+    // List return types keep Spring Data from issuing a count query for the Pageable.
+    // Ratings fall back to the player's current rating for games that predate the stored snapshot.
+    // Outer joins keep archived games (no longer in the games table) in the page with null game
+    // columns; the service fills those rows from the archive.
+    String HISTORY_SELECT = "SELECT new com.chessapp.server.infrastructure.persistence.GameHistoryRow(" +
+            "pg.gameId, pg.endedAt, w.id, w.login, w.displayName, " +
+            "COALESCE(g.whiteRating, CASE g.timeControl WHEN 'BULLET' THEN w.bulletRating " +
+            "WHEN 'RAPID' THEN w.rapidRating ELSE w.blitzRating END), g.whiteRatingChange, " +
+            "b.login, b.displayName, " +
+            "COALESCE(g.blackRating, CASE g.timeControl WHEN 'BULLET' THEN b.bulletRating " +
+            "WHEN 'RAPID' THEN b.rapidRating ELSE b.blitzRating END), g.blackRatingChange, " +
+            "g.result, g.timeControl, g.moveCount) " +
+            "FROM PlayerGame pg LEFT JOIN Game g ON g.id = pg.gameId " +
+            "LEFT JOIN g.whitePlayer w LEFT JOIN g.blackPlayer b " +
+            "WHERE pg.playerId = :playerId ";
+
+    String HISTORY_ORDER = " ORDER BY pg.endedAt DESC, pg.gameId DESC";
+
+    @Query(HISTORY_SELECT + HISTORY_ORDER)
+    List<GameHistoryRow> findHistory(@Param("playerId") Long playerId, Pageable pageable);
+
+    @Query(HISTORY_SELECT +
+            "AND (pg.endedAt < :endedAt OR (pg.endedAt = :endedAt AND pg.gameId < :gameId))" +
+            HISTORY_ORDER)
+    List<GameHistoryRow> findHistoryBefore(@Param("playerId") Long playerId,
+                                           @Param("endedAt") LocalDateTime endedAt,
+                                           @Param("gameId") Long gameId,
+                                           Pageable pageable);
+
+    // Same seek as the history pages; archived games again come back with null game columns
+    String PGN_SELECT = "SELECT new com.chessapp.server.infrastructure.persistence.PgnGameRow(" +
+            "pg.gameId, g.startedAt, pg.endedAt, w.displayName, g.whiteRating, " +
+            "b.displayName, g.blackRating, g.result, g.timeControl, g.moveData) " +
+            "FROM PlayerGame pg LEFT JOIN Game g ON g.id = pg.gameId " +
+            "LEFT JOIN g.whitePlayer w LEFT JOIN g.blackPlayer b " +
+            "WHERE pg.playerId = :playerId ";
+
+    @Query(PGN_SELECT + HISTORY_ORDER)
+    List<PgnGameRow> findPgnRows(@Param("playerId") Long playerId, Pageable pageable);
+
+    @Query(PGN_SELECT +
+            "AND (pg.endedAt < :endedAt OR (pg.endedAt = :endedAt AND pg.gameId < :gameId))" +
+            HISTORY_ORDER)
+    List<PgnGameRow> findPgnRowsBefore(@Param("playerId") Long playerId,
+                                       @Param("endedAt") LocalDateTime endedAt,
+                                       @Param("gameId") Long gameId,
+                                       Pageable pageable);
+}
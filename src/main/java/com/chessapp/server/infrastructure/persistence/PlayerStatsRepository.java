@@ -0,0 +1,64 @@
+package com.chessapp.server.infrastructure.persistence;
+
+import com.chessapp.server.domain.enums.TimeControl;
+import com.chessapp.server.domain.model.PlayerStats;
+import com.chessapp.server.domain.model.PlayerStatsId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PlayerStatsRepository extends JpaRepository<PlayerStats, PlayerStatsId> {
+
+    @Query("SELECT s FROM PlayerStats s WHERE s.id.userId = :userId")
+    List<PlayerStats> findByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT s FROM PlayerStats s WHERE s.id.timeControl = :timeControl AND s.id.userId IN :userIds")
+    List<PlayerStats> findByTimeControlAndUserIds(@Param("timeControl") TimeControl timeControl,
+                                                  @Param("userIds") Collection<Long> userIds);
+
+    /**
+     * Counts one game for one player: the database increments the counters in place, so
+     * concurrent results for the same player cannot overwrite each other. Returns 0 when the
+     * player has no row yet.
+     */
+    @Modifying
+    @Query("UPDATE PlayerStats s SET s.wins = s.wins + :wins, s.losses = s.losses + :losses, " +
+            "s.draws = s.draws + :draws " +
+            "WHERE s.id.userId = :userId AND s.id.timeControl = :timeControl")
+    int recordOutcome(@Param("userId") Long userId,
+                      @Param("timeControl") TimeControl timeControl,
+                      @Param("wins") int wins,
+                      @Param("losses") int losses,
+                      @Param("draws") int draws);
+
+    /**
+     * Creates a user's missing rows from the counters kept in {@code users} before this table
+     * existed. Fails on databases created after the move, which never had those columns.
+     */
+    @Modifying
+    @Query(nativeQuery = true, value =
+            "INSERT INTO player_stats (user_id, time_control, wins, losses, draws) " +
+            "SELECT c.user_id, c.time_control, c.wins, c.losses, c.draws FROM (" +
+            " SELECT id AS user_id, 'BULLET' AS time_control, COALESCE(bullet_wins, 0) AS wins," +
+            "  COALESCE(bullet_losses, 0) AS losses, COALESCE(bullet_draws, 0) AS draws FROM users WHERE id = :userId" +
+            " UNION ALL SELECT id, 'BLITZ', COALESCE(blitz_wins, 0), COALESCE(blitz_losses, 0)," +
+            "  COALESCE(blitz_draws, 0) FROM users WHERE id = :userId" +
+            " UNION ALL SELECT id, 'RAPID', COALESCE(rapid_wins, 0), COALESCE(rapid_losses, 0)," +
+            "  COALESCE(rapid_draws, 0) FROM users WHERE id = :userId" +
+            ") c WHERE NOT EXISTS (SELECT 1 FROM player_stats s" +
+            " WHERE s.user_id = c.user_id AND s.time_control = c.time_control)")
+    int insertFromLegacyCounters(@Param("userId") Long userId);
+
+    /** Fails unless {@code users} still has the pre-{@code player_stats} counter columns. */
+    @Query(nativeQuery = true, value = "SELECT COUNT(blitz_wins) FROM users")
+    long countLegacyCounters();
+
+    @Query("SELECT u.id FROM User u WHERE NOT EXISTS (SELECT 1 FROM PlayerStats s WHERE s.id.userId = u.id)")
+    List<Long> findUserIdsWithoutStats();
+}
@@ -4,10 +4,13 @@ import com.chessapp.server.domain.model.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,22 +19,54 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByLogin(String login);
     boolean existsByLogin(String login);
 
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.password = :password WHERE u.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
+
+    // Presence and profile edits touch only their own columns, so a stale User never writes back old ratings
+
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE User u SET u.isOnline = :online, u.lastSeen = :lastSeen WHERE u.id = :id")
+    int updatePresence(@Param("id") Long id, @Param("online") boolean online, @Param("lastSeen") LocalDateTime lastSeen);
+
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE User u SET u.displayName = :displayName WHERE u.id = :id")
+    int updateDisplayName(@Param("id") Long id, @Param("displayName") String displayName);
+
+    // Rating changes are increments of one column, so concurrent game ends never overwrite each other
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.blitzRating = u.blitzRating + :delta WHERE u.id = :id")
+    int addBlitzRating(@Param("id") Long id, @Param("delta") int delta);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.rapidRating = u.rapidRating + :delta WHERE u.id = :id")
+    int addRapidRating(@Param("id") Long id, @Param("delta") int delta);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.bulletRating = u.bulletRating + :delta WHERE u.id = :id")
+    int addBulletRating(@Param("id") Long id, @Param("delta") int delta);
+
     @Query("SELECT u FROM User u WHERE u.isOnline = true")
     List<User> findOnlineUsers();
 
-    @Query("SELECT u FROM User u WHERE u.isOnline = true AND u.id != :userId")
-    List<User> findOnlineUsersExcept(@Param("userId") Long userId);
-
-    @Query("SELECT u FROM User u WHERE LOWER(u.login) LIKE LOWER(CONCAT('%', :query, '%')) " +
-            "OR LOWER(u.displayName) LIKE LOWER(CONCAT('%', :query, '%'))")
-    Page<User> searchByLoginOrDisplayName(@Param("query") String query, Pageable pageable);
+    // One short replica transaction per page of the index rebuild
+    @Transactional(readOnly = true)
+    @Query("SELECT u FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<User> findBatchAfterId(@Param("afterId") Long afterId, Pageable pageable);
 
-    @Query("SELECT u FROM User u ORDER BY u.blitzRating DESC")
+    @Query("SELECT u FROM User u WHERE u.botLevel IS NULL ORDER BY u.blitzRating DESC")
     Page<User> findTopByBlitzRating(Pageable pageable);
 
-    @Query("SELECT u FROM User u ORDER BY u.rapidRating DESC")
+    @Query("SELECT u FROM User u WHERE u.botLevel IS NULL ORDER BY u.rapidRating DESC")
     Page<User> findTopByRapidRating(Pageable pageable);
 
-    @Query("SELECT u FROM User u ORDER BY u.bulletRating DESC")
+    @Query("SELECT u FROM User u WHERE u.botLevel IS NULL ORDER BY u.bulletRating DESC")
     Page<User> findTopByBulletRating(Pageable pageable);
 }
\ No newline at end of file
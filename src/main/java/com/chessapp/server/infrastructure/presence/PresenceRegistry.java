@@ -0,0 +1,102 @@
+package com.chessapp.server.infrastructure.presence;
+
+import com.chessapp.server.domain.model.User;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Predicate;
+
+/**
+ * Live view of who is online, kept sorted by lower-cased login so prefix and range scans
+ * never touch the users table. Fed from every user save, which is also where the
+ * {@code isOnline} flag changes.
+ */
+@Component
+public class PresenceRegistry {
+
+    public record OnlinePlayer(Long id,
+                               String login,
+                               String displayName,
+                               int blitzRating,
+                               int rapidRating,
+                               int bulletRating,
+                               Instant since) {}
+
+    private final ConcurrentSkipListMap<String, OnlinePlayer> online = new ConcurrentSkipListMap<>();
+
+    /**
+     * Records the saved state of a user: adds or refreshes them when online, drops them otherwise.
+     * The original {@code since} timestamp survives rating or name updates.
+     */
+    public void update(User user) {
+        if (user == null || user.getLogin() == null) return;
+        String key = key(user.getLogin());
+        // Bots are always available and never listed as online players
+        if (user.isBot() || !Boolean.TRUE.equals(user.getIsOnline())) {
+            online.remove(key);
+            return;
+        }
+        online.compute(key, (k, previous) -> new OnlinePlayer(
+                user.getId(),
+                user.getLogin(),
+                user.getDisplayName(),
+                valueOrDefault(user.getBlitzRating()),
+                valueOrDefault(user.getRapidRating()),
+                valueOrDefault(user.getBulletRating()),
+                previous != null ? previous.since() : Instant.now()));
+    }
+
+    public boolean isOnline(String login) {
+        return login != null && online.containsKey(key(login));
+    }
+
+    public OnlinePlayer get(String login) {
+        return login == null ? null : online.get(key(login));
+    }
+
+    /**
+     * Online players whose login starts with {@code prefix}, in login order.
+     */
+    public List<OnlinePlayer> withPrefix(String prefix, int limit) {
+        String from = key(prefix);
+        List<OnlinePlayer> result = new ArrayList<>(Math.min(limit, 16));
+        for (Map.Entry<String, OnlinePlayer> e : online.tailMap(from, true).entrySet()) {
+            if (result.size() >= limit || !e.getKey().startsWith(from)) break;
+            result.add(e.getValue());
+        }
+        return result;
+    }
+
+    /**
+     * Up to {@code limit} online players accepted by {@code filter}, in login order, starting
+     * strictly after {@code afterKey} (a lower-cased login, or null for the first page).
+     */
+    public List<OnlinePlayer> page(String afterKey, Predicate<OnlinePlayer> filter, int limit) {
+        Map<String, OnlinePlayer> view = afterKey == null ? online : online.tailMap(afterKey, false);
+        List<OnlinePlayer> result = new ArrayList<>(Math.min(limit, 64));
+        for (OnlinePlayer player : view.values()) {
+            if (result.size() >= limit) break;
+            if (filter.test(player)) {
+                result.add(player);
+            }
+        }
+        return result;
+    }
+
+    public int size() {
+        return online.size();
+    }
+
+    private static String key(String login) {
+        return login.toLowerCase(Locale.ROOT);
+    }
+
+    private static int valueOrDefault(Integer rating) {
+        return rating != null ? rating : 1200;
+    }
+}
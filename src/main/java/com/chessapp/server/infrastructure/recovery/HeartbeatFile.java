@@ -0,0 +1,71 @@
+package com.chessapp.server.infrastructure.recovery;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Records "still alive" every few seconds so the next start can tell how long the server was down.
+ * <p>
+ * The previous beat is read once at construction, before this instance overwrites it.
+ */
+@Component
+public class HeartbeatFile {
+
+    private static final Logger logger = LoggerFactory.getLogger(HeartbeatFile.class);
+
+    private final Path path;
+    private final Instant previousBeat;
+
+    public HeartbeatFile(@Value("${chess.recovery.heartbeat-file:./data/heartbeat}") String path) {
+        this.path = Paths.get(path);
+        this.previousBeat = read(this.path);
+    }
+
+    /**
+     * Last beat written by the previous run, or empty on a first start or an unreadable file.
+     */
+    public Optional<Instant> previousBeat() {
+        return Optional.ofNullable(previousBeat);
+    }
+
+    @Scheduled(fixedRateString = "${chess.recovery.heartbeat-interval-ms:5000}")
+    public void beat() {
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) Files.createDirectories(parent);
+            Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+            Files.writeString(tmp, Long.toString(System.currentTimeMillis()), StandardCharsets.US_ASCII);
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("[Recovery] Failed to write heartbeat {}: {}", path, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        beat();
+    }
+
+    private static Instant read(Path path) {
+        try {
+            if (!Files.exists(path)) return null;
+            return Instant.ofEpochMilli(Long.parseLong(Files.readString(path, StandardCharsets.US_ASCII).trim()));
+        } catch (IOException | NumberFormatException e) {
+            logger.warn("[Recovery] Ignoring unreadable heartbeat {}: {}", path, e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,476 @@
+package com.chessapp.server.infrastructure.search;
+
+import com.chessapp.server.application.dto.PlayerSearchDto;
+import com.chessapp.server.domain.model.User;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory n-gram index over logins and display names, replacing the
+ * {@code LOWER(..) LIKE '%q%'} table scan behind player search.
+ * <p>
+ * Every lower-cased login and display name is split into bigrams and trigrams. A query is
+ * answered by intersecting the (sorted) posting lists of its grams, verifying the surviving
+ * candidates with a plain substring check and ranking them by match quality, then rating.
+ * <p>
+ * Logins are also kept in a prefix trie whose nodes cache the best-rated {@value #TOP_K}
+ * players below them, so a typeahead lookup is a walk of {@code prefix.length()} nodes.
+ * Writes (register, rename, rating or presence changes) take a short write lock; lookups
+ * share a read lock.
+ */
+@Component
+public class PlayerSearchIndex {
+
+    // Ranking tiers, best first
+    private static final int EXACT_LOGIN = 0;
+    private static final int LOGIN_PREFIX = 1;
+    private static final int DISPLAY_NAME_PREFIX = 2;
+    private static final int LOGIN_SUBSTRING = 3;
+    private static final int DISPLAY_NAME_SUBSTRING = 4;
+    private static final int NO_MATCH = -1;
+
+    private static final long BIGRAM_TAG = 1L << 62;
+
+    public static final int TOP_K = 16;
+    private static final int[] NO_DOCS = new int[0];
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, IntList> postings = new HashMap<>();
+    private final Map<Long, Integer> docByUserId = new HashMap<>();
+    private final TrieNode trieRoot = new TrieNode();
+
+    // Document table, indexed by doc id
+    private long[] userIds = new long[1024];
+    private String[] logins = new String[1024];
+    private String[] loginKeys = new String[1024];
+    private String[] displayNames = new String[1024];
+    private String[] displayKeys = new String[1024];
+    private int[] blitzRatings = new int[1024];
+    private int[] rapidRatings = new int[1024];
+    private int[] bulletRatings = new int[1024];
+    private boolean[] online = new boolean[1024];
+    private int docCount;
+
+    public record Result(List<PlayerSearchDto> players, long total) {}
+
+    /**
+     * Adds or refreshes a user. Grams are only recomputed when the login or display name changed,
+     * so rating and presence updates stay cheap.
+     */
+    public void upsert(User user) {
+        // Computer opponents are not players anyone searches for
+        if (user == null || user.getId() == null || user.getLogin() == null || user.isBot()) return;
+
+        lock.writeLock().lock();
+        try {
+            Integer existing = docByUserId.get(user.getId());
+            int doc;
+            if (existing == null) {
+                doc = docCount++;
+                ensureCapacity(docCount);
+                docByUserId.put(user.getId(), doc);
+                userIds[doc] = user.getId();
+                setNames(doc, user);
+                for (long gram : gramsOf(doc)) {
+                    postings.computeIfAbsent(gram, g -> new IntList()).append(doc);
+                }
+            } else {
+                doc = existing;
+                String displayName = user.getDisplayName() != null ? user.getDisplayName() : "";
+                if (!user.getLogin().equals(logins[doc]) || !displayName.equals(displayNames[doc])) {
+                    Set<Long> oldGrams = gramsOf(doc);
+                    setNames(doc, user);
+                    Set<Long> newGrams = gramsOf(doc);
+                    for (long gram : oldGrams) {
+                        if (!newGrams.contains(gram)) {
+                            IntList list = postings.get(gram);
+                            if (list != null && list.remove(doc) && list.size == 0) {
+                                postings.remove(gram);
+                            }
+                        }
+                    }
+                    for (long gram : newGrams) {
+                        if (!oldGrams.contains(gram)) {
+                            postings.computeIfAbsent(gram, g -> new IntList()).insertSorted(doc);
+                        }
+                    }
+                }
+            }
+            int previousRating = existing == null ? Integer.MIN_VALUE : bestRating(doc);
+            blitzRatings[doc] = valueOrDefault(user.getBlitzRating());
+            rapidRatings[doc] = valueOrDefault(user.getRapidRating());
+            bulletRatings[doc] = valueOrDefault(user.getBulletRating());
+            online[doc] = Boolean.TRUE.equals(user.getIsOnline());
+
+            if (previousRating != bestRating(doc)) {
+                refreshTriePath(doc);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Substring search over login and display name (case-insensitive), ranked by exact login,
+     * login prefix, display name prefix, then substring matches; ties go to the higher rating.
+     */
+    public Result search(String query, int page, int size) {
+        String q = query.trim().toLowerCase(Locale.ROOT);
+        if (q.length() < 2 || size <= 0 || page < 0) {
+            return new Result(List.of(), 0);
+        }
+
+        lock.readLock().lock();
+        try {
+            IntList[] lists = postingsFor(q);
+            if (lists == null) {
+                return new Result(List.of(), 0);
+            }
+
+            int limit = (int) Math.min((long) (page + 1) * size, Integer.MAX_VALUE);
+            TopK top = new TopK(limit);
+            long total = 0;
+
+            IntList smallest = lists[0];
+            outer:
+            for (int i = 0; i < smallest.size; i++) {
+                int doc = smallest.values[i];
+                for (int l = 1; l < lists.length; l++) {
+                    if (!lists[l].contains(doc)) continue outer;
+                }
+                int tier = tier(doc, q);
+                if (tier == NO_MATCH) continue;
+                total++;
+                top.offer(rankKey(tier, bestRating(doc), doc));
+            }
+
+            long[] ranked = top.sorted();
+            int from = page * size;
+            if (from >= ranked.length) {
+                return new Result(List.of(), total);
+            }
+            int to = Math.min(ranked.length, from + size);
+            List<PlayerSearchDto> players = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                players.add(toDto((int) (ranked[i] & 0xFFFFFFFFL)));
+            }
+            return new Result(players, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Best-rated players whose login starts with {@code prefix} (case-insensitive), best first.
+     * At most {@value #TOP_K} entries are available per prefix.
+     */
+    public List<PlayerSearchDto> topByLoginPrefix(String prefix, int limit) {
+        String p = prefix.trim().toLowerCase(Locale.ROOT);
+        if (p.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            TrieNode node = trieRoot;
+            for (int i = 0; i < p.length() && node != null; i++) {
+                node = node.child(p.charAt(i));
+            }
+            if (node == null) {
+                return List.of();
+            }
+            int count = Math.min(limit, node.top.length);
+            List<PlayerSearchDto> players = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                players.add(toDto(node.top[i]));
+            }
+            return players;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // --- Internals (callers hold the lock) ---
+
+    private IntList[] postingsFor(String q) {
+        Set<Long> grams = new HashSet<>();
+        addGrams(q, grams);
+        if (q.length() > 2) {
+            // Trigrams alone are selective enough; bigrams only matter for 2-char queries
+            grams.removeIf(g -> (g & BIGRAM_TAG) != 0);
+        }
+
+        IntList[] lists = new IntList[grams.size()];
+        int i = 0;
+        for (long gram : grams) {
+            IntList list = postings.get(gram);
+            if (list == null) return null;
+            lists[i++] = list;
+        }
+        Arrays.sort(lists, Comparator.comparingInt(list -> list.size));
+        return lists;
+    }
+
+    /**
+     * Re-derives the cached top-k of every node on the doc's login path, leaf first, so both
+     * rating increases and decreases (which may let another player back in) are reflected.
+     */
+    private void refreshTriePath(int doc) {
+        String key = loginKeys[doc];
+        TrieNode[] path = new TrieNode[key.length() + 1];
+        TrieNode node = trieRoot;
+        path[0] = node;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.childOrCreate(key.charAt(i));
+            path[i + 1] = node;
+        }
+        node.terminalDoc = doc;
+
+        for (int i = path.length - 1; i >= 0; i--) {
+            path[i].top = mergeTop(path[i]);
+        }
+    }
+
+    private int[] mergeTop(TrieNode node) {
+        int candidates = node.terminalDoc >= 0 ? 1 : 0;
+        for (TrieNode child : node.children) {
+            candidates += child.top.length;
+        }
+        if (candidates == 0) {
+            return NO_DOCS;
+        }
+
+        long[] keys = new long[candidates];
+        int n = 0;
+        if (node.terminalDoc >= 0) {
+            keys[n++] = rankKey(0, bestRating(node.terminalDoc), node.terminalDoc);
+        }
+        for (TrieNode child : node.children) {
+            for (int doc : child.top) {
+                keys[n++] = rankKey(0, bestRating(doc), doc);
+            }
+        }
+        Arrays.sort(keys);
+
+        int[] top = new int[Math.min(TOP_K, n)];
+        for (int i = 0; i < top.length; i++) {
+            top[i] = (int) (keys[i] & 0xFFFFFFFFL);
+        }
+        return top;
+    }
+
+    private int tier(int doc, String q) {
+        String login = loginKeys[doc];
+        String display = displayKeys[doc];
+        if (login.equals(q)) return EXACT_LOGIN;
+        if (login.startsWith(q)) return LOGIN_PREFIX;
+        if (display.startsWith(q)) return DISPLAY_NAME_PREFIX;
+        if (login.contains(q)) return LOGIN_SUBSTRING;
+        if (display.contains(q)) return DISPLAY_NAME_SUBSTRING;
+        return NO_MATCH;
+    }
+
+    private int bestRating(int doc) {
+        return Math.max(blitzRatings[doc], Math.max(rapidRatings[doc], bulletRatings[doc]));
+    }
+
+    /**
+     * Packs (tier asc, rating desc, doc asc) into one long so ranking is a primitive sort.
+     */
+    private static long rankKey(int tier, int rating, int doc) {
+        long invertedRating = 0xFFFFL - Math.max(0, Math.min(0xFFFF, rating));
+        return ((long) tier << 48) | (invertedRating << 32) | (doc & 0xFFFFFFFFL);
+    }
+
+    private PlayerSearchDto toDto(int doc) {
+        return new PlayerSearchDto(
+                userIds[doc],
+                logins[doc],
+                displayNames[doc],
+                blitzRatings[doc],
+                rapidRatings[doc],
+                bulletRatings[doc],
+                online[doc]
+        );
+    }
+
+    private void setNames(int doc, User user) {
+        String displayName = user.getDisplayName() != null ? user.getDisplayName() : "";
+        logins[doc] = user.getLogin();
+        loginKeys[doc] = user.getLogin().toLowerCase(Locale.ROOT);
+        displayNames[doc] = displayName;
+        displayKeys[doc] = displayName.toLowerCase(Locale.ROOT);
+    }
+
+    private Set<Long> gramsOf(int doc) {
+        Set<Long> grams = new HashSet<>();
+        addGrams(loginKeys[doc], grams);
+        addGrams(displayKeys[doc], grams);
+        return grams;
+    }
+
+    private static void addGrams(String s, Set<Long> out) {
+        for (int i = 0; i + 1 < s.length(); i++) {
+            long c1 = s.charAt(i);
+            long c2 = s.charAt(i + 1);
+            out.add(BIGRAM_TAG | (c1 << 16) | c2);
+            if (i + 2 < s.length()) {
+                out.add((c1 << 32) | (c2 << 16) | s.charAt(i + 2));
+            }
+        }
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= userIds.length) return;
+        int capacity = Math.max(required, userIds.length * 2);
+        userIds = Arrays.copyOf(userIds, capacity);
+        logins = Arrays.copyOf(logins, capacity);
+        loginKeys = Arrays.copyOf(loginKeys, capacity);
+        displayNames = Arrays.copyOf(displayNames, capacity);
+        displayKeys = Arrays.copyOf(displayKeys, capacity);
+        blitzRatings = Arrays.copyOf(blitzRatings, capacity);
+        rapidRatings = Arrays.copyOf(rapidRatings, capacity);
+        bulletRatings = Arrays.copyOf(bulletRatings, capacity);
+        online = Arrays.copyOf(online, capacity);
+    }
+
+    private static int valueOrDefault(Integer rating) {
+        return rating != null ? rating : 1200;
+    }
+
+    /**
+     * Trie node with children kept in sorted parallel arrays (logins use a small alphabet, so
+     * a binary search over a handful of chars beats a map) and a cached best-rated doc list.
+     */
+    private static final class TrieNode {
+        char[] keys = new char[0];
+        TrieNode[] children = new TrieNode[0];
+        int terminalDoc = -1;
+        int[] top = NO_DOCS;
+
+        TrieNode child(char c) {
+            int pos = Arrays.binarySearch(keys, c);
+            return pos >= 0 ? children[pos] : null;
+        }
+
+        TrieNode childOrCreate(char c) {
+            int pos = Arrays.binarySearch(keys, c);
+            if (pos >= 0) return children[pos];
+            pos = -pos - 1;
+            TrieNode created = new TrieNode();
+            char[] newKeys = new char[keys.length + 1];
+            TrieNode[] newChildren = new TrieNode[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, pos);
+            System.arraycopy(children, 0, newChildren, 0, pos);
+            newKeys[pos] = c;
+            newChildren[pos] = created;
+            System.arraycopy(keys, pos, newKeys, pos + 1, keys.length - pos);
+            System.arraycopy(children, pos, newChildren, pos + 1, children.length - pos);
+            keys = newKeys;
+            children = newChildren;
+            return created;
+        }
+    }
+
+    /**
+     * Sorted, growable posting list of doc ids.
+     */
+    private static final class IntList {
+        int[] values = new int[4];
+        int size;
+
+        void append(int value) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+
+        void insertSorted(int value) {
+            int pos = Arrays.binarySearch(values, 0, size, value);
+            if (pos >= 0) return;
+            pos = -pos - 1;
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            System.arraycopy(values, pos, values, pos + 1, size - pos);
+            values[pos] = value;
+            size++;
+        }
+
+        boolean remove(int value) {
+            int pos = Arrays.binarySearch(values, 0, size, value);
+            if (pos < 0) return false;
+            System.arraycopy(values, pos + 1, values, pos, size - pos - 1);
+            size--;
+            return true;
+        }
+
+        boolean contains(int value) {
+            return Arrays.binarySearch(values, 0, size, value) >= 0;
+        }
+    }
+
+    /**
+     * Keeps the {@code k} smallest rank keys in a primitive max-heap.
+     */
+    private static final class TopK {
+        private final long[] heap;
+        private int size;
+
+        TopK(int k) {
+            this.heap = new long[Math.max(1, Math.min(k, 10_000))];
+        }
+
+        void offer(long key) {
+            if (size < heap.length) {
+                heap[size] = key;
+                siftUp(size++);
+            } else if (key < heap[0]) {
+                heap[0] = key;
+                siftDown(0);
+            }
+        }
+
+        long[] sorted() {
+            long[] result = Arrays.copyOf(heap, size);
+            Arrays.sort(result);
+            return result;
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (heap[parent] >= heap[i]) break;
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int left = 2 * i + 1;
+                if (left >= size) break;
+                int largest = left;
+                int right = left + 1;
+                if (right < size && heap[right] > heap[left]) largest = right;
+                if (heap[i] >= heap[largest]) break;
+                swap(i, largest);
+                i = largest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            long tmp = heap[a];
+            heap[a] = heap[b];
+            heap[b] = tmp;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.chessapp.server.infrastructure.security;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -20,9 +21,13 @@ import java.util.List;
 @EnableWebSecurity
 public class WebSecurityConfig {
 
+        /**
+         * Raising the strength is picked up transparently: older hashes are re-encoded
+         * on the user's next successful login.
+         */
         @Bean
-        public PasswordEncoder passwordEncoder() {
-                return new BCryptPasswordEncoder();
+        public PasswordEncoder passwordEncoder(@Value("${chess.security.bcrypt.strength:10}") int strength) {
+                return new BCryptPasswordEncoder(strength);
         }
 
         @Bean
@@ -39,6 +44,7 @@ public class WebSecurityConfig {
                                                                 "/api/friends/**",
                                                                 "/api/games/**",
                                                                 "/api/leaderboard/**",
+                                                                "/api/explorer/**",
                                                                 "/api/search/**",
                                                                 "/ws/**",
                                                                 "/h2-console/**",
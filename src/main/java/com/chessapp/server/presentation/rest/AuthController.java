@@ -1,5 +1,8 @@
 package com.chessapp.server.presentation.rest;
 
+import com.chessapp.server.application.dto.PlayerStatsDto;
+import com.chessapp.server.application.service.PlayerStatsService;
+import com.chessapp.server.domain.enums.TimeControl;
 import com.chessapp.server.domain.model.User;
 import com.chessapp.server.infrastructure.security.JwtUtils;
 import com.chessapp.server.application.service.UserService;
@@ -11,6 +14,9 @@ import jakarta.validation.Valid;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -23,10 +29,25 @@ public class AuthController {
     @Autowired
     private JwtUtils jwtUtils;
 
+    @Autowired
+    private PlayerStatsService playerStatsService;
+
+    // Both endpoints return futures so the servlet thread is released while BCrypt runs on the
+    // hashing pool; the response is written when the hash completes.
     @PostMapping("/register")
-    public ResponseEntity<?> register(@Valid @RequestBody RegisterRequest request) {
+    public CompletableFuture<ResponseEntity<?>> register(@Valid @RequestBody RegisterRequest request) {
+        CompletableFuture<User> registered;
         try {
-            User user = userService.registerUser(request.getLogin(), request.getPassword(), request.getDisplayName());
+            registered = userService.registerUserAsync(
+                    request.getLogin(), request.getPassword(), request.getDisplayName());
+        } catch (RuntimeException e) {
+            registered = CompletableFuture.failedFuture(e);
+        }
+
+        return registered.handle((user, error) -> {
+            if (error != null) {
+                return registrationFailed(unwrap(error));
+            }
             String token = jwtUtils.generateToken(user.getLogin());
 
             Map<String, Object> response = new HashMap<>();
@@ -35,33 +56,66 @@ public class AuthController {
             response.put("user", createUserResponse(user));
 
             return ResponseEntity.ok(response);
-        } catch (IllegalArgumentException e) {
-            if (e.getMessage().contains("exists")) {
-                return ResponseEntity.status(409).body(Map.of("error", e.getMessage()));
-            }
-            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
-        }
+        });
     }
 
     @PostMapping("/login")
-    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest request) {
-        Optional<User> userOpt = userService.authenticateUser(request.getLogin(), request.getPassword());
+    public CompletableFuture<ResponseEntity<?>> login(@Valid @RequestBody LoginRequest request) {
+        CompletableFuture<Optional<User>> authenticated;
+        try {
+            authenticated = userService.authenticateUserAsync(request.getLogin(), request.getPassword());
+        } catch (RejectedExecutionException e) {
+            authenticated = CompletableFuture.failedFuture(e);
+        }
 
-        if (userOpt.isPresent()) {
-            User user = userOpt.get();
-            String token = jwtUtils.generateToken(user.getLogin());
-            //
-            // // Set user online
-            // userService.setUserOnline(user, true);
+        return authenticated.handle((userOpt, error) -> {
+            if (error != null) {
+                Throwable cause = unwrap(error);
+                if (cause instanceof RejectedExecutionException) {
+                    return serverBusy();
+                }
+                throw new CompletionException(cause);
+            }
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("token", token);
-            response.put("user", createUserResponse(user));
+            if (userOpt.isPresent()) {
+                User user = userOpt.get();
+                String token = jwtUtils.generateToken(user.getLogin());
+                //
+                // // Set user online
+                // userService.setUserOnline(user, true);
 
-            return ResponseEntity.ok(response);
-        } else {
-            return ResponseEntity.badRequest().body(Map.of("error", "Invalid credentials"));
+                Map<String, Object> response = new HashMap<>();
+                response.put("token", token);
+                response.put("user", createUserResponse(user));
+
+                return ResponseEntity.ok(response);
+            } else {
+                return ResponseEntity.badRequest().body(Map.of("error", "Invalid credentials"));
+            }
+        });
+    }
+
+    private ResponseEntity<?> registrationFailed(Throwable error) {
+        if (error instanceof IllegalArgumentException) {
+            if (error.getMessage().contains("exists")) {
+                return ResponseEntity.status(409).body(Map.of("error", error.getMessage()));
+            }
+            return ResponseEntity.badRequest().body(Map.of("error", error.getMessage()));
         }
+        if (error instanceof RejectedExecutionException) {
+            return serverBusy();
+        }
+        throw new CompletionException(error);
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    private ResponseEntity<?> serverBusy() {
+        return ResponseEntity.status(503)
+                .header("Retry-After", "2")
+                .body(Map.of("error", "Server is busy, please retry shortly"));
     }
 
     private Map<String, Object> createUserResponse(User user) {
@@ -74,13 +128,13 @@ public class AuthController {
         userResponse.put("bulletRating", user.getBulletRating());
         userResponse.put("isOnline", user.getIsOnline());
 
+        Map<TimeControl, PlayerStatsDto> counters = playerStatsService.getStats(user.getId());
         Map<String, Object> stats = new HashMap<>();
-        stats.put("blitz",
-                Map.of("wins", user.getBlitzWins(), "losses", user.getBlitzLosses(), "draws", user.getBlitzDraws()));
-        stats.put("rapid",
-                Map.of("wins", user.getRapidWins(), "losses", user.getRapidLosses(), "draws", user.getRapidDraws()));
-        stats.put("bullet",
-                Map.of("wins", user.getBulletWins(), "losses", user.getBulletLosses(), "draws", user.getBulletDraws()));
+        for (TimeControl timeControl : TimeControl.values()) {
+            PlayerStatsDto s = counters.getOrDefault(timeControl, PlayerStatsDto.EMPTY);
+            stats.put(timeControl.name().toLowerCase(),
+                    Map.of("wins", s.wins(), "losses", s.losses(), "draws", s.draws()));
+        }
         userResponse.put("stats", stats);
 
         return userResponse;
@@ -1,18 +1,23 @@
 package com.chessapp.server.presentation.rest;
 
-import com.chessapp.server.application.dto.GameHistoryDto;
+import com.chessapp.server.application.dto.GameHistoryPageDto;
+import com.chessapp.server.application.service.GameAnalysisService;
+import com.chessapp.server.application.service.GameArchiveService;
+import com.chessapp.server.application.service.GameHistoryService;
 import com.chessapp.server.application.service.GameService;
+import com.chessapp.server.application.service.PgnExportService;
 import com.chessapp.server.application.service.UserService;
-import com.chessapp.server.domain.enums.GameResult;
 import com.chessapp.server.domain.model.Game;
 import com.chessapp.server.domain.model.User;
-import com.chessapp.server.infrastructure.persistence.GameRepository;
 import com.chessapp.server.infrastructure.security.JwtUtils;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 
 @RestController
@@ -20,39 +25,48 @@ import java.util.*;
 @CrossOrigin
 public class GameHistoryController {
 
-    private final GameRepository gameRepository;
+    private static final int MAX_PAGE_SIZE = 50;
+    private static final MediaType PGN = MediaType.parseMediaType("application/x-chess-pgn");
+
+    private final GameHistoryService gameHistoryService;
     private final GameService gameService;
+    private final GameArchiveService gameArchiveService;
+    private final GameAnalysisService gameAnalysisService;
+    private final PgnExportService pgnExportService;
     private final UserService userService;
     private final JwtUtils jwtUtils;
 
-    public GameHistoryController(GameRepository gameRepository, GameService gameService,
-                                 UserService userService, JwtUtils jwtUtils) {
-        this.gameRepository = gameRepository;
+    public GameHistoryController(GameHistoryService gameHistoryService, GameService gameService,
+                                 GameArchiveService gameArchiveService, GameAnalysisService gameAnalysisService,
+                                 PgnExportService pgnExportService, UserService userService, JwtUtils jwtUtils) {
+        this.gameHistoryService = gameHistoryService;
         this.gameService = gameService;
+        this.gameArchiveService = gameArchiveService;
+        this.gameAnalysisService = gameAnalysisService;
+        this.pgnExportService = pgnExportService;
         this.userService = userService;
         this.jwtUtils = jwtUtils;
     }
 
     /**
-     * GET /api/games/history?page=0&size=20 — My completed game history (paginated).
+     * GET /api/games/history?cursor=..&size=20 — My completed game history, newest first.
+     * Pass the returned {@code nextCursor} back to fetch the next page.
      */
     @GetMapping("/history")
     public ResponseEntity<?> getGameHistory(
             @RequestHeader("Authorization") String authHeader,
-            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "20") int size) {
         User user = resolveUser(authHeader);
         if (user == null) return unauthorized();
 
-        Page<Game> games = gameRepository.findCompletedGamesByPlayer(user, PageRequest.of(page, size));
-
-        Page<GameHistoryDto> history = games.map(game -> toHistoryDto(game, user));
-        return ResponseEntity.ok(Map.of(
-                "games", history.getContent(),
-                "totalPages", history.getTotalPages(),
-                "totalElements", history.getTotalElements(),
-                "currentPage", page
-        ));
+        try {
+            GameHistoryPageDto history = gameHistoryService.getHistory(
+                    user, cursor, Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+            return ResponseEntity.ok(history);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
 
     /**
@@ -67,13 +81,17 @@ public class GameHistoryController {
 
         var gameData = gameService.createGameData(id);
         if (gameData == null) {
-            return ResponseEntity.notFound().build();
+            Optional<Game> archived = gameArchiveService.findArchivedGame(id);
+            if (archived.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            gameData = gameService.createGameData(archived.get());
         }
         return ResponseEntity.ok(gameData);
     }
 
     /**
-     * GET /api/games/{id}/pgn — Export game as PGN string.
+     * GET /api/games/{id}/pgn — Export game as a PGN file.
      */
     @GetMapping("/{id}/pgn")
     public ResponseEntity<?> exportPgn(
@@ -82,89 +100,70 @@ public class GameHistoryController {
         User user = resolveUser(authHeader);
         if (user == null) return unauthorized();
 
-        Optional<Game> gameOpt = gameService.findByIdWithMoves(id);
+        Optional<Game> gameOpt = gameService.findById(id).or(() -> gameArchiveService.findArchivedGame(id));
         if (gameOpt.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
 
         Game game = gameOpt.get();
-        String pgn = buildPgn(game);
-        return ResponseEntity.ok(Map.of("pgn", pgn));
+        return pgnDownload("game-" + id + ".pgn", out -> pgnExportService.writeGame(game, out));
     }
 
-    // --- Helpers ---
-
-    private GameHistoryDto toHistoryDto(Game game, User perspective) {
-        boolean isWhite = game.getWhitePlayer().getId().equals(perspective.getId());
-        User opponent = isWhite ? game.getBlackPlayer() : game.getWhitePlayer();
-        String myColor = isWhite ? "WHITE" : "BLACK";
+    /**
+     * GET /api/games/export?player=login — Every finished game of a player (default: me) as one
+     * PGN file, newest first. Streamed with chunked encoding while the games are read, so the
+     * size of the history does not matter. 429 when the caller or the server already runs as
+     * many exports as allowed.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<?> exportHistory(
+            @RequestHeader("Authorization") String authHeader,
+            @RequestParam(required = false) String player) {
+        User user = resolveUser(authHeader);
+        if (user == null) return unauthorized();
 
-        String resultStr = "UNKNOWN";
-        int ratingChange = 0;
-        if (game.getResult() != null) {
-            resultStr = mapResult(game.getResult(), isWhite);
+        User target = player == null ? user : userService.findByLogin(player).orElse(null);
+        if (target == null) {
+            return ResponseEntity.status(404).body(Map.of("error", "User not found"));
         }
-
-        int movesCount = 0;
-        try {
-            movesCount = game.getMoves() != null ? game.getMoves().size() : 0;
-        } catch (Exception ignored) {}
-
-        return new GameHistoryDto(
-                game.getId(),
-                opponent.getLogin(),
-                opponent.getDisplayName(),
-                opponent.getRatingForTimeControl(game.getTimeControl()),
-                myColor,
-                resultStr,
-                ratingChange,
-                game.getTimeControl().name(),
-                movesCount,
-                game.getEndedAt() != null ? game.getEndedAt() : game.getCreatedAt()
-        );
-    }
-
-    private String mapResult(GameResult result, boolean isWhite) {
-        return switch (result) {
-            case WHITE_WIN, WHITE_WIN_TIMEOUT, WHITE_WIN_RESIGNATION -> isWhite ? "WIN" : "LOSS";
-            case BLACK_WIN, BLACK_WIN_TIMEOUT, BLACK_WIN_RESIGNATION -> isWhite ? "LOSS" : "WIN";
-            case DRAW, DRAW_BY_AGREEMENT -> "DRAW";
-        };
-    }
-
-    private String buildPgn(Game game) {
-        StringBuilder pgn = new StringBuilder();
-        pgn.append("[Event \"Online Game\"]\n");
-        pgn.append("[White \"").append(game.getWhitePlayer().getDisplayName()).append("\"]\n");
-        pgn.append("[Black \"").append(game.getBlackPlayer().getDisplayName()).append("\"]\n");
-        pgn.append("[TimeControl \"").append(game.getTimeControl().name()).append("\"]\n");
-        if (game.getResult() != null) {
-            pgn.append("[Result \"").append(pgnResult(game.getResult())).append("\"]\n");
+        if (!pgnExportService.tryAcquireExport(user)) {
+            return ResponseEntity.status(429)
+                    .header("Retry-After", "30")
+                    .body(Map.of("error", "Too many exports running, please retry shortly"));
         }
-        pgn.append("\n");
-
-        List<String> moves = game.getMoves();
-        if (moves != null) {
-            for (int i = 0; i < moves.size(); i++) {
-                if (i % 2 == 0) {
-                    pgn.append((i / 2 + 1)).append(". ");
-                }
-                pgn.append(moves.get(i)).append(" ");
+        return pgnDownload(target.getLogin() + ".pgn", out -> {
+            try {
+                pgnExportService.writeHistory(target, out);
+            } finally {
+                pgnExportService.releaseExport(user);
             }
-        }
+        });
+    }
 
-        if (game.getResult() != null) {
-            pgn.append(pgnResult(game.getResult()));
-        }
-        return pgn.toString().trim();
+    /**
+     * GET /api/games/{id}/analysis — Engine evaluation of every move and each player's accuracy.
+     * 404 until the game has been analyzed.
+     */
+    @GetMapping("/{id}/analysis")
+    public ResponseEntity<?> getAnalysis(
+            @RequestHeader("Authorization") String authHeader,
+            @PathVariable Long id) {
+        User user = resolveUser(authHeader);
+        if (user == null) return unauthorized();
+
+        return gameAnalysisService.findAnalysis(id)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
-    private String pgnResult(GameResult result) {
-        return switch (result) {
-            case WHITE_WIN, WHITE_WIN_TIMEOUT, WHITE_WIN_RESIGNATION -> "1-0";
-            case BLACK_WIN, BLACK_WIN_TIMEOUT, BLACK_WIN_RESIGNATION -> "0-1";
-            case DRAW, DRAW_BY_AGREEMENT -> "1/2-1/2";
-        };
+    // --- Helpers ---
+
+    private ResponseEntity<StreamingResponseBody> pgnDownload(String filename, StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(PGN)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename, StandardCharsets.UTF_8).build().toString())
+                .body(body);
     }
 
     private User resolveUser(String authHeader) {
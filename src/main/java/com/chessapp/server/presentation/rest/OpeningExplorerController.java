@@ -0,0 +1,32 @@
+package com.chessapp.server.presentation.rest;
+
+import com.chessapp.server.application.service.OpeningExplorerService;
+import com.chessapp.server.domain.chess.Position;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/explorer")
+@CrossOrigin
+public class OpeningExplorerController {
+
+    private final OpeningExplorerService openingExplorerService;
+
+    public OpeningExplorerController(OpeningExplorerService openingExplorerService) {
+        this.openingExplorerService = openingExplorerService;
+    }
+
+    /**
+     * GET /api/explorer?fen=... — Moves played from a position in finished games (start position by default).
+     */
+    @GetMapping
+    public ResponseEntity<?> explore(@RequestParam(required = false) String fen) {
+        try {
+            return ResponseEntity.ok(openingExplorerService.explore(fen == null || fen.isBlank() ? Position.START_FEN : fen));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Invalid FEN"));
+        }
+    }
+}
@@ -1,15 +1,16 @@
 package com.chessapp.server.presentation.rest;
 
 import com.chessapp.server.application.dto.PlayerSearchDto;
+import com.chessapp.server.application.dto.TypeaheadEntryDto;
+import com.chessapp.server.application.service.PlayerSearchService;
 import com.chessapp.server.application.service.UserService;
 import com.chessapp.server.domain.model.User;
-import com.chessapp.server.infrastructure.persistence.UserRepository;
 import com.chessapp.server.infrastructure.security.JwtUtils;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -17,11 +18,16 @@ import java.util.Map;
 @CrossOrigin
 public class SearchController {
 
-    private final UserRepository userRepository;
+    private static final int MAX_PAGE_SIZE = 50;
+    private static final int MAX_TYPEAHEAD = 25;
+
+    private final PlayerSearchService playerSearchService;
+    private final UserService userService;
     private final JwtUtils jwtUtils;
 
-    public SearchController(UserRepository userRepository, JwtUtils jwtUtils) {
-        this.userRepository = userRepository;
+    public SearchController(PlayerSearchService playerSearchService, UserService userService, JwtUtils jwtUtils) {
+        this.playerSearchService = playerSearchService;
+        this.userService = userService;
         this.jwtUtils = jwtUtils;
     }
 
@@ -38,17 +44,8 @@ public class SearchController {
             return ResponseEntity.badRequest().body(Map.of("error", "Search query must be at least 2 characters"));
         }
 
-        Page<User> results = userRepository.searchByLoginOrDisplayName(q, PageRequest.of(page, size));
-
-        Page<PlayerSearchDto> dtos = results.map(user -> new PlayerSearchDto(
-                user.getId(),
-                user.getLogin(),
-                user.getDisplayName(),
-                user.getBlitzRating(),
-                user.getRapidRating(),
-                user.getBulletRating(),
-                Boolean.TRUE.equals(user.getIsOnline())
-        ));
+        Page<PlayerSearchDto> dtos = playerSearchService.searchPlayers(
+                q, Math.max(0, page), Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
 
         return ResponseEntity.ok(Map.of(
                 "players", dtos.getContent(),
@@ -57,4 +54,34 @@ public class SearchController {
                 "currentPage", page
         ));
     }
+
+    /**
+     * GET /api/search/typeahead?q=ma&limit=10 — Login suggestions, online friends first.
+     * Authentication is optional; anonymous callers just get no friend boost. No count is computed.
+     */
+    @GetMapping("/typeahead")
+    public ResponseEntity<?> typeahead(
+            @RequestHeader(value = "Authorization", required = false) String authHeader,
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+
+        if (q == null || q.isBlank()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Search query must not be empty"));
+        }
+
+        User requester = resolveUser(authHeader);
+        List<TypeaheadEntryDto> players = playerSearchService.typeahead(
+                requester, q, Math.max(1, Math.min(limit, MAX_TYPEAHEAD)));
+        return ResponseEntity.ok(Map.of("players", players));
+    }
+
+    private User resolveUser(String authHeader) {
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) return null;
+        try {
+            String username = jwtUtils.getUserNameFromJwtToken(authHeader.substring(7));
+            return userService.findByLogin(username).orElse(null);
+        } catch (Exception e) {
+            return null;
+        }
+    }
 }
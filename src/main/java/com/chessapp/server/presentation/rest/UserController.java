@@ -1,5 +1,7 @@
 package com.chessapp.server.presentation.rest;
 
+import com.chessapp.server.application.dto.OnlinePlayersPageDto;
+import com.chessapp.server.domain.enums.TimeControl;
 import com.chessapp.server.domain.model.User;
 import com.chessapp.server.infrastructure.security.JwtUtils;
 import com.chessapp.server.application.service.UserService;
@@ -11,7 +13,6 @@ import org.springframework.web.bind.annotation.*;
 
 import com.chessapp.server.application.dto.UserResponseDto;
 
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -22,6 +23,8 @@ public class UserController {
 
     private static final Logger logger = LoggerFactory.getLogger(UserController.class);
 
+    private static final int MAX_ONLINE_PAGE_SIZE = 100;
+
     @Autowired
     private UserService userService;
 
@@ -68,17 +71,34 @@ public class UserController {
         }
     }
 
+    /**
+     * GET /api/users/online?timeControl=BLITZ&minRating=1400&maxRating=1800&cursor=..&limit=50
+     * — Online players from presence state, paged by an opaque cursor.
+     */
     @GetMapping("/online")
-    public ResponseEntity<?> getOnlineUsers(@RequestHeader("Authorization") String authHeader) {
+    public ResponseEntity<?> getOnlineUsers(@RequestHeader("Authorization") String authHeader,
+            @RequestParam(required = false) TimeControl timeControl,
+            @RequestParam(required = false) Integer minRating,
+            @RequestParam(required = false) Integer maxRating,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
         String username = getUsernameFromToken(authHeader);
         if (username == null) {
             return ResponseEntity.status(401).body(Map.of("error", "Invalid token"));
         }
+        if (timeControl == null && (minRating != null || maxRating != null)) {
+            return ResponseEntity.badRequest().body(Map.of("error", "A rating band requires a timeControl"));
+        }
         Optional<User> userOpt = userService.findByLogin(username);
 
         if (userOpt.isPresent()) {
-            List<User> onlineUsers = userService.getOnlineUsersExcept(userOpt.get().getId());
-            return ResponseEntity.ok(onlineUsers.stream().map(this::createUserResponse).toArray());
+            try {
+                OnlinePlayersPageDto page = userService.getOnlinePlayers(userOpt.get(), timeControl,
+                        minRating, maxRating, cursor, Math.max(1, Math.min(limit, MAX_ONLINE_PAGE_SIZE)));
+                return ResponseEntity.ok(page);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+            }
         } else {
             return ResponseEntity.notFound().build();
         }
@@ -1,5 +1,6 @@
 package com.chessapp.server.presentation.websocket;
 
+import com.chessapp.server.application.dto.GameAnalysisDto;
 import com.chessapp.server.application.dto.GameDataDto;
 import com.chessapp.server.domain.model.User;
 import com.chessapp.server.domain.model.Game;
@@ -11,16 +12,17 @@ import com.chessapp.server.infrastructure.security.JwtUtils;
 import com.chessapp.server.application.service.*;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.annotation.PostConstruct;
-import org.hibernate.Hibernate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.*;
 
 import java.io.IOException;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Component
 public class ChessWebSocketHandler implements WebSocketHandler, GameNotificationService {
@@ -48,11 +50,20 @@ public class ChessWebSocketHandler implements WebSocketHandler, GameNotification
     @Autowired
     private JwtUtils jwtUtils;
 
+    @Autowired
+    private LagCompensationService lagCompensationService;
+
+    @Autowired
+    private BotService botService;
+
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     // Map to store active WebSocket sessions
     private final Map<String, WebSocketSession> userSessions = new ConcurrentHashMap<>();
 
+    // Session attribute: System.nanoTime() of the unanswered latency ping, 0 when none is out
+    private static final String PING_SENT_AT = "pingSentAt";
+
     @PostConstruct
     public void init() {
         matchmakingService.setNotifier(this);
@@ -67,6 +78,7 @@ public class ChessWebSocketHandler implements WebSocketHandler, GameNotification
         if (token != null && jwtUtils.validateJwtToken(token)) {
             String username = jwtUtils.getUserNameFromJwtToken(token);
             userSessions.put(username, session);
+            session.getAttributes().put(PING_SENT_AT, new AtomicLong());
 
             // Set user online
             userService.findByLogin(username).ifPresent(user -> {
@@ -79,6 +91,10 @@ public class ChessWebSocketHandler implements WebSocketHandler, GameNotification
                 // Send pending challenges
                 sendPendingChallenges(user);
 
+                // Hand back a game that is still running, e.g. after a server restart
+                gameService.findActiveGameByPlayer(user).ifPresent(game ->
+                        sendMessage(session, "gameResumed", gameService.createGameData(game)));
+
                 // Notify friends that user came online
                 broadcastFriendPresence(user, true);
             });
@@ -96,11 +112,16 @@ public class ChessWebSocketHandler implements WebSocketHandler, GameNotification
         }
 
         String payload = message.getPayload().toString();
-        logger.info("Received message from {}: {}", user.getLogin(), payload);
 
         try {
             Map<String, Object> messageData = objectMapper.readValue(payload, Map.class);
             String type = (String) messageData.get("type");
+            // Every client answers the lag probe every few seconds; keep those out of the INFO log
+            if ("ping".equals(type) || "pong".equals(type)) {
+                logger.debug("Received message from {}: {}", user.getLogin(), payload);
+            } else {
+                logger.info("Received message from {}: {}", user.getLogin(), payload);
+            }
 
             switch (type) {
                 case "searchGame":
@@ -109,6 +130,9 @@ public class ChessWebSocketHandler implements WebSocketHandler, GameNotification
                 case "cancelSearch":
                     handleCancelSearch(user);
                     break;
+                case "playBot":
+                    handlePlayBot(user, messageData);
+                    break;
                 case "challenge":
                     handleDirectChallenge(user, messageData);
                     break;
@@ -121,6 +145,12 @@ public class ChessWebSocketHandler implements WebSocketHandler, GameNotification
                 case "move":
                     handleMove(user, messageData);
                     break;
+                case "premove":
+                    handlePremove(user, messageData);
+                    break;
+                case "cancelPremove":
+                    handleCancelPremove(user, messageData);
+                    break;
                 case "resign":
                     handleResign(user, messageData);
                     break;
@@ -139,6 +169,9 @@ public class ChessWebSocketHandler implements WebSocketHandler, GameNotification
                 case "ping":
                     sendMessage(session, "pong", Map.of("message", "pong"));
                     break;
+                case "pong":
+                    handleLatencyPong(user, session);
+                    break;
                 default:
                     logger.warn("Unknown message type: {}", type);
             }
@@ -161,6 +194,7 @@ public class ChessWebSocketHandler implements WebSocketHandler, GameNotification
 
             // Remove from active sessions
             userSessions.remove(user.getLogin());
+            lagCompensationService.forgetPlayer(user.getId());
 
             // Set user offline
             userService.setUserOnline(user, false);
@@ -219,6 +253,37 @@ public class ChessWebSocketHandler implements WebSocketHandler, GameNotification
         sendToUser(user.getLogin(), "searchCancelled", Map.of("message", "Search cancelled"));
     }
 
+    private void handlePlayBot(User user, Map<String, Object> messageData) {
+        try {
+            TimeControl timeControl;
+            int level;
+            try {
+                timeControl = TimeControl.valueOf(((String) messageData.get("timeControl")).toUpperCase());
+            } catch (IllegalArgumentException | NullPointerException e) {
+                sendToUser(user.getLogin(), "error", Map.of("message", "Invalid time control"));
+                return;
+            }
+            try {
+                level = Integer.parseInt(String.valueOf(messageData.get("level")));
+            } catch (NumberFormatException e) {
+                sendToUser(user.getLogin(), "error", Map.of("message", "Invalid level"));
+                return;
+            }
+            String colour = (String) messageData.get("color");
+            Boolean playAsWhite = "white".equalsIgnoreCase(colour) ? Boolean.TRUE
+                    : "black".equalsIgnoreCase(colour) ? Boolean.FALSE : null;
+
+            // gameStarted is sent through notifyGameFound
+            botService.startGame(user, level, timeControl, playAsWhite);
+
+        } catch (IllegalArgumentException e) {
+            sendToUser(user.getLogin(), "error", Map.of("message", e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error starting bot game: ", e);
+            sendToUser(user.getLogin(), "error", Map.of("message", "Failed to start bot game"));
+        }
+    }
+
     private void handleDirectChallenge(User user, Map<String, Object> messageData) {
         try {
             String targetLogin = (String) messageData.get("targetLogin");
@@ -308,15 +373,10 @@ public class ChessWebSocketHandler implements WebSocketHandler, GameNotification
                 return;
             }
 
-            challengeService.declineChallenge(challengeId, user);
-
-            Optional<Challenge> challengeOpt = challengeService.findById(challengeId);
-            if (challengeOpt.isPresent()) {
-                Challenge challenge = challengeOpt.get();
-                sendToUser(challenge.getChallenger().getLogin(), "challengeDeclined", Map.of(
-                        "challengeId", challengeId,
-                        "message", user.getDisplayName() + " declined your challenge"));
-            }
+            Challenge challenge = challengeService.declineChallenge(challengeId, user);
+            sendToUser(challenge.getChallenger().getLogin(), "challengeDeclined", Map.of(
+                    "challengeId", challengeId,
+                    "message", user.getDisplayName() + " declined your challenge"));
         } catch (IllegalArgumentException e) {
             logger.warn("Challenge decline failed: {}", e.getMessage());
             sendToUser(user.getLogin(), "error", Map.of("message", e.getMessage()));
@@ -331,11 +391,9 @@ public class ChessWebSocketHandler implements WebSocketHandler, GameNotification
             Long gameId = Long.valueOf(messageData.get("gameId").toString());
             String message = (String) messageData.get("message");
 
-            Optional<Game> gameOpt = gameService.findByIdWithMoves(gameId);
+            Optional<Game> gameOpt = gameService.findById(gameId);
             if (gameOpt.isPresent()) {
                 Game game = gameOpt.get();
-                Hibernate.initialize(game.getMoves());
-
                 if (game.isPlayerInGame(user)) {
                     User opponent = game.getOpponent(user);
 
@@ -388,6 +446,31 @@ public class ChessWebSocketHandler implements WebSocketHandler, GameNotification
         }
     }
 
+    /**
+     * Server-initiated ping for round-trip measurement; the client answers with {@code pong}.
+     * A ping still unanswered is not replaced, so a late pong yields a long sample rather than a
+     * short one. The timestamp stays on the server, so clients cannot report a smaller RTT.
+     */
+    @Scheduled(fixedDelayString = "${chess.clock.lag.probe-interval-ms:2000}")
+    public void probeLatency() {
+        for (WebSocketSession session : userSessions.values()) {
+            Object sentAt = session.getAttributes().get(PING_SENT_AT);
+            if (session.isOpen() && sentAt instanceof AtomicLong pending
+                    && pending.compareAndSet(0, System.nanoTime())) {
+                sendMessage(session, "ping", Map.of());
+            }
+        }
+    }
+
+    private void handleLatencyPong(User user, WebSocketSession session) {
+        Object sentAt = session.getAttributes().get(PING_SENT_AT);
+        if (!(sentAt instanceof AtomicLong pending)) return;
+        long sent = pending.getAndSet(0);
+        if (sent != 0) {
+            lagCompensationService.recordRoundTrip(user.getId(), (System.nanoTime() - sent) / 1_000_000);
+        }
+    }
+
     private void sendToUser(String username, String type, Object data) {
         WebSocketSession session = userSessions.get(username);
         if (session != null && session.isOpen()) {
@@ -403,7 +486,10 @@ public class ChessWebSocketHandler implements WebSocketHandler, GameNotification
 
             String jsonMessage = objectMapper.writeValueAsString(message);
             if (session.isOpen()) {
-                session.sendMessage(new TextMessage(jsonMessage));
+                // Sessions are written from message, timer and ping threads; frames must not interleave
+                synchronized (session) {
+                    session.sendMessage(new TextMessage(jsonMessage));
+                }
             } else {
                 logger.warn("Attempted to send message to closed session: {}", session.getId());
             }
@@ -429,20 +515,7 @@ public class ChessWebSocketHandler implements WebSocketHandler, GameNotification
             MoveResult result = gameService.makeMove(gameId, user, move);
 
             if (result == MoveResult.SUCCESS || result == MoveResult.GAME_ENDED) {
-                GameDataDto gameData = gameService.createGameData(gameId);
-                if (gameData != null) {
-                    Optional<Game> gameOpt = gameService.findById(gameId);
-                    if (gameOpt.isPresent()) {
-                        Game game = gameOpt.get();
-
-                        sendToUser(game.getWhitePlayer().getLogin(), "gameUpdate", gameData);
-                        sendToUser(game.getBlackPlayer().getLogin(), "gameUpdate", gameData);
-
-                        if (result == MoveResult.GAME_ENDED) {
-                            notifyGameEnded(game);
-                        }
-                    }
-                }
+                notifyMovePlayed(gameId, result);
             } else {
                 sendToUser(user.getLogin(), result.name(), Map.of("message", "Invalid move"));
             }
@@ -474,6 +547,34 @@ public class ChessWebSocketHandler implements WebSocketHandler, GameNotification
         }
     }
 
+    private void handlePremove(User user, Map<String, Object> messageData) {
+        try {
+            Long gameId = Long.valueOf(String.valueOf(messageData.get("gameId")));
+            String move = (String) messageData.get("move");
+
+            if (gameService.setPremove(gameId, user, move)) {
+                sendToUser(user.getLogin(), "premoveSet", Map.of("gameId", gameId, "move", move));
+            } else {
+                sendToUser(user.getLogin(), "error", Map.of("message", "Cannot premove"));
+            }
+        } catch (Exception e) {
+            logger.error("Error handling premove: ", e);
+            sendToUser(user.getLogin(), "error", Map.of("message", "Failed to premove"));
+        }
+    }
+
+    private void handleCancelPremove(User user, Map<String, Object> messageData) {
+        try {
+            Long gameId = Long.valueOf(String.valueOf(messageData.get("gameId")));
+            if (gameService.cancelPremove(gameId, user)) {
+                sendToUser(user.getLogin(), "premoveCancelled", Map.of("gameId", gameId));
+            }
+        } catch (Exception e) {
+            logger.error("Error handling cancel premove: ", e);
+            sendToUser(user.getLogin(), "error", Map.of("message", "Failed to cancel premove"));
+        }
+    }
+
     private void handleOfferDraw(User user, Map<String, Object> messageData) {
         try {
             Long gameId = Long.valueOf(String.valueOf(messageData.get("gameId")));
@@ -555,6 +656,24 @@ public class ChessWebSocketHandler implements WebSocketHandler, GameNotification
         }
     }
 
+    @Override
+    public void notifyMovePlayed(Long gameId, MoveResult result) {
+        GameDataDto gameData = gameService.createGameData(gameId);
+        if (gameData != null) {
+            Optional<Game> gameOpt = gameService.findById(gameId);
+            if (gameOpt.isPresent()) {
+                Game game = gameOpt.get();
+
+                sendToUser(game.getWhitePlayer().getLogin(), "gameUpdate", gameData);
+                sendToUser(game.getBlackPlayer().getLogin(), "gameUpdate", gameData);
+
+                if (result == MoveResult.GAME_ENDED) {
+                    notifyGameEnded(game);
+                }
+            }
+        }
+    }
+
     @Override
     public void notifyGameEnded(Game game) {
         Map<String, Object> resultData = Map.of(
@@ -568,6 +687,23 @@ public class ChessWebSocketHandler implements WebSocketHandler, GameNotification
         sendToUser(game.getBlackPlayer().getLogin(), "gameEnded", resultData);
     }
 
+    @Override
+    public void notifyChallengeExpired(Challenge challenge) {
+        Map<String, Object> data = Map.of(
+                "challengeId", challenge.getId(),
+                "challenger", challenge.getChallenger().getLogin(),
+                "challenged", challenge.getChallenged().getLogin());
+
+        sendToUser(challenge.getChallenger().getLogin(), "challengeExpired", data);
+        sendToUser(challenge.getChallenged().getLogin(), "challengeExpired", data);
+    }
+
+    @Override
+    public void notifyAnalysisReady(String whiteLogin, String blackLogin, GameAnalysisDto analysis) {
+        sendToUser(whiteLogin, "analysisReady", analysis);
+        sendToUser(blackLogin, "analysisReady", analysis);
+    }
+
     /**
      * Broadcasts online/offline presence notifications to all connected friends.
      */
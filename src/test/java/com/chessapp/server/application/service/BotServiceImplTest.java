@@ -0,0 +1,128 @@
+package com.chessapp.server.application.service;
+
+import com.chessapp.server.domain.enums.GameState;
+import com.chessapp.server.domain.enums.TimeControl;
+import com.chessapp.server.domain.model.Game;
+import com.chessapp.server.domain.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+class BotServiceImplTest {
+
+    @Mock
+    private GameService gameService;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private GameNotificationService notificationService;
+
+    @Mock
+    private ThreadPoolTaskExecutor executor;
+
+    private BotServiceImpl botService;
+
+    private User player;
+    private User bot;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        botService = new BotServiceImpl(gameService, userService, notificationService, executor, 1, 2);
+
+        player = new User("player", "password", "Player");
+        player.setId(1L);
+
+        bot = new User("bot_level_3", "!x", "Computer (level 3)");
+        bot.setId(2L);
+        bot.setBotLevel(3);
+
+        when(gameService.findActiveGameByPlayer(player)).thenReturn(Optional.empty());
+    }
+
+    @Test
+    void testStartGame_InvalidLevelRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> botService.startGame(player, 0, TimeControl.BLITZ, true));
+        assertThrows(IllegalArgumentException.class,
+                () -> botService.startGame(player, BotService.MAX_LEVEL + 1, TimeControl.BLITZ, true));
+        verify(gameService, never()).createGame(any(), any(), any());
+    }
+
+    @Test
+    void testStartGame_PlayerAlreadyInGameRejected() {
+        when(gameService.findActiveGameByPlayer(player)).thenReturn(Optional.of(new Game()));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> botService.startGame(player, 3, TimeControl.BLITZ, true));
+        verify(gameService, never()).createGame(any(), any(), any());
+    }
+
+    @Test
+    void testStartGame_CreatesBotUserOnFirstUse() {
+        when(userService.findByLogin("bot_level_3")).thenReturn(Optional.empty());
+        when(userService.save(any(User.class))).thenReturn(bot);
+        Game game = inProgress(player, bot);
+        when(gameService.createGame(player, bot, TimeControl.BLITZ)).thenReturn(game);
+
+        assertEquals(game, botService.startGame(player, 3, TimeControl.BLITZ, true));
+
+        verify(userService).save(argThat(user -> user.isBot() && user.getBotLevel() == 3
+                && "bot_level_3".equals(user.getLogin())));
+        verify(notificationService).notifyGameFound(player, bot, game);
+        // The player moves first, so the bot does not start thinking yet
+        verify(executor, never()).execute(any(Runnable.class));
+    }
+
+    @Test
+    void testStartGame_BotAsWhiteStartsSearch() {
+        when(userService.findByLogin("bot_level_3")).thenReturn(Optional.of(bot));
+        Game game = inProgress(bot, player);
+        when(gameService.createGame(bot, player, TimeControl.BLITZ)).thenReturn(game);
+
+        botService.startGame(player, 3, TimeControl.BLITZ, false);
+
+        verify(userService, never()).save(any(User.class));
+        verify(executor).execute(any(Runnable.class));
+    }
+
+    @Test
+    void testStartGame_BotLoginTakenByPlayer() {
+        User impostor = new User("bot_level_3", "password", "Not a bot");
+        when(userService.findByLogin("bot_level_3")).thenReturn(Optional.of(impostor));
+
+        assertThrows(IllegalStateException.class,
+                () -> botService.startGame(player, 3, TimeControl.BLITZ, true));
+        verify(gameService, never()).createGame(any(), any(), any());
+    }
+
+    @Test
+    void testOnTurn_IgnoresHumanTurnAndFinishedGames() {
+        botService.onTurn(inProgress(player, bot));
+
+        Game finished = inProgress(bot, player);
+        finished.setState(GameState.ENDED);
+        botService.onTurn(finished);
+
+        verify(executor, never()).execute(any(Runnable.class));
+    }
+
+    private static Game inProgress(User white, User black) {
+        Game game = new Game(white, black, TimeControl.BLITZ);
+        game.setId(10L);
+        game.setState(GameState.IN_PROGRESS);
+        return game;
+    }
+}
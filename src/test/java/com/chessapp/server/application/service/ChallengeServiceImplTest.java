@@ -0,0 +1,145 @@
+package com.chessapp.server.application.service;
+
+import com.chessapp.server.domain.enums.ChallengeStatus;
+import com.chessapp.server.domain.enums.TimeControl;
+import com.chessapp.server.domain.model.Challenge;
+import com.chessapp.server.domain.model.Game;
+import com.chessapp.server.domain.model.User;
+import com.chessapp.server.infrastructure.challenge.ChallengeAuditWriter;
+import com.chessapp.server.infrastructure.challenge.ChallengeRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ChallengeServiceImplTest {
+
+    @Spy
+    private ChallengeRegistry challengeRegistry = new ChallengeRegistry();
+
+    @Mock
+    private ChallengeAuditWriter challengeAuditWriter;
+
+    @Mock
+    private GameService gameService;
+
+    @Mock
+    private ChallengeTimerService challengeTimerService;
+
+    @Mock
+    private GameNotificationService notificationService;
+
+    @InjectMocks
+    private ChallengeServiceImpl challengeService;
+
+    private User challenger;
+    private User challenged;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        challenger = new User("alice", "hash", "Alice");
+        challenger.setId(1L);
+        challenged = new User("bob", "hash", "Bob");
+        challenged.setId(2L);
+        when(gameService.findActiveGameByPlayer(any())).thenReturn(Optional.empty());
+    }
+
+    @Test
+    void testCreateChallenge_RegistersAndSchedulesExpiry() {
+        Challenge challenge = challengeService.createChallenge(challenger, challenged, TimeControl.BLITZ);
+
+        assertNotNull(challenge.getId());
+        assertEquals(1, challengeService.findPendingChallengesForUser(challenged).size());
+        verify(challengeTimerService).scheduleExpiry(challenge);
+    }
+
+    @Test
+    void testAcceptChallenge_CreatesGameAndSettles() {
+        Challenge challenge = challengeService.createChallenge(challenger, challenged, TimeControl.BLITZ);
+        Game game = new Game(challenger, challenged, TimeControl.BLITZ);
+        when(gameService.createGame(challenger, challenged, TimeControl.BLITZ)).thenReturn(game);
+
+        assertSame(game, challengeService.acceptChallenge(challenge.getId(), challenged));
+
+        assertEquals(ChallengeStatus.ACCEPTED, challenge.getStatus());
+        assertTrue(challengeService.findById(challenge.getId()).isEmpty());
+        verify(challengeTimerService).cancelExpiry(challenge.getId());
+    }
+
+    @Test
+    void testAcceptChallenge_SecondAcceptRejected() {
+        Challenge challenge = challengeService.createChallenge(challenger, challenged, TimeControl.BLITZ);
+        when(gameService.createGame(any(), any(), any())).thenReturn(new Game(challenger, challenged, TimeControl.BLITZ));
+        challengeService.acceptChallenge(challenge.getId(), challenged);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> challengeService.acceptChallenge(challenge.getId(), challenged));
+        verify(gameService, times(1)).createGame(any(), any(), any());
+    }
+
+    @Test
+    void testDeclineChallenge_ReturnsSettledChallenge() {
+        Challenge challenge = challengeService.createChallenge(challenger, challenged, TimeControl.BLITZ);
+
+        Challenge declined = challengeService.declineChallenge(challenge.getId(), challenged);
+
+        assertEquals(ChallengeStatus.DECLINED, declined.getStatus());
+        assertTrue(challengeService.findPendingChallengesByUser(challenger).isEmpty());
+    }
+
+    @Test
+    void testExpireChallenge_NotifiesWhenStillPending() {
+        Challenge challenge = challengeService.createChallenge(challenger, challenged, TimeControl.BLITZ);
+
+        challengeService.expireChallenge(challenge);
+
+        assertEquals(ChallengeStatus.EXPIRED, challenge.getStatus());
+        verify(notificationService).notifyChallengeExpired(challenge);
+    }
+
+    @Test
+    void testExpireChallenge_SilentWhenAlreadyHandled() {
+        Challenge challenge = challengeService.createChallenge(challenger, challenged, TimeControl.BLITZ);
+        challengeService.declineChallenge(challenge.getId(), challenged);
+
+        challengeService.expireChallenge(challenge);
+
+        assertEquals(ChallengeStatus.DECLINED, challenge.getStatus());
+        verifyNoInteractions(notificationService);
+    }
+
+    @Test
+    void testCleanupExpiredChallenges_ExpiresOnlyOverdue() {
+        Challenge overdue = challengeService.createChallenge(challenger, challenged, TimeControl.BLITZ);
+        overdue.setExpiresAt(LocalDateTime.now().minusSeconds(1));
+        Challenge fresh = challengeService.createChallenge(challenged, challenger, TimeControl.RAPID);
+
+        challengeService.cleanupExpiredChallenges();
+
+        assertEquals(ChallengeStatus.EXPIRED, overdue.getStatus());
+        assertEquals(ChallengeStatus.PENDING, fresh.getStatus());
+        verify(notificationService).notifyChallengeExpired(overdue);
+    }
+
+    @Test
+    void testAudit_WrittenOnlyWhenEnabled() {
+        Challenge first = challengeService.createChallenge(challenger, challenged, TimeControl.BLITZ);
+        challengeService.declineChallenge(first.getId(), challenged);
+        verify(challengeAuditWriter, never()).record(any());
+
+        when(challengeAuditWriter.isEnabled()).thenReturn(true);
+        Challenge second = challengeService.createChallenge(challenger, challenged, TimeControl.BLITZ);
+        challengeService.declineChallenge(second.getId(), challenged);
+        verify(challengeAuditWriter).record(argThat(c -> c.getId() == null && c.getStatus() == ChallengeStatus.DECLINED));
+    }
+}
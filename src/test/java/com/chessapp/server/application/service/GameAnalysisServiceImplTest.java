@@ -0,0 +1,114 @@
+package com.chessapp.server.application.service;
+
+import com.chessapp.server.application.dto.GameAnalysisDto;
+import com.chessapp.server.application.dto.MoveEvaluationDto;
+import com.chessapp.server.domain.chess.MoveCodec;
+import com.chessapp.server.domain.chess.engine.Engine;
+import com.chessapp.server.domain.model.GameAnalysis;
+import com.chessapp.server.infrastructure.persistence.GameAnalysisRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class GameAnalysisServiceImplTest {
+
+    @Mock
+    private GameAnalysisRepository analysisRepository;
+
+    @Mock
+    private GameNotificationService notificationService;
+
+    @Mock
+    private ThreadPoolTaskExecutor executor;
+
+    @Mock
+    private ThreadPoolTaskExecutor botExecutor;
+
+    private GameAnalysisServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        // Load checks off: the test machine's load must not stall the test
+        service = new GameAnalysisServiceImpl(analysisRepository, notificationService, executor, botExecutor,
+                true, 100, 16, 2_000, 1, 1_000, 0);
+    }
+
+    @Test
+    void testAnalyze_SharedPositionsSearchedOnce() {
+        // Start, 1.e4 and 1...e5 are common to both games: 5 distinct positions, not 8
+        int searched = service.analyze(List.of(
+                job(1L, "e2e4", "e7e5", "g1f3"),
+                job(2L, "e2e4", "e7e5", "f1c4")));
+        assertEquals(5, searched);
+
+        // Later batches reuse cached positions: only the one after 1...c5 is new
+        assertEquals(1, service.analyze(List.of(job(3L, "e2e4", "c7c5"))));
+
+        verify(analysisRepository, times(3)).save(any(GameAnalysis.class));
+        verify(notificationService).notifyAnalysisReady(eq("white1"), eq("black1"), any(GameAnalysisDto.class));
+    }
+
+    @Test
+    void testAnalyze_FoolsMate() {
+        service.analyze(List.of(job(7L, "f2f3", "e7e5", "g2g4", "d8h4")));
+
+        ArgumentCaptor<GameAnalysis> saved = ArgumentCaptor.forClass(GameAnalysis.class);
+        verify(analysisRepository).save(saved.capture());
+        GameAnalysis analysis = saved.getValue();
+
+        assertEquals(5, analysis.positionCount());
+        assertEquals(-Engine.MATE, analysis.scoreAt(4));
+        assertEquals(0, analysis.bestMoveAt(4));
+        // White's 2.g4 allowed mate in one and the engine found it
+        assertEquals(MoveCodec.encode("d8h4"), analysis.bestMoveAt(3));
+        assertTrue(analysis.getWhiteAccuracy() < analysis.getBlackAccuracy());
+    }
+
+    @Test
+    void testFindAnalysis_ConvertsScores() {
+        // White allows mate in one, Black mates (scores from White's point of view)
+        int[] scores = {20, -Engine.MATE + 1, -Engine.MATE};
+        int[] bestMoves = {MoveCodec.encode("e2e4"), MoveCodec.encode("d8h4"), 0};
+        GameAnalysis analysis = new GameAnalysis(9L, scores, bestMoves);
+        analysis.setWhiteAccuracy(12.34);
+        when(analysisRepository.findById(9L)).thenReturn(Optional.of(analysis));
+
+        GameAnalysisDto dto = service.findAnalysis(9L).orElseThrow();
+
+        assertEquals(9L, dto.gameId());
+        assertEquals(12.3, dto.whiteAccuracy());
+        assertNull(dto.blackAccuracy());
+        assertEquals(2, dto.moves().size());
+
+        MoveEvaluationDto first = dto.moves().get(0);
+        assertEquals(1, first.ply());
+        assertNull(first.eval());
+        assertEquals(-1, first.mate());
+        assertEquals("e2e4", first.bestMove());
+        assertTrue(first.accuracy() < 10);
+
+        MoveEvaluationDto second = dto.moves().get(1);
+        assertEquals(0, second.mate());
+        assertEquals("d8h4", second.bestMove());
+        assertEquals(100.0, second.accuracy());
+    }
+
+    private static GameAnalysisServiceImpl.AnalysisJob job(Long gameId, String... moves) {
+        return new GameAnalysisServiceImpl.AnalysisJob(gameId, MoveCodec.encodeAll(List.of(moves)),
+                "white" + gameId, "black" + gameId);
+    }
+}
@@ -0,0 +1,149 @@
+package com.chessapp.server.application.service;
+
+import com.chessapp.server.application.dto.GameHistoryDto;
+import com.chessapp.server.application.dto.GameHistoryPageDto;
+import com.chessapp.server.domain.enums.GameResult;
+import com.chessapp.server.domain.enums.TimeControl;
+import com.chessapp.server.domain.model.Game;
+import com.chessapp.server.domain.model.PlayerGame;
+import com.chessapp.server.domain.model.User;
+import com.chessapp.server.infrastructure.archive.ArchivedGame;
+import com.chessapp.server.infrastructure.persistence.GameHistoryRow;
+import com.chessapp.server.infrastructure.persistence.GameRepository;
+import com.chessapp.server.infrastructure.persistence.PlayerGameRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GameHistoryServiceImplTest {
+
+    @Mock
+    private PlayerGameRepository playerGameRepository;
+
+    @Mock
+    private GameRepository gameRepository;
+
+    @Mock
+    private GameArchiveService gameArchiveService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private GameHistoryServiceImpl gameHistoryService;
+
+    private User black;
+    private final LocalDateTime t0 = LocalDateTime.of(2026, 4, 7, 15, 30);
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        black = new User();
+        black.setId(2L);
+        black.setLogin("black");
+    }
+
+    @Test
+    void testGetHistory_MapsFromPlayersPerspective() {
+        when(playerGameRepository.findHistory(eq(2L), any())).thenReturn(List.of(row(7L, t0)));
+
+        GameHistoryPageDto page = gameHistoryService.getHistory(black, null, 20);
+
+        assertNull(page.nextCursor());
+        GameHistoryDto dto = page.games().get(0);
+        assertEquals("white", dto.opponentLogin());
+        assertEquals(1500, dto.opponentRating());
+        assertEquals("BLACK", dto.myColor());
+        assertEquals("LOSS", dto.result());
+        assertEquals(-9, dto.ratingChange());
+        assertEquals(31, dto.movesCount());
+    }
+
+    @Test
+    void testGetHistory_CursorResumesAfterLastRow() {
+        when(playerGameRepository.findHistory(eq(2L), any()))
+                .thenReturn(List.of(row(9L, t0.plusMinutes(2)), row(8L, t0.plusMinutes(1)), row(7L, t0)));
+        when(playerGameRepository.findHistoryBefore(eq(2L), eq(t0.plusMinutes(1)), eq(8L), any()))
+                .thenReturn(List.of(row(7L, t0)));
+
+        GameHistoryPageDto first = gameHistoryService.getHistory(black, null, 2);
+        assertEquals(2, first.games().size());
+        assertNotNull(first.nextCursor());
+
+        GameHistoryPageDto second = gameHistoryService.getHistory(black, first.nextCursor(), 2);
+        assertEquals(1, second.games().size());
+        assertEquals(7L, second.games().get(0).gameId());
+        assertNull(second.nextCursor());
+    }
+
+    @Test
+    void testGetHistory_FillsArchivedRowsFromArchive() {
+        GameHistoryRow archivedRow = new GameHistoryRow(6L, t0.minusDays(40), null, null, null, null, null,
+                null, null, null, null, null, null, null);
+        when(playerGameRepository.findHistory(eq(2L), any())).thenReturn(List.of(row(7L, t0), archivedRow));
+        ArchivedGame archived = new ArchivedGame(6L, 1L, "white", "White", 1480, -7, 2L, "black", "Black", 1440, 7,
+                GameResult.BLACK_WIN, TimeControl.BLITZ, null, t0.minusDays(40), "8/8/8/8/8/8/8/8 w - - 0 1",
+                new byte[0], 0, 0);
+        when(gameArchiveService.findArchived(List.of(6L))).thenReturn(Map.of(6L, archived));
+
+        GameHistoryPageDto page = gameHistoryService.getHistory(black, null, 20);
+
+        assertEquals(2, page.games().size());
+        GameHistoryDto dto = page.games().get(1);
+        assertEquals(6L, dto.gameId());
+        assertEquals("WIN", dto.result());
+        assertEquals(7, dto.ratingChange());
+        assertEquals(1480, dto.opponentRating());
+    }
+
+    @Test
+    void testGetHistory_InvalidCursor() {
+        assertThrows(IllegalArgumentException.class, () -> gameHistoryService.getHistory(black, "not-a-cursor", 20));
+    }
+
+    @Test
+    void testBackfill_SkipsGameIndexedConcurrently() {
+        User white = new User();
+        white.setId(1L);
+        Game raced = endedGame(3L, white);
+        Game missing = endedGame(4L, white);
+        when(gameRepository.findEndedGamesMissingFromHistory(eq(0L), any())).thenReturn(List.of(missing, raced));
+        // Game 3 ended during startup and was indexed after the query ran
+        when(playerGameRepository.save(argThat((PlayerGame pg) -> pg != null && pg.getGameId() == 3L)))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        gameHistoryService.backfill();
+
+        // Once in the failed batch transaction, once on its own
+        verify(playerGameRepository, times(2))
+                .save(argThat((PlayerGame pg) -> pg != null && pg.getGameId() == 4L && pg.getPlayerId() == 2L));
+    }
+
+    private Game endedGame(Long gameId, User white) {
+        Game game = new Game(white, black, TimeControl.BLITZ);
+        game.setId(gameId);
+        game.setEndedAt(t0);
+        return game;
+    }
+
+    private GameHistoryRow row(Long gameId, LocalDateTime endedAt) {
+        return new GameHistoryRow(gameId, endedAt, 1L, "white", "White", 1500, 9,
+                "black", "Black", 1450, -9, GameResult.WHITE_WIN, TimeControl.BLITZ, 31);
+    }
+}
@@ -0,0 +1,76 @@
+package com.chessapp.server.application.service;
+
+import com.chessapp.server.infrastructure.persistence.GameRepository;
+import com.chessapp.server.infrastructure.recovery.HeartbeatFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+class GameRecoveryServiceImplTest {
+
+    @Mock
+    private GameRepository gameRepository;
+
+    @Mock
+    private GameService gameService;
+
+    @Mock
+    private HeartbeatFile heartbeatFile;
+
+    private GameRecoveryServiceImpl recoveryService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        recoveryService = new GameRecoveryServiceImpl(gameRepository, gameService, heartbeatFile, 30, 2, 2);
+    }
+
+    @Test
+    void testRecoverLiveGames_ResumesInBatchesWithDowntime() {
+        when(heartbeatFile.previousBeat()).thenReturn(Optional.of(Instant.now().minusSeconds(20)));
+        when(gameRepository.findInProgressGameIds()).thenReturn(List.of(1L, 2L, 3L));
+
+        recoveryService.recoverLiveGames();
+
+        verify(gameService).resumeGames(eq(List.of(1L, 2L)), argThat(d -> d.getSeconds() >= 19 && d.getSeconds() <= 21));
+        verify(gameService).resumeGames(eq(List.of(3L)), any(Duration.class));
+    }
+
+    @Test
+    void testRecoverLiveGames_EndsUnrecoverableInOneUpdate() {
+        when(heartbeatFile.previousBeat()).thenReturn(Optional.of(Instant.now().minusSeconds(600)));
+        when(gameRepository.findInProgressGameIds()).thenReturn(List.of());
+
+        recoveryService.recoverLiveGames();
+
+        // Idle window is 30 minutes plus the 10 minutes the server was down
+        verify(gameRepository, times(1)).endUnrecoverableGames(any(LocalDateTime.class),
+                argThat(t -> t.isBefore(LocalDateTime.now().minusMinutes(39))
+                        && t.isAfter(LocalDateTime.now().minusMinutes(41))));
+        verify(gameRepository, never()).saveAll(any());
+        verifyNoInteractions(gameService);
+    }
+
+    @Test
+    void testRecoverLiveGames_UnknownDowntime() {
+        when(heartbeatFile.previousBeat()).thenReturn(Optional.empty());
+        when(gameRepository.findInProgressGameIds()).thenReturn(List.of(7L));
+
+        recoveryService.recoverLiveGames();
+
+        verify(gameService).resumeGames(eq(List.of(7L)), isNull());
+    }
+}
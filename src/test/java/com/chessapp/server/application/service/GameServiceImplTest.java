@@ -1,5 +1,7 @@
 package com.chessapp.server.application.service;
 
+import com.chessapp.server.application.dto.GameDataDto;
+import com.chessapp.server.domain.chess.MoveCodec;
 import com.chessapp.server.domain.enums.GameResult;
 import com.chessapp.server.domain.enums.GameState;
 import com.chessapp.server.domain.enums.MoveResult;
@@ -13,11 +15,20 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.longThat;
 import static org.mockito.Mockito.*;
 
 class GameServiceImplTest {
@@ -37,6 +48,24 @@ class GameServiceImplTest {
     @Mock
     private GameNotificationService notificationService;
 
+    @Mock
+    private GameHistoryService gameHistoryService;
+
+    @Mock
+    private PlayerStatsService playerStatsService;
+
+    @Mock
+    private LagCompensationService lagCompensationService;
+
+    @Mock
+    private OpeningExplorerService openingExplorerService;
+
+    @Mock
+    private GameAnalysisService gameAnalysisService;
+
+    @Mock
+    private BotService botService;
+
     @InjectMocks
     private GameServiceImpl gameService;
 
@@ -60,6 +89,8 @@ class GameServiceImplTest {
         activeGame.setId(10L);
         activeGame.setState(GameState.IN_PROGRESS);
         activeGame.setMoves(new ArrayList<>());
+
+        when(ratingService.calculateRatingChanges(anyInt(), anyInt(), any())).thenReturn(new int[]{0, 0});
     }
 
     @Test
@@ -99,6 +130,133 @@ class GameServiceImplTest {
         assertEquals(MoveResult.INVALID_MOVE, result);
     }
 
+    @Test
+    void testMakeMove_IllegalMoveRejected() {
+        when(gameRepository.findById(10L)).thenReturn(Optional.of(activeGame));
+
+        MoveResult result = gameService.makeMove(10L, whitePlayer, "e2e5");
+
+        assertEquals(MoveResult.INVALID_MOVE, result);
+        assertEquals(0, activeGame.getMoveCount());
+    }
+
+    @Test
+    void testMakeMove_AppendsOnlyTheNewPly() {
+        activeGame.setMoves(new ArrayList<>(List.of("e2e4", "e7e5")));
+        when(gameRepository.findById(10L)).thenReturn(Optional.of(activeGame));
+
+        assertEquals(MoveResult.SUCCESS, gameService.makeMove(10L, whitePlayer, "g1f3"));
+
+        verify(gameRepository).appendMoves(10L, MoveCodec.encodeAll(List.of("g1f3")));
+        assertEquals(List.of("e2e4", "e7e5", "g1f3"), activeGame.getMoves());
+    }
+
+    @Test
+    void testCreateGameData_IncludesLegalMoves() {
+        activeGame.setMoves(new ArrayList<>(List.of("e2e4")));
+        activeGame.setIsWhiteTurn(false);
+        when(gameRepository.findById(10L)).thenReturn(Optional.of(activeGame));
+        when(ratingService.predictRatingChange(anyInt(), anyInt())).thenReturn(new int[]{8, 0, -8});
+
+        GameDataDto data = gameService.createGameData(10L);
+
+        assertEquals(List.of("e5", "e6"), data.legalMoves().get("e7"));
+        assertEquals(List.of("a6", "c6"), data.legalMoves().get("b8"));
+        assertEquals(10, data.legalMoves().size());
+    }
+
+    @Test
+    void testPremove_PlayedRightAfterOpponentMove() {
+        when(gameRepository.findById(10L)).thenReturn(Optional.of(activeGame));
+
+        assertTrue(gameService.setPremove(10L, blackPlayer, "e7e5"));
+        MoveResult result = gameService.makeMove(10L, whitePlayer, "e2e4");
+
+        assertEquals(MoveResult.SUCCESS, result);
+        assertEquals(List.of("e2e4", "e7e5"), activeGame.getMoves());
+        assertTrue(activeGame.getIsWhiteTurn());
+    }
+
+    @Test
+    void testPremove_IllegalAfterOpponentMoveIsDropped() {
+        when(gameRepository.findById(10L)).thenReturn(Optional.of(activeGame));
+
+        assertTrue(gameService.setPremove(10L, blackPlayer, "d7d5"));
+        gameService.makeMove(10L, whitePlayer, "g1f3");
+        gameService.makeMove(10L, blackPlayer, "d7d6");
+
+        // The dropped premove must not fire on black's next turn either
+        gameService.makeMove(10L, whitePlayer, "f3g1");
+        assertEquals(List.of("g1f3", "d7d6", "f3g1"), activeGame.getMoves());
+    }
+
+    @Test
+    void testSetPremove_RejectedOnOwnTurnAndCancellable() {
+        when(gameRepository.findById(10L)).thenReturn(Optional.of(activeGame));
+
+        assertFalse(gameService.setPremove(10L, whitePlayer, "e2e4"));
+        assertTrue(gameService.setPremove(10L, blackPlayer, "e7e5"));
+        assertFalse(gameService.cancelPremove(10L, whitePlayer));
+        assertTrue(gameService.cancelPremove(10L, blackPlayer));
+
+        gameService.makeMove(10L, whitePlayer, "e2e4");
+        assertEquals(List.of("e2e4"), activeGame.getMoves());
+    }
+
+    @Test
+    void testMakeMove_LagCompensationNotCharged() {
+        activeGame.setMoves(new ArrayList<>(List.of("e2e4", "e7e5")));
+        activeGame.setWhiteTimeLeft(180_000);
+        activeGame.setLastMoveAt(LocalDateTime.now().minusSeconds(2));
+        when(gameRepository.findById(10L)).thenReturn(Optional.of(activeGame));
+        when(lagCompensationService.compensate(eq(10L), eq(1L), anyLong())).thenReturn(300L);
+
+        assertEquals(MoveResult.SUCCESS, gameService.makeMove(10L, whitePlayer, "g1f3"));
+
+        int charged = 180_000 - activeGame.getWhiteTimeLeft();
+        assertTrue(charged >= 1_700 && charged < 1_900, "charged " + charged);
+    }
+
+    @Test
+    void testMakeMove_HandsTurnToBot() {
+        when(gameRepository.findById(10L)).thenReturn(Optional.of(activeGame));
+
+        assertEquals(MoveResult.SUCCESS, gameService.makeMove(10L, whitePlayer, "e2e4"));
+
+        // The bot service decides whether the player now to move is a bot
+        verify(botService).onTurn(activeGame);
+    }
+
+    @Test
+    void testMakeMove_ThreefoldRepetitionDraws() {
+        when(gameRepository.findById(10L)).thenReturn(Optional.of(activeGame));
+        String[] shuffle = {"g1f3", "g8f6", "f3g1", "f6g8"};
+
+        for (int ply = 0; ply < 7; ply++) {
+            User mover = ply % 2 == 0 ? whitePlayer : blackPlayer;
+            assertEquals(MoveResult.SUCCESS, gameService.makeMove(10L, mover, shuffle[ply % 4]));
+        }
+        // Eighth ply returns to the starting position for the third time
+        MoveResult result = gameService.makeMove(10L, blackPlayer, "f6g8");
+
+        assertEquals(MoveResult.GAME_ENDED, result);
+        assertEquals(GameResult.DRAW, activeGame.getResult());
+    }
+
+    @Test
+    void testMakeMove_CheckmateEndsGame() {
+        activeGame.setMoves(new ArrayList<>(List.of("f2f3", "e7e5", "g2g4")));
+        activeGame.setIsWhiteTurn(false);
+        when(gameRepository.findById(10L)).thenReturn(Optional.of(activeGame));
+
+        MoveResult result = gameService.makeMove(10L, blackPlayer, "d8h4");
+
+        assertEquals(MoveResult.GAME_ENDED, result);
+        assertEquals(GameResult.BLACK_WIN, activeGame.getResult());
+        verify(gameHistoryService).recordFinishedGame(activeGame);
+        verify(botService, never()).onTurn(any());
+    }
+
     @Test
     void testResignGame() {
         when(gameRepository.findById(10L)).thenReturn(Optional.of(activeGame));
@@ -109,4 +267,68 @@ class GameServiceImplTest {
         assertEquals(GameResult.BLACK_WIN_RESIGNATION, activeGame.getResult());
         verify(gameRepository, times(1)).save(activeGame);
     }
+
+    @Test
+    void testResignGame_RecordsHistory() {
+        when(gameRepository.findById(10L)).thenReturn(Optional.of(activeGame));
+
+        gameService.resignGame(10L, whitePlayer);
+
+        verify(gameHistoryService, times(1)).recordFinishedGame(activeGame);
+        verify(playerStatsService, times(1))
+                .recordResult(1L, 2L, TimeControl.BLITZ, GameResult.BLACK_WIN_RESIGNATION);
+        verify(gameAnalysisService, times(1)).enqueue(activeGame);
+    }
+
+    @Test
+    void testResignGame_RatingsAppliedAsIncrements() {
+        when(gameRepository.findById(10L)).thenReturn(Optional.of(activeGame));
+        when(ratingService.calculateRatingChanges(1200, 1200, GameResult.BLACK_WIN_RESIGNATION))
+                .thenReturn(new int[]{-16, 16});
+
+        gameService.resignGame(10L, whitePlayer);
+
+        verify(userService).applyRatingChange(whitePlayer, TimeControl.BLITZ, -16);
+        verify(userService).applyRatingChange(blackPlayer, TimeControl.BLITZ, 16);
+        verify(userService, never()).save(any(User.class));
+        assertEquals(-16, activeGame.getWhiteRatingChange());
+        assertEquals(16, activeGame.getBlackRatingChange());
+    }
+
+    @Test
+    void testResignGame_BotGameIsUnrated() {
+        blackPlayer.setBotLevel(3);
+        when(gameRepository.findById(10L)).thenReturn(Optional.of(activeGame));
+
+        gameService.resignGame(10L, whitePlayer);
+
+        verify(ratingService, never()).calculateRatingChanges(anyInt(), anyInt(), any());
+        verify(userService, never()).applyRatingChange(any(), any(), anyInt());
+        verify(playerStatsService, never()).recordResult(any(), any(), any(), any());
+        assertEquals(GameResult.BLACK_WIN_RESIGNATION, activeGame.getResult());
+    }
+
+    @Test
+    void testResumeGames_CreditsDowntimeAndReschedules() {
+        LocalDateTime lastMove = LocalDateTime.now().minusSeconds(70);
+        activeGame.setMoves(new ArrayList<>(List.of("e2e4", "e7e5")));
+        activeGame.setLastMoveAt(lastMove);
+        when(gameRepository.findAllById(List.of(10L))).thenReturn(List.of(activeGame));
+
+        gameService.resumeGames(List.of(10L), Duration.ofSeconds(60));
+
+        assertEquals(lastMove.plusSeconds(60), activeGame.getLastMoveAt());
+        // Ten seconds of the current move were spent before the restart
+        verify(gameTimerService).scheduleTimeout(eq(activeGame),
+                longThat(ms -> ms <= activeGame.getWhiteTimeLeft() - 9_000 && ms > activeGame.getWhiteTimeLeft() - 12_000));
+    }
+
+    @Test
+    void testResumeGames_NoMovesYetLeavesClocksStopped() {
+        when(gameRepository.findAllById(List.of(10L))).thenReturn(List.of(activeGame));
+
+        gameService.resumeGames(List.of(10L), null);
+
+        verify(gameTimerService, never()).scheduleTimeout(any(), anyLong());
+    }
 }
@@ -0,0 +1,52 @@
+package com.chessapp.server.application.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LagCompensationServiceImplTest {
+
+    private final LagCompensationServiceImpl service = new LagCompensationServiceImpl(true, 500, 1_000);
+
+    @Test
+    void testRecordRoundTrip_SmoothsSamples() {
+        service.recordRoundTrip(1L, 200);
+        assertEquals(200, service.estimatedRoundTrip(1L));
+
+        service.recordRoundTrip(1L, 1_000);
+        assertEquals(300, service.estimatedRoundTrip(1L));
+        assertEquals(0, service.estimatedRoundTrip(2L));
+    }
+
+    @Test
+    void testCompensate_CappedPerMoveAndByElapsed() {
+        service.recordRoundTrip(1L, 2_000);
+
+        assertEquals(500, service.compensate(10L, 1L, 3_000));
+        assertEquals(100, service.compensate(10L, 1L, 100));
+    }
+
+    @Test
+    void testCompensate_QuotaPerGame() {
+        service.recordRoundTrip(1L, 400);
+
+        assertEquals(400, service.compensate(10L, 1L, 5_000));
+        assertEquals(400, service.compensate(10L, 1L, 5_000));
+        assertEquals(200, service.compensate(10L, 1L, 5_000));
+        assertEquals(0, service.compensate(10L, 1L, 5_000));
+        // A new game starts with a fresh quota
+        assertEquals(400, service.compensate(11L, 1L, 5_000));
+
+        service.forgetGame(10L);
+        assertEquals(400, service.compensate(10L, 1L, 5_000));
+    }
+
+    @Test
+    void testCompensate_DisabledOrUnknownPlayer() {
+        LagCompensationServiceImpl disabled = new LagCompensationServiceImpl(false, 500, 1_000);
+        disabled.recordRoundTrip(1L, 200);
+
+        assertEquals(0, disabled.compensate(10L, 1L, 1_000));
+        assertEquals(0, service.compensate(10L, 3L, 1_000));
+    }
+}
@@ -0,0 +1,116 @@
+package com.chessapp.server.application.service;
+
+import com.chessapp.server.application.dto.OpeningExplorerDto;
+import com.chessapp.server.application.dto.OpeningMoveDto;
+import com.chessapp.server.domain.chess.MoveCodec;
+import com.chessapp.server.domain.chess.Position;
+import com.chessapp.server.domain.enums.GameResult;
+import com.chessapp.server.domain.model.Game;
+import com.chessapp.server.infrastructure.archive.GameArchive;
+import com.chessapp.server.infrastructure.explorer.OpeningIndex;
+import com.chessapp.server.infrastructure.persistence.EndedGameMoves;
+import com.chessapp.server.infrastructure.persistence.GameRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+class OpeningExplorerServiceImplTest {
+
+    private static final String AFTER_E4 = "rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq - 0 1";
+
+    @Mock
+    private GameRepository gameRepository;
+
+    private OpeningIndex openingIndex;
+    private OpeningExplorerServiceImpl service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        Path dir = Files.createTempDirectory("explorer");
+        openingIndex = new OpeningIndex(dir.resolve("openings.idx").toString());
+        service = new OpeningExplorerServiceImpl(gameRepository,
+                new GameArchive(dir.resolve("archive").toString()),
+                openingIndex, Runnable::run, 4, 256, 2, 100, false);
+    }
+
+    @Test
+    void testRebuild_AggregatesByPositionAndMove() {
+        when(gameRepository.findEndedGameMoves(eq(0L), any())).thenReturn(List.of(
+                line(1L, GameResult.WHITE_WIN, "e2e4", "e7e5", "g1f3"),
+                line(2L, GameResult.DRAW, "e2e4", "c7c5"),
+                line(3L, GameResult.BLACK_WIN_TIMEOUT, "d2d4", "d7d5")));
+
+        assertEquals(3, service.rebuild());
+
+        OpeningExplorerDto start = service.explore(Position.START_FEN);
+        assertEquals(2, start.moves().size());
+        assertEquals("e2e4", start.moves().get(0).move());
+        assertEquals(1, start.moves().get(0).whiteWins());
+        assertEquals(1, start.moves().get(0).draws());
+        assertEquals(1, start.blackWins());
+
+        OpeningExplorerDto afterE4 = service.explore(AFTER_E4);
+        assertEquals(Set.of("e7e5", "c7c5"), afterE4.moves().stream().map(OpeningMoveDto::move).collect(Collectors.toSet()));
+        assertEquals(1, afterE4.whiteWins());
+        assertEquals(1, afterE4.draws());
+    }
+
+    @Test
+    void testRecordGame_UpdatesIndexAndCache() {
+        when(gameRepository.findEndedGameMoves(any(), any())).thenReturn(List.of());
+        service.rebuild();
+        assertTrue(service.explore(AFTER_E4).moves().isEmpty());
+
+        Game game = new Game();
+        game.setId(7L);
+        game.setMoves(List.of("e2e4", "e7e5", "g1f3", "b8c6", "f1b5", "a7a6"));
+        game.setResult(GameResult.BLACK_WIN_RESIGNATION);
+        service.recordGame(game);
+
+        OpeningExplorerDto afterE4 = service.explore(AFTER_E4);
+        assertEquals(1, afterE4.moves().size());
+        assertEquals(1, afterE4.blackWins());
+        // Only max-plies (4) plies are indexed
+        Position deep = Position.startPosition();
+        for (String uci : List.of("e2e4", "e7e5", "g1f3", "b8c6")) deep.makeMove(MoveCodec.encode(uci));
+        assertTrue(service.explore(deep.toFen()).moves().isEmpty());
+    }
+
+    @Test
+    void testRebuild_FailedFirstBuildLeavesIndexMissing() {
+        Game game = new Game();
+        game.setId(8L);
+        game.setMoves(List.of("d2d4", "d7d5"));
+        game.setResult(GameResult.DRAW);
+        // The game ends while the scan is running, then the scan fails
+        when(gameRepository.findEndedGameMoves(any(), any())).thenAnswer(invocation -> {
+            service.recordGame(game);
+            throw new IllegalStateException("database unavailable");
+        });
+
+        assertThrows(IllegalStateException.class, service::rebuild);
+        assertTrue(openingIndex.isEmpty());
+
+        service.recordGame(game);
+        assertTrue(openingIndex.isEmpty());
+    }
+
+    private static EndedGameMoves line(Long id, GameResult result, String... moves) {
+        return new EndedGameMoves(id, MoveCodec.encodeAll(List.of(moves)), result);
+    }
+}
@@ -0,0 +1,138 @@
+package com.chessapp.server.application.service;
+
+import com.chessapp.server.domain.chess.MoveCodec;
+import com.chessapp.server.domain.enums.GameResult;
+import com.chessapp.server.domain.enums.TimeControl;
+import com.chessapp.server.domain.model.Game;
+import com.chessapp.server.domain.model.User;
+import com.chessapp.server.infrastructure.archive.ArchivedGame;
+import com.chessapp.server.infrastructure.persistence.PgnGameRow;
+import com.chessapp.server.infrastructure.persistence.PlayerGameRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+class PgnExportServiceImplTest {
+
+    private static final LocalDateTime ENDED = LocalDateTime.of(2024, 5, 1, 12, 0);
+
+    @Mock
+    private PlayerGameRepository playerGameRepository;
+
+    @Mock
+    private GameArchiveService gameArchiveService;
+
+    private PgnExportServiceImpl service;
+
+    private User player;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        service = new PgnExportServiceImpl(playerGameRepository, gameArchiveService, 2, 2, 1);
+
+        player = new User("alice", "password", "Alice");
+        player.setId(1L);
+    }
+
+    @Test
+    void testWriteGame_SanAndTags() throws IOException {
+        User bob = new User("bob", "password", "Bob");
+        bob.setId(2L);
+        Game game = new Game(player, bob, TimeControl.BLITZ);
+        game.setId(42L);
+        game.setStartedAt(ENDED.minusMinutes(5));
+        game.setResult(GameResult.BLACK_WIN);
+        game.setWhiteRating(1500);
+        game.setMoves(List.of("f2f3", "e7e5", "g2g4", "d8h4"));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.writeGame(game, out);
+
+        assertEquals("[Event \"Online Game\"]\n"
+                + "[Site \"?\"]\n"
+                + "[Date \"2024.05.01\"]\n"
+                + "[Round \"-\"]\n"
+                + "[White \"Alice\"]\n"
+                + "[Black \"Bob\"]\n"
+                + "[Result \"0-1\"]\n"
+                + "[WhiteElo \"1500\"]\n"
+                + "[BlackElo \"1200\"]\n"
+                + "[TimeControl \"180\"]\n"
+                + "[Termination \"normal\"]\n"
+                + "[GameId \"42\"]\n"
+                + "\n"
+                + "1. f3 e5 2. g4 Qh4# 0-1\n"
+                + "\n", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testWriteHistory_PagesAndFillsArchivedGames() throws IOException {
+        PgnGameRow newest = row(30L, ENDED, "e2e4", "e7e5");
+        // Archived: only the id and end time come back from the history table
+        PgnGameRow archivedRow = new PgnGameRow(20L, null, ENDED.minusDays(40),
+                null, null, null, null, null, null, null);
+        PgnGameRow oldest = row(10L, ENDED.minusDays(50), "d2d4");
+        when(playerGameRepository.findPgnRows(eq(1L), any())).thenReturn(List.of(newest, archivedRow));
+        when(playerGameRepository.findPgnRowsBefore(eq(1L), eq(ENDED.minusDays(40)), eq(20L), any()))
+                .thenReturn(List.of(oldest));
+        when(gameArchiveService.findArchived(List.of(20L))).thenReturn(Map.of(20L, archived(20L)));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(3, service.writeHistory(player, out));
+
+        String pgn = out.toString(StandardCharsets.UTF_8);
+        int game30 = pgn.indexOf("[GameId \"30\"]");
+        int game20 = pgn.indexOf("[GameId \"20\"]");
+        int game10 = pgn.indexOf("[GameId \"10\"]");
+        assertTrue(game30 >= 0 && game30 < game20 && game20 < game10);
+        assertTrue(pgn.contains("1. e4 e5 1-0"));
+        assertTrue(pgn.contains("[White \"Archived White\"]"));
+        assertTrue(pgn.contains("1. Nf3 Nf6 1/2-1/2"));
+        assertTrue(pgn.contains("1. d4 1-0"));
+    }
+
+    @Test
+    void testTryAcquireExport_LimitsPerUserAndInTotal() {
+        User bob = new User("bob", "password", "Bob");
+        bob.setId(2L);
+        User carol = new User("carol", "password", "Carol");
+        carol.setId(3L);
+
+        assertTrue(service.tryAcquireExport(player));
+        assertFalse(service.tryAcquireExport(player));
+        assertTrue(service.tryAcquireExport(bob));
+        assertFalse(service.tryAcquireExport(carol));
+
+        service.releaseExport(player);
+        assertTrue(service.tryAcquireExport(carol));
+        assertFalse(service.tryAcquireExport(player));
+    }
+
+    private static PgnGameRow row(Long gameId, LocalDateTime endedAt, String... moves) {
+        return new PgnGameRow(gameId, endedAt.minusMinutes(5), endedAt, "Alice", 1500, "Bob", 1480,
+                GameResult.WHITE_WIN, TimeControl.BLITZ, MoveCodec.encodeAll(List.of(moves)));
+    }
+
+    private static ArchivedGame archived(Long gameId) {
+        LocalDateTime ended = ENDED.minusDays(40);
+        return new ArchivedGame(gameId, 1L, "alice", "Archived White", 1450, 5,
+                3L, "carol", "Carol", 1460, -5, GameResult.DRAW, TimeControl.RAPID,
+                ended.minusMinutes(20), ended, "fen", MoveCodec.encodeAll(List.of("g1f3", "g8f6")), 1000, 1000);
+    }
+}
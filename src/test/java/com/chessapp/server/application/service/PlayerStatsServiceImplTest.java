@@ -0,0 +1,96 @@
+package com.chessapp.server.application.service;
+
+import com.chessapp.server.domain.enums.GameResult;
+import com.chessapp.server.domain.enums.TimeControl;
+import com.chessapp.server.domain.model.PlayerStats;
+import com.chessapp.server.infrastructure.persistence.PlayerStatsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.InvalidDataAccessResourceUsageException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class PlayerStatsServiceImplTest {
+
+    @Mock
+    private PlayerStatsRepository playerStatsRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private PlayerStatsServiceImpl playerStatsService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        playerStatsService = new PlayerStatsServiceImpl(playerStatsRepository, transactionManager);
+    }
+
+    @Test
+    void testRecordResult_IncrementsEachPlayerInIdOrder() {
+        when(playerStatsRepository.recordOutcome(anyLong(), any(), anyInt(), anyInt(), anyInt())).thenReturn(1);
+
+        playerStatsService.recordResult(2L, 1L, TimeControl.RAPID, GameResult.BLACK_WIN_TIMEOUT);
+
+        InOrder order = inOrder(playerStatsRepository);
+        order.verify(playerStatsRepository).recordOutcome(1L, TimeControl.RAPID, 1, 0, 0);
+        order.verify(playerStatsRepository).recordOutcome(2L, TimeControl.RAPID, 0, 1, 0);
+        verify(playerStatsRepository, never()).saveAll(any());
+        verify(playerStatsRepository, never()).insertFromLegacyCounters(anyLong());
+    }
+
+    @Test
+    void testRecordResult_SeedsMissingRowsFromLegacyCountersThenCounts() {
+        when(playerStatsRepository.recordOutcome(eq(1L), any(), anyInt(), anyInt(), anyInt())).thenReturn(1);
+        when(playerStatsRepository.recordOutcome(eq(2L), any(), anyInt(), anyInt(), anyInt())).thenReturn(0, 1);
+        when(playerStatsRepository.countLegacyCounters()).thenReturn(3L);
+
+        playerStatsService.recordResult(1L, 2L, TimeControl.BLITZ, GameResult.DRAW);
+
+        verify(playerStatsRepository).insertFromLegacyCounters(2L);
+        verify(playerStatsRepository, times(2)).recordOutcome(2L, TimeControl.BLITZ, 0, 0, 1);
+        verify(playerStatsRepository, times(1)).recordOutcome(1L, TimeControl.BLITZ, 0, 0, 1);
+    }
+
+    @Test
+    void testRecordResult_RowsCreatedConcurrentlyStillCounted() {
+        when(playerStatsRepository.recordOutcome(eq(1L), any(), anyInt(), anyInt(), anyInt())).thenReturn(0, 1);
+        when(playerStatsRepository.recordOutcome(eq(2L), any(), anyInt(), anyInt(), anyInt())).thenReturn(1);
+        when(playerStatsRepository.countLegacyCounters()).thenReturn(3L);
+        when(playerStatsRepository.insertFromLegacyCounters(1L))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        playerStatsService.recordResult(1L, 2L, TimeControl.BULLET, GameResult.WHITE_WIN);
+
+        verify(playerStatsRepository, times(2)).recordOutcome(1L, TimeControl.BULLET, 1, 0, 0);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testInitializeMissing_ZeroedWithoutLegacyColumns() {
+        when(playerStatsRepository.findUserIdsWithoutStats()).thenReturn(List.of(5L));
+        when(playerStatsRepository.countLegacyCounters())
+                .thenThrow(new InvalidDataAccessResourceUsageException("no such column"));
+
+        playerStatsService.initializeMissing();
+
+        verify(playerStatsRepository, never()).insertFromLegacyCounters(anyLong());
+        ArgumentCaptor<List<PlayerStats>> captor = ArgumentCaptor.forClass(List.class);
+        verify(playerStatsRepository).saveAll(captor.capture());
+        assertEquals(TimeControl.values().length, captor.getValue().size());
+        assertEquals(0, captor.getValue().get(0).getWins());
+    }
+}
@@ -0,0 +1,46 @@
+package com.chessapp.server.domain.chess;
+
+import com.chessapp.server.domain.enums.TimeControl;
+import com.chessapp.server.domain.model.Game;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoveCodecTest {
+
+    @Test
+    void testRoundTrip() {
+        for (String move : List.of("a1a1", "e2e4", "h8h1", "e1g1", "e7e8q", "a2a1n", "b7c8r", "g2h1b")) {
+            assertEquals(move, MoveCodec.decode(MoveCodec.encode(move)));
+        }
+    }
+
+    @Test
+    void testUpperCaseIsNormalized() {
+        assertEquals("e7e8q", MoveCodec.decode(MoveCodec.encode("E7E8Q")));
+    }
+
+    @Test
+    void testInvalidMovesRejected() {
+        assertThrows(IllegalArgumentException.class, () -> MoveCodec.encode("e2e9"));
+        assertThrows(IllegalArgumentException.class, () -> MoveCodec.encode("e7e8k"));
+        assertThrows(IllegalArgumentException.class, () -> MoveCodec.encode("e2"));
+    }
+
+    @Test
+    void testGameStoresTwoBytesPerPly() {
+        Game game = new Game();
+        game.addMove("e2e4");
+        game.addMove("e7e5");
+        game.addMove("g1f3");
+
+        assertEquals(3, game.getMoveCount());
+        assertEquals(List.of("e2e4", "e7e5", "g1f3"), game.getMoves());
+        assertFalse(game.getIsWhiteTurn());
+
+        game.setMoves(List.of("d2d4"));
+        assertEquals(List.of("d2d4"), game.getMoves());
+    }
+}
@@ -0,0 +1,71 @@
+package com.chessapp.server.domain.chess;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Perft: counts the leaf nodes of the legal move tree to a fixed depth. The counts for the
+ * standard test positions are published, so any difference points at a move generation bug,
+ * and the node rate is a throughput baseline for the validator used by {@code makeMove}.
+ * <p>
+ * The last ply is bulk-counted (the number of legal moves is the number of leaves), which is
+ * the usual convention; {@link #divide} gives per-move counts for narrowing a mismatch down.
+ */
+public final class Perft {
+
+    /** Kiwipete: castling, pins, en passant and promotions all within two plies. */
+    public static final String KIWIPETE = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+    /** Rook endgame full of discovered checks and en passant pins along the rank. */
+    public static final String POSITION_3 = "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1";
+    public static final String POSITION_4 = "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1";
+    public static final String POSITION_5 = "rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8";
+    public static final String POSITION_6 = "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10";
+
+    public record Result(long nodes, long nanos) {
+        public long nodesPerSecond() {
+            return nanos == 0 ? 0 : nodes * 1_000_000_000L / nanos;
+        }
+    }
+
+    private Perft() {}
+
+    public static Result run(String fen, int depth) {
+        Position position = Position.fromFen(fen);
+        long start = System.nanoTime();
+        long nodes = count(position, depth);
+        return new Result(nodes, System.nanoTime() - start);
+    }
+
+    public static long count(Position position, int depth) {
+        if (depth <= 0) return 1;
+        return count(position, depth, new int[depth + 1][Position.MAX_MOVES]);
+    }
+
+    /**
+     * Leaf counts below each root move, keyed by UCI move.
+     */
+    public static Map<String, Long> divide(Position position, int depth) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        int[] moves = new int[Position.MAX_MOVES];
+        int n = position.legalMoves(moves);
+        for (int i = 0; i < n; i++) {
+            position.makeMove(moves[i]);
+            counts.put(MoveCodec.decode(moves[i]), count(position, depth - 1));
+            position.unmakeMove();
+        }
+        return counts;
+    }
+
+    private static long count(Position position, int depth, int[][] buffers) {
+        int[] moves = buffers[depth];
+        int n = position.legalMoves(moves);
+        if (depth == 1) return n;
+        long nodes = 0;
+        for (int i = 0; i < n; i++) {
+            position.makeMove(moves[i]);
+            nodes += count(position, depth - 1, buffers);
+            position.unmakeMove();
+        }
+        return nodes;
+    }
+}
@@ -0,0 +1,85 @@
+package com.chessapp.server.domain.chess;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Node counts from the published perft tables. Depths are kept low enough for the unit test
+ * run; {@code PerftBenchmark} (benchmark profile) goes deeper and reports throughput.
+ */
+class PerftTest {
+
+    @Test
+    void testPerft_StartPosition() {
+        assertPerft(Position.START_FEN, 20, 400, 8_902, 197_281, 4_865_609);
+    }
+
+    @Test
+    void testPerft_Kiwipete() {
+        assertPerft(Perft.KIWIPETE, 48, 2_039, 97_862, 4_085_603);
+    }
+
+    @Test
+    void testPerft_Position3() {
+        assertPerft(Perft.POSITION_3, 14, 191, 2_812, 43_238, 674_624);
+    }
+
+    @Test
+    void testPerft_Position4() {
+        assertPerft(Perft.POSITION_4, 6, 264, 9_467, 422_333);
+    }
+
+    @Test
+    void testPerft_Position5() {
+        assertPerft(Perft.POSITION_5, 44, 1_486, 62_379, 2_103_487);
+    }
+
+    @Test
+    void testPerft_Position6() {
+        assertPerft(Perft.POSITION_6, 46, 2_079, 89_890);
+    }
+
+    @Test
+    void testDivide_SumsToTotal() {
+        Position position = Position.fromFen(Perft.KIWIPETE);
+        Map<String, Long> divide = Perft.divide(position, 3);
+
+        assertEquals(48, divide.size());
+        assertEquals(97_862L, divide.values().stream().mapToLong(Long::longValue).sum());
+        assertEquals(Perft.KIWIPETE, position.toFen());
+    }
+
+    @Test
+    void testFindLegalMove_AgreesWithGenerator() {
+        // findLegalMove is what makeMove uses; it must accept exactly the generated moves
+        for (String fen : new String[]{Perft.KIWIPETE, Perft.POSITION_3, Perft.POSITION_4, Perft.POSITION_5}) {
+            Position position = Position.fromFen(fen);
+            int[] moves = new int[Position.MAX_MOVES];
+            int n = position.legalMoves(moves);
+            Set<Integer> legal = new HashSet<>();
+            for (int i = 0; i < n; i++) legal.add(moves[i]);
+
+            for (int from = 0; from < 64; from++) {
+                for (int to = 0; to < 64; to++) {
+                    for (int promotion = 0; promotion <= 4; promotion++) {
+                        int move = from | (to << 6) | (promotion << 12);
+                        assertEquals(legal.contains(move), position.findLegalMove(move) == move,
+                                fen + " " + MoveCodec.decode(move));
+                    }
+                }
+            }
+        }
+    }
+
+    private static void assertPerft(String fen, long... expected) {
+        for (int depth = 1; depth <= expected.length; depth++) {
+            Perft.Result result = Perft.run(fen, depth);
+            assertEquals(expected[depth - 1], result.nodes(), fen + " depth " + depth);
+        }
+    }
+}
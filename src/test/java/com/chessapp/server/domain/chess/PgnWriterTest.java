@@ -0,0 +1,95 @@
+package com.chessapp.server.domain.chess;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PgnWriterTest {
+
+    @Test
+    void testWriteGame_TagsAndSan() throws IOException {
+        Map<String, String> tags = new LinkedHashMap<>();
+        tags.put("Event", "Online Game");
+        tags.put("White", "Player \"One\"");
+        tags.put("Result", "0-1");
+
+        String pgn = write(tags, "f2f3", "e7e5", "g2g4", "d8h4");
+
+        assertEquals("[Event \"Online Game\"]\n"
+                + "[White \"Player \\\"One\\\"\"]\n"
+                + "[Result \"0-1\"]\n"
+                + "\n"
+                + "1. f3 e5 2. g4 Qh4# 0-1\n"
+                + "\n", pgn);
+    }
+
+    @Test
+    void testWriteGame_CastlingAndNoResult() throws IOException {
+        String pgn = write(new LinkedHashMap<>(), "e2e4", "e7e5", "g1f3", "b8c6", "f1c4", "d7d6", "e1g1");
+
+        assertEquals("\n1. e4 e5 2. Nf3 Nc6 3. Bc4 d6 4. O-O *\n\n", pgn);
+    }
+
+    @Test
+    void testWriteGame_WrapsMovetext() throws IOException {
+        List<String> moves = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            moves.addAll(List.of("g1f3", "g8f6", "f3g1", "f6g8"));
+        }
+
+        String pgn = write(Map.of("Result", "1/2-1/2"), moves.toArray(new String[0]));
+
+        String[] lines = pgn.split("\n");
+        assertTrue(lines.length > 3);
+        for (String line : lines) {
+            assertTrue(line.length() <= 79, line);
+        }
+        assertTrue(pgn.endsWith("24. Ng1 Ng8 1/2-1/2\n\n"));
+    }
+
+    @Test
+    void testWriteGame_StopsAtIllegalMove() throws IOException {
+        String pgn = write(Map.of(), "e2e4", "e2e4");
+
+        assertEquals("\n1. e4 {Illegal move e2e4} *\n\n", pgn);
+    }
+
+    @Test
+    void testSan_Disambiguation() {
+        assertEquals("Nbd2", san("4k3/8/8/8/8/5N2/8/1N2K3 w - - 0 1", "b1d2"));
+        assertEquals("R1a3", san("4k3/8/8/R7/8/8/8/R3K3 w - - 0 1", "a1a3"));
+        assertEquals("Qa1b2+", san("7k/8/8/8/8/Q7/8/Q1Q1K3 w - - 0 1", "a1b2"));
+        // The other knight is pinned, so no disambiguation
+        assertEquals("Nd2", san("4k3/8/8/8/8/5N2/8/rN2K3 w - - 0 1", "f3d2"));
+    }
+
+    @Test
+    void testSan_PawnMovesAndCastling() {
+        assertEquals("exd6", san("4k3/8/8/3pP3/8/8/8/4K3 w - d6 0 1", "e5d6"));
+        assertEquals("e8=Q+", san("8/4P3/8/8/k7/8/8/4K3 w - - 0 1", "e7e8q"));
+        assertEquals("bxa8=N", san("r3k3/1P6/8/8/8/8/8/4K3 w - - 0 1", "b7a8n"));
+        assertEquals("O-O-O", san("r3k3/8/8/8/8/8/8/4K3 b q - 0 1", "e8c8"));
+        assertEquals("Rxe1#", san("4r1k1/8/8/8/8/8/5PPP/4B1K1 b - - 0 1", "e8e1"));
+    }
+
+    private static String write(Map<String, String> tags, String... moves) throws IOException {
+        StringWriter out = new StringWriter();
+        new PgnWriter(out).writeGame(tags, MoveCodec.encodeAll(List.of(moves)));
+        return out.toString();
+    }
+
+    private static String san(String fen, String uci) {
+        Position position = Position.fromFen(fen);
+        int move = position.findLegalMove(MoveCodec.encode(uci));
+        assertTrue(move >= 0, uci);
+        return new PgnWriter(new StringWriter()).san(position, move);
+    }
+}
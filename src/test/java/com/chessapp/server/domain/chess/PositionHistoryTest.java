@@ -0,0 +1,67 @@
+package com.chessapp.server.domain.chess;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PositionHistoryTest {
+
+    private static final long START = 0x1111L;
+    private static final long A = 0x2222L;
+    private static final long B = 0x3333L;
+    private static final long C = 0x4444L;
+
+    @Test
+    void testThreefold_KnightShuffle() {
+        PositionHistory history = new PositionHistory(2);
+        history.push(START, 0);
+        for (int round = 0; round < 2; round++) {
+            int base = round * 4;
+            history.push(A, base + 1);
+            history.push(B, base + 2);
+            history.push(C, base + 3);
+            assertFalse(history.isThreefoldRepetition());
+            history.push(START, base + 4);
+        }
+
+        assertEquals(3, history.repetitionCount());
+        assertTrue(history.isThreefoldRepetition());
+        assertEquals(9, history.size());
+    }
+
+    @Test
+    void testRepetition_IgnoresPositionsBeforeIrreversibleMove() {
+        PositionHistory history = new PositionHistory();
+        history.push(START, 0);
+        history.push(A, 1);
+        history.push(START, 2);
+        history.push(A, 0); // pawn move: same key by construction, but the window restarts here
+        history.push(B, 1);
+
+        history.push(A, 2);
+
+        assertEquals(2, history.repetitionCount());
+    }
+
+    @Test
+    void testPop_UndoesLastPosition() {
+        PositionHistory history = new PositionHistory();
+        history.push(START, 0);
+        history.push(A, 1);
+        history.push(START, 2);
+
+        history.pop();
+
+        assertEquals(A, history.currentKey());
+        assertEquals(1, history.repetitionCount());
+    }
+
+    @Test
+    void testFiftyMoveRule() {
+        PositionHistory history = new PositionHistory();
+        history.push(START, 99);
+        assertFalse(history.isFiftyMoveRule());
+        history.push(A, 100);
+        assertTrue(history.isFiftyMoveRule());
+    }
+}
@@ -0,0 +1,139 @@
+package com.chessapp.server.domain.chess;
+
+import com.github.bhlangonijr.chesslib.Board;
+import com.github.bhlangonijr.chesslib.move.Move;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PositionTest {
+
+    private static final String KIWIPETE = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+
+    @Test
+    void testStartPosition_TwentyMoves() {
+        Position position = Position.startPosition();
+
+        assertEquals(20, position.legalMoves(new int[Position.MAX_MOVES]));
+        assertEquals(Position.START_FEN, position.toFen());
+    }
+
+    @Test
+    void testMakeUnmake_RestoresFenAndKey() {
+        Position position = Position.fromFen(KIWIPETE);
+        long key = position.key();
+        int[] moves = new int[Position.MAX_MOVES];
+        int count = position.legalMoves(moves);
+
+        for (int i = 0; i < count; i++) {
+            position.makeMove(moves[i]);
+            assertEquals(Position.fromFen(position.toFen()).key(), position.key());
+            position.unmakeMove();
+            assertEquals(KIWIPETE, position.toFen());
+            assertEquals(key, position.key());
+        }
+    }
+
+    @Test
+    void testEnPassant_RejectedWhenItExposesKing() {
+        // Both pawns leave the fifth rank together, opening it for the rook
+        Position position = Position.fromFen("8/8/8/K2pP2r/8/8/8/7k w - d6 0 1");
+
+        assertEquals(-1, position.findLegalMove(MoveCodec.encode("e5d6")));
+    }
+
+    @Test
+    void testCastling_NotThroughAttackedSquare() {
+        Position position = Position.fromFen("4k3/8/8/8/8/8/5r2/R3K2R w KQ - 0 1");
+
+        assertEquals(-1, position.findLegalMove(MoveCodec.encode("e1g1")));
+        assertNotEquals(-1, position.findLegalMove(MoveCodec.encode("e1c1")));
+    }
+
+    @Test
+    void testPromotion_AllFourPieces() {
+        Position position = Position.fromFen("4k3/P7/8/8/8/8/8/4K3 w - - 0 1");
+
+        for (String uci : new String[]{"a7a8q", "a7a8r", "a7a8b", "a7a8n"}) {
+            assertNotEquals(-1, position.findLegalMove(MoveCodec.encode(uci)));
+        }
+        assertEquals(-1, position.findLegalMove(MoveCodec.encode("a7a8")));
+    }
+
+    @Test
+    void testLegalMoveSet_MatchesGeneratorAndRequiresPromotionPiece() {
+        Position position = Position.fromFen("4k3/P7/8/8/8/8/8/4K3 w - - 0 1");
+        LegalMoveSet set = position.legalMoveSet();
+
+        assertEquals(position.legalMoves(new int[Position.MAX_MOVES]), set.size());
+        assertTrue(set.contains(MoveCodec.encode("a7a8q")));
+        assertTrue(set.contains(MoveCodec.encode("a7a8n")));
+        assertFalse(set.contains(MoveCodec.encode("a7a8")));
+        assertFalse(set.contains(MoveCodec.encode("e1e2q")));
+        assertEquals(List.of("a8"), set.toUciMap().get("a7"));
+
+        position.makeMove(MoveCodec.encode("a7a8q"));
+        assertFalse(position.legalMoveSet().contains(MoveCodec.encode("e1e2")));
+        assertTrue(position.legalMoveSet().contains(MoveCodec.encode("e8d7")));
+    }
+
+    @Test
+    void testMateAndStalemate() {
+        Position mated = Position.fromFen("rnb1kbnr/pppp1ppp/8/4p3/6Pq/5P2/PPPPP2P/RNBQKBNR w KQkq - 1 3");
+        Position stalemate = Position.fromFen("7k/5Q2/6K1/8/8/8/8/8 b - - 0 1");
+
+        assertTrue(mated.isCheckmate());
+        assertTrue(stalemate.isStalemate());
+        assertFalse(stalemate.isCheckmate());
+    }
+
+    @Test
+    void testInsufficientMaterial() {
+        assertTrue(Position.fromFen("8/8/4k3/8/8/3BK3/8/8 w - - 0 1").isInsufficientMaterial());
+        assertFalse(Position.fromFen("8/8/4k3/8/8/3NKN2/8/8 w - - 0 1").isInsufficientMaterial());
+        assertFalse(Position.fromFen("8/8/4k3/8/8/4K3/4P3/8 w - - 0 1").isInsufficientMaterial());
+    }
+
+    @Test
+    void testRandomGames_MatchChesslib() {
+        Random random = new Random(42);
+        int[] moves = new int[Position.MAX_MOVES];
+
+        for (int game = 0; game < 200; game++) {
+            Position position = Position.startPosition();
+            Board board = new Board();
+
+            for (int ply = 0; ply < 300; ply++) {
+                int count = position.legalMoves(moves);
+                Set<String> ours = new TreeSet<>();
+                for (int i = 0; i < count; i++) {
+                    ours.add(MoveCodec.decode(moves[i]));
+                }
+                Set<String> theirs = board.legalMoves().stream()
+                        .map(Move::toString)
+                        .collect(Collectors.toCollection(TreeSet::new));
+                assertEquals(theirs, ours, board.getFen());
+                assertEquals(placement(board.getFen()), placement(position.toFen()));
+                assertEquals(board.isMated(), position.isCheckmate(), board.getFen());
+                assertEquals(board.isStaleMate(), position.isStalemate(), board.getFen());
+
+                if (count == 0 || position.isDraw()) break;
+                int move = moves[random.nextInt(count)];
+                position.makeMove(move);
+                board.doMove(MoveCodec.decode(move));
+            }
+        }
+    }
+
+    // Board, side to move and castling rights; the en-passant field differs between writers
+    private static String placement(String fen) {
+        return String.join(" ", Arrays.copyOf(fen.split(" "), 3));
+    }
+}
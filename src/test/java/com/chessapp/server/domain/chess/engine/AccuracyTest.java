@@ -0,0 +1,25 @@
+package com.chessapp.server.domain.chess.engine;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AccuracyTest {
+
+    @Test
+    void testWinPercent_EvenAndMate() {
+        assertEquals(50.0, Accuracy.winPercent(0), 1e-9);
+        assertEquals(100.0, Accuracy.winPercent(Engine.MATE - 3), 1e-9);
+        assertEquals(0.0, Accuracy.winPercent(-Engine.MATE), 1e-9);
+        assertTrue(Accuracy.winPercent(300) > 70 && Accuracy.winPercent(300) < 80);
+    }
+
+    @Test
+    void testOfMove_OnlyLossesCount() {
+        assertEquals(100.0, Accuracy.ofMove(50, 50), 1e-3);
+        assertEquals(100.0, Accuracy.ofMove(-200, 100), 1e-3);
+        assertTrue(Accuracy.ofMove(0, -100) > Accuracy.ofMove(0, -300));
+        assertEquals(0.0, Accuracy.ofMove(Engine.MATE - 5, -Engine.MATE + 2), 1e-9);
+    }
+}
@@ -0,0 +1,90 @@
+package com.chessapp.server.domain.chess.engine;
+
+import com.chessapp.server.domain.chess.Perft;
+import com.chessapp.server.domain.chess.Position;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EngineTest {
+
+    private ExecutorService helpers;
+    private Engine engine;
+
+    @BeforeEach
+    void setUp() {
+        helpers = Executors.newFixedThreadPool(3);
+        engine = new Engine(new TranspositionTable(8), helpers);
+    }
+
+    @AfterEach
+    void tearDown() {
+        helpers.shutdownNow();
+    }
+
+    @Test
+    void testSearch_FindsMateInOne() {
+        SearchResult result = engine.search(Position.fromFen("6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1"), SearchLimits.depth(4));
+
+        assertEquals("a1a8", result.uci());
+        assertEquals(Engine.MATE - 1, result.score());
+    }
+
+    @Test
+    void testSearch_FindsMateInTwo() {
+        // 1.Ra6 bxa6 (forced) 2.b7#
+        SearchResult result = engine.search(Position.fromFen("kbK5/pp6/1P6/8/8/8/8/R7 w - - 0 1"), SearchLimits.depth(5));
+
+        assertEquals("a1a6", result.uci());
+        assertEquals(Engine.MATE - 3, result.score());
+    }
+
+    @Test
+    void testSearch_TakesHangingQueen() {
+        SearchResult result = engine.search(Position.fromFen("4k3/8/8/3q4/8/8/8/3RK3 w - - 0 1"), SearchLimits.depth(3));
+
+        assertEquals("d1d5", result.uci());
+    }
+
+    @Test
+    void testSearch_ScoresStalemateAsDraw() {
+        // Qg6 looks natural but stalemates; the engine has to find the mate instead
+        Position position = Position.fromFen("7k/8/5K2/8/8/8/8/6Q1 w - - 0 1");
+        SearchResult result = engine.search(position, SearchLimits.depth(6));
+
+        assertNotEquals("g1g6", result.uci());
+        assertTrue(result.score() > Engine.MATE - 100, "should see a forced mate, got " + result.score());
+    }
+
+    @Test
+    void testSearch_RespectsNodeLimitAndLeavesPositionUntouched() {
+        Position position = Position.fromFen(Perft.KIWIPETE);
+
+        SearchResult result = engine.search(position, new SearchLimits(0, 500, 0, 1));
+
+        assertTrue(result.nodes() < 1_000, "searched " + result.nodes());
+        assertNotEquals(-1, position.findLegalMove(result.move()));
+        assertEquals(Perft.KIWIPETE, position.toFen());
+    }
+
+    @Test
+    void testSearch_WithHelpersStopsOnTime() {
+        SearchResult result = engine.search(Position.startPosition(), new SearchLimits(0, 0, 200, 4));
+
+        assertTrue(result.millis() < 1_000, "took " + result.millis() + " ms");
+        assertTrue(result.depth() >= 1);
+        assertNotEquals(-1, Position.startPosition().findLegalMove(result.move()));
+    }
+
+    @Test
+    void testSearch_NoLegalMoveRejected() {
+        Position mated = Position.fromFen("rnb1kbnr/pppp1ppp/8/4p3/6Pq/5P2/PPPPP2P/RNBQKBNR w KQkq - 1 3");
+
+        assertThrows(IllegalArgumentException.class, () -> engine.search(mated, SearchLimits.depth(2)));
+    }
+}
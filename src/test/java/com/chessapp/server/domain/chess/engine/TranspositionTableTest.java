@@ -0,0 +1,61 @@
+package com.chessapp.server.domain.chess.engine;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TranspositionTableTest {
+
+    @Test
+    void testStoreAndProbe_RoundTripsAllFields() {
+        TranspositionTable table = new TranspositionTable(1);
+        int generation = table.newSearch();
+
+        table.store(0x1234_5678_9ABC_DEF0L, 0x1A2B, -29_950, 17, TranspositionTable.UPPER_BOUND, generation);
+        long data = table.probe(0x1234_5678_9ABC_DEF0L);
+
+        assertEquals(0x1A2B, TranspositionTable.move(data));
+        assertEquals(-29_950, TranspositionTable.score(data));
+        assertEquals(17, TranspositionTable.depth(data));
+        assertEquals(TranspositionTable.UPPER_BOUND, TranspositionTable.bound(data));
+        assertEquals(0, table.probe(0x1234_5678_9ABC_DEF1L));
+    }
+
+    @Test
+    void testStore_FullBucketEvictsShallowestEntry() {
+        TranspositionTable table = new TranspositionTable(1);
+        int generation = table.newSearch();
+        long buckets = (1L << 20) / 64;
+
+        // Same low bits, so all five keys land in one four-entry bucket
+        for (int i = 0; i < 4; i++) {
+            table.store(7 + i * buckets, 100 + i, 0, 10 + i, TranspositionTable.EXACT, generation);
+        }
+        table.store(7 + 4 * buckets, 200, 0, 5, TranspositionTable.EXACT, generation);
+
+        assertEquals(0, table.probe(7));
+        for (int i = 1; i <= 4; i++) {
+            assertNotEquals(0, table.probe(7 + i * buckets));
+        }
+    }
+
+    @Test
+    void testStore_KeepsDeeperExactEntryAndOldMove() {
+        TranspositionTable table = new TranspositionTable(1);
+        int generation = table.newSearch();
+
+        table.store(42, 300, 15, 9, TranspositionTable.EXACT, generation);
+        table.store(42, 301, 80, 3, TranspositionTable.LOWER_BOUND, generation);
+        assertEquals(9, TranspositionTable.depth(table.probe(42)));
+
+        table.store(42, 0, -5, 12, TranspositionTable.UPPER_BOUND, generation);
+        long data = table.probe(42);
+        assertEquals(12, TranspositionTable.depth(data));
+        assertEquals(300, TranspositionTable.move(data));
+    }
+
+    @Test
+    void testConstructor_RejectsOversizedTable() {
+        assertThrows(IllegalArgumentException.class, () -> new TranspositionTable(4096));
+    }
+}
@@ -0,0 +1,90 @@
+package com.chessapp.server.infrastructure.archive;
+
+import com.chessapp.server.domain.chess.MoveCodec;
+import com.chessapp.server.domain.enums.GameResult;
+import com.chessapp.server.domain.enums.GameState;
+import com.chessapp.server.domain.enums.TimeControl;
+import com.chessapp.server.domain.model.Game;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameArchiveTest {
+
+    private Path dir;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dir = Files.createTempDirectory("archive");
+    }
+
+    @Test
+    void testAppendAndFind_AcrossBlocks() {
+        GameArchive archive = new GameArchive(dir.toString());
+        List<ArchivedGame> games = new ArrayList<>();
+        for (long id = 1; id <= Segment.BLOCK_RECORDS * 3 + 5; id++) {
+            games.add(game(id * 2)); // even ids only, so odd ids are misses inside a block
+        }
+        archive.append(games);
+
+        assertEquals(1, archive.segmentCount());
+        ArchivedGame found = archive.find(130L).orElseThrow();
+        assertEquals(130L, found.id());
+        assertEquals("alice", found.whiteLogin());
+        assertEquals(List.of("e2e4", "e7e5", "g1f3"), MoveCodec.view(found.moveData()));
+        assertTrue(archive.find(131L).isEmpty());
+        assertTrue(archive.find(1_000_000L).isEmpty());
+        assertTrue(archive.find(2L).isPresent());
+        assertTrue(archive.find((long) games.size() * 2).isPresent());
+    }
+
+    @Test
+    void testReopen_ReadsSealedSegmentsAndContinuesSequence() {
+        new GameArchive(dir.toString()).append(List.of(game(5L), game(3L)));
+
+        GameArchive reopened = new GameArchive(dir.toString());
+        reopened.append(List.of(game(4L)));
+
+        assertEquals(2, reopened.segmentCount());
+        Map<Long, ArchivedGame> found = reopened.findAll(List.of(3L, 4L, 5L, 6L));
+        assertEquals(3, found.size());
+        assertFalse(found.containsKey(6L));
+    }
+
+    @Test
+    void testReopen_DiscardsUnsealedTempFile() throws Exception {
+        Files.writeString(dir.resolve("0000000001.seg.tmp"), "partial");
+
+        GameArchive archive = new GameArchive(dir.toString());
+
+        assertEquals(0, archive.segmentCount());
+        assertFalse(Files.exists(dir.resolve("0000000001.seg.tmp")));
+    }
+
+    @Test
+    void testToGame_RestoresEndedGame() {
+        Game game = game(9L).toGame();
+
+        assertEquals(GameState.ENDED, game.getState());
+        assertEquals(3, game.getMoveCount());
+        assertFalse(game.getIsWhiteTurn());
+        assertEquals("alice", game.getWinner().getLogin());
+        assertEquals(1510, game.getWhitePlayer().getRatingForTimeControl(TimeControl.BLITZ));
+    }
+
+    private ArchivedGame game(long id) {
+        LocalDateTime endedAt = LocalDateTime.of(2026, 1, 1, 12, 0).plusMinutes(id);
+        return new ArchivedGame(id, 1L, "alice", "Alice", 1510, 8, 2L, "bob", null, 1490, -8,
+                GameResult.WHITE_WIN_RESIGNATION, TimeControl.BLITZ, endedAt.minusMinutes(5), endedAt,
+                "rnbqkbnr/pppp1ppp/8/4p3/4P3/5N2/PPPP1PPP/RNBQKB1R b KQkq - 1 2",
+                MoveCodec.encodeAll(List.of("e2e4", "e7e5", "g1f3")), 170_000, 175_000);
+    }
+}
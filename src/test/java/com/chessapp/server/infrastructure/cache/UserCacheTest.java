@@ -0,0 +1,85 @@
+package com.chessapp.server.infrastructure.cache;
+
+import com.chessapp.server.domain.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserCacheTest {
+
+    private UserCache userCache;
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        userCache = new UserCache(1000, 300);
+        testUser = new User("TestUser", "hash", "Test User");
+        testUser.setId(1L);
+    }
+
+    @Test
+    void testLookupIsCaseInsensitiveAndById() {
+        userCache.put(testUser);
+
+        assertTrue(userCache.getByLogin("testuser").isPresent());
+        assertTrue(userCache.getByLogin("TESTUSER").isPresent());
+        assertEquals("TestUser", userCache.getById(1L).orElseThrow().getLogin());
+    }
+
+    @Test
+    void testReturnsCopies() {
+        userCache.put(testUser);
+
+        User first = userCache.getByLogin("testuser").orElseThrow();
+        first.setDisplayName("Changed");
+
+        assertEquals("Test User", userCache.getByLogin("testuser").orElseThrow().getDisplayName());
+    }
+
+    @Test
+    void testPutIfAbsentDoesNotOverwriteWrite() {
+        userCache.put(testUser);
+
+        User stale = testUser.copy();
+        stale.setBlitzRating(900);
+        userCache.putIfAbsent(stale);
+
+        assertEquals(1200, userCache.getByLogin("testuser").orElseThrow().getBlitzRating());
+    }
+
+    @Test
+    void testInvalidateRemovesBothKeys() {
+        userCache.put(testUser);
+        userCache.invalidate(testUser);
+
+        assertEquals(Optional.empty(), userCache.getByLogin("testuser"));
+        assertEquals(Optional.empty(), userCache.getById(1L));
+    }
+
+    @Test
+    void testExpiredEntriesAreMisses() {
+        UserCache expiring = new UserCache(1000, 0);
+        expiring.put(testUser);
+
+        assertTrue(expiring.getByLogin("testuser").isEmpty());
+    }
+
+    @Test
+    void testSizeIsBounded() {
+        UserCache small = new UserCache(16, 300);
+        for (long i = 0; i < 1000; i++) {
+            User user = new User("user" + i, "hash", "User " + i);
+            user.setId(i);
+            small.put(user);
+        }
+
+        int hits = 0;
+        for (long i = 0; i < 1000; i++) {
+            if (small.getById(i).isPresent()) hits++;
+        }
+        assertTrue(hits <= 16, "cache holds " + hits + " entries");
+    }
+}
@@ -0,0 +1,59 @@
+package com.chessapp.server.infrastructure.challenge;
+
+import com.chessapp.server.domain.enums.TimeControl;
+import com.chessapp.server.domain.model.Challenge;
+import com.chessapp.server.domain.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChallengeRegistryTest {
+
+    private ChallengeRegistry registry;
+    private User alice;
+    private User bob;
+
+    @BeforeEach
+    void setUp() {
+        registry = new ChallengeRegistry();
+        alice = new User("alice", "hash", "Alice");
+        alice.setId(1L);
+        bob = new User("bob", "hash", "Bob");
+        bob.setId(2L);
+    }
+
+    @Test
+    void testAdd_AssignsIdAndIndexes() {
+        Challenge challenge = registry.add(new Challenge(alice, bob, TimeControl.BLITZ));
+
+        assertNotNull(challenge.getId());
+        assertSame(challenge, registry.get(challenge.getId()).orElseThrow());
+        assertEquals(List.of(challenge), registry.findByChallenger(1L));
+        assertEquals(List.of(challenge), registry.findByChallenged(2L));
+        assertTrue(registry.findByChallenged(1L).isEmpty());
+    }
+
+    @Test
+    void testRemove_OnlyFirstCallerWins() {
+        Challenge challenge = registry.add(new Challenge(alice, bob, TimeControl.BLITZ));
+
+        assertTrue(registry.remove(challenge));
+        assertFalse(registry.remove(challenge));
+        assertTrue(registry.get(challenge.getId()).isEmpty());
+        assertTrue(registry.findByChallenger(1L).isEmpty());
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    void testFindExpiredBefore() {
+        Challenge overdue = registry.add(new Challenge(alice, bob, TimeControl.BLITZ));
+        overdue.setExpiresAt(LocalDateTime.now().minusMinutes(1));
+        registry.add(new Challenge(bob, alice, TimeControl.RAPID));
+
+        assertEquals(List.of(overdue), registry.findExpiredBefore(LocalDateTime.now()));
+    }
+}
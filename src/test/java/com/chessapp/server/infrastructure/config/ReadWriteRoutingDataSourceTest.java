@@ -0,0 +1,45 @@
+package com.chessapp.server.infrastructure.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private final ReadWriteRoutingDataSource dataSource = new ReadWriteRoutingDataSource();
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void testRoutesWritesToPrimary() {
+        assertEquals(ReadWriteRoutingDataSource.Route.PRIMARY, dataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void testRoutesMarkedReadOnlyTransactionsToReplica() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals(ReadWriteRoutingDataSource.Route.REPLICA,
+                ReadWriteRoutingDataSource.readFromReplica(dataSource::determineCurrentLookupKey));
+        assertEquals(ReadWriteRoutingDataSource.Route.PRIMARY, dataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void testKeepsUnmarkedReadOnlyTransactionsOnPrimary() {
+        // Spring Data's default read-only repository transactions, e.g. a lookup right after a commit
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals(ReadWriteRoutingDataSource.Route.PRIMARY, dataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    void testMarkerAloneDoesNotRouteWrites() {
+        assertEquals(ReadWriteRoutingDataSource.Route.PRIMARY,
+                ReadWriteRoutingDataSource.readFromReplica(dataSource::determineCurrentLookupKey));
+    }
+}
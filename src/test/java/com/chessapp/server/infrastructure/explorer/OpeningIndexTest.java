@@ -0,0 +1,70 @@
+package com.chessapp.server.infrastructure.explorer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OpeningIndexTest {
+
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        file = Files.createTempDirectory("explorer").resolve("openings.idx");
+    }
+
+    @Test
+    void testTable_AggregatesAndGrows() {
+        OpeningTable table = new OpeningTable(0);
+        int initialCapacity = table.capacity();
+        for (int i = 0; i < 5_000; i++) {
+            table.add(i * 31L, 1 + (i % 7), i % 3);
+        }
+        table.add(0L, 1, OpeningTable.WHITE_WIN);
+
+        int[] counts = new int[3];
+        assertTrue(table.get(0L, 1, counts));
+        assertArrayEquals(new int[]{2, 0, 0}, counts);
+        assertFalse(table.get(0L, 2, counts));
+        assertEquals(5_000, table.size());
+        assertTrue(table.capacity() > initialCapacity);
+    }
+
+    @Test
+    void testReplaceWith_SurvivesReopen() {
+        OpeningTable built = new OpeningTable(16);
+        built.add(42L, 796, OpeningTable.WHITE_WIN);
+        built.add(42L, 796, OpeningTable.DRAW);
+        built.add(42L, 1804, OpeningTable.BLACK_WIN);
+
+        OpeningIndex index = new OpeningIndex(file.toString());
+        assertTrue(index.isEmpty());
+        index.replaceWith(built);
+
+        OpeningIndex reopened = new OpeningIndex(file.toString());
+        int[] counts = new int[3];
+        assertTrue(reopened.get(42L, 796, counts));
+        assertArrayEquals(new int[]{1, 1, 0}, counts);
+        assertEquals(2, reopened.size());
+    }
+
+    @Test
+    void testAdd_WritesThroughAndRewritesWhenFull() {
+        OpeningIndex index = new OpeningIndex(file.toString());
+        for (int i = 0; i < 3_000; i++) {
+            index.add(i, 100, OpeningTable.DRAW);
+        }
+        index.add(7L, 100, OpeningTable.WHITE_WIN);
+        index.flush();
+
+        OpeningIndex reopened = new OpeningIndex(file.toString());
+        int[] counts = new int[3];
+        assertTrue(reopened.get(7L, 100, counts));
+        assertArrayEquals(new int[]{1, 1, 0}, counts);
+        assertEquals(3_000, reopened.size());
+    }
+}
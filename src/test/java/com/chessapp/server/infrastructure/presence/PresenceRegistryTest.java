@@ -0,0 +1,80 @@
+package com.chessapp.server.infrastructure.presence;
+
+import com.chessapp.server.domain.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PresenceRegistryTest {
+
+    private PresenceRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new PresenceRegistry();
+        registry.update(user(1L, "Magnus", 2800, true));
+        registry.update(user(2L, "hikaru", 2750, true));
+        registry.update(user(3L, "magpie", 1500, true));
+        registry.update(user(4L, "offline", 2000, false));
+    }
+
+    @Test
+    void testOnlyOnlineUsersAreTracked() {
+        assertEquals(3, registry.size());
+        assertTrue(registry.isOnline("MAGNUS"));
+        assertFalse(registry.isOnline("offline"));
+
+        registry.update(user(2L, "hikaru", 2750, false));
+        assertFalse(registry.isOnline("hikaru"));
+    }
+
+    @Test
+    void testWithPrefix() {
+        List<String> logins = registry.withPrefix("mag", 10).stream()
+                .map(PresenceRegistry.OnlinePlayer::login).toList();
+
+        assertEquals(List.of("Magnus", "magpie"), logins);
+    }
+
+    @Test
+    void testPageResumesAfterKeyAndFilters() {
+        List<PresenceRegistry.OnlinePlayer> first = registry.page(null, p -> true, 2);
+        assertEquals(List.of("hikaru", "Magnus"), first.stream().map(PresenceRegistry.OnlinePlayer::login).toList());
+
+        List<PresenceRegistry.OnlinePlayer> rest = registry.page("magnus", p -> true, 2);
+        assertEquals(1, rest.size());
+        assertEquals("magpie", rest.get(0).login());
+
+        assertEquals(2, registry.page(null, p -> p.blitzRating() >= 2000, 10).size());
+    }
+
+    @Test
+    void testSinceSurvivesRatingUpdate() {
+        PresenceRegistry.OnlinePlayer before = registry.get("magpie");
+        registry.update(user(3L, "magpie", 1550, true));
+
+        assertEquals(1550, registry.get("magpie").blitzRating());
+        assertEquals(before.since(), registry.get("magpie").since());
+    }
+
+    @Test
+    void testBotsAreNeverListed() {
+        User bot = user(5L, User.BOT_LOGIN_PREFIX + "3", 1500, true);
+        bot.setBotLevel(3);
+        registry.update(bot);
+
+        assertFalse(registry.isOnline(bot.getLogin()));
+        assertEquals(3, registry.size());
+    }
+
+    private User user(Long id, String login, int rating, boolean online) {
+        User user = new User(login, "hash", login);
+        user.setId(id);
+        user.setBlitzRating(rating);
+        user.setIsOnline(online);
+        return user;
+    }
+}
@@ -0,0 +1,40 @@
+package com.chessapp.server.infrastructure.recovery;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HeartbeatFileTest {
+
+    @Test
+    void testPreviousBeat_EmptyOnFirstStart() throws Exception {
+        Path dir = Files.createTempDirectory("heartbeat");
+        HeartbeatFile heartbeat = new HeartbeatFile(dir.resolve("beat").toString());
+
+        assertTrue(heartbeat.previousBeat().isEmpty());
+    }
+
+    @Test
+    void testPreviousBeat_ReadsWhatLastRunWrote() throws Exception {
+        Path file = Files.createTempDirectory("heartbeat").resolve("beat");
+        Instant before = Instant.now().minusMillis(1);
+        new HeartbeatFile(file.toString()).beat();
+
+        HeartbeatFile restarted = new HeartbeatFile(file.toString());
+
+        Instant previous = restarted.previousBeat().orElseThrow();
+        assertFalse(previous.isBefore(before));
+    }
+
+    @Test
+    void testPreviousBeat_IgnoresGarbage() throws Exception {
+        Path file = Files.createTempFile("heartbeat", "");
+        Files.writeString(file, "not a timestamp");
+
+        assertTrue(new HeartbeatFile(file.toString()).previousBeat().isEmpty());
+    }
+}
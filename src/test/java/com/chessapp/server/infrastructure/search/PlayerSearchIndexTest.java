@@ -0,0 +1,103 @@
+package com.chessapp.server.infrastructure.search;
+
+import com.chessapp.server.application.dto.PlayerSearchDto;
+import com.chessapp.server.domain.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlayerSearchIndexTest {
+
+    private PlayerSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new PlayerSearchIndex();
+        index.upsert(user(1L, "magnus", "Magnus C", 2800));
+        index.upsert(user(2L, "hikaru", "Hikaru N", 2750));
+        index.upsert(user(3L, "notmagnus", "Fan", 1500));
+        index.upsert(user(4L, "fan_of_chess", "The Magnus Fan", 1600));
+    }
+
+    @Test
+    void testRanksExactThenPrefixThenSubstring() {
+        PlayerSearchIndex.Result result = index.search("magnus", 0, 10);
+
+        assertEquals(3, result.total());
+        List<String> logins = result.players().stream().map(PlayerSearchDto::login).toList();
+        assertEquals(List.of("magnus", "notmagnus", "fan_of_chess"), logins);
+    }
+
+    @Test
+    void testTwoCharacterQueryAndCaseInsensitivity() {
+        PlayerSearchIndex.Result result = index.search("HI", 0, 10);
+
+        assertEquals(1, result.total());
+        assertEquals("hikaru", result.players().get(0).login());
+    }
+
+    @Test
+    void testPagination() {
+        PlayerSearchIndex.Result page0 = index.search("ag", 0, 2);
+        PlayerSearchIndex.Result page1 = index.search("ag", 1, 2);
+
+        assertEquals(3, page0.total());
+        assertEquals(2, page0.players().size());
+        assertEquals(1, page1.players().size());
+    }
+
+    @Test
+    void testRenameReindexesDisplayName() {
+        index.upsert(user(2L, "hikaru", "Speed King", 2750));
+
+        assertEquals(0, index.search("hikaru n", 0, 10).total());
+        assertEquals(1, index.search("speed", 0, 10).total());
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void testRatingAndPresenceUpdates() {
+        User updated = user(3L, "notmagnus", "Fan", 2900);
+        updated.setIsOnline(true);
+        index.upsert(updated);
+
+        PlayerSearchDto hit = index.search("notmag", 0, 10).players().get(0);
+        assertEquals(2900, hit.blitzRating());
+        assertTrue(hit.isOnline());
+    }
+
+    @Test
+    void testNoMatch() {
+        assertEquals(0, index.search("zzz", 0, 10).total());
+        assertEquals(0, index.search("x", 0, 10).total());
+    }
+
+    @Test
+    void testTopByLoginPrefix_OrderedByRating() {
+        index.upsert(user(5L, "magpie", "Bird", 1900));
+
+        List<String> logins = index.topByLoginPrefix("MAG", 10).stream().map(PlayerSearchDto::login).toList();
+        assertEquals(List.of("magnus", "magpie"), logins);
+        assertEquals(1, index.topByLoginPrefix("mag", 1).size());
+        assertTrue(index.topByLoginPrefix("zz", 10).isEmpty());
+    }
+
+    @Test
+    void testTopByLoginPrefix_RatingDropReordersCachedTops() {
+        index.upsert(user(5L, "magpie", "Bird", 1900));
+        index.upsert(user(1L, "magnus", "Magnus C", 1000));
+
+        List<String> logins = index.topByLoginPrefix("m", 10).stream().map(PlayerSearchDto::login).toList();
+        assertEquals(List.of("magpie", "magnus"), logins);
+    }
+
+    private User user(Long id, String login, String displayName, int rating) {
+        User user = new User(login, "hash", displayName);
+        user.setId(id);
+        user.setBlitzRating(rating);
+        return user;
+    }
+}
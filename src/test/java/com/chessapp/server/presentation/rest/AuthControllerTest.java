@@ -1,5 +1,6 @@
 package com.chessapp.server.presentation.rest;
 
+import com.chessapp.server.application.service.PlayerStatsService;
 import com.chessapp.server.application.service.UserService;
 import com.chessapp.server.domain.model.User;
 import com.chessapp.server.infrastructure.security.JwtUtils;
@@ -13,6 +14,8 @@ import org.springframework.http.ResponseEntity;
 
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -27,6 +30,9 @@ class AuthControllerTest {
     @Mock
     private JwtUtils jwtUtils;
 
+    @Mock
+    private PlayerStatsService playerStatsService;
+
     @InjectMocks
     private AuthController authController;
 
@@ -52,10 +58,11 @@ class AuthControllerTest {
         req.setPassword("testpass");
         req.setDisplayName("Test User");
 
-        when(userService.registerUser("testuser", "testpass", "Test User")).thenReturn(testUser);
+        when(userService.registerUserAsync("testuser", "testpass", "Test User"))
+                .thenReturn(CompletableFuture.completedFuture(testUser));
         when(jwtUtils.generateToken("testuser")).thenReturn("mock-jwt-token");
 
-        ResponseEntity<?> response = authController.register(req);
+        ResponseEntity<?> response = authController.register(req).join();
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         Map<String, Object> body = (Map<String, Object>) response.getBody();
@@ -71,10 +78,10 @@ class AuthControllerTest {
         req.setPassword("testpass");
         req.setDisplayName("Test User");
 
-        when(userService.registerUser("testuser", "testpass", "Test User"))
+        when(userService.registerUserAsync("testuser", "testpass", "Test User"))
                 .thenThrow(new IllegalArgumentException("Username already exists"));
 
-        ResponseEntity<?> response = authController.register(req);
+        ResponseEntity<?> response = authController.register(req).join();
 
         assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
     }
@@ -85,10 +92,11 @@ class AuthControllerTest {
         req.setLogin("testuser");
         req.setPassword("testpass");
 
-        when(userService.authenticateUser("testuser", "testpass")).thenReturn(Optional.of(testUser));
+        when(userService.authenticateUserAsync("testuser", "testpass"))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(testUser)));
         when(jwtUtils.generateToken("testuser")).thenReturn("mock-jwt-token");
 
-        ResponseEntity<?> response = authController.login(req);
+        ResponseEntity<?> response = authController.login(req).join();
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         Map<String, Object> body = (Map<String, Object>) response.getBody();
@@ -102,10 +110,41 @@ class AuthControllerTest {
         req.setLogin("testuser");
         req.setPassword("wrongpass");
 
-        when(userService.authenticateUser("testuser", "wrongpass")).thenReturn(Optional.empty());
+        when(userService.authenticateUserAsync("testuser", "wrongpass"))
+                .thenReturn(CompletableFuture.completedFuture(Optional.empty()));
 
-        ResponseEntity<?> response = authController.login(req);
+        ResponseEntity<?> response = authController.login(req).join();
 
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
     }
+
+    @Test
+    void testLogin_HashingPoolSaturated() {
+        AuthController.LoginRequest req = new AuthController.LoginRequest();
+        req.setLogin("testuser");
+        req.setPassword("testpass");
+
+        when(userService.authenticateUserAsync("testuser", "testpass"))
+                .thenReturn(CompletableFuture.failedFuture(new RejectedExecutionException("queue full")));
+
+        ResponseEntity<?> response = authController.login(req).join();
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("2", response.getHeaders().getFirst("Retry-After"));
+    }
+
+    @Test
+    void testRegister_HashingTimedOut() {
+        AuthController.RegisterRequest req = new AuthController.RegisterRequest();
+        req.setLogin("testuser");
+        req.setPassword("testpass");
+        req.setDisplayName("Test User");
+
+        when(userService.registerUserAsync("testuser", "testpass", "Test User"))
+                .thenReturn(CompletableFuture.failedFuture(new RejectedExecutionException("Password hashing timed out")));
+
+        ResponseEntity<?> response = authController.register(req).join();
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+    }
 }
@@ -1,7 +1,10 @@
 package com.chessapp.server.presentation.rest;
 
+import com.chessapp.server.application.dto.OnlinePlayerDto;
+import com.chessapp.server.application.dto.OnlinePlayersPageDto;
 import com.chessapp.server.application.dto.UserResponseDto;
 import com.chessapp.server.application.service.UserService;
+import com.chessapp.server.domain.enums.TimeControl;
 import com.chessapp.server.domain.model.User;
 import com.chessapp.server.infrastructure.security.JwtUtils;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,10 +15,14 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 class UserControllerTest {
@@ -68,4 +75,31 @@ class UserControllerTest {
 
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
     }
+
+    @Test
+    void testGetOnlineUsers_ReturnsPageFromPresence() {
+        String token = "Bearer my-jwt-token";
+        when(jwtUtils.getUserNameFromJwtToken("my-jwt-token")).thenReturn("testuser");
+        when(userService.findByLogin("testuser")).thenReturn(Optional.of(testUser));
+        OnlinePlayersPageDto page = new OnlinePlayersPageDto(
+                List.of(new OnlinePlayerDto(2L, "other", "Other", 1500, 1200, 1200, Instant.now())), "b3RoZXI");
+        when(userService.getOnlinePlayers(testUser, TimeControl.BLITZ, 1400, null, null, 100)).thenReturn(page);
+
+        ResponseEntity<?> response = userController.getOnlineUsers(token, TimeControl.BLITZ, 1400, null, null, 500);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(page, response.getBody());
+        verify(userService).getOnlinePlayers(testUser, TimeControl.BLITZ, 1400, null, null, 100);
+    }
+
+    @Test
+    void testGetOnlineUsers_RatingBandWithoutTimeControl() {
+        String token = "Bearer my-jwt-token";
+        when(jwtUtils.getUserNameFromJwtToken("my-jwt-token")).thenReturn("testuser");
+
+        ResponseEntity<?> response = userController.getOnlineUsers(token, null, 1400, 1800, null, 50);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verifyNoInteractions(userService);
+    }
 }
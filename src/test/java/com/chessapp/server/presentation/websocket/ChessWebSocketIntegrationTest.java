@@ -34,7 +34,17 @@ import static org.junit.jupiter.api.Assertions.*;
         "spring.datasource.username=sa",
         "spring.datasource.password=",
         "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
-        "spring.jpa.hibernate.ddl-auto=create-drop"
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "chess.datasource.replica.url=jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "chess.datasource.replica.driverClassName=org.h2.Driver",
+        "chess.datasource.replica.username=sa",
+        "chess.datasource.replica.password=",
+        "chess.explorer.file=${java.io.tmpdir}/chess-it/openings.idx",
+        "chess.explorer.build-on-startup=false",
+        "chess.recovery.heartbeat-file=${java.io.tmpdir}/chess-it/heartbeat",
+        "chess.archive.dir=${java.io.tmpdir}/chess-it/archive",
+        "chess.archive.enabled=false",
+        "chess.bot.hash-mb=8"
 })
 public class ChessWebSocketIntegrationTest {
 